@@ -26,6 +26,8 @@ import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.spring.context.SpringManagedContext;
 
+import de.tum.in.www1.artemis.service.CourseDashboardCache;
+import de.tum.in.www1.artemis.service.exam.ExamScoresCache;
 import de.tum.in.www1.artemis.service.scheduled.quiz.QuizScheduleService;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
@@ -157,6 +159,8 @@ public class CacheConfiguration {
         config.getMapConfigs().put("de.tum.in.www1.artemis.domain.*", initializeDomainMapConfig(jHipsterProperties));
 
         QuizScheduleService.configureHazelcast(config);
+        CourseDashboardCache.configureHazelcast(config);
+        ExamScoresCache.configureHazelcast(config);
 
         return Hazelcast.newHazelcastInstance(config);
     }
@@ -1,6 +1,7 @@
 package de.tum.in.www1.artemis.config.websocket;
 
 import static de.tum.in.www1.artemis.service.WebsocketMessagingService.*;
+import static de.tum.in.www1.artemis.service.exam.StudentExamService.getExamIdFromExerciseStartProgressDestination;
 import static de.tum.in.www1.artemis.web.websocket.team.ParticipationTeamWebsocketService.*;
 
 import java.net.InetSocketAddress;
@@ -44,7 +45,9 @@ import com.google.common.collect.Iterators;
 
 import de.tum.in.www1.artemis.domain.Exercise;
 import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.domain.exam.Exam;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
+import de.tum.in.www1.artemis.repository.ExamRepository;
 import de.tum.in.www1.artemis.repository.ExerciseRepository;
 import de.tum.in.www1.artemis.repository.StudentParticipationRepository;
 import de.tum.in.www1.artemis.repository.UserRepository;
@@ -73,6 +76,8 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
 
     private final ExerciseRepository exerciseRepository;
 
+    private final ExamRepository examRepository;
+
     // Split the addresses by comma
     @Value("#{'${spring.websocket.broker.addresses}'.split(',')}")
     private List<String> brokerAddresses;
@@ -85,13 +90,14 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
 
     public WebsocketConfiguration(MappingJackson2HttpMessageConverter springMvcJacksonConverter, TaskScheduler messageBrokerTaskScheduler,
             StudentParticipationRepository studentParticipationRepository, AuthorizationCheckService authorizationCheckService, ExerciseRepository exerciseRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository, ExamRepository examRepository) {
         this.objectMapper = springMvcJacksonConverter.getObjectMapper();
         this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
         this.studentParticipationRepository = studentParticipationRepository;
         this.authorizationCheckService = authorizationCheckService;
         this.exerciseRepository = exerciseRepository;
         this.userRepository = userRepository;
+        this.examRepository = examRepository;
     }
 
     @Override
@@ -266,6 +272,11 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
                     return isUserTAOrHigherForExercise(principal, exercise);
                 }
             }
+            Long examId = getExamIdFromExerciseStartProgressDestination(destination);
+            if (examId != null) {
+                Exam exam = examRepository.findByIdElseThrow(examId);
+                return isUserInstructorOrHigherForExam(principal, exam);
+            }
             return true;
         }
 
@@ -289,6 +300,11 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
         return authorizationCheckService.isAtLeastInstructorInCourse(exercise.getCourseViaExerciseGroupOrCourseMember(), user);
     }
 
+    private boolean isUserInstructorOrHigherForExam(Principal principal, Exam exam) {
+        User user = userRepository.getUserWithGroupsAndAuthorities(principal.getName());
+        return authorizationCheckService.isAtLeastInstructorInCourse(exam.getCourse(), user);
+    }
+
     private boolean isUserTAOrHigherForExercise(Principal principal, Exercise exercise) {
         User user = userRepository.getUserWithGroupsAndAuthorities(principal.getName());
         return authorizationCheckService.isAtLeastTeachingAssistantForExercise(exercise, user);
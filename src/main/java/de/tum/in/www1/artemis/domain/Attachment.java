@@ -17,12 +17,14 @@ import de.tum.in.www1.artemis.domain.enumeration.AttachmentType;
 import de.tum.in.www1.artemis.domain.lecture.AttachmentUnit;
 import de.tum.in.www1.artemis.service.FilePathService;
 import de.tum.in.www1.artemis.service.FileService;
+import de.tum.in.www1.artemis.service.listeners.CourseDashboardCacheListener;
 
 /**
  * A Attachment.
  */
 @Entity
 @Table(name = "attachment")
+@EntityListeners(CourseDashboardCacheListener.class)
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
 public class Attachment extends DomainObject implements Serializable {
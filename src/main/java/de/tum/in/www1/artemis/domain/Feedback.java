@@ -18,12 +18,14 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 import de.tum.in.www1.artemis.domain.enumeration.FeedbackType;
 import de.tum.in.www1.artemis.domain.enumeration.Visibility;
+import de.tum.in.www1.artemis.service.listeners.StatisticsRollupListener;
 
 /**
  * A Feedback.
  */
 @Entity
 @Table(name = "feedback")
+@EntityListeners(StatisticsRollupListener.class)
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
 public class Feedback extends DomainObject {
@@ -17,12 +17,14 @@ import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 
 import de.tum.in.www1.artemis.domain.lecture.LectureUnit;
 import de.tum.in.www1.artemis.domain.metis.Post;
+import de.tum.in.www1.artemis.service.listeners.CourseDashboardCacheListener;
 
 /**
  * A Lecture.
  */
 @Entity
 @Table(name = "lecture")
+@EntityListeners(CourseDashboardCacheListener.class)
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
 public class Lecture extends DomainObject {
@@ -25,13 +25,14 @@ import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
 import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
 import de.tum.in.www1.artemis.domain.view.QuizView;
 import de.tum.in.www1.artemis.service.listeners.ResultListener;
+import de.tum.in.www1.artemis.service.listeners.StatisticsRollupListener;
 
 /**
  * A Result.
  */
 @Entity
 @Table(name = "result")
-@EntityListeners(ResultListener.class)
+@EntityListeners({ ResultListener.class, StatisticsRollupListener.class })
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
 public class Result extends DomainObject {
@@ -113,6 +114,11 @@ public class Result extends DomainObject {
     @JsonIgnore
     private Map<String, Set<CoverageFileReport>> fileReportsByTestCaseName;
 
+    // The completion date as it is stored in the database, which is required to update the statistics of the previous completion date when it changes
+    @Transient
+    @JsonIgnore
+    private ZonedDateTime persistedCompletionDate;
+
     public String getResultString() {
         return resultString;
     }
@@ -185,6 +191,14 @@ public class Result extends DomainObject {
         this.completionDate = completionDate;
     }
 
+    public ZonedDateTime getPersistedCompletionDate() {
+        return persistedCompletionDate;
+    }
+
+    public void setPersistedCompletionDate(ZonedDateTime persistedCompletionDate) {
+        this.persistedCompletionDate = persistedCompletionDate;
+    }
+
     public Boolean isSuccessful() {
         return successful;
     }
@@ -20,6 +20,8 @@ import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
 import de.tum.in.www1.artemis.domain.participation.Participation;
 import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
 import de.tum.in.www1.artemis.domain.view.QuizView;
+import de.tum.in.www1.artemis.service.listeners.CourseDashboardCacheListener;
+import de.tum.in.www1.artemis.service.listeners.StatisticsRollupListener;
 
 /**
  * A Submission.
@@ -30,6 +32,7 @@ import de.tum.in.www1.artemis.domain.view.QuizView;
 @DiscriminatorColumn(name = "discriminator", discriminatorType = DiscriminatorType.STRING)
 @DiscriminatorValue(value = "S")
 @DiscriminatorOptions(force = true)
+@EntityListeners({ CourseDashboardCacheListener.class, StatisticsRollupListener.class })
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "submissionExerciseType")
@@ -73,6 +76,11 @@ public abstract class Submission extends DomainObject {
     @Column(name = "submission_date")
     private ZonedDateTime submissionDate;
 
+    // The submission date as it is stored in the database, which is required to update the statistics of the previous submission date when it changes
+    @Transient
+    @JsonIgnore
+    private ZonedDateTime persistedSubmissionDate;
+
     @JsonView(QuizView.Before.class)
     public ZonedDateTime getSubmissionDate() {
         return submissionDate;
@@ -260,6 +268,14 @@ public abstract class Submission extends DomainObject {
         this.submissionDate = submissionDate;
     }
 
+    public ZonedDateTime getPersistedSubmissionDate() {
+        return persistedSubmissionDate;
+    }
+
+    public void setPersistedSubmissionDate(ZonedDateTime persistedSubmissionDate) {
+        this.persistedSubmissionDate = persistedSubmissionDate;
+    }
+
     public Boolean isSubmitted() {
         return submitted != null ? submitted : false;
     }
@@ -31,12 +31,14 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 
 import de.tum.in.www1.artemis.config.Constants;
 import de.tum.in.www1.artemis.domain.participation.Participant;
+import de.tum.in.www1.artemis.service.listeners.UserAuthorizationContextListener;
 
 /**
  * A user.
  */
 @Entity
 @Table(name = "jhi_user")
+@EntityListeners(UserAuthorizationContextListener.class)
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
 public class User extends AbstractAuditingEntity implements Participant {
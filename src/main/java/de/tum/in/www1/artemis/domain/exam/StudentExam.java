@@ -15,9 +15,11 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import de.tum.in.www1.artemis.domain.AbstractAuditingEntity;
 import de.tum.in.www1.artemis.domain.Exercise;
 import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.service.listeners.ExamScoresCacheListener;
 
 @Entity
 @Table(name = "student_exam")
+@EntityListeners(ExamScoresCacheListener.class)
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
 public class StudentExam extends AbstractAuditingEntity {
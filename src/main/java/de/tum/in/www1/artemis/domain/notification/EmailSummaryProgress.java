@@ -0,0 +1,79 @@
+package de.tum.in.www1.artemis.domain.notification;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+import de.tum.in.www1.artemis.domain.DomainObject;
+
+/**
+ * Stores the progress of the latest summary email run of a schedule interval, so that a run that was interrupted e.g. by a restart can be resumed
+ * without sending the summary twice to the same users
+ */
+@Entity
+@Table(name = "email_summary_progress")
+public class EmailSummaryProgress extends DomainObject {
+
+    /**
+     * The schedule interval of the summary as ISO-8601 duration, e.g. PT168H for weekly summaries
+     */
+    @Column(name = "schedule_interval", nullable = false, unique = true)
+    private String scheduleInterval;
+
+    /**
+     * The date the run started, which determines the exercises of the summary
+     */
+    @Column(name = "summary_date", nullable = false)
+    private ZonedDateTime summaryDate;
+
+    /**
+     * The summaries are sent in the order of the user ids, all users up to this id already received the summary
+     */
+    @Column(name = "last_user_id")
+    private Long lastUserId;
+
+    @Column(name = "finished", nullable = false)
+    private boolean finished;
+
+    public EmailSummaryProgress() {
+        // needed for Hibernate
+    }
+
+    public EmailSummaryProgress(String scheduleInterval) {
+        this.scheduleInterval = scheduleInterval;
+    }
+
+    public String getScheduleInterval() {
+        return scheduleInterval;
+    }
+
+    public void setScheduleInterval(String scheduleInterval) {
+        this.scheduleInterval = scheduleInterval;
+    }
+
+    public ZonedDateTime getSummaryDate() {
+        return summaryDate;
+    }
+
+    public void setSummaryDate(ZonedDateTime summaryDate) {
+        this.summaryDate = summaryDate;
+    }
+
+    public Long getLastUserId() {
+        return lastUserId;
+    }
+
+    public void setLastUserId(Long lastUserId) {
+        this.lastUserId = lastUserId;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public void setFinished(boolean finished) {
+        this.finished = finished;
+    }
+}
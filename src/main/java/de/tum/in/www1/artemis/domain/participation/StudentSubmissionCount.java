@@ -0,0 +1,10 @@
+package de.tum.in.www1.artemis.domain.participation;
+
+/**
+ * The number of submissions of a student in an exercise
+ *
+ * @param login           the login of the student
+ * @param submissionCount the number of submissions of the student
+ */
+public record StudentSubmissionCount(String login, long submissionCount) {
+}
@@ -0,0 +1,13 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+import java.time.ZonedDateTime;
+
+/**
+ * The number of entries of one exercise at one point in time, used to build the {@link StatisticsRollup}s
+ *
+ * @param exerciseId the id of the exercise
+ * @param date       the date of the entries
+ * @param amount     the number of entries
+ */
+public record ExerciseStatisticsEntry(Long exerciseId, ZonedDateTime date, Long amount) {
+}
@@ -0,0 +1,51 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.*;
+
+import de.tum.in.www1.artemis.domain.DomainObject;
+import de.tum.in.www1.artemis.domain.enumeration.GraphType;
+
+/**
+ * Stores until when the entries of a graph type are contained in the {@link StatisticsRollup}s
+ */
+@Entity
+@Table(name = "statistics_rollup_progress")
+public class StatisticsRollupProgress extends DomainObject {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "graph_type", nullable = false, unique = true)
+    private GraphType graphType;
+
+    /**
+     * All entries before this date are rolled up, all entries starting at this date have to be fetched from the original tables
+     */
+    @Column(name = "compacted_until", nullable = false)
+    private ZonedDateTime compactedUntil;
+
+    public StatisticsRollupProgress() {
+        // needed for Hibernate
+    }
+
+    public StatisticsRollupProgress(GraphType graphType, ZonedDateTime compactedUntil) {
+        this.graphType = graphType;
+        this.compactedUntil = compactedUntil;
+    }
+
+    public GraphType getGraphType() {
+        return graphType;
+    }
+
+    public void setGraphType(GraphType graphType) {
+        this.graphType = graphType;
+    }
+
+    public ZonedDateTime getCompactedUntil() {
+        return compactedUntil;
+    }
+
+    public void setCompactedUntil(ZonedDateTime compactedUntil) {
+        this.compactedUntil = compactedUntil;
+    }
+}
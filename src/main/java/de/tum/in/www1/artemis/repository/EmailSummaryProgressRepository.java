@@ -0,0 +1,17 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import de.tum.in.www1.artemis.domain.notification.EmailSummaryProgress;
+
+/**
+ * Spring Data JPA repository for the progress of the summary emails
+ */
+@Repository
+public interface EmailSummaryProgressRepository extends JpaRepository<EmailSummaryProgress, Long> {
+
+    Optional<EmailSummaryProgress> findByScheduleInterval(String scheduleInterval);
+}
@@ -115,7 +115,21 @@ public interface GradingScaleRepository extends JpaRepository<GradingScale, Long
         if (percentage < 0) {
             throw new BadRequestAlertException("Grade percentages must be greater than 0", "gradeStep", "invalidGradePercentage");
         }
-        Set<GradeStep> gradeSteps = findById(gradingScaleId).orElseThrow().getGradeSteps();
+        return matchPercentageToGradeStep(percentage, findById(gradingScaleId).orElseThrow());
+    }
+
+    /**
+     * Maps a grade percentage to a valid grade step within the grading scale, which has to be loaded with its grade steps
+     *
+     * @param percentage the grade percentage to be mapped
+     * @param gradingScale the grading scale with its grade steps
+     * @return grade step corresponding to the given percentage
+     */
+    default GradeStep matchPercentageToGradeStep(double percentage, GradingScale gradingScale) {
+        if (percentage < 0) {
+            throw new BadRequestAlertException("Grade percentages must be greater than 0", "gradeStep", "invalidGradePercentage");
+        }
+        Set<GradeStep> gradeSteps = gradingScale.getGradeSteps();
         Optional<GradeStep> matchingGradeStep = gradeSteps.stream().filter(gradeStep -> gradeStep.matchingGradePercentage(percentage)).findFirst();
         if (matchingGradeStep.isPresent()) {
             return matchingGradeStep.get();
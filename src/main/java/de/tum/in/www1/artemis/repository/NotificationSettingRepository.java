@@ -28,6 +28,14 @@ public interface NotificationSettingRepository extends JpaRepository<Notificatio
             """)
     Set<NotificationSetting> findAllNotificationSettingsForRecipientWithId(@Param("userId") long userId);
 
+    @Query("""
+            SELECT notificationSetting
+            FROM NotificationSetting notificationSetting
+            LEFT JOIN FETCH notificationSetting.user user
+            WHERE user.id IN :#{#userIds}
+            """)
+    Set<NotificationSetting> findAllNotificationSettingsForRecipientsWithIds(@Param("userIds") Set<Long> userIds);
+
     @EntityGraph(type = LOAD, attributePaths = { "user.groups", "user.authorities" })
     @Query("""
             SELECT setting
@@ -75,6 +75,13 @@ public interface ProgrammingExerciseStudentParticipationRepository extends JpaRe
     @EntityGraph(type = LOAD, attributePaths = { "submissions" })
     List<ProgrammingExerciseStudentParticipation> findWithSubmissionsByExerciseId(Long exerciseId);
 
+    @Query("""
+            SELECT p.id
+            FROM ProgrammingExerciseStudentParticipation p
+            WHERE p.exercise.id = :#{#exerciseId}
+            """)
+    List<Long> findIdsByExerciseId(@Param("exerciseId") Long exerciseId);
+
     /**
      * Will return the participations matching the provided participation ids, but only if they belong to the given exercise.
      *
@@ -38,6 +38,28 @@ public interface ProgrammingSubmissionRepository extends JpaRepository<Programmi
     @EntityGraph(type = LOAD, attributePaths = "results")
     Optional<ProgrammingSubmission> findFirstByParticipationIdOrderBySubmissionDateDesc(Long participationId);
 
+    /**
+     * Finds the latest submission of every student participation of the given programming exercise, if this submission does not have a result yet.
+     *
+     * @param exerciseId the id of the programming exercise
+     * @return the latest submissions of the student participations that are still pending
+     */
+    @Query("""
+            SELECT s
+            FROM ProgrammingSubmission s
+                JOIN FETCH s.participation p
+                LEFT JOIN FETCH s.results
+            WHERE p.exercise.id = :#{#exerciseId}
+                AND TYPE(p) = ProgrammingExerciseStudentParticipation
+                AND s.results IS EMPTY
+                AND s.submissionDate = (
+                    SELECT MAX(s2.submissionDate)
+                    FROM ProgrammingSubmission s2
+                    WHERE s2.participation.id = p.id
+                )
+            """)
+    List<ProgrammingSubmission> findLatestPendingSubmissionsOfStudentParticipationsByExerciseId(@Param("exerciseId") Long exerciseId);
+
     /**
      * Provide a list of graded submissions. To be graded a submission must:
      * - be of type 'INSTRUCTOR' or 'TEST'
@@ -0,0 +1,18 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import de.tum.in.www1.artemis.domain.enumeration.GraphType;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollupProgress;
+
+/**
+ * Spring Data JPA repository for the progress of the statistics rollups
+ */
+@Repository
+public interface StatisticsRollupProgressRepository extends JpaRepository<StatisticsRollupProgress, Long> {
+
+    Optional<StatisticsRollupProgress> findByGraphType(GraphType graphType);
+}
@@ -0,0 +1,211 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.in.www1.artemis.domain.enumeration.GraphType;
+import de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsEntry;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollup;
+
+/**
+ * Spring Data JPA repository for the hourly rollups of the statistics pages
+ */
+@Repository
+public interface StatisticsRollupRepository extends JpaRepository<StatisticsRollup, Long> {
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.StatisticsEntry(
+                r.timeSlot,
+                sum(r.amount)
+                )
+            from StatisticsRollup r, Exercise e
+                left join e.course c
+            where r.graphType = :#{#graphType} and r.timeSlot >= :#{#startDate} and r.timeSlot < :#{#endDate} and r.exerciseId = e.id
+                and (e.exerciseGroup IS NOT NULL or c.testCourse = false)
+            group by r.timeSlot
+            order by r.timeSlot asc
+            """)
+    List<StatisticsEntry> getRolledUpEntries(@Param("graphType") GraphType graphType, @Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.StatisticsEntry(
+                r.timeSlot,
+                sum(r.amount)
+                )
+            from StatisticsRollup r
+            where r.graphType = :#{#graphType} and r.timeSlot >= :#{#startDate} and r.timeSlot < :#{#endDate} and r.exerciseId in :exerciseIds
+            group by r.timeSlot
+            order by r.timeSlot asc
+            """)
+    List<StatisticsEntry> getRolledUpEntriesForExercises(@Param("graphType") GraphType graphType, @Param("startDate") ZonedDateTime startDate,
+            @Param("endDate") ZonedDateTime endDate, @Param("exerciseIds") List<Long> exerciseIds);
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry(
+                s.participation.exercise.id,
+                s.submissionDate,
+                count(s.id)
+                )
+            from Submission s
+            where s.submissionDate >= :#{#startDate} and s.submissionDate < :#{#endDate}
+            group by s.participation.exercise.id, s.submissionDate
+            """)
+    List<ExerciseStatisticsEntry> getSubmissionsPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry(
+                r.participation.exercise.id,
+                r.completionDate,
+                count(r.id)
+                )
+            from Result r
+            where r.completionDate >= :#{#startDate} and r.completionDate < :#{#endDate}
+            group by r.participation.exercise.id, r.completionDate
+            """)
+    List<ExerciseStatisticsEntry> getCreatedResultsPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry(
+                r.participation.exercise.id,
+                r.completionDate,
+                sum(size(r.feedbacks))
+                )
+            from Result r
+            where r.completionDate >= :#{#startDate} and r.completionDate < :#{#endDate}
+            group by r.participation.exercise.id, r.completionDate
+            """)
+    List<ExerciseStatisticsEntry> getResultFeedbacksPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry(
+                s.participation.exercise.id,
+                s.submissionDate,
+                count(s.id)
+                )
+            from Submission s
+            where s.participation.exercise.id = :#{#exerciseId} and s.submissionDate >= :#{#startDate} and s.submissionDate < :#{#endDate}
+            group by s.participation.exercise.id, s.submissionDate
+            """)
+    List<ExerciseStatisticsEntry> getSubmissionsOfExercise(@Param("exerciseId") Long exerciseId, @Param("startDate") ZonedDateTime startDate,
+            @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry(
+                r.participation.exercise.id,
+                r.completionDate,
+                count(r.id)
+                )
+            from Result r
+            where r.participation.exercise.id = :#{#exerciseId} and r.completionDate >= :#{#startDate} and r.completionDate < :#{#endDate}
+            group by r.participation.exercise.id, r.completionDate
+            """)
+    List<ExerciseStatisticsEntry> getCreatedResultsOfExercise(@Param("exerciseId") Long exerciseId, @Param("startDate") ZonedDateTime startDate,
+            @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select
+            new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry(
+                r.participation.exercise.id,
+                r.completionDate,
+                sum(size(r.feedbacks))
+                )
+            from Result r
+            where r.participation.exercise.id = :#{#exerciseId} and r.completionDate >= :#{#startDate} and r.completionDate < :#{#endDate}
+            group by r.participation.exercise.id, r.completionDate
+            """)
+    List<ExerciseStatisticsEntry> getResultFeedbacksOfExercise(@Param("exerciseId") Long exerciseId, @Param("startDate") ZonedDateTime startDate,
+            @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select min(s.submissionDate)
+            from Submission s
+            """)
+    ZonedDateTime findEarliestSubmissionDate();
+
+    @Query("""
+            select min(r.completionDate)
+            from Result r
+            """)
+    ZonedDateTime findEarliestResultCompletionDate();
+
+    @Modifying
+    @Transactional // ok because of delete
+    @Query("""
+            delete from StatisticsRollup r
+            where r.graphType = :#{#graphType} and r.timeSlot >= :#{#startDate} and r.timeSlot < :#{#endDate}
+            """)
+    void deleteByGraphTypeAndTimeSlotBetween(@Param("graphType") GraphType graphType, @Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Modifying
+    @Transactional // ok because of delete
+    @Query("""
+            delete from StatisticsRollup r
+            where r.graphType = :#{#graphType} and r.exerciseId = :#{#exerciseId} and r.timeSlot >= :#{#startDate} and r.timeSlot < :#{#endDate}
+            """)
+    void deleteByGraphTypeAndExerciseIdAndTimeSlotBetween(@Param("graphType") GraphType graphType, @Param("exerciseId") Long exerciseId,
+            @Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    /**
+     * Gets the number of entries per exercise and date for the given graph type from the original tables
+     *
+     * @param graphType the graph type, which has to be one that is rolled up
+     * @param startDate the start of the period (inclusive)
+     * @param endDate   the end of the period (exclusive)
+     * @return the number of entries per exercise and date
+     */
+    default List<ExerciseStatisticsEntry> getEntriesPerExercise(GraphType graphType, ZonedDateTime startDate, ZonedDateTime endDate) {
+        return switch (graphType) {
+            case SUBMISSIONS -> getSubmissionsPerExercise(startDate, endDate);
+            case CREATED_RESULTS -> getCreatedResultsPerExercise(startDate, endDate);
+            case CREATED_FEEDBACKS -> getResultFeedbacksPerExercise(startDate, endDate);
+            default -> throw new UnsupportedOperationException("Unsupported graph type: " + graphType);
+        };
+    }
+
+    /**
+     * Gets the number of entries per date for the given graph type and exercise from the original tables
+     *
+     * @param graphType  the graph type, which has to be one that is rolled up
+     * @param exerciseId the id of the exercise
+     * @param startDate  the start of the period (inclusive)
+     * @param endDate    the end of the period (exclusive)
+     * @return the number of entries of the exercise per date
+     */
+    default List<ExerciseStatisticsEntry> getEntriesOfExercise(GraphType graphType, Long exerciseId, ZonedDateTime startDate, ZonedDateTime endDate) {
+        return switch (graphType) {
+            case SUBMISSIONS -> getSubmissionsOfExercise(exerciseId, startDate, endDate);
+            case CREATED_RESULTS -> getCreatedResultsOfExercise(exerciseId, startDate, endDate);
+            case CREATED_FEEDBACKS -> getResultFeedbacksOfExercise(exerciseId, startDate, endDate);
+            default -> throw new UnsupportedOperationException("Unsupported graph type: " + graphType);
+        };
+    }
+
+    /**
+     * Gets the date of the earliest entry of the given graph type
+     *
+     * @param graphType the graph type, which has to be one that is rolled up
+     * @return the date of the earliest entry or null if there are no entries
+     */
+    default ZonedDateTime findEarliestDate(GraphType graphType) {
+        return switch (graphType) {
+            case SUBMISSIONS -> findEarliestSubmissionDate();
+            case CREATED_RESULTS, CREATED_FEEDBACKS -> findEarliestResultCompletionDate();
+            default -> throw new UnsupportedOperationException("Unsupported graph type: " + graphType);
+        };
+    }
+}
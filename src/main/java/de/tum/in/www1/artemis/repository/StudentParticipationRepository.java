@@ -20,6 +20,7 @@ import org.springframework.stereotype.Repository;
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
 import de.tum.in.www1.artemis.domain.enumeration.ExerciseMode;
+import de.tum.in.www1.artemis.domain.enumeration.InitializationState;
 import de.tum.in.www1.artemis.domain.exam.ExerciseGroup;
 import de.tum.in.www1.artemis.domain.exam.StudentExam;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
@@ -178,72 +179,80 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
             """)
     List<StudentParticipation> findByExerciseIdWithLatestResultIgnoreTestRunSubmissions(@Param("exerciseId") Long exerciseId);
 
-    /**
-     * Get all participations for an exercise with each latest {@link AssessmentType#AUTOMATIC} result and feedbacks (determined by id).
-     *
-     * @param exerciseId Exercise id.
-     * @return participations for exercise.
-     */
     @Query("""
             select distinct p from StudentParticipation p
             left join fetch p.results r
             left join fetch r.feedbacks
             left join fetch r.submission s
-            where p.exercise.id = :#{#exerciseId}
+            where p.id = :#{#participationId}
                 and (r.id = (select max(pr.id) from p.results pr
                     left join pr.submission prs
                     where pr.assessmentType = 'AUTOMATIC' and (prs.type <> 'ILLEGAL' or prs.type is null)))
             """)
-    List<StudentParticipation> findByExerciseIdWithLatestAutomaticResultAndFeedbacks(@Param("exerciseId") Long exerciseId);
+    Optional<StudentParticipation> findByIdWithLatestAutomaticResultAndFeedbacks(@Param("participationId") Long participationId);
+
+    // Manual result can either be from type MANUAL or SEMI_AUTOMATIC
+    @Query("""
+            select distinct p from StudentParticipation p
+            left join fetch p.results r
+            left join fetch r.feedbacks
+            left join fetch r.submission s
+            where p.id = :#{#participationId}
+                 and (s.type <> 'ILLEGAL' or s.type is null)
+                 and (r.assessmentType = 'MANUAL' or r.assessmentType = 'SEMI_AUTOMATIC')
+            """)
+    Optional<StudentParticipation> findByIdWithManualResultAndFeedbacks(@Param("participationId") Long participationId);
 
     /**
-     * Get all participations without individual due date for an exercise with each latest {@link AssessmentType#AUTOMATIC} result and feedbacks (determined by id).
+     * Get the given participations with each latest {@link AssessmentType#AUTOMATIC} result and feedbacks (determined by id).
      *
-     * @param exerciseId Exercise id.
-     * @return participations for the exercise.
+     * @param participationIds the ids of the participations.
+     * @return the participations that have a latest automatic result.
      */
-    default List<StudentParticipation> findByExerciseIdWithLatestAutomaticResultAndFeedbacksWithoutIndividualDueDate(Long exerciseId) {
-        return findByExerciseIdWithLatestAutomaticResultAndFeedbacks(exerciseId).stream().filter(participation -> participation.getIndividualDueDate() == null).toList();
-    }
-
     @Query("""
             select distinct p from StudentParticipation p
             left join fetch p.results r
             left join fetch r.feedbacks
             left join fetch r.submission s
-            where p.id = :#{#participationId}
+            where p.id in :#{#participationIds}
                 and (r.id = (select max(pr.id) from p.results pr
                     left join pr.submission prs
                     where pr.assessmentType = 'AUTOMATIC' and (prs.type <> 'ILLEGAL' or prs.type is null)))
             """)
-    Optional<StudentParticipation> findByIdWithLatestAutomaticResultAndFeedbacks(@Param("participationId") Long participationId);
+    List<StudentParticipation> findAllByIdWithLatestAutomaticResultAndFeedbacks(@Param("participationIds") Collection<Long> participationIds);
 
-    // Manual result can either be from type MANUAL or SEMI_AUTOMATIC
+    /**
+     * Get the given participations with their manual or semi-automatic results and feedbacks.
+     *
+     * @param participationIds the ids of the participations.
+     * @return the participations that have a manual result.
+     */
     @Query("""
             select distinct p from StudentParticipation p
             left join fetch p.results r
             left join fetch r.feedbacks
             left join fetch r.submission s
-            where p.exercise.id = :#{#exerciseId}
+            where p.id in :#{#participationIds}
                  and (s.type <> 'ILLEGAL' or s.type is null)
                  and (r.assessmentType = 'MANUAL' or r.assessmentType = 'SEMI_AUTOMATIC')
             """)
-    List<StudentParticipation> findByExerciseIdWithManualResultAndFeedbacks(@Param("exerciseId") Long exerciseId);
-
-    default List<StudentParticipation> findByExerciseIdWithManualResultAndFeedbacksWithoutIndividualDueDate(Long exerciseId) {
-        return findByExerciseIdWithManualResultAndFeedbacks(exerciseId).stream().filter(participation -> participation.getIndividualDueDate() == null).toList();
-    }
+    List<StudentParticipation> findAllByIdWithManualResultAndFeedbacks(@Param("participationIds") Collection<Long> participationIds);
 
+    /**
+     * Get the ids of all participations of an exercise, ordered by id.
+     *
+     * @param exerciseId          the id of the exercise.
+     * @param onlyRegularDueDate  true, if only the participations without an individual due date should be returned.
+     * @return the ids of the participations.
+     */
     @Query("""
-            select distinct p from StudentParticipation p
-            left join fetch p.results r
-            left join fetch r.feedbacks
-            left join fetch r.submission s
-            where p.id = :#{#participationId}
-                 and (s.type <> 'ILLEGAL' or s.type is null)
-                 and (r.assessmentType = 'MANUAL' or r.assessmentType = 'SEMI_AUTOMATIC')
+            SELECT p.id
+            FROM StudentParticipation p
+            WHERE p.exercise.id = :exerciseId
+                AND (:onlyRegularDueDate = FALSE OR p.individualDueDate IS NULL)
+            ORDER BY p.id
             """)
-    Optional<StudentParticipation> findByIdWithManualResultAndFeedbacks(@Param("participationId") Long participationId);
+    List<Long> findAllIdsByExerciseId(@Param("exerciseId") Long exerciseId, @Param("onlyRegularDueDate") boolean onlyRegularDueDate);
 
     @Query("""
             select distinct p from StudentParticipation p
@@ -261,6 +270,22 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
             """)
     List<StudentParticipation> findByExerciseIdAndStudentId(@Param("exerciseId") Long exerciseId, @Param("studentId") Long studentId);
 
+    @Query("""
+            SELECT DISTINCT p.student.id
+            FROM StudentParticipation p
+            WHERE p.exercise.id = :#{#exerciseId}
+            """)
+    Set<Long> findStudentIdsByExerciseId(@Param("exerciseId") Long exerciseId);
+
+    @Query("""
+            SELECT DISTINCT p.student.id
+            FROM StudentParticipation p
+            WHERE p.exercise.id = :#{#exerciseId}
+                AND p.initializationState IN :#{#initializationStates}
+            """)
+    Set<Long> findStudentIdsByExerciseIdAndInitializationStateIn(@Param("exerciseId") Long exerciseId,
+            @Param("initializationStates") Set<InitializationState> initializationStates);
+
     @Query("""
             select distinct p from StudentParticipation p
             left join fetch p.results
@@ -656,6 +681,18 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
     List<StudentParticipation> findAllByParticipationExerciseIdAndResultAssessorAndCorrectionRoundIgnoreTestRuns(@Param("exerciseId") Long exerciseId,
             @Param("assessor") User assessor);
 
+    @Query("""
+            SELECT p.id
+            FROM StudentParticipation p
+                LEFT JOIN p.exercise e
+                LEFT JOIN e.course c
+                LEFT JOIN e.exerciseGroup eg
+                LEFT JOIN eg.exam ex
+            WHERE c.id = :courseId
+                OR ex.course.id = :courseId
+            """)
+    Set<Long> findAllIdsByCourseId(@Param("courseId") Long courseId);
+
     @NotNull
     default StudentParticipation findByIdElseThrow(long studentParticipationId) {
         return findById(studentParticipationId).orElseThrow(() -> new EntityNotFoundException("Student Participation", studentParticipationId));
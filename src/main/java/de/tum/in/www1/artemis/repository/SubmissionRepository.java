@@ -18,6 +18,7 @@ import de.tum.in.www1.artemis.domain.enumeration.SubmissionType;
 import de.tum.in.www1.artemis.domain.modeling.ModelingExercise;
 import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
 import de.tum.in.www1.artemis.domain.participation.Participation;
+import de.tum.in.www1.artemis.domain.participation.StudentSubmissionCount;
 import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
 import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
 import de.tum.in.www1.artemis.web.rest.dto.DueDateStat;
@@ -391,6 +392,21 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
             """)
     int countByExerciseIdAndStudentId(@Param("exerciseId") long exerciseId, @Param("studentId") long studentId);
 
+    /**
+     * Calculate the number of submissions for the given exercise by each of the given students. Students without submissions are not contained in the result.
+     * @param exerciseId the exercise id we are interested in
+     * @param logins the logins of the students we are interested in
+     * @return the number of submissions belonging to the exercise for each student login
+     */
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.domain.participation.StudentSubmissionCount(p.student.login, COUNT (DISTINCT s))
+            FROM StudentParticipation p JOIN p.submissions s
+            WHERE p.exercise.id = :#{#exerciseId}
+                AND p.student.login IN :logins
+            GROUP BY p.student.login
+            """)
+    List<StudentSubmissionCount> countByExerciseIdAndStudentLogins(@Param("exerciseId") long exerciseId, @Param("logins") Set<String> logins);
+
     /**
      * @param exerciseIds the exercise ids we are interested in
      * @return the numbers of submissions belonging to each exercise id, which have the submitted flag set to true and the submission date after the exercise due date
@@ -450,7 +466,21 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
      * @return a new submission for the given type connected to the given participation
      */
     default Submission initializeSubmission(Participation participation, Exercise exercise, SubmissionType submissionType) {
+        Submission submission = createSubmissionForExercise(exercise);
+        submission.setType(submissionType);
+        submission.setParticipation(participation);
+        save(submission);
+        participation.addSubmission(submission);
+        return submission;
+    }
 
+    /**
+     * Creates a new, not yet persisted submission of the type matching the given exercise.
+     *
+     * @param exercise the exercise for which the submission is created
+     * @return a new programming, modeling, text, file upload or quiz submission
+     */
+    default Submission createSubmissionForExercise(Exercise exercise) {
         Submission submission;
         if (exercise instanceof ProgrammingExercise) {
             submission = new ProgrammingSubmission();
@@ -470,11 +500,6 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
         else {
             throw new RuntimeException("Unsupported exercise type: " + exercise);
         }
-
-        submission.setType(submissionType);
-        submission.setParticipation(participation);
-        save(submission);
-        participation.addSubmission(submission);
         return submission;
     }
 
@@ -5,6 +5,9 @@ import java.security.Key;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
@@ -39,8 +42,24 @@ public class TokenProvider {
 
     public static final String DOWNLOAD_FILE = "FILE_DOWNLOAD";
 
+    /**
+     * The maximum number of verified tokens that are kept, which bounds the memory in case many different tokens are used
+     */
+    static final int MAX_VERIFIED_TOKENS = 10000;
+
     private Key key;
 
+    /**
+     * The parser is immutable and thread-safe, so it is built once for the key and reused for all tokens
+     */
+    private JwtParser jwtParser;
+
+    /**
+     * The claims of tokens whose signature was already verified by token, so that the signature of a token is only verified once instead of for every request.
+     * The claims of a signed token cannot change, so a cached token is only removed once it expired.
+     */
+    private final Map<String, Claims> verifiedTokens = new ConcurrentHashMap<>();
+
     private long tokenValidityInMilliseconds;
 
     private long tokenValidityInMillisecondsForRememberMe;
@@ -70,6 +89,7 @@ public class TokenProvider {
             keyBytes = Decoders.BASE64.decode(jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret());
         }
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
         this.tokenValidityInMilliseconds = 1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSeconds();
         this.tokenValidityInMillisecondsForRememberMe = 1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
     }
@@ -235,7 +255,40 @@ public class TokenProvider {
         return false;
     }
 
+    /**
+     * Verifies the signature of the JWT token and returns its claims. The claims of a valid token are cached until the token expires.
+     *
+     * @param authToken JWT token
+     * @return a copy of the claims of the token, so that changes of the caller do not affect the cached claims
+     * @throws JwtException if the token is expired, unsupported, malformed or has an invalid signature
+     */
     public Claims parseClaims(String authToken) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken).getBody();
+        Claims claims = verifiedTokens.get(authToken);
+        if (claims != null) {
+            if (claims.getExpiration().getTime() <= System.currentTimeMillis()) {
+                verifiedTokens.remove(authToken);
+                throw new ExpiredJwtException(null, claims, "JWT expired at " + claims.getExpiration());
+            }
+        }
+        else {
+            claims = jwtParser.parseClaimsJws(authToken).getBody();
+            if (claims.getExpiration() != null) {
+                cacheVerifiedToken(authToken, claims);
+            }
+        }
+        // the values of the claims are strings and numbers, so a shallow copy is sufficient
+        return Jwts.claims(new HashMap<>(claims));
+    }
+
+    private void cacheVerifiedToken(String authToken, Claims claims) {
+        if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+            long now = System.currentTimeMillis();
+            verifiedTokens.values().removeIf(verifiedClaims -> verifiedClaims.getExpiration().getTime() <= now);
+            if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+                log.debug("Clear all {} verified JWT tokens, because none of them expired", verifiedTokens.size());
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(authToken, claims);
     }
 }
@@ -28,8 +28,11 @@ public class AuthorizationCheckService {
 
     private final UserRepository userRepository;
 
-    public AuthorizationCheckService(UserRepository userRepository) {
+    private final UserAuthorizationContextCache userAuthorizationContextCache;
+
+    public AuthorizationCheckService(UserRepository userRepository, UserAuthorizationContextCache userAuthorizationContextCache) {
         this.userRepository = userRepository;
+        this.userAuthorizationContextCache = userAuthorizationContextCache;
     }
 
     /**
@@ -78,7 +81,7 @@ public class AuthorizationCheckService {
     public boolean isAtLeastEditorInCourse(@NotNull Course course, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
             // only retrieve the user and the groups if the user is null or the groups are missing (to save performance)
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         return isEditorInCourse(course, user) || isInstructorInCourse(course, user) || isAdmin(user);
     }
@@ -119,7 +122,7 @@ public class AuthorizationCheckService {
     public boolean isAtLeastTeachingAssistantForExercise(@NotNull Exercise exercise, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
             // only retrieve the user and the groups if the user is null or the groups are missing (to save performance)
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         return isAtLeastTeachingAssistantInCourse(exercise.getCourseViaExerciseGroupOrCourseMember(), user);
     }
@@ -144,7 +147,7 @@ public class AuthorizationCheckService {
     public boolean isAtLeastStudentForExercise(@NotNull Exercise exercise, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
             // only retrieve the user and the groups if the user is null or the groups are missing (to save performance)
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         return isStudentInCourse(exercise.getCourseViaExerciseGroupOrCourseMember(), user) || isAtLeastTeachingAssistantForExercise(exercise, user);
     }
@@ -172,7 +175,7 @@ public class AuthorizationCheckService {
     public boolean isAtLeastTeachingAssistantInCourse(@NotNull Course course, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
             // only retrieve the user and the groups if the user is null or the groups are missing (to save performance)
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         return isTeachingAssistantInCourse(course, user) || isEditorInCourse(course, user) || isInstructorInCourse(course, user) || isAdmin(user);
     }
@@ -200,7 +203,7 @@ public class AuthorizationCheckService {
     public boolean isAtLeastStudentInCourse(@NotNull Course course, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
             // only retrieve the user and the groups if the user is null or the groups are missing (to save performance)
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         return isStudentInCourse(course, user) || isTeachingAssistantInCourse(course, user) || isEditorInCourse(course, user) || isInstructorInCourse(course, user)
                 || isAdmin(user);
@@ -297,7 +300,7 @@ public class AuthorizationCheckService {
     public boolean isAtLeastInstructorInCourse(@NotNull Course course, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
             // only retrieve the user and the groups if the user is null or the groups are missing (to save performance)
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         return user.getGroups().contains(course.getInstructorGroupName()) || isAdmin(user);
     }
@@ -312,7 +315,7 @@ public class AuthorizationCheckService {
     public boolean isInstructorInCourse(@NotNull Course course, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
             // only retrieve the user and the groups if the user is null or the groups are missing (to save performance)
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         return user.getGroups().contains(course.getInstructorGroupName());
     }
@@ -327,7 +330,7 @@ public class AuthorizationCheckService {
     public boolean isEditorInCourse(@NotNull Course course, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
             // only retrieve the user and the groups if the user is null or the groups are missing (to save performance)
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         return user.getGroups().contains(course.getEditorGroupName());
     }
@@ -342,7 +345,7 @@ public class AuthorizationCheckService {
     public boolean isTeachingAssistantInCourse(@NotNull Course course, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
             // only retrieve the user and the groups if the user is null or the groups are missing (to save performance)
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         return user.getGroups().contains(course.getTeachingAssistantGroupName());
     }
@@ -357,7 +360,7 @@ public class AuthorizationCheckService {
     public boolean isOnlyStudentInCourse(@NotNull Course course, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
             // only retrieve the user and the groups if the user is null or the groups are missing (to save performance)
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         return user.getGroups().contains(course.getStudentGroupName()) && !isAtLeastTeachingAssistantInCourse(course, user);
     }
@@ -372,7 +375,7 @@ public class AuthorizationCheckService {
     public boolean isStudentInCourse(@NotNull Course course, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
             // only retrieve the user and the groups if the user is null or the groups are missing (to save performance)
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         return user.getGroups().contains(course.getStudentGroupName());
     }
@@ -414,7 +417,7 @@ public class AuthorizationCheckService {
     public boolean isOwnerOfParticipation(@NotNull StudentParticipation participation, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
             // only retrieve the user and the groups if the user is null or the groups are missing (to save performance)
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         if (participation.getParticipant() == null) {
             return false;
@@ -456,7 +459,7 @@ public class AuthorizationCheckService {
      */
     public boolean isAllowedToSeeExercise(@NotNull Exercise exercise, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         if (isAdmin(user)) {
             return true;
@@ -474,7 +477,7 @@ public class AuthorizationCheckService {
      */
     public boolean isAllowedToSeeLectureUnit(@NotNull LectureUnit lectureUnit, @Nullable User user) {
         if (user == null || user.getGroups() == null) {
-            user = userRepository.getUserWithGroupsAndAuthorities();
+            user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         }
         if (isAdmin(user)) {
             return true;
@@ -574,7 +577,7 @@ public class AuthorizationCheckService {
         }
         // if the user is not the owner of the participation, the user can only see it in case they are
         // a teaching assistant, an editor or an instructor of the course, or in case they are an admin
-        User user = userRepository.getUserWithGroupsAndAuthorities();
+        User user = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
         Course course = participation.getExercise().getCourseViaExerciseGroupOrCourseMember();
         return isAtLeastTeachingAssistantInCourse(course, user);
     }
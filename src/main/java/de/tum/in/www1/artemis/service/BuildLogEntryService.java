@@ -1,8 +1,6 @@
 package de.tum.in.www1.artemis.service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -29,23 +27,25 @@ public class BuildLogEntryService {
     /**
      * Saves the build log entries in the database. The association to the programming submission is first removed and
      * after the saving restored as the relation submission->result uses an order column.
+     * All entries are saved within one transaction (saveAll is transactional) instead of one transaction per entry. Hibernate still sends one INSERT per entry,
+     * because the ids are generated by the database (IDENTITY).
      *
      * @param buildLogs build logs to save
      * @param programmingSubmission submission of the build logs
      * @return the saved build logs
      */
     public List<BuildLogEntry> saveBuildLogs(List<BuildLogEntry> buildLogs, ProgrammingSubmission programmingSubmission) {
-        return buildLogs.stream().map(buildLogEntry -> {
+        for (BuildLogEntry buildLogEntry : buildLogs) {
             // Truncate the log so that it fits into the database
             buildLogEntry.truncateLogToMaxLength();
             // Cut association to parent object
             buildLogEntry.setProgrammingSubmission(null);
-            // persist the BuildLogEntry object without an association to the parent object.
-            var updatedBuildLogEntry = buildLogEntryRepository.save(buildLogEntry);
-            // restore the association to the parent object
-            updatedBuildLogEntry.setProgrammingSubmission(programmingSubmission);
-            return updatedBuildLogEntry;
-        }).collect(Collectors.toList());
+        }
+        // persist the BuildLogEntry objects without an association to the parent object.
+        List<BuildLogEntry> savedBuildLogs = buildLogEntryRepository.saveAll(buildLogs);
+        // restore the association to the parent object
+        savedBuildLogs.forEach(buildLogEntry -> buildLogEntry.setProgrammingSubmission(programmingSubmission));
+        return savedBuildLogs;
     }
 
     /**
@@ -130,15 +130,30 @@ public class BuildLogEntryService {
      * @return boolean indicating a build log should be added to the overall build logs
      */
     public boolean checkIfBuildLogIsNotADuplicate(ProgrammingLanguage programmingLanguage, List<BuildLogEntry> buildLogs, String shortenedLogString) {
+        Set<String> existingLogs = buildLogs.stream().map(BuildLogEntry::getLog).collect(Collectors.toSet());
+        return checkIfBuildLogIsNotADuplicate(programmingLanguage, buildLogs, existingLogs, shortenedLogString);
+    }
+
+    /**
+     * Determines if a given build log string shall be added to the build logs which are shown to the user, like
+     * {@link #checkIfBuildLogIsNotADuplicate(ProgrammingLanguage, List, String)}, but looks up the existing logs in the given set instead of comparing the log
+     * with every accumulated build log.
+     *
+     * @param programmingLanguage programming language of build log
+     * @param buildLogs           accumulated build logs
+     * @param existingLogs        the log strings of the accumulated build logs
+     * @param shortenedLogString  current build log string
+     * @return boolean indicating a build log should be added to the overall build logs
+     */
+    private boolean checkIfBuildLogIsNotADuplicate(ProgrammingLanguage programmingLanguage, List<BuildLogEntry> buildLogs, Set<String> existingLogs, String shortenedLogString) {
         // C outputs duplicate but necessary output, so we need to skip it
         boolean skipLanguage = ProgrammingLanguage.C.equals(programmingLanguage);
         if (!skipLanguage && !buildLogs.isEmpty()) {
             // E.g. Swift produces a lot of duplicate build logs when a build fails
-            var existingLog = buildLogs.stream().filter(log -> log.getLog().equals(shortenedLogString)).findFirst();
             String lastLog = buildLogs.get(buildLogs.size() - 1).getLog();
             // If the log does not exist already or if the log is a single blank log add it to the build logs (avoid more than one empty log in a row)
             boolean isSingleBlankLog = shortenedLogString.isBlank() && !lastLog.isBlank();
-            return existingLog.isEmpty() || isSingleBlankLog;
+            return !existingLogs.contains(shortenedLogString) || isSingleBlankLog;
         }
         return true;
     }
@@ -152,6 +167,7 @@ public class BuildLogEntryService {
      */
     private List<BuildLogEntry> removeUnnecessaryLogs(List<BuildLogEntry> buildLogEntries, ProgrammingLanguage programmingLanguage) {
         List<BuildLogEntry> filteredLogs = new ArrayList<>();
+        Set<String> filteredLogStrings = new HashSet<>();
         for (BuildLogEntry buildLog : buildLogEntries) {
 
             String logString = buildLog.getLog();
@@ -171,8 +187,9 @@ public class BuildLogEntryService {
             }
 
             // Avoid duplicate log entries
-            if (checkIfBuildLogIsNotADuplicate(programmingLanguage, filteredLogs, logString)) {
+            if (checkIfBuildLogIsNotADuplicate(programmingLanguage, filteredLogs, filteredLogStrings, logString)) {
                 filteredLogs.add(new BuildLogEntry(buildLog.getTime(), logString, buildLog.getProgrammingSubmission()));
+                filteredLogStrings.add(logString);
             }
         }
 
@@ -0,0 +1,306 @@
+package de.tum.in.www1.artemis.service;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.cp.IAtomicLong;
+import com.hazelcast.map.IMap;
+
+import de.tum.in.www1.artemis.domain.*;
+import de.tum.in.www1.artemis.domain.exam.Exam;
+import de.tum.in.www1.artemis.domain.participation.Participation;
+import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
+import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
+
+/**
+ * Caches the serialized response of /courses/for-dashboard per user across all instances, as it is the first request of every student and requires all
+ * active courses with their exercises, lectures and exams as well as all participations, submissions and results of the user.
+ * <p>
+ * A cached dashboard is not used anymore when
+ * <ul>
+ * <li>a participation, submission or result of the user changes ({@link #evictForParticipation(Participation)}),</li>
+ * <li>one of the courses, its exercises, lectures, attachments or exams changes ({@link #evictForCourse(Long)}) or any course is created, updated or deleted
+ * ({@link #evictForChangedCourse(Course)}),</li>
+ * <li>the groups of the user change,</li>
+ * <li>a date of the dashboard passes, e.g. an exercise is released or its due date is over, or</li>
+ * <li>it is older than {@link #MAXIMUM_TIME_TO_LIVE}, which bounds the staleness for changes that are not tracked.</li>
+ * </ul>
+ * Changes of courses are tracked with a version per course instead of evicting the dashboards of all its users, changes of participations with a version per
+ * user. All versions are taken from one counter: a dashboard is only cached if none of its versions is newer than the counter was before the dashboard
+ * was loaded, so a dashboard that was loaded while one of its courses or participations changed is never cached.
+ */
+@Service
+public class CourseDashboardCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseDashboardCache.class);
+
+    private static final String HAZELCAST_DASHBOARD_CACHE = "course-dashboard-cache";
+
+    private static final String HAZELCAST_COURSE_VERSIONS = "course-dashboard-course-versions";
+
+    private static final String HAZELCAST_USER_VERSIONS = "course-dashboard-user-versions";
+
+    private static final String HAZELCAST_VERSION_COUNTER = "course-dashboard-version-counter";
+
+    /**
+     * The version that changes whenever any course changes, which e.g. makes newly created courses visible
+     */
+    private static final Long ALL_COURSES_VERSION_KEY = -1L;
+
+    static final Duration MAXIMUM_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    /**
+     * Running quizzes are started and joined without changes that are tracked, so dashboards with quizzes that have not ended are only cached briefly
+     */
+    static final Duration RUNNING_QUIZ_TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    /**
+     * A serialized dashboard contains all active courses of a user with their exercises, lectures and exams and usually takes between 50 KB and 1 MB,
+     * so a few hundred dashboards of the most recently active users are kept per node
+     */
+    private static final int MAXIMUM_USED_HEAP_SIZE_MB = 256;
+
+    private final IMap<Long, DashboardSnapshot> dashboards;
+
+    private final IMap<Long, Long> courseVersions;
+
+    private final IMap<Long, Long> userVersions;
+
+    private final IAtomicLong versionCounter;
+
+    private final ObjectMapper objectMapper;
+
+    public CourseDashboardCache(HazelcastInstance hazelcastInstance, MappingJackson2HttpMessageConverter springMvcJacksonConverter) {
+        this.dashboards = hazelcastInstance.getMap(HAZELCAST_DASHBOARD_CACHE);
+        this.courseVersions = hazelcastInstance.getMap(HAZELCAST_COURSE_VERSIONS);
+        this.userVersions = hazelcastInstance.getMap(HAZELCAST_USER_VERSIONS);
+        this.versionCounter = hazelcastInstance.getCPSubsystem().getAtomicLong(HAZELCAST_VERSION_COUNTER);
+        this.objectMapper = springMvcJacksonConverter.getObjectMapper();
+    }
+
+    /**
+     * Configures Hazelcast for the CourseDashboardCache before the HazelcastInstance is created.
+     *
+     * @param config the {@link Config} the CourseDashboardCache-specific configuration should be added to
+     */
+    public static void configureHazelcast(Config config) {
+        // The dashboards can be loaded from the database again, so they are not backed up and the least recently used ones are evicted when the limit is reached
+        EvictionConfig dashboardEvictionConfig = new EvictionConfig() //
+                .setEvictionPolicy(EvictionPolicy.LRU) //
+                .setMaxSizePolicy(MaxSizePolicy.USED_HEAP_SIZE) //
+                .setSize(MAXIMUM_USED_HEAP_SIZE_MB);
+        config.getMapConfig(HAZELCAST_DASHBOARD_CACHE) //
+                .setBackupCount(0) //
+                .setTimeToLiveSeconds((int) MAXIMUM_TIME_TO_LIVE.toSeconds()) //
+                .setEvictionConfig(dashboardEvictionConfig);
+        // Evicting a course version would make outdated dashboards valid again, there is only one small entry per changed course
+        config.getMapConfig(HAZELCAST_COURSE_VERSIONS).setEvictionConfig(new EvictionConfig().setEvictionPolicy(EvictionPolicy.NONE));
+        // A user version is only needed as long as dashboards that were loaded before it changed can be cached or used
+        config.getMapConfig(HAZELCAST_USER_VERSIONS).setTimeToLiveSeconds((int) MAXIMUM_TIME_TO_LIVE.multipliedBy(6).toSeconds());
+    }
+
+    /**
+     * Returns the cached dashboard of the user if none of its courses changed in the meantime
+     *
+     * @param user the user with groups
+     * @return the serialized courses for the dashboard or an empty optional if the dashboard has to be loaded from the database
+     */
+    public Optional<byte[]> get(User user) {
+        DashboardSnapshot snapshot = dashboards.get(user.getId());
+        if (snapshot == null || !snapshot.groups().equals(user.getGroups())) {
+            return Optional.empty();
+        }
+        if (snapshot.userVersion() != userVersions.getOrDefault(user.getId(), 0L)) {
+            return Optional.empty();
+        }
+        Map<Long, Long> currentVersions = courseVersions.getAll(snapshot.courseVersions().keySet());
+        for (var entry : snapshot.courseVersions().entrySet()) {
+            if (!entry.getValue().equals(currentVersions.getOrDefault(entry.getKey(), 0L))) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(snapshot.courses());
+    }
+
+    /**
+     * Returns the current version. Must be called before the dashboard is loaded from the database, so that a dashboard that is loaded while one of its
+     * courses or participations changes is not cached.
+     *
+     * @return the version of the latest change of any course or participation
+     */
+    public long getCurrentVersion() {
+        return versionCounter.get();
+    }
+
+    /**
+     * Serializes the courses of the dashboard and caches them for the user until the next date of the courses passes. The dashboard is not cached if one of
+     * its courses or the participations of the user changed after the given version.
+     *
+     * @param user    the user with groups
+     * @param courses the courses of the dashboard with exercises, participations, lectures and exams filtered for the user
+     * @param version the version before the courses were loaded, see {@link #getCurrentVersion()}
+     * @return the serialized courses
+     * @throws JsonProcessingException if the courses cannot be serialized
+     */
+    public byte[] put(User user, List<Course> courses, long version) throws JsonProcessingException {
+        byte[] serializedCourses = objectMapper.writeValueAsBytes(courses);
+        Set<Long> courseIds = new HashSet<>();
+        courseIds.add(ALL_COURSES_VERSION_KEY);
+        courses.forEach(course -> courseIds.add(course.getId()));
+        // only the versions of the courses of the dashboard are read
+        Map<Long, Long> snapshotVersions = new HashMap<>(courseVersions.getAll(courseIds));
+        long userVersion = userVersions.getOrDefault(user.getId(), 0L);
+        if (userVersion > version || snapshotVersions.values().stream().anyMatch(courseVersion -> courseVersion > version)) {
+            log.debug("The dashboard of user {} changed while it was loaded and is not cached", user.getLogin());
+            return serializedCourses;
+        }
+        courseIds.forEach(courseId -> snapshotVersions.putIfAbsent(courseId, 0L));
+
+        long timeToLiveInMillis = getTimeToLive(courses).toMillis();
+        if (timeToLiveInMillis > 0) {
+            var snapshot = new DashboardSnapshot(serializedCourses, new HashSet<>(user.getGroups()), userVersion, snapshotVersions);
+            dashboards.set(user.getId(), snapshot, timeToLiveInMillis, TimeUnit.MILLISECONDS);
+        }
+        return serializedCourses;
+    }
+
+    /**
+     * Evicts the cached dashboards of the students of the participation once the current transaction committed
+     *
+     * @param participation the participation whose submissions or results changed
+     */
+    public void evictForParticipation(Participation participation) {
+        if (!(participation instanceof StudentParticipation studentParticipation)) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        studentParticipation.getStudent().ifPresent(student -> userIds.add(student.getId()));
+        studentParticipation.getTeam().ifPresent(team -> team.getStudents().forEach(student -> userIds.add(student.getId())));
+        afterCommit(() -> userIds.forEach(userId -> {
+            // the new version also prevents that a dashboard that is loaded at the same time is cached after it was deleted
+            userVersions.set(userId, versionCounter.incrementAndGet());
+            dashboards.delete(userId);
+        }));
+    }
+
+    /**
+     * Invalidates the cached dashboards that contain the course once the current transaction committed, e.g. because one of its exercises changed
+     *
+     * @param courseId the id of the course whose content changed
+     */
+    public void evictForCourse(Long courseId) {
+        afterCommit(() -> courseVersions.set(courseId, versionCounter.incrementAndGet()));
+    }
+
+    /**
+     * Invalidates all cached dashboards once the current transaction committed, because the changed course can become visible or invisible for users
+     *
+     * @param course the created, updated or deleted course
+     */
+    public void evictForChangedCourse(Course course) {
+        afterCommit(() -> {
+            if (course.getId() != null) {
+                courseVersions.set(course.getId(), versionCounter.incrementAndGet());
+            }
+            courseVersions.set(ALL_COURSES_VERSION_KEY, versionCounter.incrementAndGet());
+        });
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    runEviction(eviction);
+                }
+            });
+        }
+        else {
+            runEviction(eviction);
+        }
+    }
+
+    private void runEviction(Runnable eviction) {
+        try {
+            eviction.run();
+        }
+        catch (Exception ex) {
+            log.warn("Could not evict cached course dashboards: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * The cached dashboard is only valid until the next date of its courses passes, because e.g. exercises are only visible after their release date.
+     *
+     * @param courses the courses of the dashboard
+     * @return the time until the next date of the courses, at most {@link #MAXIMUM_TIME_TO_LIVE}
+     */
+    private Duration getTimeToLive(List<Course> courses) {
+        ZonedDateTime now = ZonedDateTime.now();
+        Duration timeToLive = MAXIMUM_TIME_TO_LIVE;
+        List<ZonedDateTime> dates = new ArrayList<>();
+        for (Course course : courses) {
+            dates.add(course.getStartDate());
+            dates.add(course.getEndDate());
+            for (Exercise exercise : course.getExercises()) {
+                Stream.of(exercise.getReleaseDate(), exercise.getDueDate(), exercise.getAssessmentDueDate(), exercise.getExampleSolutionPublicationDate()).forEach(dates::add);
+                if (Hibernate.isInitialized(exercise.getStudentParticipations())) {
+                    exercise.getStudentParticipations().forEach(participation -> dates.add(participation.getIndividualDueDate()));
+                }
+                if (exercise instanceof QuizExercise quizExercise && !Boolean.TRUE.equals(quizExercise.isQuizEnded())) {
+                    timeToLive = RUNNING_QUIZ_TIME_TO_LIVE;
+                }
+            }
+            for (Lecture lecture : course.getLectures()) {
+                dates.add(lecture.getStartDate());
+                if (Hibernate.isInitialized(lecture.getAttachments())) {
+                    lecture.getAttachments().forEach(attachment -> dates.add(attachment.getReleaseDate()));
+                }
+            }
+            for (Exam exam : course.getExams()) {
+                Stream.of(exam.getVisibleDate(), exam.getStartDate(), exam.getEndDate(), exam.getPublishResultsDate(), exam.getExamStudentReviewStart(),
+                        exam.getExamStudentReviewEnd()).forEach(dates::add);
+            }
+        }
+        for (ZonedDateTime date : dates) {
+            if (date != null && date.isAfter(now)) {
+                Duration timeUntilDate = Duration.between(now, date);
+                if (timeUntilDate.compareTo(timeToLive) < 0) {
+                    timeToLive = timeUntilDate;
+                }
+            }
+        }
+        return timeToLive;
+    }
+
+    /**
+     * The serialized dashboard of a user together with the state it was built for
+     *
+     * @param courses        the serialized courses of the dashboard
+     * @param groups         the groups of the user, which determine the visible courses
+     * @param userVersion    the version of the participations of the user
+     * @param courseVersions the versions of the courses of the dashboard and of all courses
+     */
+    record DashboardSnapshot(byte[] courses, Set<String> groups, long userVersion, Map<Long, Long> courseVersions) implements Serializable {
+    }
+}
@@ -4,83 +4,165 @@ import static de.tum.in.www1.artemis.service.notifications.NotificationSettingsS
 
 import java.time.Duration;
 import java.time.ZonedDateTime;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import de.tum.in.www1.artemis.domain.Course;
 import de.tum.in.www1.artemis.domain.Exercise;
 import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.domain.notification.EmailSummaryProgress;
+import de.tum.in.www1.artemis.repository.CourseRepository;
+import de.tum.in.www1.artemis.repository.EmailSummaryProgressRepository;
 import de.tum.in.www1.artemis.repository.ExerciseRepository;
 import de.tum.in.www1.artemis.repository.NotificationSettingRepository;
 import de.tum.in.www1.artemis.security.SecurityUtils;
 
+/**
+ * Creates and sends the summary emails.
+ * <p>
+ * The exercises of all active courses and the groups of all recipients are loaded once per run, so that the summary of each user is assembled in memory.
+ * The summaries are sent in chunks of {@code artemis.email.summary.chunk-size} users in the order of their ids. The progress is stored after each chunk in
+ * an {@link EmailSummaryProgress}, so that a run that was interrupted e.g. by a restart is resumed with the next user instead of sending the summaries again.
+ */
 @Service
 public class EmailSummaryService {
 
+    private final Logger log = LoggerFactory.getLogger(EmailSummaryService.class);
+
+    @Value("${artemis.email.summary.chunk-size:500}")
+    private int chunkSize;
+
     private final MailService mailService;
 
     private final NotificationSettingRepository notificationSettingRepository;
 
-    private final CourseService courseService;
+    private final CourseRepository courseRepository;
 
     private final ExerciseRepository exerciseRepository;
 
+    private final EmailSummaryProgressRepository emailSummaryProgressRepository;
+
+    private final AuthorizationCheckService authCheckService;
+
     private Duration scheduleInterval;
 
     private final Duration weekly = Duration.ofDays(7);
 
-    public EmailSummaryService(MailService mailService, NotificationSettingRepository notificationSettingRepository, CourseService courseService,
-            ExerciseRepository exerciseRepository) {
+    public EmailSummaryService(MailService mailService, NotificationSettingRepository notificationSettingRepository, CourseRepository courseRepository,
+            ExerciseRepository exerciseRepository, EmailSummaryProgressRepository emailSummaryProgressRepository, AuthorizationCheckService authCheckService) {
         this.mailService = mailService;
         this.notificationSettingRepository = notificationSettingRepository;
-        this.courseService = courseService;
+        this.courseRepository = courseRepository;
         this.exerciseRepository = exerciseRepository;
+        this.emailSummaryProgressRepository = emailSummaryProgressRepository;
+        this.authCheckService = authCheckService;
     }
 
     /**
      * Begin the process of email summaries
      * i.e. find all active Artemis users that have weekly summaries enabled in their notification settings
      * and initiate the creation of summary emails for each found user.
+     * If the run of the current schedule interval was interrupted, it is resumed instead.
      */
     @Async
     public void prepareEmailSummaries() {
         checkSecurityUtils();
-        Set<User> filteredUsers = findRelevantUsersForSummary();
-        if (filteredUsers.isEmpty()) {
-            return;
-        }
-
-        // More elements that should be displayed in weekly summaries can be extracted here
-        // Currently only exercises are used for weekly summaries
+        EmailSummaryProgress progress = findUnfinishedProgress().orElseGet(() -> {
+            EmailSummaryProgress newProgress = emailSummaryProgressRepository.findByScheduleInterval(scheduleInterval.toString())
+                    .orElseGet(() -> new EmailSummaryProgress(scheduleInterval.toString()));
+            newProgress.setSummaryDate(ZonedDateTime.now());
+            newProgress.setLastUserId(null);
+            newProgress.setFinished(false);
+            return emailSummaryProgressRepository.save(newProgress);
+        });
+        sendEmailSummaries(progress);
+    }
 
-        // load all relevant exercises from the DB once
-        Set<Exercise> allExercisesRelevantForSummary = exerciseRepository.findAllExercisesForSummary(ZonedDateTime.now(), ZonedDateTime.now().minusDays(scheduleInterval.toDays()));
+    /**
+     * Resumes the run of the current schedule interval if it was interrupted, e.g. by a restart of the server
+     */
+    @Async
+    public void resumeEmailSummaries() {
+        checkSecurityUtils();
+        findUnfinishedProgress().ifPresent(progress -> {
+            log.info("Resume the email summaries of {} after user {}", progress.getSummaryDate(), progress.getLastUserId());
+            sendEmailSummaries(progress);
+        });
+    }
 
-        filteredUsers.forEach(user -> prepareEmailSummaryForUser(user, allExercisesRelevantForSummary));
+    /**
+     * @return the progress of the current schedule interval if its run has not finished yet
+     */
+    private Optional<EmailSummaryProgress> findUnfinishedProgress() {
+        return emailSummaryProgressRepository.findByScheduleInterval(scheduleInterval.toString())
+                .filter(progress -> !progress.isFinished() && progress.getSummaryDate().isAfter(ZonedDateTime.now().minus(scheduleInterval)));
     }
 
     /**
-     * Prepares all needed information to create the summary email for one user
-     * and calls the MailService
-     * @param user for whom the summary email should be prepared
-     * @param allPossiblyRelevantExercisesForSummary are used to find the relevant exercises for this concrete user
+     * Sends the summaries to all users that did not yet receive them in the run of the given progress
+     *
+     * @param progress of the run, which is updated after each chunk
      */
-    private void prepareEmailSummaryForUser(User user, Set<Exercise> allPossiblyRelevantExercisesForSummary) {
-        // Get all courses with exercises, lectures and exams (filtered for given user)
-        List<Course> courses = courseService.findAllActiveForUser(user);
+    private void sendEmailSummaries(EmailSummaryProgress progress) {
+        Long lastUserId = progress.getLastUserId();
+        List<User> users = findRelevantUsersForSummary().stream().filter(user -> lastUserId == null || user.getId() > lastUserId).sorted(Comparator.comparing(User::getId))
+                .toList();
+
+        if (!users.isEmpty()) {
+            // More elements that should be displayed in weekly summaries can be extracted here
+            // Currently only exercises are used for weekly summaries
+            SummaryExercises summaryExercises = findSummaryExercises(progress.getSummaryDate());
+
+            int usersPerChunk = Math.max(1, chunkSize);
+            for (int i = 0; i < users.size(); i += usersPerChunk) {
+                List<User> chunk = users.subList(i, Math.min(i + usersPerChunk, users.size()));
+                Map<User, Set<Exercise>> summaries = new LinkedHashMap<>();
+                chunk.forEach(user -> summaries.put(user, summaryExercises.getExercisesForUser(user, authCheckService.isAdmin(user))));
+
+                // currently, only weekly summaries are supported -> for daily just add one more case
+                if (scheduleInterval.equals(weekly)) {
+                    mailService.sendWeeklySummaryEmails(summaries);
+                }
+
+                progress.setLastUserId(chunk.get(chunk.size() - 1).getId());
+                progress = emailSummaryProgressRepository.save(progress);
+            }
+        }
 
-        // Filter out the relevant exercises for this individual user's summary
-        Set<Exercise> relevantExercisesForThisUser = allPossiblyRelevantExercisesForSummary.stream()
-                .filter(exercise -> courses.contains(exercise.getCourseViaExerciseGroupOrCourseMember())).collect(Collectors.toSet());
+        progress.setFinished(true);
+        emailSummaryProgressRepository.save(progress);
+        log.info("Sent the email summaries of {} to {} users", progress.getSummaryDate(), users.size());
+    }
 
-        // currently, only weekly summaries are supported -> for daily just add one more case
-        if (scheduleInterval.equals(weekly)) {
-            mailService.sendWeeklySummaryEmail(user, relevantExercisesForThisUser);
+    /**
+     * Loads all exercises of the summary and the active courses they belong to once, so that the exercises of each user can be found based on its groups
+     *
+     * @param summaryDate the date of the summary
+     * @return the exercises of the summary per course and group
+     */
+    private SummaryExercises findSummaryExercises(ZonedDateTime summaryDate) {
+        Set<Exercise> allExercisesRelevantForSummary = exerciseRepository.findAllExercisesForSummary(summaryDate, summaryDate.minusDays(scheduleInterval.toDays()));
+        Map<Long, Set<Exercise>> exercisesByCourseId = allExercisesRelevantForSummary.stream()
+                .collect(Collectors.groupingBy(exercise -> exercise.getCourseViaExerciseGroupOrCourseMember().getId(), Collectors.toSet()));
+
+        // same courses as CourseService#findAllActiveForUser, which only contains courses that have already started
+        ZonedDateTime now = ZonedDateTime.now();
+        List<Course> courses = courseRepository.findAllActive(now).stream().filter(course -> course.getEndDate() == null || course.getEndDate().isAfter(now))
+                .filter(course -> exercisesByCourseId.containsKey(course.getId())).toList();
+
+        Map<String, Set<Long>> courseIdsByGroup = new HashMap<>();
+        for (Course course : courses) {
+            Stream.of(course.getStudentGroupName(), course.getTeachingAssistantGroupName(), course.getEditorGroupName(), course.getInstructorGroupName())
+                    .filter(Objects::nonNull).forEach(group -> courseIdsByGroup.computeIfAbsent(group, key -> new HashSet<>()).add(course.getId()));
         }
+        return new SummaryExercises(exercisesByCourseId, courseIdsByGroup, courses.stream().map(Course::getId).collect(Collectors.toSet()));
     }
 
     /**
@@ -111,4 +193,25 @@ public class EmailSummaryService {
             SecurityUtils.setAuthorizationObject();
         }
     }
+
+    /**
+     * The exercises of the summary of the active courses
+     *
+     * @param exercisesByCourseId the exercises of the summary per course
+     * @param courseIdsByGroup    the ids of the active courses per student, tutor, editor and instructor group
+     * @param activeCourseIds     the ids of all active courses, which are visible for admins
+     */
+    private record SummaryExercises(Map<Long, Set<Exercise>> exercisesByCourseId, Map<String, Set<Long>> courseIdsByGroup, Set<Long> activeCourseIds) {
+
+        Set<Exercise> getExercisesForUser(User user, boolean isAdmin) {
+            Set<Long> courseIds = new HashSet<>();
+            if (isAdmin) {
+                courseIds.addAll(activeCourseIds);
+            }
+            else {
+                user.getGroups().forEach(group -> courseIds.addAll(courseIdsByGroup.getOrDefault(group, Set.of())));
+            }
+            return courseIds.stream().flatMap(courseId -> exercisesByCourseId.get(courseId).stream()).collect(Collectors.toSet());
+        }
+    }
 }
@@ -5,10 +5,12 @@ import static de.tum.in.www1.artemis.domain.notification.NotificationTargetFacto
 
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.Locale;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 
@@ -17,13 +19,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 
+import de.tum.in.www1.artemis.config.Constants;
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.NotificationType;
 import de.tum.in.www1.artemis.domain.metis.Post;
@@ -31,12 +36,18 @@ import de.tum.in.www1.artemis.domain.notification.GroupNotification;
 import de.tum.in.www1.artemis.domain.notification.Notification;
 import de.tum.in.www1.artemis.domain.notification.NotificationTitleTypeConstants;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
  * Service for sending emails.
  * <p>
  * We use the @Async annotation to send emails asynchronously.
+ * <p>
+ * Notification emails for multiple users are rendered once per language and sent in batches, where each batch reuses one connection to the mail server.
+ * The number of batches that are sent in parallel is limited by {@code artemis.email.bulk.parallel-connections}.
  */
 @Service
 public class MailService {
@@ -47,9 +58,17 @@ public class MailService {
 
     private static final String BASE_URL = "baseUrl";
 
+    private static final String BULK_METER_NAME = "artemis.mail.bulk";
+
     @Value("${server.url}")
     private URL artemisServerUrl;
 
+    @Value("${artemis.email.bulk.batch-size:50}")
+    private int bulkBatchSize;
+
+    @Value("${artemis.email.bulk.parallel-connections:2}")
+    private int bulkParallelConnections;
+
     private final JHipsterProperties jHipsterProperties;
 
     private final JavaMailSender javaMailSender;
@@ -60,6 +79,16 @@ public class MailService {
 
     private final TimeService timeService;
 
+    private final MeterRegistry meterRegistry;
+
+    private ExecutorService bulkExecutor;
+
+    private Counter bulkSentCounter;
+
+    private Counter bulkFailedCounter;
+
+    private Timer bulkTimer;
+
     // notification related variables
 
     private static final String NOTIFICATION = "notification";
@@ -86,13 +115,36 @@ public class MailService {
 
     private static final String WEEKLY_SUMMARY_NEW_EXERCISES = "weeklySummaryNewExercises";
 
+    private static final String WEEKLY_SUMMARY_SUBJECT = "Weekly Summary";
+
     public MailService(JHipsterProperties jHipsterProperties, JavaMailSender javaMailSender, MessageSource messageSource, SpringTemplateEngine templateEngine,
-            TimeService timeService) {
+            TimeService timeService, MeterRegistry meterRegistry) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
         this.messageSource = messageSource;
         this.templateEngine = templateEngine;
         this.timeService = timeService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Sets up the connections and the meters for sending notification emails to multiple users
+     */
+    @PostConstruct
+    public void init() {
+        bulkExecutor = Executors.newFixedThreadPool(Math.max(1, bulkParallelConnections));
+        bulkSentCounter = Counter.builder(BULK_METER_NAME).description("Number of emails sent in batches").tag("result", "sent").register(meterRegistry);
+        bulkFailedCounter = Counter.builder(BULK_METER_NAME).description("Number of emails sent in batches").tag("result", "failed")
+                .register(meterRegistry);
+        bulkTimer = Timer.builder(BULK_METER_NAME + ".duration").description("Duration of sending emails to multiple users").register(meterRegistry);
+    }
+
+    /**
+     * Stops the connections for sending notification emails to multiple users when the application shuts down
+     */
+    @PreDestroy
+    public void shutdown() {
+        bulkExecutor.shutdown();
     }
 
     /**
@@ -187,6 +239,19 @@ public class MailService {
         NotificationType notificationType = NotificationTitleTypeConstants.findCorrespondingNotificationType(notification.getTitle());
         log.debug("Sending \"{}\" notification email to '{}'", notificationType.name(), user.getEmail());
 
+        NotificationEmail email = createNotificationEmail(notification, notificationType, user, notificationSubject);
+        sendEmail(user, email.subject(), email.content(), false, true);
+    }
+
+    /**
+     * Renders the subject and the content of a notification email for one user
+     * @param notification which properties are used to create the email
+     * @param notificationType of the notification
+     * @param user who should be contacted
+     * @param notificationSubject that is used to provide further information (e.g. exercise, attachment, post, etc.)
+     * @return the rendered email
+     */
+    private NotificationEmail createNotificationEmail(Notification notification, NotificationType notificationType, User user, Object notificationSubject) {
         Locale locale = Locale.forLanguageTag(user.getLangKey());
 
         Context context = new Context(locale);
@@ -214,7 +279,7 @@ public class MailService {
 
         String content = createContentForNotificationEmailByType(notificationType, context);
 
-        sendEmail(user, subject, content, false, true);
+        return new NotificationEmail(subject, content);
     }
 
     /**
@@ -256,9 +321,103 @@ public class MailService {
         return context;
     }
 
+    /**
+     * Sends a notification based email to multiple users.
+     * The email is rendered once per language with a placeholder for the name of the recipient, which is replaced for every user. The emails are sent in
+     * batches of {@code artemis.email.bulk.batch-size}, so that the connection to the mail server is reused for all emails of a batch.
+     *
+     * @param notification which properties are used to create the emails
+     * @param users who should be contacted
+     * @param notificationSubject that is used to provide further information (e.g. exercise, attachment, post, etc.)
+     */
     @Async
     public void sendNotificationEmailForMultipleUsers(GroupNotification notification, List<User> users, Object notificationSubject) {
-        users.forEach(user -> sendNotificationEmail(notification, user, notificationSubject));
+        NotificationType notificationType = NotificationTitleTypeConstants.findCorrespondingNotificationType(notification.getTitle());
+        if (notificationType == EXERCISE_SUBMISSION_ASSESSED) {
+            // the email contains the individual score of the user, so it has to be rendered for each user
+            users.forEach(user -> sendNotificationEmail(notification, user, notificationSubject));
+            return;
+        }
+        log.debug("Sending \"{}\" notification email to {} users", notificationType.name(), users.size());
+        long start = System.nanoTime();
+
+        List<MimeMessage> mimeMessages = new ArrayList<>();
+        Map<String, List<User>> usersByLanguage = users.stream().collect(Collectors.groupingBy(user -> Objects.requireNonNullElse(user.getLangKey(), Constants.DEFAULT_LANGUAGE)));
+        usersByLanguage.forEach((langKey, usersWithLanguage) -> {
+            String recipientNamePlaceholder = "recipient-name-" + UUID.randomUUID();
+            User recipient = new User();
+            recipient.setFirstName(recipientNamePlaceholder);
+            recipient.setLangKey(langKey);
+            NotificationEmail email = createNotificationEmail(notification, notificationType, recipient, notificationSubject);
+
+            for (User user : usersWithLanguage) {
+                // the name is escaped in the same way as Thymeleaf escapes th:text
+                String recipientName = HtmlUtils.htmlEscape(Objects.requireNonNullElse(user.getName(), ""), StandardCharsets.UTF_8.name());
+                createMimeMessage(user, email.subject(), email.content().replace(recipientNamePlaceholder, recipientName)).ifPresent(mimeMessages::add);
+            }
+        });
+
+        int failedEmails = sendInBatches(mimeMessages, users.size());
+        bulkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.info("Sent \"{}\" notification email to {} of {} users", notificationType.name(), users.size() - failedEmails, users.size());
+    }
+
+    private Optional<MimeMessage> createMimeMessage(User recipient, String subject, String content) {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        try {
+            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, false, StandardCharsets.UTF_8.name());
+            message.setTo(recipient.getEmail());
+            message.setFrom(jHipsterProperties.getMail().getFrom());
+            message.setSubject(subject);
+            message.setText(content, true);
+            return Optional.of(mimeMessage);
+        }
+        catch (MessagingException e) {
+            log.warn("Email could not be sent to user '{}'", recipient, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Sends the emails in batches of {@code artemis.email.bulk.batch-size}, where each batch reuses one connection to the mail server
+     *
+     * @param mimeMessages   the emails to send
+     * @param numberOfEmails the number of emails that should have been sent, including the emails that could not be created
+     * @return the number of emails that could not be created or sent
+     */
+    private int sendInBatches(List<MimeMessage> mimeMessages, int numberOfEmails) {
+        List<CompletableFuture<Integer>> batches = new ArrayList<>();
+        int batchSize = Math.max(1, bulkBatchSize);
+        for (int i = 0; i < mimeMessages.size(); i += batchSize) {
+            List<MimeMessage> batch = mimeMessages.subList(i, Math.min(i + batchSize, mimeMessages.size()));
+            batches.add(CompletableFuture.supplyAsync(() -> sendBatch(batch), bulkExecutor));
+        }
+        int failedEmails = numberOfEmails - mimeMessages.size() + batches.stream().mapToInt(CompletableFuture::join).sum();
+
+        bulkSentCounter.increment(numberOfEmails - failedEmails);
+        bulkFailedCounter.increment(failedEmails);
+        return failedEmails;
+    }
+
+    /**
+     * Sends the emails of a batch over one connection to the mail server
+     *
+     * @param batch the emails to send
+     * @return the number of emails that could not be sent
+     */
+    private int sendBatch(List<MimeMessage> batch) {
+        try {
+            javaMailSender.send(batch.toArray(MimeMessage[]::new));
+            return 0;
+        }
+        catch (MailSendException e) {
+            log.warn("{} of {} emails could not be sent", e.getFailedMessages().size(), batch.size(), e);
+            return e.getFailedMessages().size();
+        }
+        catch (MailException e) {
+            log.warn("{} emails could not be sent", batch.size(), e);
+            return batch.size();
+        }
     }
 
     /// Weekly Summary Email
@@ -272,7 +431,29 @@ public class MailService {
     @Async
     public void sendWeeklySummaryEmail(User user, Set<Exercise> exercises) {
         log.debug("Sending weekly summary email to '{}'", user.getEmail());
+        sendEmail(user, WEEKLY_SUMMARY_SUBJECT, createWeeklySummaryContent(user, exercises), false, true);
+    }
+
+    /**
+     * Sends the weekly summary emails of multiple users in batches, where each batch reuses one connection to the mail server.
+     * In contrast to the other methods of this service, the emails are sent synchronously, so that the caller knows which summaries were sent.
+     *
+     * @param summaries the exercises of the weekly summary per recipient
+     * @return the number of emails that could not be sent
+     */
+    public int sendWeeklySummaryEmails(Map<User, Set<Exercise>> summaries) {
+        log.debug("Sending weekly summary emails to {} users", summaries.size());
+        long start = System.nanoTime();
 
+        List<MimeMessage> mimeMessages = new ArrayList<>();
+        summaries.forEach((user, exercises) -> createMimeMessage(user, WEEKLY_SUMMARY_SUBJECT, createWeeklySummaryContent(user, exercises)).ifPresent(mimeMessages::add));
+
+        int failedEmails = sendInBatches(mimeMessages, summaries.size());
+        bulkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return failedEmails;
+    }
+
+    private String createWeeklySummaryContent(User user, Set<Exercise> exercises) {
         Locale locale = Locale.forLanguageTag(user.getLangKey());
 
         Context context = new Context(locale);
@@ -280,12 +461,17 @@ public class MailService {
         context.setVariable(WEEKLY_SUMMARY_NEW_EXERCISES, exercises);
 
         context.setVariable(TIME_SERVICE, this.timeService);
-        String subject = "Weekly Summary";
-
         context.setVariable(BASE_URL, artemisServerUrl);
 
-        String content = templateEngine.process("mail/weeklySummary", context);
+        return templateEngine.process("mail/weeklySummary", context);
+    }
 
-        sendEmail(user, subject, content, false, true);
+    /**
+     * The rendered subject and content of a notification email
+     *
+     * @param subject the subject of the email
+     * @param content the html content of the email
+     */
+    private record NotificationEmail(String subject, String content) {
     }
 }
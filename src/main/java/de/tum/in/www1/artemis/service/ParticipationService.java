@@ -8,7 +8,9 @@ import java.util.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.*;
@@ -69,13 +71,15 @@ public class ParticipationService {
 
     private final CoverageReportRepository coverageReportRepository;
 
+    private final TransactionTemplate transactionTemplate;
+
     public ParticipationService(ProgrammingExerciseStudentParticipationRepository programmingExerciseStudentParticipationRepository,
             StudentParticipationRepository studentParticipationRepository, ExerciseRepository exerciseRepository, ProgrammingExerciseRepository programmingExerciseRepository,
             ResultRepository resultRepository, SubmissionRepository submissionRepository, ComplaintResponseRepository complaintResponseRepository,
             ComplaintRepository complaintRepository, TeamRepository teamRepository, GitService gitService, QuizScheduleService quizScheduleService,
             ParticipationRepository participationRepository, Optional<ContinuousIntegrationService> continuousIntegrationService,
             Optional<VersionControlService> versionControlService, RatingRepository ratingRepository, ParticipantScoreRepository participantScoreRepository, UrlService urlService,
-            CoverageReportRepository coverageReportRepository) {
+            CoverageReportRepository coverageReportRepository, PlatformTransactionManager transactionManager) {
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.participationRepository = participationRepository;
         this.programmingExerciseStudentParticipationRepository = programmingExerciseStudentParticipationRepository;
@@ -94,6 +98,7 @@ public class ParticipationService {
         this.participantScoreRepository = participantScoreRepository;
         this.urlService = urlService;
         this.coverageReportRepository = coverageReportRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -158,6 +163,44 @@ public class ParticipationService {
         return studentParticipationRepository.saveAndFlush(participation);
     }
 
+    /**
+     * Starts the given exercise for many students at once, e.g. when the exercises of an exam are started. In contrast to
+     * {@link #startExercise(Exercise, Participant, boolean)}, the participations and their initial (empty) submissions are not stored one by one, but together
+     * in one transaction, which avoids the queries to check for existing participations and submissions and the flush after every participation. If storing
+     * fails, nothing is stored, so that the caller can start the exercise for the same students individually.
+     * The caller must make sure that none of the students has a participation in the exercise yet and should pass the students in chunks of limited size.
+     *
+     * @param exercise the exercise which is started, must not be a programming exercise because its repositories and build plans are set up individually
+     * @param students the students who start the exercise and do not have a participation yet
+     * @return the created participations, each with its initial submission
+     */
+    public List<StudentParticipation> startExerciseForStudentsWithoutParticipation(Exercise exercise, List<User> students) {
+        if (exercise instanceof ProgrammingExercise) {
+            throw new IllegalArgumentException("Programming exercises have to be started for each student individually");
+        }
+        List<StudentParticipation> participations = new ArrayList<>();
+        for (User student : students) {
+            StudentParticipation participation = new StudentParticipation();
+            participation.setInitializationState(INITIALIZED);
+            participation.setInitializationDate(ZonedDateTime.now());
+            participation.setExercise(exercise);
+            participation.setParticipant(student);
+            participations.add(participation);
+        }
+        return transactionTemplate.execute(status -> {
+            List<StudentParticipation> savedParticipations = studentParticipationRepository.saveAll(participations);
+            List<Submission> submissions = new ArrayList<>();
+            for (StudentParticipation participation : savedParticipations) {
+                Submission submission = submissionRepository.createSubmissionForExercise(exercise);
+                submission.setParticipation(participation);
+                participation.addSubmission(submission);
+                submissions.add(submission);
+            }
+            submissionRepository.saveAll(submissions);
+            return savedParticipations;
+        });
+    }
+
     /**
      * Start a programming exercise participation (which does not exist yet) by creating and configuring a student git repository (step 1) and a student build plan (step 2)
      * based on the templates in the given programming exercise
@@ -386,6 +386,8 @@ public class QuizExerciseService {
         if (updateOfResultsAndStatisticsNecessary) {
             // make sure we have all objects available before updating the statistics to avoid lazy / proxy issues
             quizExercise = quizExerciseRepository.findByIdWithQuestionsAndStatisticsElseThrow(quizExercise.getId());
+            // the scores of the counted results have changed, so they cannot be used for delta updates anymore
+            quizScheduleService.clearCountedResults(quizExercise.getId());
             quizStatisticService.recalculateStatistics(quizExercise);
         }
         // fetch the quiz exercise again to make sure the latest changes are included
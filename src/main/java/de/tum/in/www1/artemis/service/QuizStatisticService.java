@@ -1,8 +1,6 @@
 package de.tum.in.www1.artemis.service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -104,6 +102,21 @@ public class QuizStatisticService {
      * @param quiz    the quizExercise with Questions where the results should contain to
      */
     public void updateStatistics(Set<Result> results, QuizExercise quiz) {
+        updateStatistics(results, quiz, new HashMap<>());
+    }
+
+    /**
+     * 1. check for each result if it's rated -> true: check if there is an old Result -> true: remove the old Result from the statistics 2. add new Result to the
+     * quiz-point-statistic and all question-statistics
+     * <p>
+     * The old Result of an unrated Result is taken from the given counted results, so that only the delta between the two results is applied without reading all
+     * Results of the participation from the database. Only participations without a counted Result fall back to the database.
+     *
+     * @param results        the results, which will be added to the statistics
+     * @param quiz           the quizExercise with Questions where the results should contain to
+     * @param countedResults the latest unrated Result that is counted in the statistics by participation id, will be updated with the given results
+     */
+    public void updateStatistics(Set<Result> results, QuizExercise quiz, Map<Long, Result> countedResults) {
 
         if (results != null && quiz != null && quiz.getQuizQuestions() != null) {
             log.debug("update statistics with {} new results", results.size());
@@ -112,7 +125,17 @@ public class QuizStatisticService {
                 // check if the result is rated
                 // NOTE: there is never an old Result if the new result is rated
                 if (Boolean.FALSE.equals(result.isRated())) {
-                    quiz.removeResultFromAllStatistics(getPreviousResult(result));
+                    Long participationId = result.getParticipation().getId();
+                    Result previousResult = countedResults.get(participationId);
+                    if (previousResult == null) {
+                        previousResult = getPreviousResult(result);
+                    }
+                    else if (!previousResult.getCompletionDate().isBefore(result.getCompletionDate())) {
+                        // the result (or a newer one) is already counted, e.g. because it was processed before
+                        continue;
+                    }
+                    quiz.removeResultFromAllStatistics(previousResult);
+                    countedResults.put(participationId, toCountedResult(result));
                 }
                 quiz.addResultToAllStatistics(result);
             }
@@ -132,6 +155,22 @@ public class QuizStatisticService {
         }
     }
 
+    /**
+     * Creates a copy of the given result that contains only the values which are necessary to remove it from the statistics again
+     *
+     * @param result the result which is counted in the statistics
+     * @return a lightweight copy of the result without participation
+     */
+    private Result toCountedResult(Result result) {
+        Result countedResult = new Result();
+        countedResult.setId(result.getId());
+        countedResult.setRated(result.isRated());
+        countedResult.setScore(result.getScore());
+        countedResult.setCompletionDate(result.getCompletionDate());
+        countedResult.setSubmission(result.getSubmission());
+        return countedResult;
+    }
+
     /**
      * Go through all Results in the Participation and return the latest one before the new Result,
      *
@@ -3,6 +3,7 @@ package de.tum.in.www1.artemis.service;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,10 +26,14 @@ import de.tum.in.www1.artemis.repository.ResultRepository;
 import de.tum.in.www1.artemis.repository.SubmissionRepository;
 import de.tum.in.www1.artemis.service.scheduled.quiz.QuizScheduleService;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class QuizSubmissionService {
 
+    private static final String LIVE_SUBMISSION_METER_NAME = "artemis.quiz.submissions.live";
+
     private final Logger log = LoggerFactory.getLogger(QuizSubmissionService.class);
 
     private final QuizSubmissionRepository quizSubmissionRepository;
@@ -47,9 +52,11 @@ public class QuizSubmissionService {
 
     private final SubmissionRepository submissionRepository;
 
+    private final Timer liveSubmissionTimer;
+
     public QuizSubmissionService(QuizSubmissionRepository quizSubmissionRepository, QuizScheduleService quizScheduleService, ResultRepository resultRepository,
             SubmissionVersionService submissionVersionService, QuizExerciseRepository quizExerciseRepository, ParticipationService participationService,
-            QuizBatchService quizBatchService, SubmissionRepository submissionRepository) {
+            QuizBatchService quizBatchService, SubmissionRepository submissionRepository, MeterRegistry meterRegistry) {
         this.quizSubmissionRepository = quizSubmissionRepository;
         this.resultRepository = resultRepository;
         this.quizScheduleService = quizScheduleService;
@@ -58,6 +65,8 @@ public class QuizSubmissionService {
         this.participationService = participationService;
         this.quizBatchService = quizBatchService;
         this.submissionRepository = submissionRepository;
+        this.liveSubmissionTimer = Timer.builder(LIVE_SUBMISSION_METER_NAME).description("Duration of saving quiz submissions in live mode, including the checks whether they are allowed")
+                .register(meterRegistry);
     }
 
     /**
@@ -138,7 +147,9 @@ public class QuizSubmissionService {
         // save submission to HashMap
         quizScheduleService.updateSubmission(exerciseId, user.getLogin(), quizSubmission);
 
-        log.info("{} Saved quiz submission for user {} in quiz {} after {} µs ", logText, user.getLogin(), exerciseId, (System.nanoTime() - start) / 1000);
+        long duration = System.nanoTime() - start;
+        liveSubmissionTimer.record(duration, TimeUnit.NANOSECONDS);
+        log.info("{} Saved quiz submission for user {} in quiz {} after {} µs ", logText, user.getLogin(), exerciseId, duration / 1000);
         return quizSubmission;
     }
 
@@ -173,9 +184,16 @@ public class QuizSubmissionService {
         // same as the user who executes this call. This prevents injecting submissions to other users
 
         // check if user has attempts left for this quiz
-        int submissionCount = submissionRepository.countByExerciseIdAndStudentId(exerciseId, user.getId());
+        if (quizExercise.getAllowedNumberOfAttempts() == null) {
+            return;
+        }
+        // the committed attempts are usually counted in the quiz cache already, the database is only used until the next run of the quiz schedule
+        Integer submissionCount = quizScheduleService.getCommittedAttempts(exerciseId, user.getLogin());
+        if (submissionCount == null) {
+            submissionCount = submissionRepository.countByExerciseIdAndStudentId(exerciseId, user.getId());
+        }
         log.debug("{} Counted {} submissions for user {} in quiz {} in {} µs.", logText, submissionCount, user.getLogin(), exerciseId, (System.nanoTime() - start) / 1000);
-        if (quizExercise.getAllowedNumberOfAttempts() != null && submissionCount >= quizExercise.getAllowedNumberOfAttempts()) {
+        if (submissionCount >= quizExercise.getAllowedNumberOfAttempts()) {
             throw new QuizSubmissionException("You have no more attempts at this quiz left");
         }
     }
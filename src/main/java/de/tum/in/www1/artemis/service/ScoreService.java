@@ -2,8 +2,7 @@ package de.tum.in.www1.artemis.service;
 
 import static de.tum.in.www1.artemis.service.util.RoundingUtil.roundScoreSpecifiedByCourseSettings;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -15,7 +14,6 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import de.tum.in.www1.artemis.domain.*;
-import de.tum.in.www1.artemis.domain.participation.Participation;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.domain.scores.ParticipantScore;
 import de.tum.in.www1.artemis.domain.scores.StudentScore;
@@ -32,16 +30,16 @@ public class ScoreService {
 
     private final TeamScoreRepository teamScoreRepository;
 
-    private final ParticipationRepository participationRepository;
+    private final StudentParticipationRepository studentParticipationRepository;
 
     private final ResultRepository resultRepository;
 
     private final Logger logger = LoggerFactory.getLogger(ScoreService.class);
 
-    public ScoreService(StudentScoreRepository studentScoreRepository, TeamScoreRepository teamScoreRepository, ParticipationRepository participationRepository,
+    public ScoreService(StudentScoreRepository studentScoreRepository, TeamScoreRepository teamScoreRepository, StudentParticipationRepository studentParticipationRepository,
             ResultRepository resultRepository, ParticipantScoreRepository participantScoreRepository) {
         this.studentScoreRepository = studentScoreRepository;
-        this.participationRepository = participationRepository;
+        this.studentParticipationRepository = studentParticipationRepository;
         this.participantScoreRepository = participantScoreRepository;
         this.teamScoreRepository = teamScoreRepository;
         this.resultRepository = resultRepository;
@@ -120,55 +118,100 @@ public class ScoreService {
     }
 
     /**
-     * Either updates an existing participant score or creates a new participant score if a new result comes in
+     * Updates, creates or removes the participant scores of the participants of the given participations, so that they refer to the latest (rated) results.
+     * The scores are calculated from all results of the participant in the exercise, so it does not matter which or how many results changed in the meantime.
+     * Participations of the same participant in the same exercise are therefore only considered once.
      * The annotation "@Transactional" is ok because it means that this method does not support run in an outer transactional context, instead the outer transaction is paused
      *
-     * @param createdOrUpdatedResult newly created or updated result
+     * @param participationIds ids of the student participations for which results were created or updated
+     * @return the number of participant scores that were created, updated or removed
      */
     @Transactional(propagation = Propagation.NOT_SUPPORTED) // ok (see JavaDoc)
-    public void updateOrCreateParticipantScore(Result createdOrUpdatedResult) {
-        if (createdOrUpdatedResult.getScore() == null || createdOrUpdatedResult.getCompletionDate() == null) {
-            return;
-        }
-        // There is a deadlock problem with programming exercises here if we use the participation from the result (reason unknown at the moment)
-        // therefore we get the participation from the database
-        Optional<StudentParticipation> studentParticipationOptional = getStudentParticipationForResult(createdOrUpdatedResult);
-        if (studentParticipationOptional.isEmpty()) {
-            return;
-        }
-        StudentParticipation studentParticipation = studentParticipationOptional.get();
-        // we ignore test runs of exams
-        if (studentParticipation.isTestRun()) {
-            return;
-        }
-        Exercise exercise = studentParticipation.getExercise();
-        ParticipantScore existingParticipationScoreForExerciseAndParticipant = getExistingParticipationScore(studentParticipation, exercise);
-        // there already exists a participant score -> we need to update it
-        if (existingParticipationScoreForExerciseAndParticipant != null) {
-            updateExistingParticipantScore(existingParticipationScoreForExerciseAndParticipant, createdOrUpdatedResult, exercise);
+    public int updateOrCreateParticipantScores(Set<Long> participationIds) {
+        Map<ParticipantInExercise, StudentParticipation> participationsByParticipant = new HashMap<>();
+        for (StudentParticipation studentParticipation : studentParticipationRepository.findAllById(participationIds)) {
+            // we ignore test runs of exams
+            if (!studentParticipation.isTestRun()) {
+                participationsByParticipant.putIfAbsent(ParticipantInExercise.of(studentParticipation), studentParticipation);
+            }
         }
-        else { // there does not already exist a participant score -> we need to create it
-            createNewParticipantScore(createdOrUpdatedResult, studentParticipation, exercise);
+
+        List<ParticipantScore> changedParticipantScores = new ArrayList<>();
+        List<ParticipantScore> obsoleteParticipantScores = new ArrayList<>();
+        for (StudentParticipation studentParticipation : participationsByParticipant.values()) {
+            Exercise exercise = studentParticipation.getExercise();
+            ParticipantScore participantScore = getExistingParticipationScore(studentParticipation, exercise);
+            // the latest result (result with the highest id of submission with the highest id) will be at the beginning of the list
+            List<Result> resultsOrdered = getResultsOrdered(studentParticipation, exercise);
+            Result lastResult = resultsOrdered.isEmpty() ? null : resultsOrdered.get(0);
+            Result lastRatedResult = resultsOrdered.stream().filter(result -> Boolean.TRUE.equals(result.isRated())).findFirst().orElse(null);
+
+            if (lastResult == null) {
+                if (participantScore != null) {
+                    obsoleteParticipantScores.add(participantScore);
+                }
+                continue;
+            }
+            if (participantScore == null) {
+                participantScore = createNewParticipantScore(studentParticipation, exercise);
+            }
+            else if (isUpToDate(participantScore, lastResult, lastRatedResult, exercise)) {
+                continue;
+            }
+            setLastAttributes(participantScore, lastResult, exercise);
+            setLastRatedAttributes(participantScore, lastRatedResult, exercise);
+            changedParticipantScores.add(participantScore);
         }
+
+        participantScoreRepository.saveAll(changedParticipantScores);
+        participantScoreRepository.deleteAll(obsoleteParticipantScores);
+        logger.info("Updated {} and removed {} participant scores for {} participations", changedParticipantScores.size(), obsoleteParticipantScores.size(),
+                participationIds.size());
+        return changedParticipantScores.size() + obsoleteParticipantScores.size();
     }
 
     /**
-     * Gets the student participation for a result from the database
-     *
-     * @param result result for which to get the student participation
-     * @return student participation optional
+     * Identifies the participant score a participation contributes to
      */
-    private Optional<StudentParticipation> getStudentParticipationForResult(Result result) {
-        Optional<Participation> participationOptional = participationRepository.findByResults(result);
-        if (participationOptional.isEmpty()) {
-            return Optional.empty();
+    private record ParticipantInExercise(Long exerciseId, Long participantId, boolean isTeam) {
+
+        static ParticipantInExercise of(StudentParticipation studentParticipation) {
+            Exercise exercise = studentParticipation.getExercise();
+            if (exercise.isTeamMode()) {
+                return new ParticipantInExercise(exercise.getId(), studentParticipation.getTeam().get().getId(), true);
+            }
+            return new ParticipantInExercise(exercise.getId(), studentParticipation.getStudent().get().getId(), false);
+        }
+    }
+
+    private List<Result> getResultsOrdered(StudentParticipation studentParticipation, Exercise exercise) {
+        if (exercise.isTeamMode()) {
+            return resultRepository.getResultsOrderedByParticipationIdLegalSubmissionIdResultIdDescForTeam(exercise.getId(), studentParticipation.getTeam().get().getId());
         }
-        Participation participation = participationOptional.get();
+        return resultRepository.getResultsOrderedByParticipationIdLegalSubmissionIdResultIdDescForStudent(exercise.getId(), studentParticipation.getStudent().get().getId());
+    }
+
+    private boolean isUpToDate(ParticipantScore participantScore, Result lastResult, Result lastRatedResult, Exercise exercise) {
+        return Objects.equals(getId(participantScore.getLastResult()), getId(lastResult)) && Objects.equals(participantScore.getLastScore(), getScore(lastResult))
+                && Objects.equals(participantScore.getLastPoints(), calculatePoints(lastResult, exercise))
+                && Objects.equals(getId(participantScore.getLastRatedResult()), getId(lastRatedResult))
+                && Objects.equals(participantScore.getLastRatedScore(), getScore(lastRatedResult))
+                && Objects.equals(participantScore.getLastRatedPoints(), calculatePoints(lastRatedResult, exercise));
+    }
+
+    private static Long getId(Result result) {
+        return result == null ? null : result.getId();
+    }
 
-        if (!(participation instanceof StudentParticipation)) {
-            return Optional.empty();
+    private static Double getScore(Result result) {
+        return result == null ? null : result.getScore();
+    }
+
+    private static Double calculatePoints(Result result, Exercise exercise) {
+        if (result == null) {
+            return null;
         }
-        return Optional.of((StudentParticipation) participation);
+        return roundScoreSpecifiedByCourseSettings(result.getScore() * 0.01 * exercise.getMaxPoints(), exercise.getCourseViaExerciseGroupOrCourseMember());
     }
 
     /**
@@ -198,71 +241,26 @@ public class ScoreService {
     }
 
     /**
-     * Create a new Participant Score
+     * Create a new participant score that is not persisted yet
      *
-     * @param newResult            result containing the information about the score achieved
      * @param studentParticipation participation containing the information about the participant
      * @param exercise             exercise for which to create participant score
+     * @return the new student score or team score
      */
-    private void createNewParticipantScore(Result newResult, StudentParticipation studentParticipation, Exercise exercise) {
+    private ParticipantScore createNewParticipantScore(StudentParticipation studentParticipation, Exercise exercise) {
+        ParticipantScore newParticipantScore;
         if (exercise.isTeamMode()) {
-            createNewTeamScore(newResult, studentParticipation, exercise);
+            TeamScore newTeamScore = new TeamScore();
+            newTeamScore.setTeam(studentParticipation.getTeam().get());
+            newParticipantScore = newTeamScore;
         }
         else {
-            createNewStudentScore(newResult, studentParticipation, exercise);
-        }
-    }
-
-    private void createNewStudentScore(Result newResult, StudentParticipation studentParticipation, Exercise exercise) {
-        StudentScore newStudentScore = new StudentScore();
-        newStudentScore.setExercise(exercise);
-        newStudentScore.setUser(studentParticipation.getStudent().get());
-        setLastAttributes(newStudentScore, newResult, exercise);
-        if (newResult.isRated() != null && newResult.isRated()) {
-            setLastRatedAttributes(newStudentScore, newResult, exercise);
-        }
-        StudentScore studentScore = studentScoreRepository.saveAndFlush(newStudentScore);
-        logger.info("Saved a new student score: " + studentScore);
-    }
-
-    private void createNewTeamScore(Result newResult, StudentParticipation studentParticipation, Exercise exercise) {
-        TeamScore newTeamScore = new TeamScore();
-        newTeamScore.setExercise(exercise);
-        newTeamScore.setTeam(studentParticipation.getTeam().get());
-        setLastAttributes(newTeamScore, newResult, exercise);
-        if (newResult.isRated() != null && newResult.isRated()) {
-            setLastRatedAttributes(newTeamScore, newResult, exercise);
+            StudentScore newStudentScore = new StudentScore();
+            newStudentScore.setUser(studentParticipation.getStudent().get());
+            newParticipantScore = newStudentScore;
         }
-        TeamScore teamScore = teamScoreRepository.saveAndFlush(newTeamScore);
-        logger.info("Saved a new team score: " + teamScore);
-    }
-
-    /**
-     * Update an existing participant score when a new or updated result comes in
-     *
-     * @param participantScore            existing participant score that refers to the same exercise and participant as the result
-     * @param exercise                    the exercise to which the participant score belong
-     * @param updatedOrNewlyCreatedResult updated or new result
-     */
-    private void updateExistingParticipantScore(ParticipantScore participantScore, Result updatedOrNewlyCreatedResult, Exercise exercise) {
-        String originalParticipantScoreStructure = participantScore.toString();
-
-        // update the last result and last score if either it has not been set previously or new result is either the old one (=) or newer (>)
-        if (participantScore.getLastResult() == null || updatedOrNewlyCreatedResult.getId() >= participantScore.getLastResult().getId()) {
-            setLastAttributes(participantScore, updatedOrNewlyCreatedResult, exercise);
-        }
-        // update the last rated result and last rated score if either it has not been set previously or new rated result is either the old one (=) or newer (>)
-        if (updatedOrNewlyCreatedResult.isRated() != null && updatedOrNewlyCreatedResult.isRated()
-                && (participantScore.getLastRatedResult() == null || updatedOrNewlyCreatedResult.getId() >= participantScore.getLastRatedResult().getId())) {
-            setLastRatedAttributes(participantScore, updatedOrNewlyCreatedResult, exercise);
-        }
-        // Edge Case: if the result is now unrated but is equal to the current last rated result we have to set these to null (result was switched from rated to unrated)
-        if ((updatedOrNewlyCreatedResult.isRated() == null || !updatedOrNewlyCreatedResult.isRated())
-                && updatedOrNewlyCreatedResult.equals(participantScore.getLastRatedResult())) {
-            setLastRatedAttributes(participantScore, null, exercise);
-        }
-        participantScoreRepository.saveAndFlush(participantScore);
-        logger.info("Updated an existing participant score. Was: " + originalParticipantScoreStructure + ". Is: " + participantScore);
+        newParticipantScore.setExercise(exercise);
+        return newParticipantScore;
     }
 
     /**
@@ -323,9 +321,7 @@ public class ScoreService {
         }
         else {
             associatedParticipantScore.setLastScore(newLastResult.getScore());
-            associatedParticipantScore.setLastPoints(
-                    roundScoreSpecifiedByCourseSettings(newLastResult.getScore() * 0.01 * exercise.getMaxPoints(), exercise.getCourseViaExerciseGroupOrCourseMember()));
-
+            associatedParticipantScore.setLastPoints(calculatePoints(newLastResult, exercise));
         }
     }
 
@@ -337,8 +333,7 @@ public class ScoreService {
         }
         else {
             associatedParticipantScore.setLastRatedScore(newLastRatedResult.getScore());
-            associatedParticipantScore.setLastRatedPoints(
-                    roundScoreSpecifiedByCourseSettings(newLastRatedResult.getScore() * 0.01 * exercise.getMaxPoints(), exercise.getCourseViaExerciseGroupOrCourseMember()));
+            associatedParticipantScore.setLastRatedPoints(calculatePoints(newLastRatedResult, exercise));
         }
     }
 
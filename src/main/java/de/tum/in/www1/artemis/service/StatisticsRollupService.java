@@ -0,0 +1,285 @@
+package de.tum.in.www1.artemis.service;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.tum.in.www1.artemis.domain.enumeration.GraphType;
+import de.tum.in.www1.artemis.domain.enumeration.SpanType;
+import de.tum.in.www1.artemis.domain.enumeration.StatisticsView;
+import de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsEntry;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsEntry;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollup;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollupProgress;
+import de.tum.in.www1.artemis.repository.StatisticsRepository;
+import de.tum.in.www1.artemis.repository.StatisticsRollupProgressRepository;
+import de.tum.in.www1.artemis.repository.StatisticsRollupRepository;
+import de.tum.in.www1.artemis.security.SecurityUtils;
+
+/**
+ * Maintains hourly counters per graph type and exercise, so that the statistics pages do not have to scan all submissions and results of a period.
+ * <p>
+ * The rollups are built by {@link #compactRollups(ZonedDateTime)} for all hours that are older than {@link #COMPACTION_DELAY}, which gives late
+ * entries (e.g. programming submissions dated by their commit) time to arrive. Charts combine the rollups before
+ * {@link StatisticsRollupProgress#getCompactedUntil()} with the original entries after it.
+ * <p>
+ * Rolled up hours are kept consistent with the original tables in two ways:
+ * <ul>
+ * <li>When a submission, result or feedback of a rolled up hour is created, changed or deleted, the rollups of the exercise in that hour are rebuilt in
+ * the background after the transaction committed, see {@link #invalidateRollups(Long, ZonedDateTime)} and
+ * {@link de.tum.in.www1.artemis.service.listeners.StatisticsRollupListener}. This also covers results whose completion date is reset and set again.</li>
+ * <li>Each compaction rebuilds the rollups of the last {@link #RECOMPACTION_WINDOW}, which covers changes that bypass Hibernate, e.g. bulk deletions.</li>
+ * </ul>
+ * <p>
+ * Only graph types that count independent entries can be rolled up. Graph types that count distinct users (active users, logged in users, active
+ * tutors) cannot be summed up across hours, and the remaining graph types are based on exercises, exams and posts, which are small compared to submissions
+ * and results.
+ */
+@Service
+public class StatisticsRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsRollupService.class);
+
+    public static final Set<GraphType> ROLLED_UP_GRAPH_TYPES = EnumSet.of(GraphType.SUBMISSIONS, GraphType.CREATED_RESULTS, GraphType.CREATED_FEEDBACKS);
+
+    static final Duration COMPACTION_DELAY = Duration.ofHours(1);
+
+    /**
+     * The period that is rolled up at once, which bounds the number of loaded entries while the rollups of the existing history are built
+     */
+    private static final Duration COMPACTION_CHUNK = Duration.ofDays(1);
+
+    /**
+     * The period before the last compaction that is rolled up again by each compaction
+     */
+    static final Duration RECOMPACTION_WINDOW = Duration.ofDays(1);
+
+    private final StatisticsRollupRepository statisticsRollupRepository;
+
+    private final StatisticsRollupProgressRepository statisticsRollupProgressRepository;
+
+    private final StatisticsRepository statisticsRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService invalidationExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * The invalidated hours per exercise whose rollups were not rebuilt yet, so that multiple changes in the same hour only rebuild its rollups once
+     */
+    private final Set<Invalidation> pendingInvalidations = ConcurrentHashMap.newKeySet();
+
+    public StatisticsRollupService(StatisticsRollupRepository statisticsRollupRepository, StatisticsRollupProgressRepository statisticsRollupProgressRepository,
+            StatisticsRepository statisticsRepository, PlatformTransactionManager transactionManager) {
+        this.statisticsRollupRepository = statisticsRollupRepository;
+        this.statisticsRollupProgressRepository = statisticsRollupProgressRepository;
+        this.statisticsRepository = statisticsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        invalidationExecutor.shutdownNow();
+    }
+
+    /**
+     * Gets the number of entries for the graph type in the given period. Rolled up hours are read from the rollups and only the remaining entries are
+     * fetched from the original tables, see {@link StatisticsRepository#getNumberOfEntriesPerTimeSlot}.
+     *
+     * @param graphType the type of graph the data should be fetched for
+     * @param span      the spanType for which the call is executed
+     * @param startDate the start of the period, which has to be the start of an hour
+     * @param endDate   the end of the period (inclusive)
+     * @param view      the view in which the data will be displayed (Artemis, Course, Exercise)
+     * @param entityId  the id of the course or exercise or null for the Artemis view
+     * @return the number of entries, at most one per hour for the rolled up hours
+     */
+    public List<StatisticsEntry> getNumberOfEntriesPerTimeSlot(GraphType graphType, SpanType span, ZonedDateTime startDate, ZonedDateTime endDate, StatisticsView view,
+            @Nullable Long entityId) {
+        if (!ROLLED_UP_GRAPH_TYPES.contains(graphType)) {
+            return statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+        }
+        Optional<ZonedDateTime> compactedUntil = statisticsRollupProgressRepository.findByGraphType(graphType).map(StatisticsRollupProgress::getCompactedUntil);
+        if (compactedUntil.isEmpty() || !startDate.isBefore(compactedUntil.get())) {
+            return statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+        }
+
+        ZonedDateTime rolledUpEndDate = endDate.isBefore(compactedUntil.get()) ? endDate : compactedUntil.get();
+        List<StatisticsEntry> entries = new ArrayList<>(getRolledUpEntries(graphType, startDate, rolledUpEndDate, view, entityId));
+        // the time slots are loaded in the time zone of the server, the charts are sorted in the time zone of the period
+        entries.forEach(entry -> entry.setDay(((ZonedDateTime) entry.getDay()).withZoneSameInstant(startDate.getZone())));
+        if (!endDate.isBefore(compactedUntil.get())) {
+            entries.addAll(statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, compactedUntil.get(), endDate, view, entityId));
+        }
+        return entries;
+    }
+
+    private List<StatisticsEntry> getRolledUpEntries(GraphType graphType, ZonedDateTime startDate, ZonedDateTime endDate, StatisticsView view, @Nullable Long entityId) {
+        return switch (view) {
+            case ARTEMIS -> statisticsRollupRepository.getRolledUpEntries(graphType, startDate, endDate);
+            case COURSE -> {
+                List<Long> exerciseIds = statisticsRepository.findExerciseIdsByCourseId(entityId);
+                yield exerciseIds.isEmpty() ? List.of() : statisticsRollupRepository.getRolledUpEntriesForExercises(graphType, startDate, endDate, exerciseIds);
+            }
+            case EXERCISE -> statisticsRollupRepository.getRolledUpEntriesForExercises(graphType, startDate, endDate, List.of(entityId));
+        };
+    }
+
+    /**
+     * Rolls up the entries of all hours that are older than {@link #COMPACTION_DELAY} and were not rolled up yet, and rolls up the hours of the last
+     * {@link #RECOMPACTION_WINDOW} again. When a graph type is rolled up for the first time, its complete history is rolled up.
+     *
+     * @param now the current date
+     */
+    public void compactRollups(ZonedDateTime now) {
+        ZonedDateTime compactUntil = now.minus(COMPACTION_DELAY).truncatedTo(ChronoUnit.HOURS);
+        for (GraphType graphType : ROLLED_UP_GRAPH_TYPES) {
+            compactRollups(graphType, compactUntil);
+        }
+    }
+
+    private void compactRollups(GraphType graphType, ZonedDateTime compactUntil) {
+        StatisticsRollupProgress progress = statisticsRollupProgressRepository.findByGraphType(graphType).orElseGet(() -> {
+            ZonedDateTime earliestDate = statisticsRollupRepository.findEarliestDate(graphType);
+            ZonedDateTime compactFrom = earliestDate != null && earliestDate.isBefore(compactUntil) ? earliestDate.truncatedTo(ChronoUnit.HOURS) : compactUntil;
+            return statisticsRollupProgressRepository.save(new StatisticsRollupProgress(graphType, compactFrom));
+        });
+
+        int numberOfRollups = 0;
+        ZonedDateTime startDate = progress.getCompactedUntil().minus(RECOMPACTION_WINDOW);
+        while (startDate.isBefore(compactUntil)) {
+            ZonedDateTime chunkStartDate = startDate;
+            ZonedDateTime chunkEndDate = startDate.plus(COMPACTION_CHUNK).isBefore(compactUntil) ? startDate.plus(COMPACTION_CHUNK) : compactUntil;
+            // the rollups and the progress of a chunk are replaced together, so that the charts never see a partially rolled up chunk
+            List<StatisticsRollup> rollups = transactionTemplate.execute(status -> {
+                statisticsRollupRepository.deleteByGraphTypeAndTimeSlotBetween(graphType, chunkStartDate, chunkEndDate);
+                List<StatisticsRollup> savedRollups = statisticsRollupRepository
+                        .saveAll(rollUp(graphType, statisticsRollupRepository.getEntriesPerExercise(graphType, chunkStartDate, chunkEndDate)));
+                if (chunkEndDate.isAfter(progress.getCompactedUntil())) {
+                    progress.setCompactedUntil(chunkEndDate);
+                    statisticsRollupProgressRepository.save(progress);
+                }
+                return savedRollups;
+            });
+            numberOfRollups += rollups.size();
+            startDate = chunkEndDate;
+        }
+        log.debug("Saved {} statistics rollups of graph type {} until {}", numberOfRollups, graphType, compactUntil);
+    }
+
+    /**
+     * Checks if the hour of the given date might already be rolled up, i.e. if changes of entries with this date have to invalidate the rollups
+     *
+     * @param date the date of a submission or result
+     * @return true if the hour of the date is older than {@link #COMPACTION_DELAY}
+     */
+    public static boolean isRolledUp(@Nullable ZonedDateTime date) {
+        return date != null && date.isBefore(ZonedDateTime.now().minus(COMPACTION_DELAY).truncatedTo(ChronoUnit.HOURS));
+    }
+
+    /**
+     * Rebuilds the rollups of the exercise in the hour of the given date in the background after the current transaction committed, because a submission
+     * or result of this hour was created, changed or deleted. Hours that are not rolled up yet are ignored.
+     *
+     * @param exerciseId the id of the exercise of the changed entry
+     * @param date       the (previous) date of the changed entry
+     */
+    public void invalidateRollups(Long exerciseId, @Nullable ZonedDateTime date) {
+        if (exerciseId == null || !isRolledUp(date)) {
+            return;
+        }
+        // the time slots of the rollups are stored in the time zone of the server
+        Invalidation invalidation = new Invalidation(exerciseId, date.withZoneSameInstant(ZoneId.systemDefault()).truncatedTo(ChronoUnit.HOURS));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    scheduleRebuild(invalidation);
+                }
+            });
+        }
+        else {
+            scheduleRebuild(invalidation);
+        }
+    }
+
+    private void scheduleRebuild(Invalidation invalidation) {
+        if (pendingInvalidations.add(invalidation)) {
+            invalidationExecutor.execute(() -> {
+                // changes during the rebuild invalidate the hour again
+                pendingInvalidations.remove(invalidation);
+                rebuildRollups(invalidation);
+            });
+        }
+    }
+
+    private void rebuildRollups(Invalidation invalidation) {
+        ZonedDateTime startDate = invalidation.timeSlot();
+        ZonedDateTime endDate = startDate.plusHours(1);
+        try {
+            SecurityUtils.setAuthorizationObject();
+            for (GraphType graphType : ROLLED_UP_GRAPH_TYPES) {
+                Optional<StatisticsRollupProgress> progress = statisticsRollupProgressRepository.findByGraphType(graphType);
+                if (progress.isEmpty() || !startDate.isBefore(progress.get().getCompactedUntil())) {
+                    // the hour will be rolled up by the next compaction
+                    continue;
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    statisticsRollupRepository.deleteByGraphTypeAndExerciseIdAndTimeSlotBetween(graphType, invalidation.exerciseId(), startDate, endDate);
+                    statisticsRollupRepository
+                            .saveAll(rollUp(graphType, statisticsRollupRepository.getEntriesOfExercise(graphType, invalidation.exerciseId(), startDate, endDate)));
+                });
+            }
+        }
+        catch (Exception ex) {
+            log.error("Could not rebuild the statistics rollups of exercise {} at {}", invalidation.exerciseId(), startDate, ex);
+        }
+    }
+
+    /**
+     * Sums up the entries per exercise and hour
+     *
+     * @param graphType the graph type of the entries
+     * @param entries   the number of entries per exercise and date
+     * @return one rollup per exercise and hour with entries
+     */
+    private List<StatisticsRollup> rollUp(GraphType graphType, List<ExerciseStatisticsEntry> entries) {
+        Map<Long, Map<ZonedDateTime, Long>> amountsPerExerciseAndHour = new HashMap<>();
+        for (ExerciseStatisticsEntry entry : entries) {
+            if (entry.amount() != null && entry.amount() > 0) {
+                amountsPerExerciseAndHour.computeIfAbsent(entry.exerciseId(), exerciseId -> new HashMap<>()).merge(entry.date().truncatedTo(ChronoUnit.HOURS), entry.amount(),
+                        Long::sum);
+            }
+        }
+        List<StatisticsRollup> rollups = new ArrayList<>();
+        amountsPerExerciseAndHour.forEach((exerciseId, amountsPerHour) -> amountsPerHour
+                .forEach((timeSlot, amount) -> rollups.add(new StatisticsRollup(graphType, exerciseId, timeSlot, amount))));
+        return rollups;
+    }
+
+    /**
+     * An hour of an exercise whose rollups have to be rebuilt
+     *
+     * @param exerciseId the id of the exercise
+     * @param timeSlot   the start of the hour in the time zone of the server
+     */
+    private record Invalidation(Long exerciseId, ZonedDateTime timeSlot) {
+    }
+}
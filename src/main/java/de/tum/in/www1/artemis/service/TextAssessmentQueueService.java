@@ -52,13 +52,24 @@ public class TextAssessmentQueueService {
         if (!textExercise.isAutomaticAssessmentEnabled()) {
             throw new IllegalArgumentException("The TextExercise is not automatic assessable");
         }
-        List<TextSubmission> textSubmissionList = getAllOpenTextSubmissions(textExercise);
+        List<TextSubmission> textSubmissionList = getAllOpenTextSubmissions(textExercise).stream()
+                .filter(textSubmission -> languages == null || languages.contains(textSubmission.getLanguage())).toList();
         if (textSubmissionList.isEmpty()) {
             return Optional.empty();
         }
         Map<TextBlock, Double> smallerClusterMap = calculateSmallerClusterPercentageBatch(textSubmissionList);
-        return textSubmissionList.stream().filter(textSubmission -> languages == null || languages.contains(textSubmission.getLanguage()))
-                .max(Comparator.comparingDouble(textSubmission -> calculateInformationGain(textSubmission, smallerClusterMap)));
+
+        // calculate the information gain once per submission instead of once per comparison
+        TextSubmission proposedTextSubmission = null;
+        double highestInformationGain = Double.NEGATIVE_INFINITY;
+        for (TextSubmission textSubmission : textSubmissionList) {
+            double informationGain = calculateInformationGain(textSubmission, smallerClusterMap);
+            if (informationGain > highestInformationGain) {
+                highestInformationGain = informationGain;
+                proposedTextSubmission = textSubmission;
+            }
+        }
+        return Optional.ofNullable(proposedTextSubmission);
     }
 
     /**
@@ -164,33 +175,54 @@ public class TextAssessmentQueueService {
         if (textSubmissionList.stream().map(submission -> submission.getParticipation().getExercise()).anyMatch(elem -> elem != currentExercise)) {
             throw new IllegalArgumentException("All TextSubmissions have to be from the same Exercise");
         }
+        // sort the open text block counts once, so that the number of smaller clusters of a text block can be found with a binary search
+        int[] sortedOpenTextBlockCounts = clusters.stream().mapToInt(TextCluster::openTextBlockCount).sorted().toArray();
+        // count the open text blocks once per cluster instead of once per text block
+        Map<TextCluster, Integer> openTextBlockCounts = new IdentityHashMap<>();
+
         textSubmissionList.forEach(textSubmission -> {
             textSubmission.getBlocks().forEach(textBlock -> {
                 if (textBlock.getCluster() == null) {
                     return;
                 }
-                OptionalInt optionalLargestClusterSize = clusters.stream().mapToInt(TextCluster::openTextBlockCount).max();
-
                 // if cluster is empty
-                if (optionalLargestClusterSize.isEmpty()) {
+                if (sortedOpenTextBlockCounts.length == 0) {
                     result.put(textBlock, 0.0);
                     return;
                 }
+                int openTextBlockCount = openTextBlockCounts.computeIfAbsent(textBlock.getCluster(), TextCluster::openTextBlockCount);
                 // if cluster is the largest set to smaller percentage to 1
-                if (optionalLargestClusterSize.getAsInt() == textBlock.getCluster().openTextBlockCount()) {
+                if (sortedOpenTextBlockCounts[sortedOpenTextBlockCounts.length - 1] == openTextBlockCount) {
                     result.put(textBlock, 1.0);
                     return;
                 }
 
-                int smallerClusterCount = clusters.stream().mapToInt(TextCluster::openTextBlockCount).reduce(0, (sum, elem) -> {
-                    if (elem < textBlock.getCluster().openTextBlockCount()) {
-                        return sum + 1;
-                    }
-                    return sum;
-                });
+                int smallerClusterCount = countSmallerValues(sortedOpenTextBlockCounts, openTextBlockCount);
                 result.put(textBlock, (double) smallerClusterCount / clusters.size());
             });
         });
         return result;
     }
+
+    /**
+     * Counts the values that are smaller than the given value with a binary search
+     *
+     * @param sortedValues the values in ascending order
+     * @param value        the value to compare with
+     * @return the number of values that are smaller than the given value
+     */
+    private static int countSmallerValues(int[] sortedValues, int value) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] < value) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
 }
@@ -0,0 +1,124 @@
+package de.tum.in.www1.artemis.service;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+
+import de.tum.in.www1.artemis.domain.Authority;
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.repository.UserRepository;
+import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
+
+/**
+ * Caches the groups and authorities of the logged-in users across all instances, so that the authorization checks of a request do not have to load the
+ * user with its groups and authorities from the database.
+ * <p>
+ * The cached context of a user is evicted whenever the user entity is created, updated or deleted, see
+ * {@link de.tum.in.www1.artemis.service.listeners.UserAuthorizationContextListener}. Hibernate does not detect changes that only touch the groups or
+ * authorities of a user, so the services that save users ({@code UserService#saveUser} and {@code UserCreationService#saveUser}) evict the context explicitly.
+ * Changes that bypass these services are bounded by {@link #TIME_TO_LIVE}.
+ */
+@Service
+public class UserAuthorizationContextCache {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAuthorizationContextCache.class);
+
+    private static final String HAZELCAST_AUTHORIZATION_CONTEXTS = "user-authorization-contexts";
+
+    static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private final UserRepository userRepository;
+
+    private final IMap<String, AuthorizationContext> authorizationContexts;
+
+    public UserAuthorizationContextCache(UserRepository userRepository, HazelcastInstance hazelcastInstance) {
+        this.userRepository = userRepository;
+        this.authorizationContexts = hazelcastInstance.getMap(HAZELCAST_AUTHORIZATION_CONTEXTS);
+    }
+
+    /**
+     * Returns the currently logged-in user with its groups and authorities. The returned user is not managed by Hibernate and only contains the id, the
+     * login, the groups and the authorities, so it must only be used for authorization checks and never be saved.
+     *
+     * @return the currently logged-in user with groups and authorities
+     * @throws EntityNotFoundException if no user is logged in or the logged-in user does not exist
+     */
+    public User getCurrentUserWithGroupsAndAuthorities() {
+        String login = SecurityUtils.getCurrentUserLogin().orElseThrow(() -> new EntityNotFoundException("ERROR: No current user login found!"));
+        AuthorizationContext context = authorizationContexts.get(login);
+        if (context == null) {
+            context = AuthorizationContext.of(userRepository.getUserWithGroupsAndAuthorities(login));
+            authorizationContexts.set(login, context, TIME_TO_LIVE.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return context.toUser();
+    }
+
+    /**
+     * Evicts the cached context of the user immediately and once more after the current transaction committed, so that no request caches the groups of
+     * the user from before the change in the meantime.
+     *
+     * @param login the login of the user whose groups or authorities changed
+     */
+    public void evict(String login) {
+        if (login == null) {
+            return;
+        }
+        runEviction(login);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    runEviction(login);
+                }
+            });
+        }
+    }
+
+    private void runEviction(String login) {
+        try {
+            authorizationContexts.delete(login);
+        }
+        catch (Exception ex) {
+            log.warn("Could not evict the cached authorization context of user {}: {}", login, ex.getMessage());
+        }
+    }
+
+    /**
+     * The parts of a user that are required for authorization checks
+     *
+     * @param userId      the id of the user
+     * @param login       the login of the user
+     * @param groups      the groups of the user, which determine the roles in the courses
+     * @param authorities the names of the authorities of the user
+     */
+    record AuthorizationContext(Long userId, String login, Set<String> groups, Set<String> authorities) implements Serializable {
+
+        static AuthorizationContext of(User user) {
+            return new AuthorizationContext(user.getId(), user.getLogin(), new HashSet<>(user.getGroups()),
+                    user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toCollection(HashSet::new)));
+        }
+
+        User toUser() {
+            User user = new User();
+            user.setId(userId);
+            user.setLogin(login);
+            user.setGroups(new HashSet<>(groups));
+            user.setAuthorities(authorities.stream().map(Authority::new).collect(Collectors.toCollection(HashSet::new)));
+            return user;
+        }
+    }
+}
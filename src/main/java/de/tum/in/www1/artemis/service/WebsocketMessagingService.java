@@ -4,14 +4,26 @@ import static de.tum.in.www1.artemis.config.Constants.*;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import de.tum.in.www1.artemis.domain.Exercise;
+import de.tum.in.www1.artemis.domain.Feedback;
 import de.tum.in.www1.artemis.domain.Result;
 import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
 import de.tum.in.www1.artemis.domain.participation.Participation;
@@ -24,14 +36,20 @@ import de.tum.in.www1.artemis.service.exam.ExamDateService;
 @Service
 public class WebsocketMessagingService {
 
+    private final Logger log = LoggerFactory.getLogger(WebsocketMessagingService.class);
+
     private final SimpMessageSendingOperations messagingTemplate;
 
+    private final ObjectMapper objectMapper;
+
     private final ExamDateService examDateService;
 
     private final ExerciseDateService exerciseDateService;
 
-    public WebsocketMessagingService(SimpMessageSendingOperations messagingTemplate, ExamDateService examDateService, ExerciseDateService exerciseDateService) {
+    public WebsocketMessagingService(SimpMessageSendingOperations messagingTemplate, MappingJackson2HttpMessageConverter springMvcJacksonConverter,
+            ExamDateService examDateService, ExerciseDateService exerciseDateService) {
         this.messagingTemplate = messagingTemplate;
+        this.objectMapper = springMvcJacksonConverter.getObjectMapper();
         this.examDateService = examDateService;
         this.exerciseDateService = exerciseDateService;
     }
@@ -47,6 +65,9 @@ public class WebsocketMessagingService {
 
     /**
      * Broadcast a new result to the client.
+     * <p>
+     * The result is serialized only once for the tutors, instructors and admins and once for all students of the participation, the serialized payloads are
+     * then sent to all recipients of the respective audience.
      *
      * @param participation the id is used in the destination (so that only clients who have subscribed the specific participation will receive the result)
      * @param result the new result that should be send to the client. It typically includes feedback, its participation will be cut off here to reduce the payload size.
@@ -54,48 +75,70 @@ public class WebsocketMessagingService {
      *               problem statement and the course with all potential attributes
      */
     public void broadcastNewResult(Participation participation, Result result) {
-        // remove unnecessary properties to reduce the data sent to the client (we should not send the exercise and its potentially huge problem statement)
-        var originalParticipation = result.getParticipation();
-        result.setParticipation(originalParticipation.copyParticipationId());
-
+        final var originalParticipation = result.getParticipation();
         final var originalAssessor = result.getAssessor();
-        final var originalFeedback = new ArrayList<>(result.getFeedbacks());
-
-        // TODO: Are there other cases that must be handled here?
-        if (participation instanceof StudentParticipation) {
-            final Exercise exercise = participation.getExercise();
-            final boolean isWorkingPeriodOver;
-            if (exercise.isExamExercise()) {
-                isWorkingPeriodOver = examDateService.isExerciseWorkingPeriodOver(exercise);
+        List<Feedback> originalFeedback = null;
+        try {
+            // remove unnecessary properties to reduce the data sent to the client (we should not send the exercise and its potentially huge problem statement)
+            result.setParticipation(originalParticipation.copyParticipationId());
+
+            // tutors, instructors and admins receive the result including the information that must not go to students
+            final byte[] resultPayload = objectMapper.writeValueAsBytes(result);
+
+            // TODO: Are there other cases that must be handled here?
+            if (participation instanceof StudentParticipation studentParticipation) {
+                final Exercise exercise = participation.getExercise();
+                final boolean isWorkingPeriodOver;
+                if (exercise.isExamExercise()) {
+                    isWorkingPeriodOver = examDateService.isExerciseWorkingPeriodOver(exercise);
+                }
+                else {
+                    isWorkingPeriodOver = exerciseDateService.isAfterLatestDueDate(exercise);
+                }
+                // Don't send students results after the exam ended
+                boolean isAfterExamEnd = isWorkingPeriodOver && exercise.isExamExercise();
+                // If the assessment due date is not over yet, do not send manual feedback to students!
+                boolean isReadyForRelease = AssessmentType.AUTOMATIC == result.getAssessmentType() || exercise.getAssessmentDueDate() == null
+                        || ZonedDateTime.now().isAfter(exercise.getAssessmentDueDate());
+
+                if (isReadyForRelease && !isAfterExamEnd) {
+                    originalFeedback = new ArrayList<>(result.getFeedbacks());
+                    result.filterSensitiveInformation();
+                    result.filterSensitiveFeedbacks(!isWorkingPeriodOver);
+
+                    final byte[] studentResultPayload = objectMapper.writeValueAsBytes(result);
+                    studentParticipation.getStudents()
+                            .forEach(user -> messagingTemplate.convertAndSendToUser(user.getLogin(), NEW_RESULT_TOPIC, studentResultPayload, createJsonMessageHeaders()));
+                }
             }
-            else {
-                isWorkingPeriodOver = exerciseDateService.isAfterLatestDueDate(exercise);
-            }
-            // Don't send students results after the exam ended
-            boolean isAfterExamEnd = isWorkingPeriodOver && exercise.isExamExercise();
-            // If the assessment due date is not over yet, do not send manual feedback to students!
-            boolean isReadyForRelease = AssessmentType.AUTOMATIC == result.getAssessmentType() || exercise.getAssessmentDueDate() == null
-                    || ZonedDateTime.now().isAfter(exercise.getAssessmentDueDate());
-
-            if (isReadyForRelease && !isAfterExamEnd) {
-                StudentParticipation studentParticipation = (StudentParticipation) participation;
 
-                result.filterSensitiveInformation();
-                result.filterSensitiveFeedbacks(!isWorkingPeriodOver);
-
-                studentParticipation.getStudents().forEach(user -> messagingTemplate.convertAndSendToUser(user.getLogin(), NEW_RESULT_TOPIC, result));
+            // Send to tutors, instructors and admins
+            messagingTemplate.convertAndSend(getResultDestination(participation.getExercise().getId()), resultPayload, createJsonMessageHeaders());
+        }
+        catch (JsonProcessingException ex) {
+            log.error("Could not serialize the new result {} of participation {}", result.getId(), participation.getId(), ex);
+        }
+        finally {
+            // Restore the information that was removed for the students and the participation, because we might want to use the result again after this method
+            if (originalFeedback != null) {
+                result.setAssessor(originalAssessor);
+                result.setFeedbacks(originalFeedback);
             }
+            result.setParticipation(originalParticipation);
         }
+    }
 
-        // Restore information that should not go to students but tutors, instructors, and admins should still see
-        result.setAssessor(originalAssessor);
-        result.setFeedbacks(originalFeedback);
-
-        // Send to tutors, instructors and admins
-        messagingTemplate.convertAndSend(getResultDestination(participation.getExercise().getId()), result);
-
-        // recover the participation because we might want to use it again after this method
-        result.setParticipation(originalParticipation);
+    /**
+     * Creates the headers of a message whose payload is already serialized to JSON.
+     * A new instance is needed for every message, as the messaging template adds the destination to the headers.
+     *
+     * @return the message headers with the JSON content type
+     */
+    private static MessageHeaders createJsonMessageHeaders() {
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headerAccessor.setLeaveMutable(true);
+        return headerAccessor.getMessageHeaders();
     }
 
     /**
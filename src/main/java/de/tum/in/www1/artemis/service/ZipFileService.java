@@ -1,25 +1,42 @@
 package de.tum.in.www1.artemis.service;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import de.tum.in.www1.artemis.service.util.ParallelZipWriter;
+
+/**
+ * Creates zip files, e.g. for exports and archives. The entries are compressed in parallel by all cores and already compressed files are stored, see
+ * {@link ParallelZipWriter}.
+ */
 @Service
 public class ZipFileService {
 
     private final Logger log = LoggerFactory.getLogger(ZipFileService.class);
 
+    private static final int COMPRESSION_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The memory for the files that are read and compressed ahead per zip file, enough to keep all threads busy while the previous entries are written
+     */
+    private static final long MAX_BUFFERED_BYTES = 64 * 1024 * 1024;
+
+    private final ExecutorService compressionExecutor = Executors.newFixedThreadPool(COMPRESSION_THREADS);
+
     /**
      * Create a zip file of the given paths and save it in the zipFilePath
      *
@@ -29,12 +46,11 @@ public class ZipFileService {
      * @throws IOException if an error occurred while zipping
      */
     public void createZipFile(Path zipFilePath, List<Path> paths, boolean createParentDir) throws IOException {
-        try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(zipFilePath))) {
-            paths.stream().filter(path -> Files.isReadable(path) && !Files.isDirectory(path)).forEach(path -> {
+        try (ParallelZipWriter zipWriter = createZipWriter(Files.newOutputStream(zipFilePath))) {
+            for (Path path : paths.stream().filter(path -> Files.isReadable(path) && !Files.isDirectory(path)).toList()) {
                 var zipPath = createParentDir ? path : path.getFileName();
-                ZipEntry zipEntry = new ZipEntry(zipPath.toString());
-                copyToZipFile(zipOutputStream, path, zipEntry);
-            });
+                addToZipFile(zipWriter, path, zipPath.toString());
+            }
         }
     }
 
@@ -47,7 +63,9 @@ public class ZipFileService {
      * @throws IOException if an error occurred while zipping
      */
     public void createZipFile(Path zipFilePath, List<Path> paths, Path pathsRoot) throws IOException {
-        createZipFileFromPathStream(zipFilePath, paths.stream(), pathsRoot, null);
+        try (OutputStream outputStream = Files.newOutputStream(zipFilePath)) {
+            writeZipFileFromPathStream(outputStream, paths.stream(), pathsRoot, null);
+        }
     }
 
     /**
@@ -60,35 +78,64 @@ public class ZipFileService {
      * @throws IOException if an error occurred while zipping
      */
     public Path createZipFileWithFolderContent(Path zipFilePath, Path contentRootPath, @Nullable Predicate<Path> contentFilter) throws IOException {
-        try (var files = Files.walk(contentRootPath)) {
-            createZipFileFromPathStream(zipFilePath, files, contentRootPath, contentFilter);
+        try (OutputStream outputStream = Files.newOutputStream(zipFilePath)) {
+            writeZipFileWithFolderContent(outputStream, contentRootPath, contentFilter);
             return zipFilePath;
         }
     }
 
-    private void createZipFileFromPathStream(Path zipFilePath, Stream<Path> paths, Path pathsRoot, @Nullable Predicate<Path> extraFilter) throws IOException {
-        try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(zipFilePath))) {
+    /**
+     * Recursively include all files in contentRootPath and write them as zip file to the output stream, e.g. directly to the response of a request
+     *
+     * @param outputStream    the stream the zip file is written to, it is not closed
+     * @param contentRootPath a path to a folder: all content in this folder (and in any subfolders) will be included in the zip file
+     * @param contentFilter a path filter to exclude some files, can be null to include everything
+     * @throws IOException if an error occurred while zipping
+     */
+    public void writeZipFileWithFolderContent(OutputStream outputStream, Path contentRootPath, @Nullable Predicate<Path> contentFilter) throws IOException {
+        try (var files = Files.walk(contentRootPath)) {
+            writeZipFileFromPathStream(outputStream, files, contentRootPath, contentFilter);
+        }
+    }
+
+    private void writeZipFileFromPathStream(OutputStream outputStream, Stream<Path> paths, Path pathsRoot, @Nullable Predicate<Path> extraFilter) throws IOException {
+        ParallelZipWriter zipWriter = createZipWriter(outputStream);
+        try {
             var filteredPaths = paths.filter(path -> Files.isReadable(path) && !Files.isDirectory(path));
             if (extraFilter != null) {
                 filteredPaths = filteredPaths.filter(extraFilter);
             }
-            filteredPaths.forEach(path -> {
-                ZipEntry zipEntry = new ZipEntry(pathsRoot.relativize(path).toString());
-                copyToZipFile(zipOutputStream, path, zipEntry);
-            });
+            for (Path path : (Iterable<Path>) filteredPaths::iterator) {
+                addToZipFile(zipWriter, path, pathsRoot.relativize(path).toString());
+            }
+            zipWriter.finish();
         }
+        finally {
+            // stops compressing the remaining entries if the zip file could not be written, e.g. because the files could not be listed
+            zipWriter.cancel();
+        }
+    }
+
+    private ParallelZipWriter createZipWriter(OutputStream outputStream) {
+        return new ParallelZipWriter(outputStream, compressionExecutor, MAX_BUFFERED_BYTES);
     }
 
-    private void copyToZipFile(ZipOutputStream zipOutputStream, Path path, ZipEntry zipEntry) {
+    private void addToZipFile(ParallelZipWriter zipWriter, Path path, String entryName) throws IOException {
         try {
             if (Files.exists(path)) {
-                zipOutputStream.putNextEntry(zipEntry);
-                Files.copy(path, zipOutputStream);
-                zipOutputStream.closeEntry();
+                zipWriter.addEntry(entryName, path);
             }
         }
         catch (IOException e) {
             log.error("Create zip file error", e);
         }
     }
+
+    /**
+     * Stops the compression threads when the application shuts down
+     */
+    @PreDestroy
+    public void shutdown() {
+        compressionExecutor.shutdown();
+    }
 }
@@ -3,10 +3,10 @@ package de.tum.in.www1.artemis.service.compass.controller;
 import static com.google.gson.JsonParser.parseString;
 
 import java.io.IOException;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -43,20 +43,23 @@ public class ModelClusterFactory {
      */
     public List<ModelCluster> buildClusters(List<ModelingSubmission> modelingSubmissions, ModelingExercise exercise) {
         // The elements that has no other similar elements or are the first of their kind
-        HashSet<UMLElement> uniqueElements = new HashSet<>();
+        UniqueElementIndex uniqueElements = new UniqueElementIndex();
 
         // The map of similarity id and clusters. We are using similarity id instead of cluster id here since clusters do not exist in database yet
         Map<Integer, ModelCluster> clusters = new ConcurrentHashMap<>();
         // TODO: this should work without unproxy!
-        for (Submission submission : modelingSubmissions) {
-            // We have to unproxy here as sometimes the Submission is a Hibernate proxy resulting in a cast exception
-            // when iterating over the ModelingSubmissions directly (i.e. for (ModelingSubmission submission : submissions)).
-            ModelingSubmission modelingSubmission = (ModelingSubmission) Hibernate.unproxy(submission);
+        // We have to unproxy here as sometimes the Submission is a Hibernate proxy resulting in a cast exception
+        // when iterating over the ModelingSubmissions directly (i.e. for (ModelingSubmission submission : submissions)).
+        List<ModelingSubmission> unproxiedSubmissions = modelingSubmissions.stream().map(submission -> (ModelingSubmission) Hibernate.unproxy(submission)).toList();
 
-            List<UMLElement> modelElements = getModelElements(modelingSubmission);
+        // Parsing the models is independent for every submission, so it is done in parallel. The clusters are built afterwards in the order of the submissions.
+        List<List<UMLElement>> modelElementsOfSubmissions = unproxiedSubmissions.parallelStream().map(this::getModelElements).toList();
+
+        for (int i = 0; i < unproxiedSubmissions.size(); i++) {
+            List<UMLElement> modelElements = modelElementsOfSubmissions.get(i);
             if (modelElements != null) {
                 for (UMLElement element : modelElements) {
-                    selectCluster(element, uniqueElements, clusters, exercise, modelingSubmission);
+                    selectCluster(element, uniqueElements, clusters, exercise, unproxiedSubmissions.get(i));
                 }
                 setContextOfModelElements(modelElements);
             }
@@ -113,22 +116,25 @@ public class ModelClusterFactory {
      * Builds and returns the elements of the modeling submission
      *
      * @param element the element to compare for other elements
-     * @param uniqueModelElements the elements that have no similar elements or the first of their kind
+     * @param uniqueModelElements the index of the elements that have no similar elements or the first of their kind
      * @param clusters map of clusters and similarity ids to assign the element
      * @param exercise the exercise that submission of element belongs to
      * @param submission the submission that element belongs to
      */
-    private void selectCluster(UMLElement element, Set<UMLElement> uniqueModelElements, Map<Integer, ModelCluster> clusters, ModelingExercise exercise,
+    private void selectCluster(UMLElement element, UniqueElementIndex uniqueModelElements, Map<Integer, ModelCluster> clusters, ModelingExercise exercise,
             ModelingSubmission submission) {
 
         // Pair of similarity value and cluster ID
         var bestSimilarityFit = Pair.of(-1.0, -1);
 
-        for (final var knownElement : uniqueModelElements) {
-            final var similarity = knownElement.similarity(element);
-            if (similarity > CompassConfiguration.EQUALITY_THRESHOLD && similarity > bestSimilarityFit.getFirst()) {
-                // element is similar to existing element and has a higher similarity than another element
-                bestSimilarityFit = Pair.of(similarity, knownElement.getSimilarityID());
+        for (final var candidates : uniqueModelElements.getCandidates(element)) {
+            for (final var knownElement : candidates) {
+                final var similarity = knownElement.similarity(element);
+                if (similarity > CompassConfiguration.EQUALITY_THRESHOLD && (similarity > bestSimilarityFit.getFirst()
+                        || similarity == bestSimilarityFit.getFirst() && knownElement.getSimilarityID() < bestSimilarityFit.getSecond())) {
+                    // element is similar to existing element and has a higher similarity than another element (or the same similarity and an older cluster)
+                    bestSimilarityFit = Pair.of(similarity, knownElement.getSimilarityID());
+                }
             }
         }
 
@@ -158,4 +164,38 @@ public class ModelClusterFactory {
         modelElement.setKnowledge(exercise.getKnowledge());
         cluster.addModelElement(modelElement);
     }
+
+    /**
+     * The unique model elements, grouped by their type.
+     * <p>
+     * The similarity implementations of the UML elements only consider reference elements of their own type (including subtypes), otherwise the similarity is 0. Therefore, a
+     * new element only has to be compared to the known elements whose type is a super- or subtype of its own type, instead of all known elements.
+     */
+    private static class UniqueElementIndex {
+
+        private final Map<Class<?>, List<UMLElement>> elementsByType = new HashMap<>();
+
+        private int size = 0;
+
+        /**
+         * Returns the lists of known elements that can be similar to the given element.
+         *
+         * @param element the element for which similar elements should be found
+         * @return the lists of candidate elements, each ordered by their similarity id
+         */
+        List<List<UMLElement>> getCandidates(UMLElement element) {
+            Class<?> elementType = element.getClass();
+            return elementsByType.entrySet().stream().filter(entry -> entry.getKey().isAssignableFrom(elementType) || elementType.isAssignableFrom(entry.getKey()))
+                    .map(Map.Entry::getValue).toList();
+        }
+
+        void add(UMLElement element) {
+            elementsByType.computeIfAbsent(element.getClass(), type -> new ArrayList<>()).add(element);
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+    }
 }
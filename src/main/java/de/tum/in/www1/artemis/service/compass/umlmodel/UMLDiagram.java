@@ -83,6 +83,31 @@ public abstract class UMLDiagram implements Similarity<UMLDiagram>, Serializable
         return Math.min(Math.max(similarity, 0), 1);
     }
 
+    /**
+     * Returns an upper bound of the {@linkplain #similarity(Similarity) similarity} of this diagram and the given reference diagram without comparing their elements. As every
+     * element contributes at most 1 / (element count of the bigger diagram) to the similarity, it can never exceed the ratio of the element counts of both diagrams.
+     *
+     * @param reference the reference UML diagram
+     * @return the maximum similarity of the diagrams as number [0-1]
+     */
+    public double maximumSimilarity(UMLDiagram reference) {
+        int elementCount = getModelElements().size();
+        int referenceElementCount = reference.getModelElements().size();
+        if (elementCount == referenceElementCount) {
+            return 1;
+        }
+        return (double) Math.min(elementCount, referenceElementCount) / Math.max(elementCount, referenceElementCount);
+    }
+
+    /**
+     * Returns the number of first level model elements of the diagram, see {@link #getModelElements()}.
+     *
+     * @return the number of first level model elements
+     */
+    public int getModelElementCount() {
+        return getModelElements().size();
+    }
+
     /**
      * Compares a reference element to the list of model elements of this diagram and returns the maximum similarity score, i.e. the similarity between the reference element and
      * the most similar element of this diagram.
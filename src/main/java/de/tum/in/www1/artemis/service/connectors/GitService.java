@@ -11,10 +11,15 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -45,6 +50,7 @@ import org.eclipse.jgit.transport.sshd.SshdSessionFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -57,6 +63,7 @@ import de.tum.in.www1.artemis.exception.GitException;
 import de.tum.in.www1.artemis.service.FileService;
 import de.tum.in.www1.artemis.service.ZipFileService;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Service
 public class GitService {
@@ -96,9 +103,12 @@ public class GitService {
     @Value("${artemis.git.email}")
     private String artemisGitEmail;
 
-    private final Map<Path, Repository> cachedRepositories = new ConcurrentHashMap<>();
+    private final LocalRepositoryCache cachedRepositories;
 
-    private final Map<Path, Path> cloneInProgressOperations = new ConcurrentHashMap<>();
+    /**
+     * The clone operations that are currently in progress by their local path, concurrent requests for the same path join the running clone
+     */
+    private final Map<Path, CompletableFuture<Void>> cloneInProgressOperations = new ConcurrentHashMap<>();
 
     private final FileService fileService;
 
@@ -108,19 +118,24 @@ public class GitService {
 
     private static final int JGIT_TIMEOUT_IN_SECONDS = 5;
 
+    private static final int CLONE_TIMEOUT_IN_SECONDS = 60;
+
     private static final String ANONYMIZED_STUDENT_NAME = "student";
 
     private static final String ANONYMIZED_STUDENT_EMAIL = "";
 
     private static final String REMOTE_NAME = "origin";
 
-    public GitService(FileService fileService, ZipFileService zipFileService) {
+    public GitService(FileService fileService, ZipFileService zipFileService, MeterRegistry meterRegistry,
+            @Value("${artemis.git.repository-cache.maximum-size:1000}") int repositoryCacheMaximumSize,
+            @Value("${artemis.git.repository-cache.maximum-idle-minutes:30}") long repositoryCacheMaximumIdleMinutes) {
         log.info("file.encoding={}", System.getProperty("file.encoding"));
         log.info("sun.jnu.encoding={}", System.getProperty("sun.jnu.encoding"));
         log.info("Default Charset={}", Charset.defaultCharset());
         log.info("Default Charset in Use={}", new OutputStreamWriter(new ByteArrayOutputStream()).getEncoding());
         this.fileService = fileService;
         this.zipFileService = zipFileService;
+        this.cachedRepositories = new LocalRepositoryCache(repositoryCacheMaximumSize, Duration.ofMinutes(repositoryCacheMaximumIdleMinutes), meterRegistry);
     }
 
     /**
@@ -412,6 +427,12 @@ public class GitService {
      */
     public Repository getOrCheckoutRepository(VcsRepositoryUrl sourceRepoUrl, VcsRepositoryUrl targetRepoUrl, Path localPath, boolean pullOnGet, String defaultBranch)
             throws GitAPIException, GitException, InvalidPathException {
+        // If another request is currently cloning the repository into the same path, join it instead of opening the incomplete repository
+        var cloneInProgress = cloneInProgressOperations.get(localPath);
+        if (cloneInProgress != null) {
+            waitForCloneInProgress(localPath, cloneInProgress);
+        }
+
         // First try to just retrieve the git repository from our server, as it might already be checked out.
         // If the sourceRepoUrl differs from the targetRepoUrl, we attempt to clone the source repo into the target directory
         Repository repository = getExistingCheckedOutRepositoryByLocalPath(localPath, targetRepoUrl, defaultBranch);
@@ -426,59 +447,65 @@ public class GitService {
         }
         // If the git repository can't be found on our server, clone it from the remote.
         else {
-            waitUntilPathNotBusy(localPath);
+            var clone = new CompletableFuture<Void>();
+            cloneInProgress = cloneInProgressOperations.putIfAbsent(localPath, clone);
+            if (cloneInProgress != null) {
+                // A concurrent request started to clone the same repository in the meantime, the cloned repository is shared with all callers
+                waitForCloneInProgress(localPath, cloneInProgress);
+                return getExistingCheckedOutRepositoryByLocalPath(localPath, targetRepoUrl, defaultBranch);
+            }
 
             // Clone repository.
             try {
                 var gitUriAsString = getGitUriAsString(sourceRepoUrl);
                 log.debug("Cloning from {} to {}", gitUriAsString, localPath);
-                cloneInProgressOperations.put(localPath, localPath);
                 // make sure the directory to copy into is empty
                 FileUtils.deleteDirectory(localPath.toFile());
                 Git git = cloneCommand().setURI(gitUriAsString).setDirectory(localPath.toFile()).call();
                 git.close();
+                repository = getExistingCheckedOutRepositoryByLocalPath(localPath, targetRepoUrl, defaultBranch);
+                clone.complete(null);
+                return repository;
             }
             catch (IOException | URISyntaxException | GitAPIException | InvalidPathException e) {
                 // cleanup the folder to avoid problems in the future.
                 // 'deleteQuietly' is the same as 'deleteDirectory' but is not throwing an exception, thus we avoid another try-catch block.
                 FileUtils.deleteQuietly(localPath.toFile());
+                clone.completeExceptionally(e);
                 throw new GitException(e);
             }
             finally {
-                // make sure that cloneInProgress is released
-                cloneInProgressOperations.remove(localPath);
+                // make sure that cloneInProgress is released, also for unexpected exceptions
+                clone.complete(null);
+                cloneInProgressOperations.remove(localPath, clone);
             }
-            return getExistingCheckedOutRepositoryByLocalPath(localPath, targetRepoUrl, defaultBranch);
         }
     }
 
     /**
-     * Waits until no clone operation is running for the given path.
+     * Waits until the given clone operation for the given path has finished.
      *
-     * Retries once a second for up to {@link #JGIT_TIMEOUT_IN_SECONDS} seconds before giving up.
+     * Waits for up to {@link #CLONE_TIMEOUT_IN_SECONDS} seconds before giving up.
      *
-     * @param localPath The path in which a clone operation should be made.
+     * @param localPath       The path in which the clone operation is made.
+     * @param cloneInProgress The clone operation that is in progress.
      * @throws CanceledException If the waiting has been interrupted.
-     * @throws GitException If the path is still busy after the maximum number of retries.
+     * @throws GitException If the clone operation failed or did not finish in time.
      */
-    private void waitUntilPathNotBusy(final Path localPath) throws CanceledException, GitException {
-        int remainingSeconds = JGIT_TIMEOUT_IN_SECONDS;
-
-        while (cloneInProgressOperations.containsKey(localPath)) {
-            log.warn("Clone is already in progress. This will lead to an error. Wait for a second");
-            try {
-                Thread.sleep(1000);
-            }
-            catch (InterruptedException ex) {
-                throw new CanceledException("Waiting for local path to be free for cloning got interrupted.");
-            }
-
-            if (remainingSeconds <= 0) {
-                throw new GitException("Cannot clone the same repository multiple times");
-            }
-            else {
-                remainingSeconds--;
-            }
+    private void waitForCloneInProgress(final Path localPath, final CompletableFuture<Void> cloneInProgress) throws CanceledException, GitException {
+        log.debug("Clone into {} is already in progress, wait until it has finished", localPath);
+        try {
+            cloneInProgress.get(CLONE_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CanceledException("Waiting for local path to be free for cloning got interrupted.");
+        }
+        catch (ExecutionException ex) {
+            throw new GitException("Concurrent clone into " + localPath + " failed", ex.getCause());
+        }
+        catch (TimeoutException ex) {
+            throw new GitException("Cannot clone the same repository multiple times");
         }
     }
 
@@ -492,7 +519,19 @@ public class GitService {
     public boolean isRepositoryCached(VcsRepositoryUrl repositoryUrl) {
         Path localPath = getLocalPathOfRepo(repoClonePath, repositoryUrl);
         // Check if the repository is already cached in the server's session.
-        return cachedRepositories.containsKey(localPath);
+        return cachedRepositories.contains(localPath);
+    }
+
+    /**
+     * Evicts the cached repositories that were not used for a while and closes the evicted repositories that were not requested again since then, so that their file
+     * handles and memory are released.
+     */
+    @Scheduled(fixedDelay = 60 * 1000)  // every minute
+    public void evictIdleCachedRepositories() {
+        int evicted = cachedRepositories.evictIdleRepositories();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle repositories from the repository cache", evicted);
+        }
     }
 
     /**
@@ -523,7 +562,7 @@ public class GitService {
 
     /**
      * Get an existing git repository that is checked out on the server. Returns immediately null if the localPath does not exist. Will first try to retrieve a cached repository
-     * from cachedRepositories. Side effect: This method caches retrieved repositories in a HashMap, so continuous retrievals can be avoided (reduces load).
+     * from cachedRepositories. Side effect: This method caches retrieved repositories in a bounded cache, so continuous retrievals can be avoided (reduces load).
      *
      * @param localPath           to git repo on server.
      * @param remoteRepositoryUrl the remote repository url for the git repository, will be added to the Repository object for later use, can be null
@@ -535,7 +574,7 @@ public class GitService {
 
     /**
      * Get an existing git repository that is checked out on the server. Returns immediately null if the localPath does not exist. Will first try to retrieve a cached repository
-     * from cachedRepositories. Side effect: This method caches retrieved repositories in a HashMap, so continuous retrievals can be avoided (reduces load).
+     * from cachedRepositories. Side effect: This method caches retrieved repositories in a bounded cache, so continuous retrievals can be avoided (reduces load).
      *
      * @param localPath           to git repo on server.
      * @param remoteRepositoryUrl the remote repository url for the git repository, will be added to the Repository object for later use, can be null
@@ -547,7 +586,10 @@ public class GitService {
             // Check if there is a folder with the provided path of the git repository.
             if (!Files.exists(localPath)) {
                 // In this case we should remove the repository if cached, because it can't exist anymore.
-                cachedRepositories.remove(localPath);
+                Repository removedRepository = cachedRepositories.remove(localPath);
+                if (removedRepository != null) {
+                    removedRepository.close();
+                }
                 return null;
             }
 
@@ -582,8 +624,8 @@ public class GitService {
             refUpdate.link("refs/heads/" + defaultBranch);
 
             // Cache the JGit repository object for later use: avoids the expensive re-opening of local repositories
-            cachedRepositories.put(localPath, repository);
-            return repository;
+            // If another thread cached the same repository in the meantime, ours is closed and the cached one is used instead
+            return cachedRepositories.putIfAbsent(localPath, repository);
         }
         catch (IOException | InvalidRefNameException ex) {
             log.warn("Cannot get existing checkout out repository by local path: {}", ex.getMessage());
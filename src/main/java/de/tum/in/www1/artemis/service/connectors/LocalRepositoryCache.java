@@ -0,0 +1,215 @@
+package de.tum.in.www1.artemis.service.connectors;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.tum.in.www1.artemis.domain.Repository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caches the JGit repositories that are checked out on this server by their local path, so that they do not have to be opened again for every request.
+ * <p>
+ * Every open repository holds file handles of its pack files and memory of its window caches. Therefore, the cache is bounded: if it contains more than the maximum
+ * number of repositories, the least recently used repository is evicted. In addition, repositories that were not used for the maximum idle time are evicted by
+ * {@link #evictIdleRepositories()}.
+ * <p>
+ * Callers of {@link GitService} keep using the returned repositories without handing them back, so an evicted repository may still be in use by another thread.
+ * Evicted repositories are therefore not closed right away: they are retired and only closed by {@link #evictIdleRepositories()} after they were neither handed out
+ * nor evicted for the maximum idle time. If a retired repository is requested again before that, it is moved back into the cache, so that there is never more
+ * than one open repository object for the same local path.
+ */
+class LocalRepositoryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalRepositoryCache.class);
+
+    private static final String CACHE_METER_NAME = "artemis.git.repository-cache";
+
+    private static final String CACHE_EVICTIONS_METER_NAME = CACHE_METER_NAME + ".evictions";
+
+    private final int maximumSize;
+
+    private final Duration maximumIdleTime;
+
+    /**
+     * Ordered by the last access, so the least recently used repository comes first
+     */
+    private final LinkedHashMap<Path, CachedRepository> repositories = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Repositories that were evicted from the cache, but are not closed yet because other threads might still use them
+     */
+    private final Map<Path, CachedRepository> retiredRepositories = new HashMap<>();
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    private final Counter sizeEvictionCounter;
+
+    private final Counter idleEvictionCounter;
+
+    private record CachedRepository(Repository repository, Instant lastAccess) {
+    }
+
+    LocalRepositoryCache(int maximumSize, Duration maximumIdleTime, MeterRegistry meterRegistry) {
+        this.maximumSize = maximumSize;
+        this.maximumIdleTime = maximumIdleTime;
+        this.hitCounter = Counter.builder(CACHE_METER_NAME).description("Number of lookups of local git repositories in the cache").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder(CACHE_METER_NAME).description("Number of lookups of local git repositories in the cache").tag("result", "miss").register(meterRegistry);
+        this.sizeEvictionCounter = Counter.builder(CACHE_EVICTIONS_METER_NAME).description("Number of local git repositories that were evicted from the cache")
+                .tag("cause", "size").register(meterRegistry);
+        this.idleEvictionCounter = Counter.builder(CACHE_EVICTIONS_METER_NAME).description("Number of local git repositories that were evicted from the cache")
+                .tag("cause", "idle").register(meterRegistry);
+        Gauge.builder(CACHE_METER_NAME + ".size", this, LocalRepositoryCache::size).description("Number of local git repositories in the cache").register(meterRegistry);
+        Gauge.builder(CACHE_METER_NAME + ".retired", this, LocalRepositoryCache::retiredSize).description("Number of evicted local git repositories that are not closed yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached repository for the given local path and marks it as recently used. A retired repository that is not closed yet is moved back into the cache.
+     *
+     * @param localPath the local path of the repository
+     * @return the cached repository or null if it is not cached
+     */
+    synchronized Repository get(Path localPath) {
+        CachedRepository cachedRepository = repositories.get(localPath);
+        if (cachedRepository == null) {
+            cachedRepository = retiredRepositories.remove(localPath);
+        }
+        if (cachedRepository == null) {
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        cache(localPath, cachedRepository.repository());
+        return cachedRepository.repository();
+    }
+
+    /**
+     * Checks whether a repository with the given local path is cached, without marking it as recently used.
+     *
+     * @param localPath the local path of the repository
+     * @return true if the repository is cached
+     */
+    synchronized boolean contains(Path localPath) {
+        return repositories.containsKey(localPath);
+    }
+
+    /**
+     * Caches the given repository, unless another thread has already cached (or retired) a repository for the same local path in the meantime. In that case, the given
+     * repository is closed and the existing one is returned, so that all callers use the same repository object. If the cache exceeds its maximum size afterwards, the
+     * least recently used repositories are evicted and retired.
+     *
+     * @param localPath  the local path of the repository
+     * @param repository the repository to cache
+     * @return the repository that is cached for the local path, i.e. either the given one or the one that was cached before
+     */
+    synchronized Repository putIfAbsent(Path localPath, Repository repository) {
+        CachedRepository existing = repositories.get(localPath);
+        if (existing == null) {
+            existing = retiredRepositories.remove(localPath);
+        }
+        Repository cachedRepository = repository;
+        if (existing != null && existing.repository() != repository) {
+            // another thread opened the same repository concurrently: keep the first one and close ours, nobody else has seen it yet
+            close(localPath, repository);
+            cachedRepository = existing.repository();
+        }
+        cache(localPath, cachedRepository);
+        return cachedRepository;
+    }
+
+    /**
+     * Removes the repository with the given local path from the cache without closing it.
+     *
+     * @param localPath the local path of the repository
+     * @return the removed repository or null if it was not cached
+     */
+    synchronized Repository remove(Path localPath) {
+        CachedRepository cachedRepository = repositories.remove(localPath);
+        CachedRepository retiredRepository = retiredRepositories.remove(localPath);
+        if (cachedRepository == null) {
+            cachedRepository = retiredRepository;
+        }
+        return cachedRepository != null ? cachedRepository.repository() : null;
+    }
+
+    /**
+     * Retires all cached repositories that were not used for the maximum idle time and closes all retired repositories that were neither used nor evicted for the
+     * maximum idle time.
+     *
+     * @return the number of evicted repositories
+     */
+    synchronized int evictIdleRepositories() {
+        Instant now = Instant.now();
+        Instant idleLimit = now.minus(maximumIdleTime);
+
+        // close the repositories that were retired before and were not requested again since then
+        Iterator<Map.Entry<Path, CachedRepository>> retiredIterator = retiredRepositories.entrySet().iterator();
+        while (retiredIterator.hasNext()) {
+            Map.Entry<Path, CachedRepository> entry = retiredIterator.next();
+            if (!entry.getValue().lastAccess().isAfter(idleLimit)) {
+                retiredIterator.remove();
+                close(entry.getKey(), entry.getValue().repository());
+            }
+        }
+
+        int evicted = 0;
+        // the entries are ordered by their last access, so we can stop at the first one that is not idle
+        Iterator<Map.Entry<Path, CachedRepository>> iterator = repositories.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, CachedRepository> entry = iterator.next();
+            if (entry.getValue().lastAccess().isAfter(idleLimit)) {
+                break;
+            }
+            iterator.remove();
+            retire(entry.getKey(), entry.getValue().repository(), now);
+            idleEvictionCounter.increment();
+            evicted++;
+        }
+        return evicted;
+    }
+
+    synchronized int size() {
+        return repositories.size();
+    }
+
+    synchronized int retiredSize() {
+        return retiredRepositories.size();
+    }
+
+    private void cache(Path localPath, Repository repository) {
+        Instant now = Instant.now();
+        repositories.put(localPath, new CachedRepository(repository, now));
+        Iterator<Map.Entry<Path, CachedRepository>> iterator = repositories.entrySet().iterator();
+        while (repositories.size() > maximumSize && iterator.hasNext()) {
+            Map.Entry<Path, CachedRepository> eldest = iterator.next();
+            iterator.remove();
+            retire(eldest.getKey(), eldest.getValue().repository(), now);
+            sizeEvictionCounter.increment();
+        }
+    }
+
+    /**
+     * Keeps an evicted repository open for another maximum idle time, because threads that got it from the cache before might still use it.
+     */
+    private void retire(Path localPath, Repository repository, Instant evictionTime) {
+        log.debug("Retire cached repository {}", localPath);
+        retiredRepositories.put(localPath, new CachedRepository(repository, evictionTime));
+    }
+
+    private void close(Path localPath, Repository repository) {
+        log.debug("Close cached repository {}", localPath);
+        repository.close();
+    }
+}
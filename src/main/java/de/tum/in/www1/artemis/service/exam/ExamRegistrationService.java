@@ -47,9 +47,11 @@ public class ExamRegistrationService {
 
     private final StudentParticipationRepository studentParticipationRepository;
 
+    private final ExamScoresCache examScoresCache;
+
     public ExamRegistrationService(ExamRepository examRepository, UserService userService, ParticipationService participationService, UserRepository userRepository,
             AuditEventRepository auditEventRepository, CourseRepository courseRepository, StudentExamRepository studentExamRepository,
-            StudentParticipationRepository studentParticipationRepository) {
+            StudentParticipationRepository studentParticipationRepository, ExamScoresCache examScoresCache) {
         this.examRepository = examRepository;
         this.userService = userService;
         this.userRepository = userRepository;
@@ -58,6 +60,7 @@ public class ExamRegistrationService {
         this.courseRepository = courseRepository;
         this.studentExamRepository = studentExamRepository;
         this.studentParticipationRepository = studentParticipationRepository;
+        this.examScoresCache = examScoresCache;
     }
 
     /**
@@ -89,6 +92,7 @@ public class ExamRegistrationService {
             }
         }
         examRepository.save(exam);
+        examScoresCache.evict(exam.getId());
 
         try {
             User currentUser = userRepository.getUserWithGroupsAndAuthorities();
@@ -145,6 +149,7 @@ public class ExamRegistrationService {
             userService.addUserToGroup(student, course.getStudentGroupName(), Role.STUDENT);
         }
         examRepository.save(exam);
+        examScoresCache.evict(exam.getId());
 
         User currentUser = userRepository.getUserWithGroupsAndAuthorities();
         AuditEvent auditEvent = new AuditEvent(currentUser.getLogin(), Constants.ADD_USER_TO_EXAM, "exam=" + exam.getTitle(), "student=" + student.getLogin());
@@ -169,6 +174,7 @@ public class ExamRegistrationService {
         // The student exam might already be generated, then we need to delete it
         Optional<StudentExam> optionalStudentExam = studentExamRepository.findWithExercisesByUserIdAndExamId(student.getId(), exam.getId());
         optionalStudentExam.ifPresent(studentExam -> removeStudentExam(studentExam, deleteParticipationsAndSubmission));
+        examScoresCache.evict(exam.getId());
 
         User currentUser = userRepository.getUserWithGroupsAndAuthorities();
         AuditEvent auditEvent = new AuditEvent(currentUser.getLogin(), Constants.REMOVE_USER_FROM_EXAM, "exam=" + exam.getTitle(), "user=" + student.getLogin());
@@ -210,6 +216,7 @@ public class ExamRegistrationService {
         // remove all students exams
         Set<StudentExam> studentExams = studentExamRepository.findAllWithExercisesByExamId(examId);
         studentExams.forEach(studentExam -> removeStudentExam(studentExam, deleteParticipationsAndSubmission));
+        examScoresCache.evict(exam.getId());
 
         User currentUser = userRepository.getUserWithGroupsAndAuthorities();
         AuditEvent auditEvent = new AuditEvent(currentUser.getLogin(), Constants.REMOVE_ALL_USERS_FROM_EXAM, "exam=" + exam.getTitle());
@@ -241,6 +248,7 @@ public class ExamRegistrationService {
         }
 
         examRepository.save(exam);
+        examScoresCache.evict(exam.getId());
         AuditEvent auditEvent = new AuditEvent(userRepository.getUser().getLogin(), Constants.ADD_USER_TO_EXAM, userData);
         auditEventRepository.add(auditEvent);
     }
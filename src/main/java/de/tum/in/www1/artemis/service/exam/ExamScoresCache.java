@@ -0,0 +1,180 @@
+package de.tum.in.www1.artemis.service.exam;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+
+import de.tum.in.www1.artemis.domain.Exercise;
+import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.domain.exam.StudentExam;
+import de.tum.in.www1.artemis.domain.participation.Participation;
+import de.tum.in.www1.artemis.web.rest.dto.ExamScoresDTO;
+
+/**
+ * Caches the scores of exams across all instances, as calculating them requires all participations, results and submissions of an exam, while instructors
+ * reload the scores page frequently during the correction.
+ * <p>
+ * The scores of an exam are evicted when one of its results or exercises, its grading scale, its registered students, the exam itself or the submission state of a
+ * student exam changes. Other changes that influence the scores (e.g. of users) are not tracked, the cached scores therefore expire after {@link #TIME_TO_LIVE_MINUTES}.
+ * <p>
+ * Every eviction increments the version of the exam. Scores are only cached and returned if they were calculated with the current version, so that scores
+ * that were calculated while the exam changed are never used.
+ */
+@Service
+public class ExamScoresCache {
+
+    private static final String HAZELCAST_EXAM_SCORES_CACHE = "exam-scores-cache";
+
+    private static final String HAZELCAST_EXAM_VERSIONS = "exam-scores-cache-exam-versions";
+
+    private static final long TIME_TO_LIVE_MINUTES = 10;
+
+    private final IMap<Long, CachedExamScores> examScores;
+
+    private final IMap<Long, Long> examVersions;
+
+    public ExamScoresCache(HazelcastInstance hazelcastInstance) {
+        this.examScores = hazelcastInstance.getMap(HAZELCAST_EXAM_SCORES_CACHE);
+        this.examVersions = hazelcastInstance.getMap(HAZELCAST_EXAM_VERSIONS);
+    }
+
+    /**
+     * Configures the map of the exam versions, which must not be evicted, as cached scores of an older version would be valid again otherwise
+     *
+     * @param config the Hazelcast config
+     */
+    public static void configureHazelcast(Config config) {
+        config.getMapConfig(HAZELCAST_EXAM_VERSIONS).setEvictionConfig(new EvictionConfig().setEvictionPolicy(EvictionPolicy.NONE));
+    }
+
+    /**
+     * Returns the cached scores of the exam
+     *
+     * @param examId the id of the exam
+     * @return the cached scores, or an empty optional if the scores have not been calculated yet or the exam changed since then
+     */
+    public Optional<ExamScoresDTO> get(Long examId) {
+        CachedExamScores cachedScores = examScores.get(examId);
+        if (cachedScores == null || cachedScores.version() != getVersion(examId)) {
+            return Optional.empty();
+        }
+        return Optional.of(cachedScores.scores());
+    }
+
+    /**
+     * Returns the current version of the exam. Must be called before the scores are calculated, see {@link #put(Long, ExamScoresDTO, long)}.
+     *
+     * @param examId the id of the exam
+     * @return the number of changes of the exam since the cluster was started
+     */
+    public long getVersion(Long examId) {
+        return examVersions.getOrDefault(examId, 0L);
+    }
+
+    /**
+     * Caches the calculated scores of the exam, unless the exam changed while the scores were calculated
+     *
+     * @param examId  the id of the exam
+     * @param scores  the calculated scores of the exam
+     * @param version the version of the exam before the scores were calculated
+     */
+    public void put(Long examId, ExamScoresDTO scores, long version) {
+        if (version == getVersion(examId)) {
+            examScores.set(examId, new CachedExamScores(scores, version), TIME_TO_LIVE_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Evicts the cached scores of the exam once the current transaction committed, so that the scores are not calculated and cached again with the old data
+     * in the meantime. Scores that are calculated concurrently are not cached either, as the version of the exam changes. An exam is only evicted once per
+     * transaction, e.g. when all student exams of the exam are generated.
+     *
+     * @param examId the id of the exam
+     */
+    @SuppressWarnings("unchecked")
+    public void evict(Long examId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(examId);
+            return;
+        }
+        Set<Long> examIdsToEvict = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (examIdsToEvict == null) {
+            Set<Long> newExamIdsToEvict = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, newExamIdsToEvict);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    newExamIdsToEvict.forEach(ExamScoresCache.this::evictNow);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ExamScoresCache.this);
+                }
+            });
+            examIdsToEvict = newExamIdsToEvict;
+        }
+        examIdsToEvict.add(examId);
+    }
+
+    private void evictNow(Long examId) {
+        examVersions.merge(examId, 1L, Long::sum);
+        examScores.delete(examId);
+    }
+
+    /**
+     * Evicts the cached scores of the exam the result belongs to, if it belongs to an exam exercise
+     *
+     * @param result the created, updated or deleted result
+     */
+    public void evictForResult(Result result) {
+        Participation participation = result.getParticipation();
+        if (participation != null) {
+            evictForExercise(participation.getExercise());
+        }
+    }
+
+    /**
+     * Evicts the cached scores of the exam the exercise belongs to, if it is an exam exercise
+     *
+     * @param exercise the created, updated or deleted exercise
+     */
+    public void evictForExercise(Exercise exercise) {
+        if (exercise != null && exercise.isExamExercise() && exercise.getExerciseGroup().getExam() != null) {
+            evict(exercise.getExerciseGroup().getExam().getId());
+        }
+    }
+
+    /**
+     * Evicts the cached scores of the exam of the student exam, e.g. when student exams are generated or deleted together with the registration of a student
+     *
+     * @param studentExam the created, updated or deleted student exam
+     */
+    public void evictForStudentExam(StudentExam studentExam) {
+        if (studentExam.getExam() != null) {
+            evict(studentExam.getExam().getId());
+        }
+    }
+
+    /**
+     * The scores of an exam together with the version of the exam they were calculated for
+     *
+     * @param scores  the calculated scores
+     * @param version the version of the exam before the scores were calculated
+     */
+    record CachedExamScores(ExamScoresDTO scores, long version) implements Serializable {
+    }
+}
@@ -93,12 +93,14 @@ public class ExamService {
 
     private final GradingScaleRepository gradingScaleRepository;
 
+    private final ExamScoresCache examScoresCache;
+
     public ExamService(ExerciseDeletionService exerciseDeletionService, ExamRepository examRepository, StudentExamRepository studentExamRepository, ExamQuizService examQuizService,
             InstanceMessageSendService instanceMessageSendService, TutorLeaderboardService tutorLeaderboardService, AuditEventRepository auditEventRepository,
             StudentParticipationRepository studentParticipationRepository, ComplaintRepository complaintRepository, ComplaintResponseRepository complaintResponseRepository,
             UserRepository userRepository, ProgrammingExerciseRepository programmingExerciseRepository, QuizExerciseRepository quizExerciseRepository,
             ResultRepository resultRepository, SubmissionRepository submissionRepository, CourseExamExportService courseExamExportService, GitService gitService,
-            GroupNotificationService groupNotificationService, GradingScaleRepository gradingScaleRepository) {
+            GroupNotificationService groupNotificationService, GradingScaleRepository gradingScaleRepository, ExamScoresCache examScoresCache) {
         this.exerciseDeletionService = exerciseDeletionService;
         this.examRepository = examRepository;
         this.studentExamRepository = studentExamRepository;
@@ -118,6 +120,7 @@ public class ExamService {
         this.groupNotificationService = groupNotificationService;
         this.gitService = gitService;
         this.gradingScaleRepository = gradingScaleRepository;
+        this.examScoresCache = examScoresCache;
     }
 
     /**
@@ -215,12 +218,30 @@ public class ExamService {
     }
 
     /**
-     * Puts students, result and exerciseGroups together for ExamScoresDTO
+     * Puts students, result and exerciseGroups together for ExamScoresDTO.
+     * The scores are cached until the exam, e.g. one of its results or student exams, changes, see {@link ExamScoresCache}.
      *
      * @param examId the id of the exam
      * @return return ExamScoresDTO with students, scores and exerciseGroups for exam
      */
     public ExamScoresDTO calculateExamScores(Long examId) {
+        Optional<ExamScoresDTO> cachedScores = examScoresCache.get(examId);
+        if (cachedScores.isPresent()) {
+            return cachedScores.get();
+        }
+        long version = examScoresCache.getVersion(examId);
+        ExamScoresDTO scores = calculateExamScoresWithoutCache(examId);
+        examScoresCache.put(examId, scores, version);
+        return scores;
+    }
+
+    /**
+     * Calculates the ExamScoresDTO of the exam from the participations of all students, which are grouped by student in a single pass
+     *
+     * @param examId the id of the exam
+     * @return return ExamScoresDTO with students, scores and exerciseGroups for exam
+     */
+    private ExamScoresDTO calculateExamScoresWithoutCache(Long examId) {
         Exam exam = examRepository.findWithExerciseGroupsAndExercisesById(examId).orElseThrow(() -> new EntityNotFoundException("Exam", examId));
 
         List<StudentParticipation> studentParticipations = studentParticipationRepository.findByExamIdWithSubmissionRelevantResult(examId); // without test run participations
@@ -231,9 +252,13 @@ public class ExamService {
         // setting multiplicity of correction rounds
         scores.hasSecondCorrectionAndStarted = false;
 
-        // Counts how many participants each exercise has
-        Map<Long, Long> exerciseIdToNumberParticipations = studentParticipations.stream()
-                .collect(Collectors.groupingBy(studentParticipation -> studentParticipation.getExercise().getId(), Collectors.counting()));
+        // Groups the participations by student and counts how many participants each exercise has
+        Map<Long, List<StudentParticipation>> studentIdToParticipations = new HashMap<>();
+        Map<Long, Long> exerciseIdToNumberParticipations = new HashMap<>();
+        for (StudentParticipation studentParticipation : studentParticipations) {
+            studentIdToParticipations.computeIfAbsent(studentParticipation.getStudent().get().getId(), studentId -> new ArrayList<>()).add(studentParticipation);
+            exerciseIdToNumberParticipations.merge(studentParticipation.getExercise().getId(), 1L, Long::sum);
+        }
 
         // Adding exercise group information to DTO
         for (ExerciseGroup exerciseGroup : exam.getExerciseGroups()) {
@@ -246,11 +271,8 @@ public class ExamService {
             // Add information about exercise groups and exercises
             var exerciseGroupDTO = new ExamScoresDTO.ExerciseGroup(exerciseGroup.getId(), exerciseGroup.getTitle(), maxPointsGroup);
             for (Exercise exercise : exerciseGroup.getExercises()) {
-                Long participantsForExercise = exerciseIdToNumberParticipations.get(exercise.getId());
                 // If no participation exists for an exercise then no entry exists in the map
-                if (participantsForExercise == null) {
-                    participantsForExercise = 0L;
-                }
+                Long participantsForExercise = exerciseIdToNumberParticipations.getOrDefault(exercise.getId(), 0L);
                 numberOfExerciseGroupParticipants += participantsForExercise;
                 exerciseGroupDTO.containedExercises.add(new ExamScoresDTO.ExerciseGroup.ExerciseInfo(exercise.getId(), exercise.getTitle(), exercise.getMaxPoints(),
                         participantsForExercise, exercise.getClass().getSimpleName()));
@@ -261,7 +283,9 @@ public class ExamService {
 
         // Adding registered student information to DTO
         Set<StudentExam> studentExams = studentExamRepository.findByExamId(examId); // fetched without test runs
+        Optional<GradingScale> gradingScale = gradingScaleRepository.findByExamId(examId);
         ObjectMapper objectMapper = new ObjectMapper();
+        double sumOverallPoints = 0.0;
         for (StudentExam studentExam : studentExams) {
 
             User user = studentExam.getUser();
@@ -269,8 +293,7 @@ public class ExamService {
                     studentExam.isSubmitted());
 
             // Adding student results information to DTO
-            List<StudentParticipation> participationsOfStudent = studentParticipations.stream()
-                    .filter(studentParticipation -> studentParticipation.getStudent().get().getId().equals(studentResult.userId)).toList();
+            List<StudentParticipation> participationsOfStudent = studentIdToParticipations.getOrDefault(studentResult.userId, List.of());
 
             studentResult.overallPointsAchieved = 0.0;
             studentResult.overallPointsAchievedInFirstCorrection = 0.0;
@@ -328,22 +351,20 @@ public class ExamService {
                 studentResult.overallScoreAchieved = (studentResult.overallPointsAchieved / scores.maxPoints) * 100.0;
                 var overallScoreAchievedInFirstCorrection = (studentResult.overallPointsAchievedInFirstCorrection / scores.maxPoints) * 100.0;
                 // Sets grading scale related properties for exam scores
-                Optional<GradingScale> gradingScale = gradingScaleRepository.findByExamId(examId);
                 if (gradingScale.isPresent()) {
                     // Calculate current student grade
-                    GradeStep studentGrade = gradingScaleRepository.matchPercentageToGradeStep(studentResult.overallScoreAchieved, gradingScale.get().getId());
-                    GradeStep studentGradeInFirstCorrection = gradingScaleRepository.matchPercentageToGradeStep(overallScoreAchievedInFirstCorrection, gradingScale.get().getId());
+                    GradeStep studentGrade = gradingScaleRepository.matchPercentageToGradeStep(studentResult.overallScoreAchieved, gradingScale.get());
+                    GradeStep studentGradeInFirstCorrection = gradingScaleRepository.matchPercentageToGradeStep(overallScoreAchievedInFirstCorrection, gradingScale.get());
                     studentResult.overallGrade = studentGrade.getGradeName();
                     studentResult.overallGradeInFirstCorrection = studentGradeInFirstCorrection.getGradeName();
                     studentResult.hasPassed = studentGrade.getIsPassingGrade();
                 }
             }
             scores.studentResults.add(studentResult);
+            sumOverallPoints += studentResult.overallPointsAchieved;
         }
 
         // Updating exam information in DTO
-        double sumOverallPoints = scores.studentResults.stream().mapToDouble(studentResult -> studentResult.overallPointsAchieved).sum();
-
         int numberOfStudentResults = scores.studentResults.size();
 
         if (numberOfStudentResults != 0) {
@@ -3,15 +3,21 @@ package de.tum.in.www1.artemis.service.exam;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
+
 import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 
 import de.tum.in.www1.artemis.domain.*;
@@ -31,6 +37,7 @@ import de.tum.in.www1.artemis.service.SubmissionVersionService;
 import de.tum.in.www1.artemis.service.messaging.InstanceMessageSendService;
 import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseParticipationService;
 import de.tum.in.www1.artemis.service.scheduled.ProgrammingExerciseScheduleService;
+import de.tum.in.www1.artemis.web.rest.dto.ExerciseStartProgressDTO;
 import de.tum.in.www1.artemis.web.rest.errors.AccessForbiddenException;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
 
@@ -42,6 +49,14 @@ public class StudentExamService {
 
     private static final String ENTITY_NAME = "studentExam";
 
+    private static final int START_EXERCISES_THREADS = 10;
+
+    private static final int START_EXERCISES_PROGRESS_INTERVAL = 50;
+
+    private static final int START_EXERCISES_CHUNK_SIZE = 100;
+
+    private static final Set<InitializationState> INITIALIZED_STATES = EnumSet.of(InitializationState.INITIALIZED, InitializationState.FINISHED);
+
     private final Logger log = LoggerFactory.getLogger(StudentExamService.class);
 
     private final ParticipationService participationService;
@@ -74,11 +89,18 @@ public class StudentExamService {
 
     private final InstanceMessageSendService instanceMessageSendService;
 
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    private final ExamScoresCache examScoresCache;
+
+    private final ExecutorService startExercisesExecutor = Executors.newFixedThreadPool(START_EXERCISES_THREADS);
+
     public StudentExamService(StudentExamRepository studentExamRepository, UserRepository userRepository, ParticipationService participationService,
             QuizSubmissionRepository quizSubmissionRepository, TextSubmissionRepository textSubmissionRepository, ModelingSubmissionRepository modelingSubmissionRepository,
             SubmissionVersionService submissionVersionService, ProgrammingExerciseParticipationService programmingExerciseParticipationService, SubmissionService submissionService,
             ProgrammingSubmissionRepository programmingSubmissionRepository, StudentParticipationRepository studentParticipationRepository, ExamQuizService examQuizService,
-            ProgrammingExerciseRepository programmingExerciseRepository, ExamRepository examRepository, InstanceMessageSendService instanceMessageSendService) {
+            ProgrammingExerciseRepository programmingExerciseRepository, ExamRepository examRepository, InstanceMessageSendService instanceMessageSendService,
+            SimpMessageSendingOperations messagingTemplate, ExamScoresCache examScoresCache) {
         this.participationService = participationService;
         this.studentExamRepository = studentExamRepository;
         this.userRepository = userRepository;
@@ -94,6 +116,8 @@ public class StudentExamService {
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.examRepository = examRepository;
         this.instanceMessageSendService = instanceMessageSendService;
+        this.messagingTemplate = messagingTemplate;
+        this.examScoresCache = examScoresCache;
     }
 
     /**
@@ -412,7 +436,12 @@ public class StudentExamService {
     }
 
     /**
-     * Starts all the exercises of all the student exams of an exam
+     * Starts all the exercises of all the student exams of an exam.
+     * <p>
+     * The students who already have an initialized participation are determined with one query per exercise instead of one query per student and exercise.
+     * Participations and empty submissions of quiz, text, modeling and file upload exercises are created in chunks. The repositories and build plans of
+     * programming exercises are set up on a bounded executor, which is shared by all exams, so that concurrent starts cannot overload the VCS and CI server.
+     * The progress is sent to the instructors via websocket.
      *
      * @param examId exam to which the student exams belong
      * @return number of generated Participations
@@ -420,27 +449,131 @@ public class StudentExamService {
     public int startExercises(Long examId) {
         var exam = examRepository.findWithStudentExamsExercisesById(examId).orElseThrow(() -> new EntityNotFoundException("Exam", examId));
         var studentExams = exam.getStudentExams();
+
+        Map<Exercise, List<StudentExam>> studentExamsWithoutParticipation = new HashMap<>();
+        Map<Exercise, List<StudentExam>> studentExamsToStartIndividually = new HashMap<>();
+        Map<Long, Set<Long>> initializedStudentIdsByExerciseId = new HashMap<>();
+        Map<Long, Set<Long>> participatingStudentIdsByExerciseId = new HashMap<>();
+        for (StudentExam studentExam : studentExams) {
+            User student = studentExam.getUser();
+            for (Exercise exercise : studentExam.getExercises()) {
+                Set<Long> initializedStudentIds = initializedStudentIdsByExerciseId.computeIfAbsent(exercise.getId(),
+                        exerciseId -> studentParticipationRepository.findStudentIdsByExerciseIdAndInitializationStateIn(exerciseId, INITIALIZED_STATES));
+                if (initializedStudentIds.contains(student.getId())) {
+                    continue;
+                }
+                Set<Long> participatingStudentIds = participatingStudentIdsByExerciseId.computeIfAbsent(exercise.getId(),
+                        studentParticipationRepository::findStudentIdsByExerciseId);
+                // existing participations that are not initialized yet are continued individually, as it is unclear which steps are missing
+                if (exercise instanceof ProgrammingExercise || participatingStudentIds.contains(student.getId())) {
+                    studentExamsToStartIndividually.computeIfAbsent(exercise, key -> new ArrayList<>()).add(studentExam);
+                }
+                else {
+                    studentExamsWithoutParticipation.computeIfAbsent(exercise, key -> new ArrayList<>()).add(studentExam);
+                }
+            }
+        }
+
+        int totalParticipations = studentExamsWithoutParticipation.values().stream().mapToInt(List::size).sum()
+                + studentExamsToStartIndividually.values().stream().mapToInt(List::size).sum();
+        var progress = new ExerciseStartProgress(examId, totalParticipations);
+        log.info("Start {} participations for exam {}", totalParticipations, examId);
+
         List<StudentParticipation> generatedParticipations = Collections.synchronizedList(new ArrayList<>());
-        executeInParallel(() -> studentExams.parallelStream().forEach(studentExam -> setUpExerciseParticipationsAndSubmissions(studentExam, generatedParticipations)));
+        studentExamsWithoutParticipation.forEach((exercise, studentExamsOfExercise) -> {
+            for (int from = 0; from < studentExamsOfExercise.size(); from += START_EXERCISES_CHUNK_SIZE) {
+                var chunk = studentExamsOfExercise.subList(from, Math.min(from + START_EXERCISES_CHUNK_SIZE, studentExamsOfExercise.size()));
+                try {
+                    var students = chunk.stream().map(StudentExam::getUser).toList();
+                    generatedParticipations.addAll(participationService.startExerciseForStudentsWithoutParticipation(exercise, students));
+                    progress.processed(chunk.size(), 0);
+                }
+                catch (Exception ex) {
+                    // nothing of the chunk was stored, so the exercise is started for each student individually to find out which students are affected
+                    log.warn("Start exercise {} for {} students of exam {} failed with exception, starting it individually: {}", exercise.getId(), chunk.size(), examId,
+                            ex.getMessage(), ex);
+                    for (StudentExam studentExam : chunk) {
+                        var participation = startExerciseForStudent(studentExam, exercise);
+                        participation.ifPresent(generatedParticipations::add);
+                        progress.processed(participation.isPresent() ? 1 : 0, participation.isPresent() ? 0 : 1);
+                    }
+                }
+            }
+        });
+
+        studentExamsToStartIndividually.forEach((exercise, studentExamsOfExercise) -> {
+            List<Future<Optional<StudentParticipation>>> futures = new ArrayList<>();
+            for (StudentExam studentExam : studentExamsOfExercise) {
+                futures.add(startExercisesExecutor.submit(() -> {
+                    SecurityUtils.setAuthorizationObject();
+                    return startExerciseForStudent(studentExam, exercise);
+                }));
+            }
+            int generatedParticipationsOfExercise = 0;
+            for (var future : futures) {
+                var participation = waitForStartedParticipation(future);
+                participation.ifPresent(generatedParticipations::add);
+                progress.processed(participation.isPresent() ? 1 : 0, participation.isPresent() ? 0 : 1);
+                generatedParticipationsOfExercise += participation.isPresent() ? 1 : 0;
+            }
+            // Unlock Repositories if the exam starts within 5 minutes
+            if (generatedParticipationsOfExercise > 0 && exercise instanceof ProgrammingExercise programmingExercise
+                    && ProgrammingExerciseScheduleService.getExamProgrammingExerciseUnlockDate(programmingExercise).isBefore(ZonedDateTime.now())) {
+                instanceMessageSendService.sendUnlockAllRepositories(programmingExercise.getId());
+            }
+        });
+        progress.send();
+        // the participations are stored in separate transactions, so the scores are evicted once all of them are stored
+        examScoresCache.evict(examId);
         return generatedParticipations.size();
     }
 
-    private void executeInParallel(Runnable task) {
-        final int numberOfParallelThreads = 10;
-        ForkJoinPool forkJoinPool = new ForkJoinPool(numberOfParallelThreads);
-        Future<?> future = forkJoinPool.submit(task);
-        // Wait for the operation to complete
+    private Optional<StudentParticipation> waitForStartedParticipation(Future<Optional<StudentParticipation>> future) {
         try {
-            future.get();
+            return future.get();
         }
         catch (InterruptedException e) {
-            log.error("Execute in parallel got interrupted while waiting for task to complete", e);
+            log.error("Starting the exercises got interrupted while waiting for a participation to be set up", e);
+            Thread.currentThread().interrupt();
         }
         catch (ExecutionException e) {
-            log.error("Execute in parallel failed, an exception was thrown", e.getCause());
+            log.error("Setting up a participation failed, an exception was thrown", e.getCause());
         }
-        finally {
-            forkJoinPool.shutdown();
+        return Optional.empty();
+    }
+
+    /**
+     * Sends the progress of starting the exercises of an exam to the instructors, at most once per {@link #START_EXERCISES_PROGRESS_INTERVAL} participations.
+     */
+    private class ExerciseStartProgress {
+
+        private final Long examId;
+
+        private final int totalParticipations;
+
+        private int processedParticipations;
+
+        private int failedParticipations;
+
+        private int lastSentProcessedParticipations;
+
+        ExerciseStartProgress(Long examId, int totalParticipations) {
+            this.examId = examId;
+            this.totalParticipations = totalParticipations;
+        }
+
+        void processed(int successful, int failed) {
+            processedParticipations += successful + failed;
+            failedParticipations += failed;
+            if (processedParticipations - lastSentProcessedParticipations >= START_EXERCISES_PROGRESS_INTERVAL) {
+                send();
+            }
+        }
+
+        void send() {
+            lastSentProcessedParticipations = processedParticipations;
+            messagingTemplate.convertAndSend(getExerciseStartProgressDestination(String.valueOf(examId)),
+                    new ExerciseStartProgressDTO(processedParticipations, failedParticipations, totalParticipations));
         }
     }
 
@@ -455,37 +588,54 @@ public class StudentExamService {
 
         for (Exercise exercise : studentExam.getExercises()) {
             SecurityUtils.setAuthorizationObject();
-            // NOTE: it is not ideal to invoke the next line several times (e.g. 2000 student exams with 10 exercises would lead to 20.000 database calls to find a participation).
-            // One optimization could be that we load all participations per exercise once (or per exercise) into a large list (10 * 2000 = 20.000 participations) and then check if
-            // those participations exist in Java, however this might lead to memory issues and might be more difficult to program (and more difficult to understand)
-            // TODO: directly check in the database if the entry exists for the student, exercise and InitializationState.INITIALIZED
             var studentParticipations = participationService.findByExerciseAndStudentId(exercise, student.getId());
             // we start the exercise if no participation was found that was already fully initialized
             if (studentParticipations.stream().noneMatch(studentParticipation -> studentParticipation.getParticipant().equals(student)
                     && studentParticipation.getInitializationState() != null && studentParticipation.getInitializationState().hasCompletedState(InitializationState.INITIALIZED))) {
-                try {
-                    // Load lazy property
-                    if (exercise instanceof ProgrammingExercise programmingExercise && !Hibernate.isInitialized(programmingExercise.getTemplateParticipation())) {
-                        final var programmingExerciseReloaded = programmingExerciseRepository.findByIdWithTemplateAndSolutionParticipationElseThrow(exercise.getId());
-                        programmingExercise.setTemplateParticipation(programmingExerciseReloaded.getTemplateParticipation());
-                    }
-                    // this will also create initial (empty) submissions for quiz, text, modeling and file upload
-                    var participation = participationService.startExercise(exercise, student, true);
-                    generatedParticipations.add(participation);
-                    // Unlock Repositories if the exam starts within 5 minutes
-                    if (exercise instanceof ProgrammingExercise programmingExercise
-                            && ProgrammingExerciseScheduleService.getExamProgrammingExerciseUnlockDate(programmingExercise).isBefore(ZonedDateTime.now())) {
-                        instanceMessageSendService.sendUnlockAllRepositories(programmingExercise.getId());
-                    }
-                }
-                catch (Exception ex) {
-                    log.warn("Start exercise for student exam {} and exercise {} and student {} failed with exception: {}", studentExam.getId(), exercise.getId(), student.getId(),
-                            ex.getMessage(), ex);
+                var participation = startExerciseForStudent(studentExam, exercise);
+                participation.ifPresent(generatedParticipations::add);
+                // Unlock Repositories if the exam starts within 5 minutes
+                if (participation.isPresent() && exercise instanceof ProgrammingExercise programmingExercise
+                        && ProgrammingExerciseScheduleService.getExamProgrammingExerciseUnlockDate(programmingExercise).isBefore(ZonedDateTime.now())) {
+                    instanceMessageSendService.sendUnlockAllRepositories(programmingExercise.getId());
                 }
             }
         }
     }
 
+    /**
+     * Starts the exercise for the student of the student exam, which also sets up the repository and build plan of programming exercises.
+     *
+     * @param studentExam the student exam the exercise belongs to
+     * @param exercise    the exercise to start
+     * @return the started participation or an empty optional if starting the exercise failed
+     */
+    private Optional<StudentParticipation> startExerciseForStudent(StudentExam studentExam, Exercise exercise) {
+        User student = studentExam.getUser();
+        try {
+            // Load lazy property
+            if (exercise instanceof ProgrammingExercise programmingExercise && !Hibernate.isInitialized(programmingExercise.getTemplateParticipation())) {
+                final var programmingExerciseReloaded = programmingExerciseRepository.findByIdWithTemplateAndSolutionParticipationElseThrow(exercise.getId());
+                programmingExercise.setTemplateParticipation(programmingExerciseReloaded.getTemplateParticipation());
+            }
+            // this will also create initial (empty) submissions for quiz, text, modeling and file upload
+            return Optional.of(participationService.startExercise(exercise, student, true));
+        }
+        catch (Exception ex) {
+            log.warn("Start exercise for student exam {} and exercise {} and student {} failed with exception: {}", studentExam.getId(), exercise.getId(), student.getId(),
+                    ex.getMessage(), ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stops the threads that set up the participations of programming exercises when the application shuts down
+     */
+    @PreDestroy
+    public void shutdown() {
+        startExercisesExecutor.shutdown();
+    }
+
     /**
      * Deletes a test run.
      * In case the participation is not referenced by other test runs, the participation, submission, build plans and repositories are deleted as well.
@@ -528,4 +678,21 @@ public class StudentExamService {
         studentExamRepository.deleteById(testRunId);
         return testRun;
     }
+
+    /**
+     * Returns the exam id from the destination route, if it is the destination of the progress of starting the exercises of an exam.
+     * Only instructors of the exam should be allowed to subscribe to this topic.
+     *
+     * @param destination Websocket destination topic from which to extract the exam id
+     * @return exam id, or null if the destination is not the progress of starting the exercises of an exam
+     */
+    public static Long getExamIdFromExerciseStartProgressDestination(String destination) {
+        Pattern pattern = Pattern.compile("^" + getExerciseStartProgressDestination("(\\d+)"));
+        Matcher matcher = pattern.matcher(destination);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : null;
+    }
+
+    private static String getExerciseStartProgressDestination(String examId) {
+        return "/topic/exams/" + examId + "/exercise-start-progress";
+    }
 }
@@ -0,0 +1,82 @@
+package de.tum.in.www1.artemis.service.listeners;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import de.tum.in.www1.artemis.domain.*;
+import de.tum.in.www1.artemis.domain.exam.Exam;
+import de.tum.in.www1.artemis.domain.participation.Participation;
+import de.tum.in.www1.artemis.service.CourseDashboardCache;
+
+/**
+ * Invalidates the cached course dashboards when an entity that is shown on the dashboard is created, updated or deleted.
+ * Results are handled by the {@link ResultListener}.
+ */
+@Component
+public class CourseDashboardCacheListener {
+
+    private final CourseDashboardCache courseDashboardCache;
+
+    /**
+     * The cache is injected lazily, because the listener is instantiated while the {@link javax.persistence.EntityManager} is initialized, see {@link ResultListener}.
+     *
+     * @param courseDashboardCache the course dashboard cache that will be lazily injected by Spring
+     */
+    public CourseDashboardCacheListener(@Lazy CourseDashboardCache courseDashboardCache) {
+        this.courseDashboardCache = courseDashboardCache;
+    }
+
+    /**
+     * Will be called by Hibernate AFTER a participation, submission, exercise, lecture, attachment, exam or course is created, updated or deleted.
+     *
+     * @param entity the created, updated or deleted entity
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evictCachedDashboards(Object entity) {
+        if (entity instanceof Participation participation) {
+            courseDashboardCache.evictForParticipation(participation);
+        }
+        else if (entity instanceof Submission submission) {
+            courseDashboardCache.evictForParticipation(submission.getParticipation());
+        }
+        else if (entity instanceof Exercise exercise) {
+            evictForCourse(exercise.isCourseExercise() ? exercise.getCourseViaExerciseGroupOrCourseMember() : null);
+        }
+        else if (entity instanceof Lecture lecture) {
+            evictForCourse(lecture.getCourse());
+        }
+        else if (entity instanceof Attachment attachment) {
+            evictForAttachment(attachment);
+        }
+        else if (entity instanceof Exam exam) {
+            evictForCourse(exam.getCourse());
+        }
+        else if (entity instanceof Course course) {
+            courseDashboardCache.evictForChangedCourse(course);
+        }
+    }
+
+    private void evictForAttachment(Attachment attachment) {
+        if (attachment.getLecture() != null) {
+            evictForCourse(attachment.getLecture().getCourse());
+        }
+        else if (attachment.getExercise() != null && attachment.getExercise().isCourseExercise()) {
+            evictForCourse(attachment.getExercise().getCourseViaExerciseGroupOrCourseMember());
+        }
+        else if (attachment.getAttachmentUnit() != null && attachment.getAttachmentUnit().getLecture() != null) {
+            evictForCourse(attachment.getAttachmentUnit().getLecture().getCourse());
+        }
+    }
+
+    private void evictForCourse(Course course) {
+        if (course != null && course.getId() != null) {
+            courseDashboardCache.evictForCourse(course.getId());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package de.tum.in.www1.artemis.service.listeners;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import de.tum.in.www1.artemis.domain.Exercise;
+import de.tum.in.www1.artemis.domain.exam.StudentExam;
+import de.tum.in.www1.artemis.service.exam.ExamScoresCache;
+
+/**
+ * Invalidates the cached scores of an exam when one of its exercises is created, updated or deleted, e.g. when the max points, the bonus points or whether the
+ * exercise is included in the overall score change. Results are handled by the {@link ResultListener}.
+ * <p>
+ * The scores are also invalidated when a student exam is created, updated or deleted, e.g. when the student exams are generated, a student is registered or
+ * unregistered, or a student exam is submitted.
+ */
+@Component
+public class ExamScoresCacheListener {
+
+    private final ExamScoresCache examScoresCache;
+
+    /**
+     * The cache is injected lazily, because the listener is instantiated while the {@link javax.persistence.EntityManager} is initialized, see {@link ResultListener}.
+     *
+     * @param examScoresCache the exam scores cache that will be lazily injected by Spring
+     */
+    public ExamScoresCacheListener(@Lazy ExamScoresCache examScoresCache) {
+        this.examScoresCache = examScoresCache;
+    }
+
+    /**
+     * Will be called by Hibernate AFTER an exercise or student exam is created, updated or deleted.
+     *
+     * @param entity the created, updated or deleted exercise or student exam
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evictCachedExamScores(Object entity) {
+        if (entity instanceof Exercise exercise) {
+            examScoresCache.evictForExercise(exercise);
+        }
+        else if (entity instanceof StudentExam studentExam) {
+            examScoresCache.evictForStudentExam(studentExam);
+        }
+    }
+}
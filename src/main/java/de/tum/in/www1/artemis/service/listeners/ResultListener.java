@@ -8,7 +8,10 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.service.CourseDashboardCache;
 import de.tum.in.www1.artemis.service.ScoreService;
+import de.tum.in.www1.artemis.service.exam.ExamScoresCache;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 
 /**
  * Important: As the ResultListener potentially will be called from a situation where no {@link org.springframework.security.core.Authentication}
@@ -23,15 +26,28 @@ public class ResultListener {
 
     private ScoreService scoreService;
 
+    private ParticipantScoreScheduleService participantScoreScheduleService;
+
+    private ExamScoresCache examScoresCache;
+
+    private CourseDashboardCache courseDashboardCache;
+
     /**
      * While {@link javax.persistence.EntityManager} is being initialized it instantiates {@link javax.persistence.EntityListeners} including
      * {@link ResultListener}. Now {@link ResultListener} requires the {@link ScoreService} which requires {@link de.tum.in.www1.artemis.repository.StudentScoreRepository}
      * which requires {@link javax.persistence.EntityManager}. To break this circular dependency we use lazy injection of the service here.
      *
-     * @param scoreService the student score service that will be lazily injected by Spring
+     * @param scoreService                    the student score service that will be lazily injected by Spring
+     * @param participantScoreScheduleService the participant score schedule service that will be lazily injected by Spring
+     * @param examScoresCache                 the exam scores cache that will be lazily injected by Spring
+     * @param courseDashboardCache            the course dashboard cache that will be lazily injected by Spring
      */
-    public ResultListener(@Lazy ScoreService scoreService) {
+    public ResultListener(@Lazy ScoreService scoreService, @Lazy ParticipantScoreScheduleService participantScoreScheduleService, @Lazy ExamScoresCache examScoresCache,
+            @Lazy CourseDashboardCache courseDashboardCache) {
         this.scoreService = scoreService;
+        this.participantScoreScheduleService = participantScoreScheduleService;
+        this.examScoresCache = examScoresCache;
+        this.courseDashboardCache = courseDashboardCache;
     }
 
     /**
@@ -44,18 +60,24 @@ public class ResultListener {
     @PreRemove
     public void removeOrUpdateAssociatedParticipantScore(Result resultToBeDeleted) {
         scoreService.removeOrUpdateAssociatedParticipantScore(resultToBeDeleted);
+        examScoresCache.evictForResult(resultToBeDeleted);
+        courseDashboardCache.evictForParticipation(resultToBeDeleted.getParticipation());
     }
 
     /**
-     * Update or create a new participation score after a result is created or updated
+     * Schedule the update or creation of the participation score after a result is created or updated and evict the cached scores of its exam and the
+     * cached dashboards of its participants
      * <p>
-     * Will be called by Hibernate AFTER a result is updated or created
+     * Will be called by Hibernate AFTER a result is updated or created. The participant score is updated asynchronously after the transaction committed,
+     * see {@link ParticipantScoreScheduleService}.
      *
      * @param createdOrUpdatedResult created or updated result
      */
     @PostUpdate
     @PostPersist
-    public void updateOrCreateParticipantScore(Result createdOrUpdatedResult) {
-        scoreService.updateOrCreateParticipantScore(createdOrUpdatedResult);
+    public void scheduleParticipantScoreUpdate(Result createdOrUpdatedResult) {
+        participantScoreScheduleService.scheduleParticipantScoreUpdate(createdOrUpdatedResult);
+        examScoresCache.evictForResult(createdOrUpdatedResult);
+        courseDashboardCache.evictForParticipation(createdOrUpdatedResult.getParticipation());
     }
 }
@@ -0,0 +1,119 @@
+package de.tum.in.www1.artemis.service.listeners;
+
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
+import javax.persistence.PreRemove;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import de.tum.in.www1.artemis.domain.Feedback;
+import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.domain.Submission;
+import de.tum.in.www1.artemis.domain.participation.Participation;
+import de.tum.in.www1.artemis.service.StatisticsRollupService;
+
+/**
+ * Invalidates the statistics rollups of the hours in which a submission or result is created, changed or deleted. The date that is stored in the database is
+ * remembered when the entity is loaded, so that the rollups of the previous date are invalidated as well when the date changes, e.g. when a result is
+ * assessed again.
+ * <p>
+ * Feedbacks are counted in the hour of the completion date of their result. Adding or removing a feedback only changes the feedback collection of the
+ * result, which does not trigger an update of the result, so the listener is registered for feedbacks as well.
+ */
+@Component
+public class StatisticsRollupListener {
+
+    private final StatisticsRollupService statisticsRollupService;
+
+    /**
+     * The service is injected lazily, because the listener is instantiated while the {@link javax.persistence.EntityManager} is initialized, see {@link ResultListener}.
+     *
+     * @param statisticsRollupService the statistics rollup service that will be lazily injected by Spring
+     */
+    public StatisticsRollupListener(@Lazy StatisticsRollupService statisticsRollupService) {
+        this.statisticsRollupService = statisticsRollupService;
+    }
+
+    /**
+     * Will be called by Hibernate AFTER a submission or result is loaded from the database.
+     *
+     * @param entity the loaded submission or result
+     */
+    @PostLoad
+    public void rememberPersistedDate(Object entity) {
+        if (entity instanceof Submission submission) {
+            submission.setPersistedSubmissionDate(submission.getSubmissionDate());
+        }
+        else if (entity instanceof Result result) {
+            result.setPersistedCompletionDate(result.getCompletionDate());
+        }
+    }
+
+    /**
+     * Will be called by Hibernate AFTER a submission, result or feedback is created or updated.
+     *
+     * @param entity the created or updated submission, result or feedback
+     */
+    @PostPersist
+    @PostUpdate
+    public void invalidateRollupsOfChangedEntity(Object entity) {
+        if (entity instanceof Feedback feedback) {
+            invalidateRollupsOfFeedback(feedback);
+        }
+        else if (entity instanceof Submission submission) {
+            invalidateRollups(submission.getParticipation(), submission.getPersistedSubmissionDate(), submission.getSubmissionDate());
+            submission.setPersistedSubmissionDate(submission.getSubmissionDate());
+        }
+        else if (entity instanceof Result result) {
+            invalidateRollups(result.getParticipation(), result.getPersistedCompletionDate(), result.getCompletionDate());
+            result.setPersistedCompletionDate(result.getCompletionDate());
+        }
+    }
+
+    /**
+     * Will be called by Hibernate BEFORE a submission, result or feedback is deleted.
+     *
+     * @param entity the submission, result or feedback about to be removed
+     */
+    @PreRemove
+    public void invalidateRollupsOfRemovedEntity(Object entity) {
+        if (entity instanceof Feedback feedback) {
+            invalidateRollupsOfFeedback(feedback);
+        }
+        else if (entity instanceof Submission submission) {
+            invalidateRollups(submission.getParticipation(), submission.getPersistedSubmissionDate(), submission.getSubmissionDate());
+        }
+        else if (entity instanceof Result result) {
+            invalidateRollups(result.getParticipation(), result.getPersistedCompletionDate(), result.getCompletionDate());
+        }
+    }
+
+    private void invalidateRollupsOfFeedback(Feedback feedback) {
+        Result result = feedback.getResult();
+        if (result != null) {
+            // the completion date of the result is not changed here, but it might have been changed in the same transaction
+            invalidateRollups(result.getParticipation(), result.getPersistedCompletionDate(), result.getCompletionDate());
+        }
+    }
+
+    private void invalidateRollups(Participation participation, ZonedDateTime persistedDate, ZonedDateTime date) {
+        boolean persistedDateIsRolledUp = StatisticsRollupService.isRolledUp(persistedDate);
+        boolean dateIsRolledUp = !Objects.equals(persistedDate, date) && StatisticsRollupService.isRolledUp(date);
+        // most changes only affect the current hour, so the exercise is only loaded if a rolled up hour is affected
+        if (!persistedDateIsRolledUp && !dateIsRolledUp || participation == null || participation.getExercise() == null) {
+            return;
+        }
+        Long exerciseId = participation.getExercise().getId();
+        if (persistedDateIsRolledUp) {
+            statisticsRollupService.invalidateRollups(exerciseId, persistedDate);
+        }
+        if (dateIsRolledUp) {
+            statisticsRollupService.invalidateRollups(exerciseId, date);
+        }
+    }
+}
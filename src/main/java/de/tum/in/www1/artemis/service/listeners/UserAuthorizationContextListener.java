@@ -0,0 +1,44 @@
+package de.tum.in.www1.artemis.service.listeners;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.service.UserAuthorizationContextCache;
+
+/**
+ * Evicts the cached authorization context of a user when the user entity is created, updated or deleted.
+ * <p>
+ * Hibernate does not call the listener if only the groups or authorities collections of the user changed, because {@link User} is not versioned. Services that
+ * change the groups or authorities therefore evict the context themselves, see {@link UserAuthorizationContextCache#evict(String)}.
+ */
+@Component
+public class UserAuthorizationContextListener {
+
+    private final UserAuthorizationContextCache userAuthorizationContextCache;
+
+    /**
+     * The cache is injected lazily, because the listener is instantiated while the {@link javax.persistence.EntityManager} is initialized, see {@link ResultListener}.
+     *
+     * @param userAuthorizationContextCache the authorization context cache that will be lazily injected by Spring
+     */
+    public UserAuthorizationContextListener(@Lazy UserAuthorizationContextCache userAuthorizationContextCache) {
+        this.userAuthorizationContextCache = userAuthorizationContextCache;
+    }
+
+    /**
+     * Will be called by Hibernate AFTER a user is created, updated or deleted, but not if only the groups or authorities of the user changed.
+     *
+     * @param user the created, updated or deleted user
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evictAuthorizationContext(User user) {
+        userAuthorizationContextCache.evict(user.getLogin());
+    }
+}
@@ -1,119 +1,284 @@
 package de.tum.in.www1.artemis.service.messaging;
 
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PreDestroy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * This service is only active on a node that does not run with the 'scheduling' profile.
  * All requests are forwarded to a Hazelcast topic and a node with the 'scheduling' profile will then process it.
+ * <p>
+ * The commands are collected for {@link #BATCH_WINDOW} and then published as one {@link InstanceMessageBatch} to a reliable topic. A command that is
+ * sent again within the window (e.g. the schedule of an exercise that is updated several times) replaces the earlier one, so that it is only processed once.
+ * The node with the 'scheduling' profile acknowledges each batch. Batches that are not acknowledged within {@link #ACKNOWLEDGEMENT_TIMEOUT} are sent again,
+ * at most {@link #MAX_RETRANSMISSIONS} times, and the receiver skips batches whose sequence number it already processed.
  */
 @Service
 @Profile("!scheduling")
 public class DistributedInstanceMessageSendService implements InstanceMessageSendService {
 
+    private static final String METER_NAME = "artemis.instance-messages";
+
+    static final Duration BATCH_WINDOW = Duration.ofMillis(250);
+
+    static final Duration ACKNOWLEDGEMENT_TIMEOUT = Duration.ofSeconds(30);
+
+    static final int MAX_RETRANSMISSIONS = 3;
+
     private final Logger log = LoggerFactory.getLogger(DistributedInstanceMessageSendService.class);
 
     private final ScheduledExecutorService exec = Executors.newScheduledThreadPool(1);
 
-    private final HazelcastInstance hazelcastInstance;
+    private final ITopic<InstanceMessageBatch> batchTopic;
+
+    private final UUID senderId;
+
+    private final AtomicLong sequenceNumber = new AtomicLong();
+
+    // insertion ordered, so that the commands are processed in the order in which they were sent
+    private final Set<InstanceMessage> pendingMessages = new LinkedHashSet<>();
 
-    public DistributedInstanceMessageSendService(HazelcastInstance hazelcastInstance) {
-        this.hazelcastInstance = hazelcastInstance;
+    private boolean flushScheduled = false;
+
+    private final Map<Long, UnacknowledgedBatch> unacknowledgedBatches = new ConcurrentHashMap<>();
+
+    private final Timer latencyTimer;
+
+    private final Counter acknowledgedCounter;
+
+    private final Counter retransmittedCounter;
+
+    private final Counter failedCounter;
+
+    public DistributedInstanceMessageSendService(HazelcastInstance hazelcastInstance, MeterRegistry meterRegistry) {
+        this.batchTopic = hazelcastInstance.getReliableTopic(InstanceMessageBatch.TOPIC);
+        this.senderId = hazelcastInstance.getCluster().getLocalMember().getUuid();
+        hazelcastInstance.<InstanceMessageBatch.Acknowledgement>getTopic(InstanceMessageBatch.ACKNOWLEDGEMENT_TOPIC)
+                .addMessageListener(message -> processAcknowledgement(message.getMessageObject()));
+
+        this.latencyTimer = Timer.builder(METER_NAME + ".latency").description("Duration from sending a batch of instance messages until it was processed")
+                .register(meterRegistry);
+        this.acknowledgedCounter = Counter.builder(METER_NAME).description("Number of batches of instance messages").tag("result", "acknowledged").register(meterRegistry);
+        this.retransmittedCounter = Counter.builder(METER_NAME).description("Number of batches of instance messages").tag("result", "retransmitted").register(meterRegistry);
+        this.failedCounter = Counter.builder(METER_NAME).description("Number of batches of instance messages").tag("result", "failed").register(meterRegistry);
     }
 
     @Override
     public void sendProgrammingExerciseSchedule(Long exerciseId) {
         log.info("Sending schedule for programming exercise {} to broker.", exerciseId);
-        sendMessageDelayed("programming-exercise-schedule", exerciseId);
+        sendMessage(MessageTopic.PROGRAMMING_EXERCISE_SCHEDULE, exerciseId);
     }
 
     @Override
     public void sendProgrammingExerciseScheduleCancel(Long exerciseId) {
         log.info("Sending schedule cancel for programming exercise {} to broker.", exerciseId);
-        sendMessageDelayed("programming-exercise-schedule-cancel", exerciseId);
+        sendMessage(MessageTopic.PROGRAMMING_EXERCISE_SCHEDULE_CANCEL, exerciseId);
     }
 
     @Override
     public void sendModelingExerciseSchedule(Long exerciseId) {
         log.info("Sending schedule for modeling exercise {} to broker.", exerciseId);
-        sendMessageDelayed("modeling-exercise-schedule", exerciseId);
+        sendMessage(MessageTopic.MODELING_EXERCISE_SCHEDULE, exerciseId);
     }
 
     @Override
     public void sendModelingExerciseScheduleCancel(Long exerciseId) {
         log.info("Sending schedule cancel for modeling exercise {} to broker.", exerciseId);
-        sendMessageDelayed("modeling-exercise-schedule-cancel", exerciseId);
+        sendMessage(MessageTopic.MODELING_EXERCISE_SCHEDULE_CANCEL, exerciseId);
     }
 
     @Override
     public void sendModelingExerciseInstantClustering(Long exerciseId) {
         log.info("Sending schedule instant clustering for modeling exercise {} to broker.", exerciseId);
-        sendMessageDelayed("modeling-exercise-schedule-instant-clustering", exerciseId);
+        sendMessage(MessageTopic.MODELING_EXERCISE_INSTANT_CLUSTERING, exerciseId);
     }
 
     @Override
     public void sendTextExerciseSchedule(Long exerciseId) {
         log.info("Sending schedule for text exercise {} to broker.", exerciseId);
-        sendMessageDelayed("text-exercise-schedule", exerciseId);
+        sendMessage(MessageTopic.TEXT_EXERCISE_SCHEDULE, exerciseId);
     }
 
     @Override
     public void sendTextExerciseScheduleCancel(Long exerciseId) {
         log.info("Sending schedule cancel for text exercise {} to broker.", exerciseId);
-        sendMessageDelayed("text-exercise-schedule-cancel", exerciseId);
+        sendMessage(MessageTopic.TEXT_EXERCISE_SCHEDULE_CANCEL, exerciseId);
     }
 
     @Override
     public void sendTextExerciseInstantClustering(Long exerciseId) {
         log.info("Sending schedule instant clustering for text exercise {} to broker.", exerciseId);
-        sendMessageDelayed("text-exercise-schedule-instant-clustering", exerciseId);
+        sendMessage(MessageTopic.TEXT_EXERCISE_INSTANT_CLUSTERING, exerciseId);
     }
 
     @Override
     public void sendUnlockAllRepositories(Long exerciseId) {
         log.info("Sending unlock all repositories for programming exercise {} to broker.", exerciseId);
-        sendMessageDelayed("programming-exercise-unlock-repositories", exerciseId);
+        sendMessage(MessageTopic.PROGRAMMING_EXERCISE_UNLOCK_REPOSITORIES, exerciseId);
     }
 
     @Override
     public void sendLockAllRepositories(Long exerciseId) {
         log.info("Sending lock all repositories for programming exercise {} to broker.", exerciseId);
-        sendMessageDelayed("programming-exercise-lock-repositories", exerciseId);
+        sendMessage(MessageTopic.PROGRAMMING_EXERCISE_LOCK_REPOSITORIES, exerciseId);
     }
 
     @Override
     public void sendRemoveNonActivatedUserSchedule(Long userId) {
         log.info("Sending remove non-activated user {} to broker.", userId);
-        sendMessageDelayed("user-management-remove-non-activated-user", userId);
+        sendMessage(MessageTopic.USER_MANAGEMENT_REMOVE_NON_ACTIVATED_USER, userId);
     }
 
     @Override
     public void sendCancelRemoveNonActivatedUserSchedule(Long userId) {
         log.info("Sending cancel removal of non-activated user {} to broker.", userId);
-        sendMessageDelayed("user-management-cancel-remove-non-activated-user", userId);
+        sendMessage(MessageTopic.USER_MANAGEMENT_CANCEL_REMOVE_NON_ACTIVATED_USER, userId);
     }
 
     @Override
     public void sendExerciseReleaseNotificationSchedule(Long exerciseId) {
         log.info("Sending prepare release notification for exercise {} to broker.", exerciseId);
-        sendMessageDelayed("exercise-released-schedule", exerciseId);
+        sendMessage(MessageTopic.EXERCISE_RELEASED_SCHEDULE, exerciseId);
     }
 
     @Override
     public void sendAssessedExerciseSubmissionNotificationSchedule(Long exerciseId) {
         log.info("Sending prepare assessed exercise submitted notification for exercise {} to broker.", exerciseId);
-        sendMessageDelayed("assessed-exercise-submission-notification-schedule", exerciseId);
+        sendMessage(MessageTopic.ASSESSED_EXERCISE_SUBMISSION_SCHEDULE, exerciseId);
+    }
+
+    /**
+     * Queues the message once the current transaction committed, so that the node with the 'scheduling' profile reads the committed changes
+     *
+     * @param topic    the command
+     * @param entityId the id of the exercise or user the command refers to
+     */
+    private void sendMessage(MessageTopic topic, Long entityId) {
+        InstanceMessage message = new InstanceMessage(topic, entityId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    queueMessage(message);
+                }
+            });
+        }
+        else {
+            queueMessage(message);
+        }
+    }
+
+    private void queueMessage(InstanceMessage message) {
+        synchronized (pendingMessages) {
+            // move a command that was already queued to the end, so that it is processed after the commands that were sent in the meantime
+            pendingMessages.remove(message);
+            pendingMessages.add(message);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                exec.schedule(this::flushPendingMessages, BATCH_WINDOW.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void flushPendingMessages() {
+        List<InstanceMessage> messages;
+        synchronized (pendingMessages) {
+            messages = new ArrayList<>(pendingMessages);
+            pendingMessages.clear();
+            flushScheduled = false;
+        }
+        if (!messages.isEmpty()) {
+            var batch = new InstanceMessageBatch(senderId, sequenceNumber.incrementAndGet(), messages, System.currentTimeMillis());
+            publish(new UnacknowledgedBatch(batch, System.nanoTime(), 0));
+        }
+    }
+
+    private void publish(UnacknowledgedBatch unacknowledgedBatch) {
+        long batchSequenceNumber = unacknowledgedBatch.batch().sequenceNumber();
+        unacknowledgedBatches.put(batchSequenceNumber, unacknowledgedBatch);
+        try {
+            batchTopic.publish(unacknowledgedBatch.batch());
+            log.debug("Sent batch {} with {} instance messages to broker", batchSequenceNumber, unacknowledgedBatch.batch().messages().size());
+        }
+        catch (Exception ex) {
+            log.error("Could not send batch {} of instance messages to broker", batchSequenceNumber, ex);
+        }
+        exec.schedule(() -> checkAcknowledgement(batchSequenceNumber, unacknowledgedBatch.retransmissions()), ACKNOWLEDGEMENT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void checkAcknowledgement(long batchSequenceNumber, int retransmissions) {
+        UnacknowledgedBatch unacknowledgedBatch = unacknowledgedBatches.get(batchSequenceNumber);
+        if (unacknowledgedBatch == null || unacknowledgedBatch.retransmissions() != retransmissions) {
+            // the batch was acknowledged or sent again in the meantime
+            return;
+        }
+        if (retransmissions >= MAX_RETRANSMISSIONS) {
+            unacknowledgedBatches.remove(batchSequenceNumber);
+            failedCounter.increment();
+            log.error("Batch {} of instance messages {} was not acknowledged by the scheduling node", batchSequenceNumber, unacknowledgedBatch.batch().messages());
+            return;
+        }
+        retransmittedCounter.increment();
+        log.warn("Batch {} of instance messages was not acknowledged within {} seconds, send it again", batchSequenceNumber, ACKNOWLEDGEMENT_TIMEOUT.toSeconds());
+        publish(new UnacknowledgedBatch(unacknowledgedBatch.batch(), unacknowledgedBatch.firstSentAt(), retransmissions + 1));
+    }
+
+    private void processAcknowledgement(InstanceMessageBatch.Acknowledgement acknowledgement) {
+        if (!senderId.equals(acknowledgement.senderId())) {
+            return;
+        }
+        UnacknowledgedBatch unacknowledgedBatch = unacknowledgedBatches.remove(acknowledgement.sequenceNumber());
+        if (unacknowledgedBatch != null) {
+            latencyTimer.record(System.nanoTime() - unacknowledgedBatch.firstSentAt(), TimeUnit.NANOSECONDS);
+            acknowledgedCounter.increment();
+        }
+    }
+
+    /**
+     * Returns the number of batches that were sent but not acknowledged yet
+     *
+     * @return the number of unacknowledged batches
+     */
+    public int getNumberOfUnacknowledgedBatches() {
+        return unacknowledgedBatches.size();
+    }
+
+    /**
+     * Stops sending the queued messages when the application shuts down
+     */
+    @PreDestroy
+    public void shutdown() {
+        exec.shutdownNow();
     }
 
-    private void sendMessageDelayed(String destination, Long exerciseId) {
-        exec.schedule(() -> hazelcastInstance.getTopic(destination).publish(exerciseId), 1, TimeUnit.SECONDS);
+    /**
+     * A batch that was sent to the broker, but not acknowledged yet
+     *
+     * @param batch           the sent batch
+     * @param firstSentAt     the value of {@link System#nanoTime()} when the batch was sent the first time
+     * @param retransmissions the number of times the batch was sent again
+     */
+    private record UnacknowledgedBatch(InstanceMessageBatch batch, long firstSentAt, int retransmissions) {
     }
 }
@@ -0,0 +1,12 @@
+package de.tum.in.www1.artemis.service.messaging;
+
+import java.io.Serializable;
+
+/**
+ * A single command for the node with the 'scheduling' profile
+ *
+ * @param topic    the command
+ * @param entityId the id of the exercise or user the command refers to
+ */
+public record InstanceMessage(MessageTopic topic, Long entityId) implements Serializable {
+}
@@ -0,0 +1,36 @@
+package de.tum.in.www1.artemis.service.messaging;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The commands a node collected within a short window, which are sent to the node with the 'scheduling' profile at once.
+ * The node with the 'scheduling' profile confirms the processing of each batch with an {@link Acknowledgement}.
+ *
+ * @param senderId       the id of the Hazelcast member that sent the batch
+ * @param sequenceNumber the sequence number of the batch, which is unique per sender
+ * @param messages       the commands in the order in which they have to be processed
+ * @param sentAt         the time in milliseconds since the epoch at which the batch was sent first
+ */
+public record InstanceMessageBatch(UUID senderId, long sequenceNumber, List<InstanceMessage> messages, long sentAt) implements Serializable {
+
+    /**
+     * The reliable topic to which the batches are published
+     */
+    public static final String TOPIC = "instance-message-batches";
+
+    /**
+     * The topic to which the acknowledgements are published
+     */
+    public static final String ACKNOWLEDGEMENT_TOPIC = "instance-message-acknowledgements";
+
+    /**
+     * Confirms that the node with the 'scheduling' profile processed a batch
+     *
+     * @param senderId       the id of the Hazelcast member that sent the batch
+     * @param sequenceNumber the sequence number of the batch
+     */
+    public record Acknowledgement(UUID senderId, long sequenceNumber) implements Serializable {
+    }
+}
@@ -1,6 +1,7 @@
 package de.tum.in.www1.artemis.service.messaging;
 
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,21 +9,31 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.ReliableMessageListener;
 
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.modeling.ModelingExercise;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.security.SecurityUtils;
 import de.tum.in.www1.artemis.service.scheduled.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * This service is only available on a node with the 'scheduling' profile.
- * It receives messages from Hazelcast whenever another node sends a message to a specific topic and processes it on this node.
+ * It receives batches of messages from Hazelcast whenever another node sends messages, processes them on this node and acknowledges them,
+ * see {@link DistributedInstanceMessageSendService}.
  */
 @Service
 @Profile("scheduling")
 public class InstanceMessageReceiveService {
 
+    private static final String METER_NAME = "artemis.instance-messages";
+
+    private static final int PROCESSED_SEQUENCE_NUMBERS_PER_SENDER = 1000;
+
     private final Logger log = LoggerFactory.getLogger(InstanceMessageReceiveService.class);
 
     private final ProgrammingExerciseRepository programmingExerciseRepository;
@@ -45,10 +56,19 @@ public class InstanceMessageReceiveService {
 
     private final UserScheduleService userScheduleService;
 
+    private final ITopic<InstanceMessageBatch.Acknowledgement> acknowledgementTopic;
+
+    private final Timer deliveryTimer;
+
+    private final Timer processingTimer;
+
+    // the last processed sequence numbers per sending node, which are used to skip batches that were sent again
+    private final Map<UUID, Set<Long>> processedSequenceNumbers = new HashMap<>();
+
     public InstanceMessageReceiveService(ProgrammingExerciseRepository programmingExerciseRepository, ProgrammingExerciseScheduleService programmingExerciseScheduleService,
             ModelingExerciseRepository modelingExerciseRepository, ModelingExerciseScheduleService modelingExerciseScheduleService, TextExerciseRepository textExerciseRepository,
             ExerciseRepository exerciseRepository, Optional<AtheneScheduleService> atheneScheduleService, HazelcastInstance hazelcastInstance, UserRepository userRepository,
-            UserScheduleService userScheduleService, NotificationScheduleService notificationScheduleService) {
+            UserScheduleService userScheduleService, NotificationScheduleService notificationScheduleService, MeterRegistry meterRegistry) {
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.programmingExerciseScheduleService = programmingExerciseScheduleService;
         this.textExerciseRepository = textExerciseRepository;
@@ -60,62 +80,74 @@ public class InstanceMessageReceiveService {
         this.userScheduleService = userScheduleService;
         this.notificationScheduleService = notificationScheduleService;
 
-        hazelcastInstance.<Long>getTopic("programming-exercise-schedule").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processScheduleProgrammingExercise((message.getMessageObject()));
-        });
-        hazelcastInstance.<Long>getTopic("programming-exercise-schedule-cancel").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processScheduleProgrammingExerciseCancel(message.getMessageObject());
-        });
-        hazelcastInstance.<Long>getTopic("modeling-exercise-schedule").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processScheduleModelingExercise((message.getMessageObject()));
-        });
-        hazelcastInstance.<Long>getTopic("modeling-exercise-schedule-cancel").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processScheduleModelingExerciseCancel(message.getMessageObject());
-        });
-        hazelcastInstance.<Long>getTopic("modeling-exercise-schedule-instant-clustering").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processModelingExerciseInstantClustering((message.getMessageObject()));
-        });
-        hazelcastInstance.<Long>getTopic("text-exercise-schedule").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processScheduleTextExercise((message.getMessageObject()));
-        });
-        hazelcastInstance.<Long>getTopic("text-exercise-schedule-cancel").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processTextExerciseScheduleCancel((message.getMessageObject()));
-        });
-        hazelcastInstance.<Long>getTopic("text-exercise-schedule-instant-clustering").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processTextExerciseInstantClustering((message.getMessageObject()));
-        });
-        hazelcastInstance.<Long>getTopic("programming-exercise-unlock-repositories").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processUnlockAllRepositories((message.getMessageObject()));
-        });
-        hazelcastInstance.<Long>getTopic("programming-exercise-lock-repositories").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processLockAllRepositories((message.getMessageObject()));
-        });
-        hazelcastInstance.<Long>getTopic("user-management-remove-non-activated-user").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processRemoveNonActivatedUser((message.getMessageObject()));
-        });
-        hazelcastInstance.<Long>getTopic("user-management-cancel-remove-non-activated-user").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processCancelRemoveNonActivatedUser((message.getMessageObject()));
-        });
-        hazelcastInstance.<Long>getTopic("exercise-released-notification-schedule").addMessageListener(message -> {
-            SecurityUtils.setAuthorizationObject();
-            processScheduleExerciseReleasedNotification((message.getMessageObject()));
-        });
-        hazelcastInstance.<Long>getTopic("assessed-exercise-submission-notification-schedule").addMessageListener(message -> {
+        this.acknowledgementTopic = hazelcastInstance.getTopic(InstanceMessageBatch.ACKNOWLEDGEMENT_TOPIC);
+        this.deliveryTimer = Timer.builder(METER_NAME + ".delivery").description("Duration from sending a batch of instance messages until it was received")
+                .register(meterRegistry);
+        this.processingTimer = Timer.builder(METER_NAME + ".processing").description("Duration of processing a batch of instance messages").register(meterRegistry);
+        hazelcastInstance.<InstanceMessageBatch>getReliableTopic(InstanceMessageBatch.TOPIC).addMessageListener(new InstanceMessageBatchListener());
+    }
+
+    /**
+     * Processes the messages of the batch in their order and acknowledges the batch. A batch that was already processed is only acknowledged again,
+     * because it was sent again after its acknowledgement got lost or was late.
+     *
+     * @param batch the batch of messages sent by another node
+     */
+    public void processBatch(InstanceMessageBatch batch) {
+        deliveryTimer.record(Math.max(0, System.currentTimeMillis() - batch.sentAt()), TimeUnit.MILLISECONDS);
+        if (markAsProcessed(batch)) {
             SecurityUtils.setAuthorizationObject();
-            processScheduleAssessedExerciseSubmittedNotification((message.getMessageObject()));
-        });
+            processingTimer.record(() -> batch.messages().forEach(this::processMessage));
+        }
+        else {
+            log.debug("Skip batch {} of {}, because it was already processed", batch.sequenceNumber(), batch.senderId());
+        }
+        acknowledgementTopic.publish(new InstanceMessageBatch.Acknowledgement(batch.senderId(), batch.sequenceNumber()));
+    }
+
+    /**
+     * Remembers the sequence number of the batch
+     *
+     * @param batch the received batch
+     * @return true if the batch was not processed before
+     */
+    private boolean markAsProcessed(InstanceMessageBatch batch) {
+        synchronized (processedSequenceNumbers) {
+            Set<Long> sequenceNumbersOfSender = processedSequenceNumbers.computeIfAbsent(batch.senderId(), senderId -> Collections.newSetFromMap(new LinkedHashMap<>() {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                    return size() > PROCESSED_SEQUENCE_NUMBERS_PER_SENDER;
+                }
+            }));
+            return sequenceNumbersOfSender.add(batch.sequenceNumber());
+        }
+    }
+
+    private void processMessage(InstanceMessage message) {
+        try {
+            Long id = message.entityId();
+            switch (message.topic()) {
+                case PROGRAMMING_EXERCISE_SCHEDULE -> processScheduleProgrammingExercise(id);
+                case PROGRAMMING_EXERCISE_SCHEDULE_CANCEL -> processScheduleProgrammingExerciseCancel(id);
+                case MODELING_EXERCISE_SCHEDULE -> processScheduleModelingExercise(id);
+                case MODELING_EXERCISE_SCHEDULE_CANCEL -> processScheduleModelingExerciseCancel(id);
+                case MODELING_EXERCISE_INSTANT_CLUSTERING -> processModelingExerciseInstantClustering(id);
+                case TEXT_EXERCISE_SCHEDULE -> processScheduleTextExercise(id);
+                case TEXT_EXERCISE_SCHEDULE_CANCEL -> processTextExerciseScheduleCancel(id);
+                case TEXT_EXERCISE_INSTANT_CLUSTERING -> processTextExerciseInstantClustering(id);
+                case PROGRAMMING_EXERCISE_UNLOCK_REPOSITORIES -> processUnlockAllRepositories(id);
+                case PROGRAMMING_EXERCISE_LOCK_REPOSITORIES -> processLockAllRepositories(id);
+                case USER_MANAGEMENT_REMOVE_NON_ACTIVATED_USER -> processRemoveNonActivatedUser(id);
+                case USER_MANAGEMENT_CANCEL_REMOVE_NON_ACTIVATED_USER -> processCancelRemoveNonActivatedUser(id);
+                case EXERCISE_RELEASED_SCHEDULE -> processScheduleExerciseReleasedNotification(id);
+                case ASSESSED_EXERCISE_SUBMISSION_SCHEDULE -> processScheduleAssessedExerciseSubmittedNotification(id);
+            }
+        }
+        catch (Exception ex) {
+            // the remaining messages of the batch are processed nevertheless
+            log.error("Could not process instance message {} for {}", message.topic(), message.entityId(), ex);
+        }
     }
 
     public void processScheduleProgrammingExercise(Long exerciseId) {
@@ -204,4 +236,38 @@ public class InstanceMessageReceiveService {
         Exercise exercise = exerciseRepository.findByIdElseThrow(exerciseId);
         notificationScheduleService.updateSchedulingForAssessedExercisesSubmissions(exercise);
     }
+
+    /**
+     * Listens to the reliable topic of the batches. A listener that is too slow to keep up with the topic continues with the oldest batch that is still
+     * available instead of stopping, the senders send the missed batches again as they are not acknowledged.
+     */
+    private class InstanceMessageBatchListener implements ReliableMessageListener<InstanceMessageBatch> {
+
+        @Override
+        public void onMessage(Message<InstanceMessageBatch> message) {
+            processBatch(message.getMessageObject());
+        }
+
+        @Override
+        public long retrieveInitialSequence() {
+            // only receive the batches that are published from now on
+            return -1;
+        }
+
+        @Override
+        public void storeSequence(long sequence) {
+            // the sequence is not stored, the senders send unacknowledged batches again
+        }
+
+        @Override
+        public boolean isLossTolerant() {
+            return true;
+        }
+
+        @Override
+        public boolean isTerminal(Throwable failure) {
+            log.error("Exception while processing a batch of instance messages", failure);
+            return false;
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package de.tum.in.www1.artemis.service.messaging;
+
+/**
+ * The commands that are sent to the node with the 'scheduling' profile, see {@link InstanceMessageSendService}
+ */
+public enum MessageTopic {
+
+    PROGRAMMING_EXERCISE_SCHEDULE("programming-exercise-schedule"), PROGRAMMING_EXERCISE_SCHEDULE_CANCEL("programming-exercise-schedule-cancel"),
+    MODELING_EXERCISE_SCHEDULE("modeling-exercise-schedule"), MODELING_EXERCISE_SCHEDULE_CANCEL("modeling-exercise-schedule-cancel"),
+    MODELING_EXERCISE_INSTANT_CLUSTERING("modeling-exercise-schedule-instant-clustering"), TEXT_EXERCISE_SCHEDULE("text-exercise-schedule"),
+    TEXT_EXERCISE_SCHEDULE_CANCEL("text-exercise-schedule-cancel"), TEXT_EXERCISE_INSTANT_CLUSTERING("text-exercise-schedule-instant-clustering"),
+    PROGRAMMING_EXERCISE_UNLOCK_REPOSITORIES("programming-exercise-unlock-repositories"), PROGRAMMING_EXERCISE_LOCK_REPOSITORIES("programming-exercise-lock-repositories"),
+    USER_MANAGEMENT_REMOVE_NON_ACTIVATED_USER("user-management-remove-non-activated-user"),
+    USER_MANAGEMENT_CANCEL_REMOVE_NON_ACTIVATED_USER("user-management-cancel-remove-non-activated-user"), EXERCISE_RELEASED_SCHEDULE("exercise-released-schedule"),
+    ASSESSED_EXERCISE_SUBMISSION_SCHEDULE("assessed-exercise-submission-notification-schedule");
+
+    private final String topic;
+
+    MessageTopic(String topic) {
+        this.topic = topic;
+    }
+
+    @Override
+    public String toString() {
+        return topic;
+    }
+}
@@ -3,7 +3,9 @@ package de.tum.in.www1.artemis.service.metis;
 import static de.tum.in.www1.artemis.config.Constants.VOTE_EMOJI_ID;
 
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -584,17 +586,28 @@ public class PostService extends PostingService {
     }
 
     /**
-     * Calculates k similar posts based on the underlying content comparison strategy
+     * Calculates k similar posts based on the underlying content comparison strategy.
+     * The similarity score of every course post is calculated once instead of in every comparison of the sort.
      *
      * @param courseId id of the course in which similar posts are searched for
      * @param post     post that is to be created and check for similar posts beforehand
      * @return list of similar posts
      */
     public List<Post> getSimilarPosts(Long courseId, Post post) {
-        List<Post> coursePosts = this.getAllCoursePosts(courseId);
+        final User user = userRepository.getUserWithGroupsAndAuthorities();
+
+        // checks
+        preCheckUserAndCourse(user, courseId);
+
+        // retrieve posts
+        List<Post> coursePosts = postRepository.findPostsForCourse(courseId, null, false, false, false, null);
+        // protect sample solution, grading instructions, etc.
+        coursePosts.stream().map(Post::getExercise).filter(Objects::nonNull).forEach(Exercise::filterSensitiveInformation);
 
-        // sort course posts by calculated similarity scores
-        coursePosts.sort(Comparator.comparing(coursePost -> postContentCompareStrategy.performSimilarityCheck(post, coursePost)));
+        // sort course posts by calculated similarity scores, posts with equal scores are returned in reverse order like before
+        Map<Post, Double> similarityScores = new IdentityHashMap<>();
+        coursePosts.forEach(coursePost -> similarityScores.put(coursePost, postContentCompareStrategy.performSimilarityCheck(post, coursePost)));
+        coursePosts.sort(Comparator.comparing(similarityScores::get));
         return Lists.reverse(coursePosts).stream().limit(TOP_K_SIMILARITY_RESULTS).toList();
     }
 
@@ -123,6 +123,33 @@ public class NotificationSettingsService {
 
         Set<NotificationSetting> notificationSettings = notificationSettingRepository.findAllNotificationSettingsForRecipientWithId(user.getId());
 
+        return isNotificationTypeAllowedBySettings(type, communicationChannel, notificationSettings);
+    }
+
+    /**
+     * Filters the users for whom a notification (i.e. its type based on title) is allowed by their respective notification settings.
+     * The settings of all users are loaded with one query, so that e.g. a group notification does not load the settings of every group member separately.
+     * @param notification which type (based on title) should be checked
+     * @param users whose notification settings will be used for checking
+     * @param communicationChannel which channel to use (e.g. email or webapp)
+     * @return the users for whom the type is allowed, in the order of the provided users
+     */
+    public List<User> filterUsersByNotificationSettings(Notification notification, List<User> users, NotificationSettingsCommunicationChannel communicationChannel) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        NotificationType type = findCorrespondingNotificationType(notification.getTitle());
+
+        Set<Long> userIds = users.stream().map(User::getId).collect(Collectors.toSet());
+        Map<Long, Set<NotificationSetting>> notificationSettingsByUserId = notificationSettingRepository.findAllNotificationSettingsForRecipientsWithIds(userIds).stream()
+                .collect(Collectors.groupingBy(notificationSetting -> notificationSetting.getUser().getId(), Collectors.toSet()));
+
+        return users.stream().filter(user -> isNotificationTypeAllowedBySettings(type, communicationChannel, notificationSettingsByUserId.getOrDefault(user.getId(), Set.of())))
+                .collect(Collectors.toList());
+    }
+
+    private boolean isNotificationTypeAllowedBySettings(NotificationType type, NotificationSettingsCommunicationChannel communicationChannel,
+            Set<NotificationSetting> notificationSettings) {
         Set<NotificationType> deactivatedTypes;
 
         // the urgent emails were already sent at this point
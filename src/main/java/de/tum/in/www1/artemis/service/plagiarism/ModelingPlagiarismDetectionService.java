@@ -4,8 +4,11 @@ import static com.google.gson.JsonParser.parseString;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +32,10 @@ public class ModelingPlagiarismDetectionService {
 
     private final Logger log = LoggerFactory.getLogger(ModelingPlagiarismDetectionService.class);
 
+    private static final long PROGRESS_NOTIFICATION_INTERVAL_IN_MILLIS = 1000;
+
+    private static final double SIMILARITY_TOLERANCE = 1e-9;
+
     private final PlagiarismWebsocketService plagiarismWebsocketService;
 
     public ModelingPlagiarismDetectionService(PlagiarismWebsocketService plagiarismWebsocketService) {
@@ -91,12 +98,13 @@ public class ModelingPlagiarismDetectionService {
         ObjectMapper objectMapper = new ObjectMapper();
 
         AtomicInteger processedSubmissionCount = new AtomicInteger(1);
+        AtomicLong lastProgressNotification = new AtomicLong(0);
         modelingSubmissions.stream().filter(modelingSubmission -> !modelingSubmission.isEmpty(objectMapper))
                 .filter(modelingSubmission -> minimumScore == 0 || modelingSubmission.getLatestResult() != null && modelingSubmission.getLatestResult().getScore() != null
                         && modelingSubmission.getLatestResult().getScore() >= minimumScore)
                 .forEach(modelingSubmission -> {
                     String progressMessage = "Getting UML diagram for submission: " + processedSubmissionCount + "/" + modelingSubmissions.size();
-                    plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.RUNNING, List.of(progressMessage));
+                    notifyInstructorAboutProgress(topic, progressMessage, lastProgressNotification);
 
                     try {
                         log.debug("Build UML diagram from json");
@@ -115,22 +123,29 @@ public class ModelingPlagiarismDetectionService {
 
         log.info("Found {} modeling submissions with at least {} elements to compare", models.size(), minimumModelSize);
 
-        Set<PlagiarismComparison<ModelingSubmissionElement>> comparisons = new HashSet<>();
-        List<UMLDiagram> nonEmptyDiagrams = new ArrayList<>(models.keySet());
+        Set<PlagiarismComparison<ModelingSubmissionElement>> comparisons = ConcurrentHashMap.newKeySet();
+        // Sorting the diagrams by their size allows to skip all pairs whose size difference is too big to reach the minimum similarity, see below
+        List<UMLDiagram> nonEmptyDiagrams = models.keySet().stream().sorted(Comparator.comparingInt(UMLDiagram::getModelElementCount)).toList();
 
         long timeBeforeStartInMillis = System.currentTimeMillis();
+        AtomicInteger comparedDiagramCount = new AtomicInteger(0);
+        AtomicInteger skippedComparisonCount = new AtomicInteger(0);
 
-        // It is intended to use the classic for loop here, because we only want to check
-        // similarity between two different submissions once
-        for (int i = 0; i < nonEmptyDiagrams.size(); i++) {
-            String progressMessage = "Comparing submissions: " + (i + 1) + "/" + nonEmptyDiagrams.size();
-            plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.RUNNING, List.of(progressMessage));
+        // The diagrams are compared in parallel, each task compares one diagram with all diagrams after it in the list,
+        // so that the similarity between two different submissions is only checked once
+        IntStream.range(0, nonEmptyDiagrams.size()).parallel().forEach(i -> {
+            UMLDiagram model1 = nonEmptyDiagrams.get(i);
 
             for (int j = i + 1; j < nonEmptyDiagrams.size(); j++) {
-
-                UMLDiagram model1 = nonEmptyDiagrams.get(i);
                 UMLDiagram model2 = nonEmptyDiagrams.get(j);
 
+                // As the diagrams are sorted by their size, the maximum similarity only decreases for all following diagrams.
+                // The small tolerance makes sure that rounding errors in the similarity calculation can never lead to skipping a similar pair.
+                if (model1.maximumSimilarity(model2) + SIMILARITY_TOLERANCE < minimumSimilarity) {
+                    skippedComparisonCount.addAndGet(nonEmptyDiagrams.size() - j);
+                    break;
+                }
+
                 final double similarity = model1.similarity(model2);
                 log.debug("Compare result {} with {}: {}", i, j, similarity);
 
@@ -139,45 +154,64 @@ public class ModelingPlagiarismDetectionService {
                     continue;
                 }
 
-                ModelingSubmission modelingSubmissionA = models.get(model1);
-                ModelingSubmission modelingSubmissionB = models.get(model2);
-
                 log.info("Found similar models {} with {}: {}", i, j, similarity);
-
-                PlagiarismSubmission<ModelingSubmissionElement> submissionA = PlagiarismSubmission.fromModelingSubmission(modelingSubmissionA);
-                submissionA.setSize(model1.getAllModelElements().size());
-                submissionA.setElements(model1.getAllModelElements().stream().map(ModelingSubmissionElement::fromUMLElement).collect(Collectors.toList()));
-
-                PlagiarismSubmission<ModelingSubmissionElement> submissionB = PlagiarismSubmission.fromModelingSubmission(modelingSubmissionB);
-                submissionB.setSize(model2.getAllModelElements().size());
-                submissionB.setElements(model2.getAllModelElements().stream().map(ModelingSubmissionElement::fromUMLElement).collect(Collectors.toList()));
-
-                PlagiarismComparison<ModelingSubmissionElement> comparison = new PlagiarismComparison<>();
-
-                comparison.setPlagiarismResult(result);
-                comparison.setSimilarity(similarity * 100);
-                comparison.setSubmissionA(submissionA);
-                comparison.setSubmissionB(submissionB);
-                // TODO: Add matches to highlight similar modeling elements
-                comparison.setMatches(new HashSet<>());
-
-                comparisons.add(comparison);
+                comparisons.add(createComparison(result, similarity, model1, models.get(model1), model2, models.get(model2)));
             }
-        }
 
+            String progressMessage = "Comparing submissions: " + comparedDiagramCount.incrementAndGet() + "/" + nonEmptyDiagrams.size();
+            notifyInstructorAboutProgress(topic, progressMessage, lastProgressNotification);
+        });
+
+        log.info("Skipped {} comparisons of modeling submissions that cannot reach the minimum similarity", skippedComparisonCount.get());
         log.info("Found {} similar modeling submission combinations (>{})", comparisons.size(), minimumSimilarity);
         plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.COMPLETED, List.of());
 
         long durationInMillis = System.currentTimeMillis() - timeBeforeStartInMillis;
         int[] similarityDistribution = calculateSimilarityDistribution(comparisons);
 
-        result.setComparisons(comparisons);
+        result.setComparisons(new HashSet<>(comparisons));
         result.setDuration(durationInMillis);
         result.setSimilarityDistribution(similarityDistribution);
 
         return result;
     }
 
+    private PlagiarismComparison<ModelingSubmissionElement> createComparison(ModelingPlagiarismResult result, double similarity, UMLDiagram model1,
+            ModelingSubmission modelingSubmissionA, UMLDiagram model2, ModelingSubmission modelingSubmissionB) {
+        PlagiarismSubmission<ModelingSubmissionElement> submissionA = PlagiarismSubmission.fromModelingSubmission(modelingSubmissionA);
+        submissionA.setSize(model1.getAllModelElements().size());
+        submissionA.setElements(model1.getAllModelElements().stream().map(ModelingSubmissionElement::fromUMLElement).collect(Collectors.toList()));
+
+        PlagiarismSubmission<ModelingSubmissionElement> submissionB = PlagiarismSubmission.fromModelingSubmission(modelingSubmissionB);
+        submissionB.setSize(model2.getAllModelElements().size());
+        submissionB.setElements(model2.getAllModelElements().stream().map(ModelingSubmissionElement::fromUMLElement).collect(Collectors.toList()));
+
+        PlagiarismComparison<ModelingSubmissionElement> comparison = new PlagiarismComparison<>();
+
+        comparison.setPlagiarismResult(result);
+        comparison.setSimilarity(similarity * 100);
+        comparison.setSubmissionA(submissionA);
+        comparison.setSubmissionB(submissionB);
+        // TODO: Add matches to highlight similar modeling elements
+        comparison.setMatches(new HashSet<>());
+        return comparison;
+    }
+
+    /**
+     * Sends the given progress message to the instructor, but at most once per {@link #PROGRESS_NOTIFICATION_INTERVAL_IN_MILLIS} to avoid flooding the websocket.
+     *
+     * @param topic                    the topic of the plagiarism check
+     * @param progressMessage          the progress message to send
+     * @param lastProgressNotification the time in milliseconds when the last progress message was sent
+     */
+    private void notifyInstructorAboutProgress(String topic, String progressMessage, AtomicLong lastProgressNotification) {
+        long now = System.currentTimeMillis();
+        long lastNotification = lastProgressNotification.get();
+        if (now - lastNotification >= PROGRESS_NOTIFICATION_INTERVAL_IN_MILLIS && lastProgressNotification.compareAndSet(lastNotification, now)) {
+            plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.RUNNING, List.of(progressMessage));
+        }
+    }
+
     /**
      * Reduce a ModelingExercise Object to a list of latest modeling submissions.
      *
@@ -0,0 +1,258 @@
+package de.tum.in.www1.artemis.service.programming;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.BooleanSupplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.security.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Queues build triggers for student participations and sends them to the continuous integration server in the background, so that no request thread
+ * has to wait while e.g. all builds of an exercise are triggered.
+ * <p>
+ * The triggers are limited by a token bucket, which allows {@code artemis.external-system-request.batch-size} triggers at once and refills them within
+ * {@code artemis.external-system-request.batch-waiting-time}, and by a maximum number of concurrent requests. The refill rate adapts to the continuous
+ * integration server: it is halved whenever a trigger fails or takes longer than {@link #LATENCY_THRESHOLD} and slowly increases again while the triggers
+ * succeed quickly (additive increase, multiplicative decrease). A participation whose trigger is still queued is not queued a second time.
+ * <p>
+ * By default, only one trigger is sent at a time, as before the triggers were queued. {@code artemis.external-system-request.max-concurrent-requests}
+ * allows more concurrent triggers if the continuous integration server handles them, e.g. if a single trigger is slow.
+ */
+@Service
+public class BuildTriggerDispatchService {
+
+    private static final String METER_NAME = "artemis.programming.build-triggers";
+
+    static final Duration LATENCY_THRESHOLD = Duration.ofSeconds(5);
+
+    private static final double MINIMUM_RATE_FACTOR = 0.1;
+
+    private static final double MAXIMUM_RATE_FACTOR = 2.0;
+
+    private final Logger log = LoggerFactory.getLogger(BuildTriggerDispatchService.class);
+
+    @Value("${artemis.external-system-request.batch-size}")
+    private int externalSystemRequestBatchSize;
+
+    @Value("${artemis.external-system-request.batch-waiting-time}")
+    private int externalSystemRequestBatchWaitingTime;
+
+    @Value("${artemis.external-system-request.max-concurrent-requests:1}")
+    private int maxConcurrentRequests;
+
+    private final MeterRegistry meterRegistry;
+
+    // insertion ordered, so that the triggers are dispatched in the order in which they were queued
+    private final Map<Long, QueuedTrigger> queuedTriggers = new LinkedHashMap<>();
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+
+    private ExecutorService triggerExecutor;
+
+    private Semaphore concurrentRequests;
+
+    private double baseRate;
+
+    private double rate;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    private Counter successCounter;
+
+    private Counter failureCounter;
+
+    private Timer latencyTimer;
+
+    public BuildTriggerDispatchService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Sets up the token bucket and the meters and starts dispatching the queued triggers
+     */
+    @PostConstruct
+    public void init() {
+        baseRate = Math.max(1, externalSystemRequestBatchSize) * 1000.0 / Math.max(1, externalSystemRequestBatchWaitingTime);
+        rate = baseRate;
+        tokens = Math.max(1, externalSystemRequestBatchSize);
+        lastRefill = System.nanoTime();
+        concurrentRequests = new Semaphore(Math.max(1, maxConcurrentRequests));
+        triggerExecutor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentRequests));
+
+        successCounter = Counter.builder(METER_NAME).description("Number of build triggers sent to the continuous integration server").tag("result", "success")
+                .register(meterRegistry);
+        failureCounter = Counter.builder(METER_NAME).description("Number of build triggers sent to the continuous integration server").tag("result", "failure")
+                .register(meterRegistry);
+        latencyTimer = Timer.builder(METER_NAME + ".latency").description("Duration of build triggers sent to the continuous integration server").register(meterRegistry);
+        Gauge.builder(METER_NAME + ".queue-size", this, BuildTriggerDispatchService::getQueueSize).description("Number of queued build triggers").register(meterRegistry);
+        Gauge.builder(METER_NAME + ".rate", this, BuildTriggerDispatchService::getRate).description("Current number of build triggers per second").register(meterRegistry);
+
+        dispatcher.execute(this::dispatchQueuedTriggers);
+    }
+
+    /**
+     * Queues the build trigger of the given participation. If a trigger of the participation is already queued, it is replaced by the given trigger, so
+     * that the build is only triggered once.
+     *
+     * @param participationId the id of the participation whose build is triggered
+     * @param trigger         triggers the build and returns whether the continuous integration server accepted the trigger
+     * @return a future that is completed once the build was triggered, regardless whether the trigger succeeded, or exceptionally if the trigger could not be
+     *         sent, e.g. because the application shuts down
+     */
+    public CompletableFuture<Void> queueTrigger(Long participationId, BooleanSupplier trigger) {
+        synchronized (queuedTriggers) {
+            QueuedTrigger queuedTrigger = queuedTriggers.get(participationId);
+            if (queuedTrigger != null) {
+                queuedTrigger.trigger = trigger;
+                return queuedTrigger.future;
+            }
+            queuedTrigger = new QueuedTrigger(trigger);
+            queuedTriggers.put(participationId, queuedTrigger);
+            queuedTriggers.notifyAll();
+            return queuedTrigger.future;
+        }
+    }
+
+    public int getQueueSize() {
+        synchronized (queuedTriggers) {
+            return queuedTriggers.size();
+        }
+    }
+
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    private void dispatchQueuedTriggers() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                waitForQueuedTrigger();
+                waitForToken();
+                concurrentRequests.acquire();
+                QueuedTrigger queuedTrigger = pollQueuedTrigger();
+                try {
+                    triggerExecutor.execute(() -> sendTrigger(queuedTrigger));
+                }
+                catch (RejectedExecutionException ex) {
+                    // the trigger is never sent, so whoever waits for it has to know
+                    queuedTrigger.future.completeExceptionally(ex);
+                    throw ex;
+                }
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        catch (RejectedExecutionException ex) {
+            log.debug("Stop dispatching build triggers because the application shuts down");
+        }
+    }
+
+    private void waitForQueuedTrigger() throws InterruptedException {
+        synchronized (queuedTriggers) {
+            while (queuedTriggers.isEmpty()) {
+                queuedTriggers.wait();
+            }
+        }
+    }
+
+    private QueuedTrigger pollQueuedTrigger() {
+        synchronized (queuedTriggers) {
+            Iterator<QueuedTrigger> iterator = queuedTriggers.values().iterator();
+            QueuedTrigger queuedTrigger = iterator.next();
+            iterator.remove();
+            return queuedTrigger;
+        }
+    }
+
+    private void waitForToken() throws InterruptedException {
+        long waitingTimeInNanos;
+        while ((waitingTimeInNanos = tryTakeToken()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitingTimeInNanos);
+        }
+    }
+
+    /**
+     * Refills the token bucket and takes a token if one is available.
+     *
+     * @return 0 if a token was taken, otherwise the time in nanoseconds until the next token is available
+     */
+    private synchronized long tryTakeToken() {
+        long now = System.nanoTime();
+        tokens = Math.min(Math.max(1, externalSystemRequestBatchSize), tokens + (now - lastRefill) * rate / 1_000_000_000.0);
+        lastRefill = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / rate * 1_000_000_000.0);
+    }
+
+    private void sendTrigger(QueuedTrigger queuedTrigger) {
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            // the trigger might have to resume the exercise, which requires an authenticated user
+            SecurityUtils.setAuthorizationObject();
+            successful = queuedTrigger.trigger.getAsBoolean();
+        }
+        catch (Exception ex) {
+            log.error("Unexpected exception while triggering a build", ex);
+        }
+        finally {
+            concurrentRequests.release();
+            Duration latency = Duration.ofNanos(System.nanoTime() - start);
+            latencyTimer.record(latency);
+            (successful ? successCounter : failureCounter).increment();
+            adaptRate(successful, latency);
+            queuedTrigger.future.complete(null);
+        }
+    }
+
+    private synchronized void adaptRate(boolean successful, Duration latency) {
+        if (!successful || latency.compareTo(LATENCY_THRESHOLD) > 0) {
+            rate = Math.max(baseRate * MINIMUM_RATE_FACTOR, rate / 2);
+            log.debug("Decrease the build trigger rate to {}/s (successful: {}, latency: {} ms)", rate, successful, latency.toMillis());
+        }
+        else {
+            rate = Math.min(baseRate * MAXIMUM_RATE_FACTOR, rate + baseRate * MINIMUM_RATE_FACTOR);
+        }
+    }
+
+    /**
+     * Stops dispatching the queued triggers when the application shuts down
+     */
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        triggerExecutor.shutdown();
+    }
+
+    private static class QueuedTrigger {
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private volatile BooleanSupplier trigger;
+
+        private QueuedTrigger(BooleanSupplier trigger) {
+            this.trigger = trigger;
+        }
+    }
+}
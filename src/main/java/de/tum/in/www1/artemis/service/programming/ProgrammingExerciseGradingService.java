@@ -5,18 +5,25 @@ import static de.tum.in.www1.artemis.domain.ProgrammingSubmission.createFallback
 
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.annotation.PreDestroy;
 import javax.validation.constraints.NotNull;
 
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.math3.util.Precision;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.actuate.audit.AuditEvent;
 import org.springframework.boot.actuate.audit.AuditEventRepository;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.stereotype.Service;
 
 import de.tum.in.www1.artemis.config.Constants;
@@ -40,6 +47,7 @@ import de.tum.in.www1.artemis.service.hestia.ProgrammingExerciseGitDiffReportSer
 import de.tum.in.www1.artemis.service.hestia.TestwiseCoverageService;
 import de.tum.in.www1.artemis.service.notifications.GroupNotificationService;
 import de.tum.in.www1.artemis.web.rest.dto.ProgrammingExerciseGradingStatisticsDTO;
+import de.tum.in.www1.artemis.web.rest.dto.ReEvaluationProgressDTO;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
 
 @Service
@@ -47,6 +55,13 @@ public class ProgrammingExerciseGradingService {
 
     private final Logger log = LoggerFactory.getLogger(ProgrammingExerciseGradingService.class);
 
+    /**
+     * The number of participations whose results are loaded, graded and saved together during a re-evaluation.
+     */
+    private static final int RE_EVALUATION_CHUNK_SIZE = 100;
+
+    private static final int RE_EVALUATION_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
     private final Optional<ContinuousIntegrationService> continuousIntegrationService;
 
     private final Optional<VersionControlService> versionControlService;
@@ -89,6 +104,9 @@ public class ProgrammingExerciseGradingService {
 
     private final TestwiseCoverageService testwiseCoverageService;
 
+    // the tasks run with the security context of the thread that submitted them, as some repository methods require an authenticated user
+    private final ExecutorService reEvaluationExecutor = new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(RE_EVALUATION_THREADS));
+
     public ProgrammingExerciseGradingService(ProgrammingExerciseTestCaseService testCaseService, ProgrammingSubmissionService programmingSubmissionService,
             StudentParticipationRepository studentParticipationRepository, ResultRepository resultRepository, Optional<ContinuousIntegrationService> continuousIntegrationService,
             Optional<VersionControlService> versionControlService, SimpMessageSendingOperations messagingTemplate, StaticCodeAnalysisService staticCodeAnalysisService,
@@ -367,20 +385,13 @@ public class ProgrammingExerciseGradingService {
      * @return Result with updated feedbacks, score and result string.
      */
     public Result calculateScoreForResult(Result result, ProgrammingExercise exercise, boolean isStudentParticipation) {
-        Set<ProgrammingExerciseTestCase> testCases = testCaseService.findActiveByExerciseId(exercise.getId());
-        final Set<ProgrammingExerciseTestCase> testCasesForCurrentDate;
-        // We don't filter the test cases for the solution/template participation's results as they are used as indicators for the instructor!
-        if (isStudentParticipation) {
-            testCasesForCurrentDate = filterTestCasesForCurrentDate(result.getParticipation(), testCases);
-        }
-        else {
-            testCasesForCurrentDate = testCases;
-        }
-        return calculateScoreForResult(testCases, testCasesForCurrentDate, result, exercise, isStudentParticipation);
+        final GradingContext context = createGradingContext(exercise, isStudentParticipation);
+        final Set<ProgrammingExerciseTestCase> testCasesForCurrentDate = getTestCasesForCurrentDate(context, result.getParticipation(), isStudentParticipation);
+        return calculateScoreForResult(context, testCasesForCurrentDate, result, isStudentParticipation);
     }
 
     /**
-     * Updates <b>all</b> latest results of the given exercise with the information of the exercises test cases.
+     * Updates and saves <b>all</b> latest results of the given exercise with the information of the exercises test cases.
      * <p>
      * This update includes:
      * <ul>
@@ -390,151 +401,194 @@ public class ProgrammingExerciseGradingService {
      * </ul>
      *
      * If there are no test cases stored in the database for the given exercise (i.e. we have a legacy exercise) or the weight has not been changed, then the result will not change.
+     * <p>
+     * The participations are processed in chunks: the results of a chunk are loaded, graded by multiple threads and saved before the next chunk is loaded,
+     * so that neither the memory consumption nor the duration of a single transaction grow with the number of participations. The progress is sent to the
+     * instructors via websocket after each chunk. As every chunk is saved on its own, the already re-evaluated results are kept if the re-evaluation is
+     * interrupted, and it can simply be started again.
      *
      * @param exercise whose results should be updated.
-     * @return the results of the exercise that have been updated.
+     * @return the number of results that have been updated.
      */
-    public List<Result> updateAllResults(final ProgrammingExercise exercise) {
-        final Set<ProgrammingExerciseTestCase> testCases = testCaseService.findActiveByExerciseId(exercise.getId());
-
-        final Stream<Result> updatedTemplateAndSolutionResult = updateTemplateAndSolutionResults(exercise, testCases);
-
-        final List<StudentParticipation> studentParticipations = new ArrayList<>();
-        // We only update the latest automatic results here, later manual assessments are not affected
-        studentParticipations.addAll(studentParticipationRepository.findByExerciseIdWithLatestAutomaticResultAndFeedbacks(exercise.getId()));
-        // Also update manual results
-        studentParticipations.addAll(studentParticipationRepository.findByExerciseIdWithManualResultAndFeedbacks(exercise.getId()));
-
-        final Stream<Result> updatedStudentResults = updateResults(exercise, testCases, studentParticipations);
-
-        return Stream.concat(updatedTemplateAndSolutionResult, updatedStudentResults).toList();
+    public int reEvaluateAllResults(final ProgrammingExercise exercise) {
+        return updateResultsInChunks(exercise, false);
     }
 
     /**
-     * Updates the latest results of all participations that do not have an individual due date. This includes the template and solution participation.
-     * <p>
-     * For details what will be updated for individual results, see {@link ProgrammingExerciseGradingService#updateAllResults}.
+     * Updates and saves the latest results of all participations that do not have an individual due date, see {@link #reEvaluateAllResults(ProgrammingExercise)}.
+     *
      * @param exercise whose results should be updated.
-     * @return the results of the exercise that have been updated.
+     * @return the number of results that have been updated.
      */
-    public List<Result> updateResultsOnlyRegularDueDateParticipations(final ProgrammingExercise exercise) {
-        final Set<ProgrammingExerciseTestCase> testCases = testCaseService.findActiveByExerciseId(exercise.getId());
-
-        final Stream<Result> updatedTemplateAndSolutionResult = updateTemplateAndSolutionResults(exercise, testCases);
-
-        final List<StudentParticipation> studentParticipations = new ArrayList<>();
-        // We only update the latest automatic results here, later manual assessments are not affected
-        studentParticipations.addAll(studentParticipationRepository.findByExerciseIdWithLatestAutomaticResultAndFeedbacksWithoutIndividualDueDate(exercise.getId()));
-        // Also update manual results
-        studentParticipations.addAll(studentParticipationRepository.findByExerciseIdWithManualResultAndFeedbacksWithoutIndividualDueDate(exercise.getId()));
-
-        final Stream<Result> updatedStudentResults = updateResults(exercise, testCases, studentParticipations);
+    public int reEvaluateResultsOnlyRegularDueDateParticipations(final ProgrammingExercise exercise) {
+        return updateResultsInChunks(exercise, true);
+    }
 
-        return Stream.concat(updatedTemplateAndSolutionResult, updatedStudentResults).toList();
+    /**
+     * Updates and saves the latest results of the template, solution and student participations of the exercise chunk by chunk.
+     *
+     * @param exercise           whose results should be updated.
+     * @param onlyRegularDueDate true, if only the results of participations without an individual due date should be updated.
+     * @return the number of results that have been updated.
+     */
+    private int updateResultsInChunks(final ProgrammingExercise exercise, boolean onlyRegularDueDate) {
+        final GradingContext context = createGradingContext(exercise, true);
+
+        final List<Result> templateAndSolutionResults = updateTemplateAndSolutionResults(context);
+        resultRepository.saveAll(templateAndSolutionResults);
+        int numberOfUpdatedResults = templateAndSolutionResults.size();
+
+        final List<Long> participationIds = studentParticipationRepository.findAllIdsByExerciseId(exercise.getId(), onlyRegularDueDate);
+        final String progressTopic = getReEvaluationProgressTopic(exercise.getId());
+        for (int from = 0; from < participationIds.size(); from += RE_EVALUATION_CHUNK_SIZE) {
+            final List<Long> chunk = participationIds.subList(from, Math.min(from + RE_EVALUATION_CHUNK_SIZE, participationIds.size()));
+
+            final List<StudentParticipation> studentParticipations = new ArrayList<>();
+            // We only update the latest automatic results here, later manual assessments are not affected
+            studentParticipations.addAll(studentParticipationRepository.findAllByIdWithLatestAutomaticResultAndFeedbacks(chunk));
+            // Also update manual results
+            studentParticipations.addAll(studentParticipationRepository.findAllByIdWithManualResultAndFeedbacks(chunk));
+
+            final List<Result> updatedResults = updateResults(context, studentParticipations);
+            resultRepository.saveAll(updatedResults);
+            numberOfUpdatedResults += updatedResults.size();
+
+            int processedParticipations = Math.min(from + RE_EVALUATION_CHUNK_SIZE, participationIds.size());
+            messagingTemplate.convertAndSend(progressTopic, new ReEvaluationProgressDTO(processedParticipations, participationIds.size()));
+            log.debug("Re-evaluated the results of {} of {} participations of exercise {}", processedParticipations, participationIds.size(), exercise.getId());
+        }
+        return numberOfUpdatedResults;
     }
 
     /**
      * Updates the latest result scores of the given participation.
      * <p>
-     * For details what will be updated, see {@link ProgrammingExerciseGradingService#updateAllResults}.
+     * For details what will be updated, see {@link ProgrammingExerciseGradingService#reEvaluateAllResults}.
      * @param participation for which the results should be updated.
      * @return a list of updated results (maximum two: latest automatic, and latest manual result).
      */
     public List<Result> updateParticipationResults(final ProgrammingExerciseStudentParticipation participation) {
-        final ProgrammingExercise exercise = participation.getProgrammingExercise();
-        final Set<ProgrammingExerciseTestCase> testCases = testCaseService.findActiveByExerciseId(exercise.getId());
-        final Set<ProgrammingExerciseTestCase> testCasesBeforeDueDate = filterTestCasesForStudents(testCases, true);
-        final Set<ProgrammingExerciseTestCase> testCasesAfterDueDate = filterTestCasesForStudents(testCases, false);
+        final GradingContext context = createGradingContext(participation.getProgrammingExercise(), true);
 
         final Optional<Result> updatedAutomaticResult = studentParticipationRepository.findByIdWithLatestAutomaticResultAndFeedbacks(participation.getId())
-                .flatMap(studentParticipation -> updateLatestResult(exercise, studentParticipation, testCases, testCasesBeforeDueDate, testCasesAfterDueDate, true));
+                .flatMap(studentParticipation -> updateLatestResult(context, studentParticipation, true));
         final Optional<Result> updatedManualResult = studentParticipationRepository.findByIdWithManualResultAndFeedbacks(participation.getId())
-                .flatMap(studentParticipation -> updateLatestResult(exercise, studentParticipation, testCases, testCasesBeforeDueDate, testCasesAfterDueDate, true));
+                .flatMap(studentParticipation -> updateLatestResult(context, studentParticipation, true));
 
         return Stream.of(updatedAutomaticResult, updatedManualResult).flatMap(Optional::stream).toList();
     }
 
     /**
-     * Updates the latest results for the given participations.
-     * @param exercise the participations belong to.
-     * @param allTestCases of the programming exercise.
+     * Updates the latest results for the given participations in parallel.
+     * Every participation is graded by exactly one thread, all threads share the read-only grading context.
+     *
+     * @param context the grading context of the exercise the participations belong to.
      * @param participations for which the latest results should be updated.
      * @return all results that have been updated.
      */
-    private Stream<Result> updateResults(final ProgrammingExercise exercise, final Set<ProgrammingExerciseTestCase> allTestCases, final List<StudentParticipation> participations) {
-        final Set<ProgrammingExerciseTestCase> testCasesBeforeDueDate = filterTestCasesForStudents(allTestCases, true);
-        final Set<ProgrammingExerciseTestCase> testCasesAfterDueDate = filterTestCasesForStudents(allTestCases, false);
+    private List<Result> updateResults(final GradingContext context, final List<StudentParticipation> participations) {
+        final List<Future<Optional<Result>>> futures = new ArrayList<>();
+        for (final StudentParticipation participation : participations) {
+            futures.add(reEvaluationExecutor.submit(() -> updateLatestResult(context, participation, true)));
+        }
 
-        return participations.stream().map(participation -> updateLatestResult(exercise, participation, allTestCases, testCasesBeforeDueDate, testCasesAfterDueDate, true))
-                .flatMap(Optional::stream);
+        final List<Result> updatedResults = new ArrayList<>();
+        for (final Future<Optional<Result>> future : futures) {
+            try {
+                future.get().ifPresent(updatedResults::add);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The re-evaluation of exercise " + context.exercise().getId() + " was interrupted", ex);
+            }
+            catch (ExecutionException ex) {
+                throw new IllegalStateException("Could not re-evaluate a result of exercise " + context.exercise().getId(), ex.getCause());
+            }
+        }
+        return updatedResults;
     }
 
     /**
      * Updates the latest results for the template and solution participation.
-     * @param exercise the template and solution belong to.
-     * @param testCases of the exercise.
-     * @return a stream of results that have been updated.
+     * @param context the grading context of the exercise the template and solution belong to.
+     * @return the results that have been updated.
      *         (maximum length two; if template and/or solution do not have a results, then fewer)
      */
-    private Stream<Result> updateTemplateAndSolutionResults(final ProgrammingExercise exercise, final Set<ProgrammingExerciseTestCase> testCases) {
-        final Optional<Result> templateResult = templateProgrammingExerciseParticipationRepository
-                .findWithEagerResultsAndFeedbacksAndSubmissionsByProgrammingExerciseId(exercise.getId())
-                .flatMap(templateParticipation -> updateLatestResult(exercise, templateParticipation, testCases, testCases, testCases, false));
+    private List<Result> updateTemplateAndSolutionResults(final GradingContext context) {
+        final Long exerciseId = context.exercise().getId();
+        final Optional<Result> templateResult = templateProgrammingExerciseParticipationRepository.findWithEagerResultsAndFeedbacksAndSubmissionsByProgrammingExerciseId(exerciseId)
+                .flatMap(templateParticipation -> updateLatestResult(context, templateParticipation, false));
 
-        final Optional<Result> solutionResult = solutionProgrammingExerciseParticipationRepository
-                .findWithEagerResultsAndFeedbacksAndSubmissionsByProgrammingExerciseId(exercise.getId())
-                .flatMap(solutionParticipation -> updateLatestResult(exercise, solutionParticipation, testCases, testCases, testCases, false));
+        final Optional<Result> solutionResult = solutionProgrammingExerciseParticipationRepository.findWithEagerResultsAndFeedbacksAndSubmissionsByProgrammingExerciseId(exerciseId)
+                .flatMap(solutionParticipation -> updateLatestResult(context, solutionParticipation, false));
 
-        return Stream.of(templateResult, solutionResult).flatMap(Optional::stream);
+        return Stream.of(templateResult, solutionResult).flatMap(Optional::stream).toList();
     }
 
     /**
      * Updates the score for the latest result of the given participation.
-     * @param exercise the participation belongs to.
-     * @param participation of a student in the exercise.
-     * @param allTestCases of this exercise.
-     * @param testCasesBeforeDueDate the test cases that are visible to the student before the due date.
-     * @param testCasesAfterDueDate the test cases that are visible to the student after the due date.
-     * @param applySubmissionPolicy true, if submission policies should be taken into account when updating the score.
+     * @param context the grading context of the exercise the participation belongs to.
+     * @param participation of a student in the exercise, or the template or solution participation.
+     * @param isStudentParticipation true, if the participation is not the template or solution participation.
+     *                               The test cases are then filtered by the due date and submission policies are taken into account.
      * @return the latest result with an updated score, or nothing if the participation had no results.
      */
-    private Optional<Result> updateLatestResult(ProgrammingExercise exercise, Participation participation, Set<ProgrammingExerciseTestCase> allTestCases,
-            Set<ProgrammingExerciseTestCase> testCasesBeforeDueDate, Set<ProgrammingExerciseTestCase> testCasesAfterDueDate, boolean applySubmissionPolicy) {
+    private Optional<Result> updateLatestResult(GradingContext context, Participation participation, boolean isStudentParticipation) {
         final Result result = participation.findLatestLegalResult();
         if (result == null) {
             return Optional.empty();
         }
 
-        boolean isBeforeDueDate = exerciseDateService.isBeforeDueDate(participation);
-        final Set<ProgrammingExerciseTestCase> testCasesForCurrentDate = isBeforeDueDate ? testCasesBeforeDueDate : testCasesAfterDueDate;
-
-        calculateScoreForResult(allTestCases, testCasesForCurrentDate, result, exercise, applySubmissionPolicy);
+        calculateScoreForResult(context, getTestCasesForCurrentDate(context, participation, isStudentParticipation), result, isStudentParticipation);
 
         return Optional.of(result);
     }
 
+    /**
+     * Loads everything that is needed to grade the results of the given exercise, so that it does not have to be loaded for every single result.
+     *
+     * @param exercise the exercise whose results should be graded.
+     * @param loadSubmissionPolicy true, if the submission policy of the exercise should be loaded, i.e. results of students are graded.
+     * @return the grading context of the exercise.
+     */
+    private GradingContext createGradingContext(ProgrammingExercise exercise, boolean loadSubmissionPolicy) {
+        if (loadSubmissionPolicy) {
+            exercise.setSubmissionPolicy(programmingExerciseRepository.findByIdWithSubmissionPolicyElseThrow(exercise.getId()).getSubmissionPolicy());
+        }
+        final Set<ProgrammingExerciseTestCase> testCases = Set.copyOf(testCaseService.findActiveByExerciseId(exercise.getId()));
+        return new GradingContext(exercise, testCases, Set.copyOf(filterTestCasesForStudents(testCases, true)), Set.copyOf(filterTestCasesForStudents(testCases, false)),
+                List.copyOf(staticCodeAnalysisService.getCategoriesWithMappingForExercise(exercise)));
+    }
+
     /**
      * Creates an audit event logging that a re-evaluation was triggered.
      * @param user who triggered the re-evaluation.
      * @param exercise for which the evaluation was triggered.
      * @param course the exercise belongs to.
-     * @param results of the exercise.
+     * @param numberOfResults the number of results that were re-evaluated.
      */
-    public void logReEvaluate(User user, ProgrammingExercise exercise, Course course, List<Result> results) {
+    public void logReEvaluate(User user, ProgrammingExercise exercise, Course course, int numberOfResults) {
         var auditEvent = new AuditEvent(user.getLogin(), Constants.RE_EVALUATE_RESULTS, "exercise=" + exercise.getTitle(), "course=" + course.getTitle(),
-                "results=" + results.size());
+                "results=" + numberOfResults);
         auditEventRepository.add(auditEvent);
-        log.info("User {} triggered a re-evaluation of {} results for exercise {} with id {}", user.getLogin(), results.size(), exercise.getTitle(), exercise.getId());
+        log.info("User {} triggered a re-evaluation of {} results for exercise {} with id {}", user.getLogin(), numberOfResults, exercise.getTitle(), exercise.getId());
     }
 
     /**
-     * Filter all test cases from the score calculation that are never visible or ones with visibility "after due date" if the due date has not yet passed.
-     * @param testCases which should be filtered.
-     * @return testCases, but the ones based on the described visibility criterion removed.
+     * Returns the test cases that count for the score of the participation at the current date.
+     * For students, test cases that are never visible or ones with visibility "after due date" if the due date has not yet passed are not taken into account.
+     * We don't filter the test cases for the solution/template participation's results as they are used as indicators for the instructor!
+     *
+     * @param context the grading context of the exercise.
+     * @param participation the participation whose result should be graded.
+     * @param isStudentParticipation true, if the participation is not the template or solution participation.
+     * @return the test cases for the current date.
      */
-    private Set<ProgrammingExerciseTestCase> filterTestCasesForCurrentDate(Participation participation, Set<ProgrammingExerciseTestCase> testCases) {
-        boolean isBeforeDueDate = exerciseDateService.isBeforeDueDate(participation);
-        return filterTestCasesForStudents(testCases, isBeforeDueDate);
+    private Set<ProgrammingExerciseTestCase> getTestCasesForCurrentDate(GradingContext context, Participation participation, boolean isStudentParticipation) {
+        if (!isStudentParticipation) {
+            return context.allTestCases();
+        }
+        return exerciseDateService.isBeforeDueDate(participation) ? context.testCasesBeforeDueDate() : context.testCasesAfterDueDate();
     }
 
     /**
@@ -549,15 +603,16 @@ public class ProgrammingExerciseGradingService {
 
     /**
      * Calculates the grading for a result and updates the feedbacks
-     * @param testCases All test cases for the exercise
+     * @param context The grading context of the current exercise
      * @param testCasesForCurrentDate Test cases for the exercise for the current date
      * @param result The result to be updated
-     * @param exercise The current exercise
      * @param applySubmissionPolicy true, if submission policies should be taken into account when updating the score.
      * @return The updated result
      */
-    private Result calculateScoreForResult(Set<ProgrammingExerciseTestCase> testCases, Set<ProgrammingExerciseTestCase> testCasesForCurrentDate, @NotNull Result result,
-            ProgrammingExercise exercise, boolean applySubmissionPolicy) {
+    private Result calculateScoreForResult(GradingContext context, Set<ProgrammingExerciseTestCase> testCasesForCurrentDate, @NotNull Result result,
+            boolean applySubmissionPolicy) {
+        final ProgrammingExercise exercise = context.exercise();
+        final Set<ProgrammingExerciseTestCase> testCases = context.allTestCases();
         List<Feedback> testCaseFeedback = new ArrayList<>();
         List<Feedback> staticCodeAnalysisFeedback = new ArrayList<>();
         for (var feedback : result.getFeedbacks()) {
@@ -574,12 +629,7 @@ public class ProgrammingExerciseGradingService {
         }
 
         // Remove feedback that is in an invisible sca category
-        staticCodeAnalysisFeedback = staticCodeAnalysisService.categorizeScaFeedback(result, staticCodeAnalysisFeedback, exercise);
-
-        if (applySubmissionPolicy) {
-            SubmissionPolicy submissionPolicy = programmingExerciseRepository.findByIdWithSubmissionPolicyElseThrow(exercise.getId()).getSubmissionPolicy();
-            exercise.setSubmissionPolicy(submissionPolicy);
-        }
+        staticCodeAnalysisFeedback = staticCodeAnalysisService.categorizeScaFeedback(result, staticCodeAnalysisFeedback, context.staticCodeAnalysisCategories());
 
         // Case 1: There are tests and test case feedback, find out which tests were not executed or should only count to the score after the due date.
         if (!testCasesForCurrentDate.isEmpty() && !testCaseFeedback.isEmpty() && !result.getFeedbacks().isEmpty()) {
@@ -595,7 +645,7 @@ public class ProgrammingExerciseGradingService {
             boolean hasDuplicateTestCases = createFeedbackForDuplicateTests(result, exercise);
 
             // Add feedback if submission penalty policy is active
-            if (exercise.getSubmissionPolicy() instanceof SubmissionPenaltyPolicy penaltyPolicy) {
+            if (applySubmissionPolicy && exercise.getSubmissionPolicy() instanceof SubmissionPenaltyPolicy penaltyPolicy) {
                 submissionPolicyService.createFeedbackForPenaltyPolicy(result, penaltyPolicy);
             }
 
@@ -1101,4 +1151,31 @@ public class ProgrammingExerciseGradingService {
             testCaseStatsMap.get(testName).updateWithFeedback(feedback);
         }
     }
+
+    private String getReEvaluationProgressTopic(Long programmingExerciseId) {
+        return "/topic/programming-exercises/" + programmingExerciseId + "/re-evaluation-progress";
+    }
+
+    /**
+     * Stops the threads grading the results of re-evaluations when the application shuts down
+     */
+    @PreDestroy
+    public void shutdown() {
+        reEvaluationExecutor.shutdown();
+    }
+
+    /**
+     * Everything that is needed to grade the results of an exercise besides the results themselves.
+     * It is shared by all threads grading the results of a re-evaluation and must therefore not be modified.
+     *
+     * @param exercise                     the exercise whose results are graded, including its submission policy.
+     * @param allTestCases                 the active test cases of the exercise.
+     * @param testCasesBeforeDueDate       the test cases that are visible to the students before the due date.
+     * @param testCasesAfterDueDate        the test cases that are visible to the students after the due date.
+     * @param staticCodeAnalysisCategories the static code analysis categories of the exercise with their mappings.
+     */
+    private record GradingContext(ProgrammingExercise exercise, Set<ProgrammingExerciseTestCase> allTestCases, Set<ProgrammingExerciseTestCase> testCasesBeforeDueDate,
+            Set<ProgrammingExerciseTestCase> testCasesAfterDueDate,
+            List<ImmutablePair<StaticCodeAnalysisCategory, List<StaticCodeAnalysisDefaultCategory.CategoryMapping>>> staticCodeAnalysisCategories) {
+    }
 }
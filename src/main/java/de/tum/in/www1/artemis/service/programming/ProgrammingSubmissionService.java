@@ -5,6 +5,7 @@ import static java.util.stream.Collectors.toList;
 
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -50,12 +51,6 @@ public class ProgrammingSubmissionService extends SubmissionService {
     @Value("${artemis.git.email}")
     private String artemisGitEmail;
 
-    @Value("${artemis.external-system-request.batch-size}")
-    private int externalSystemRequestBatchSize;
-
-    @Value("${artemis.external-system-request.batch-waiting-time}")
-    private int externalSystemRequestBatchWaitingTime;
-
     private final ProgrammingExerciseRepository programmingExerciseRepository;
 
     private final ProgrammingSubmissionRepository programmingSubmissionRepository;
@@ -84,6 +79,8 @@ public class ProgrammingSubmissionService extends SubmissionService {
 
     private final ProgrammingExerciseGitDiffReportService programmingExerciseGitDiffReportService;
 
+    private final BuildTriggerDispatchService buildTriggerDispatchService;
+
     public ProgrammingSubmissionService(ProgrammingSubmissionRepository programmingSubmissionRepository, ProgrammingExerciseRepository programmingExerciseRepository,
             GroupNotificationService groupNotificationService, SubmissionRepository submissionRepository, UserRepository userRepository, AuthorizationCheckService authCheckService,
             WebsocketMessagingService websocketMessagingService, Optional<VersionControlService> versionControlService, ResultRepository resultRepository,
@@ -92,7 +89,7 @@ public class ProgrammingSubmissionService extends SubmissionService {
             StudentParticipationRepository studentParticipationRepository, FeedbackRepository feedbackRepository, AuditEventRepository auditEventRepository,
             ExamDateService examDateService, ExerciseDateService exerciseDateService, CourseRepository courseRepository, ParticipationRepository participationRepository,
             ProgrammingExerciseStudentParticipationRepository programmingExerciseStudentParticipationRepository, ComplaintRepository complaintRepository,
-            ProgrammingExerciseGitDiffReportService programmingExerciseGitDiffReportService) {
+            ProgrammingExerciseGitDiffReportService programmingExerciseGitDiffReportService, BuildTriggerDispatchService buildTriggerDispatchService) {
         super(submissionRepository, userRepository, authCheckService, resultRepository, studentParticipationRepository, participationService, feedbackRepository, examDateService,
                 exerciseDateService, courseRepository, participationRepository, complaintRepository);
         this.programmingSubmissionRepository = programmingSubmissionRepository;
@@ -109,6 +106,7 @@ public class ProgrammingSubmissionService extends SubmissionService {
         this.auditEventRepository = auditEventRepository;
         this.programmingExerciseStudentParticipationRepository = programmingExerciseStudentParticipationRepository;
         this.programmingExerciseGitDiffReportService = programmingExerciseGitDiffReportService;
+        this.buildTriggerDispatchService = buildTriggerDispatchService;
     }
 
     /**
@@ -273,13 +271,16 @@ public class ProgrammingSubmissionService extends SubmissionService {
      * pending submission exists or null if not.
      */
     public Map<Long, Optional<ProgrammingSubmission>> getLatestPendingSubmissionsForProgrammingExercise(Long programmingExerciseId) {
-        List<ProgrammingExerciseStudentParticipation> participations = programmingExerciseStudentParticipationRepository.findWithSubmissionsByExerciseId(programmingExerciseId);
-        // TODO: find the latest pending submission directly using Java (the submissions are available now) and not with additional db queries
-        return participations.stream().collect(Collectors.toMap(Participation::getId, p -> findLatestPendingSubmissionForParticipation(p.getId())));
-    }
-
-    private Optional<ProgrammingSubmission> findLatestPendingSubmissionForParticipation(final long participationId) {
-        return findLatestPendingSubmissionForParticipation(participationId, false);
+        Map<Long, Optional<ProgrammingSubmission>> pendingSubmissions = new HashMap<>();
+        programmingExerciseStudentParticipationRepository.findIdsByExerciseId(programmingExerciseId)
+                .forEach(participationId -> pendingSubmissions.put(participationId, Optional.empty()));
+        // the latest and the pending submissions of all participations are determined in the database with one query instead of one query per participation
+        for (var submission : programmingSubmissionRepository.findLatestPendingSubmissionsOfStudentParticipationsByExerciseId(programmingExerciseId)) {
+            // in the unlikely case that two submissions have the same submission date, the newer one is used
+            pendingSubmissions.merge(submission.getParticipation().getId(), Optional.of(submission),
+                    (existing, candidate) -> existing.isEmpty() || existing.get().getId() < candidate.get().getId() ? candidate : existing);
+        }
+        return pendingSubmissions;
     }
 
     private Optional<ProgrammingSubmission> findLatestPendingSubmissionForParticipation(final long participationId, final boolean isGraded) {
@@ -299,6 +300,8 @@ public class ProgrammingSubmissionService extends SubmissionService {
      * The build result will become rated regardless of the due date as the submission type is INSTRUCTOR.
      *
      * The method is async because it would timeout a calling resource method.
+     * The build run is completed once the builds of all participations have been triggered. If the builds cannot be triggered, e.g. because the
+     * application shuts down, the failure is logged and the build run is completed anyway, but the test cases stay marked as changed.
      *
      * @param exerciseId to identify the programming exercise.
      * @throws EntityNotFoundException if there is no programming exercise for the given exercise id.
@@ -314,35 +317,36 @@ public class ProgrammingSubmissionService extends SubmissionService {
         List<ProgrammingExerciseStudentParticipation> participations = new ArrayList<>(
                 programmingExerciseStudentParticipationRepository.findWithSubmissionsByExerciseId(exerciseId));
 
-        triggerBuildForParticipations(participations);
-
-        // When the instructor build was triggered for the programming exercise, it is not considered 'dirty' anymore.
-        setTestCasesChanged(programmingExercise, false);
-        // Let the instructor know that the build run is finished.
-        notifyInstructorAboutCompletedExerciseBuildRun(programmingExercise);
+        triggerBuildForParticipations(participations).whenComplete((unused, throwable) -> {
+            if (throwable != null) {
+                log.error("Could not trigger all builds of the instructor build run of programming exercise {}", exerciseId, throwable);
+            }
+            try {
+                SecurityUtils.setAuthorizationObject();
+                if (throwable == null) {
+                    // When the instructor build was triggered for the programming exercise, it is not considered 'dirty' anymore.
+                    setTestCasesChanged(programmingExercise, false);
+                }
+                // Let the instructor know that the build run is finished.
+                notifyInstructorAboutCompletedExerciseBuildRun(programmingExercise);
+            }
+            catch (Exception ex) {
+                log.error("Could not complete the instructor build run of programming exercise {}", exerciseId, ex);
+            }
+        });
     }
 
     /**
-     * trigger the build using the batch size approach for all participations
+     * Queues the builds of all given participations, which are then triggered in the background without overloading the CI system.
+     * Participations without submissions are skipped because their build does not need to be triggered.
      *
      * @param participations the participations for which the method triggerBuild should be executed.
+     * @return a future that is completed once the builds of all participations have been triggered, or exceptionally if a build could not be triggered at all
      */
-    public void triggerBuildForParticipations(List<ProgrammingExerciseStudentParticipation> participations) {
-        var index = 0;
-        for (var participation : participations) {
-            // Execute requests in batches instead all at once.
-            if (index > 0 && index % externalSystemRequestBatchSize == 0) {
-                try {
-                    log.info("Sleep for {}s during triggerBuild", externalSystemRequestBatchWaitingTime / 1000);
-                    Thread.sleep(externalSystemRequestBatchWaitingTime);
-                }
-                catch (InterruptedException ex) {
-                    log.error("Exception encountered when pausing before executing successive build for participation " + participation.getId(), ex);
-                }
-            }
-            triggerBuild(participation);
-            index++;
-        }
+    public CompletableFuture<Void> triggerBuildForParticipations(List<ProgrammingExerciseStudentParticipation> participations) {
+        var triggers = participations.stream().filter(participation -> participation.findLatestSubmission().isPresent())
+                .map(participation -> buildTriggerDispatchService.queueTrigger(participation.getId(), () -> triggerBuild(participation))).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(triggers);
     }
 
     public void logTriggerInstructorBuild(User user, Exercise exercise, Course course) {
@@ -437,13 +441,14 @@ public class ProgrammingSubmissionService extends SubmissionService {
 
     /**
      * Trigger a CI build for each submission & notify each user of the participation
-     * Note: Instead of triggering all builds at the same time, we execute the builds in batches to not overload the CIS system (this has to be handled in the invoking method)
+     * Note: Instead of triggering all builds at the same time, the builds should be queued with {@link #triggerBuildForParticipations(List)} to not overload the CIS system
      *
      * Note: This call "resumes the exercise", i.e. re-creates the build plan if the build plan was already cleaned before
      *
      * @param participation the participation for which we create a new submission and new result
+     * @return false if triggering the build failed, true otherwise
      */
-    public void triggerBuild(ProgrammingExerciseStudentParticipation participation) {
+    public boolean triggerBuild(ProgrammingExerciseStudentParticipation participation) {
         Optional<ProgrammingSubmission> submission = participation.findLatestSubmission();
         // we only need to trigger the build if the student actually already made a submission, otherwise this is not needed
         if (submission.isPresent()) {
@@ -461,8 +466,10 @@ public class ProgrammingSubmissionService extends SubmissionService {
                 log.error("Trigger build failed for {} with the exception {}", participation.getBuildPlanId(), e.getMessage());
                 BuildTriggerWebsocketError error = new BuildTriggerWebsocketError(e.getMessage(), participation.getId());
                 notifyUserAboutSubmissionError(participation, error);
+                return false;
             }
         }
+        return true;
     }
 
     /**
@@ -0,0 +1,184 @@
+package de.tum.in.www1.artemis.service.scheduled;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.EntryAddedListener;
+
+import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.domain.participation.Participation;
+import de.tum.in.www1.artemis.repository.StudentParticipationRepository;
+import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.ScoreService;
+
+/**
+ * Keeps the participant scores up to date when results are created or updated.
+ * <p>
+ * Instead of updating the participant score within the flush of every result, the participations of changed results are queued after the transaction
+ * committed. A single worker thread waits a short moment, so that multiple changes of the same participation (e.g. during a regrade) are coalesced,
+ * and then updates the participant scores of the queued participations in batches.
+ * <p>
+ * The queued participations are kept in a distributed Hazelcast map, so that they are not lost when a server restarts or crashes: the backup of the map
+ * on another server takes over. Every server only updates the participations whose map entries it owns, so a participation is never updated by two servers
+ * at the same time, and an entry is only removed after its participant scores were updated. Entries that were taken over from another server are picked up
+ * on startup and by a periodic check.
+ * Removed results are still handled synchronously by {@link ScoreService#removeOrUpdateAssociatedParticipantScore(Result)}, because the participant
+ * score must not refer to a result that is deleted.
+ */
+@Service
+public class ParticipantScoreScheduleService {
+
+    private final Logger log = LoggerFactory.getLogger(ParticipantScoreScheduleService.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String HAZELCAST_PENDING_PARTICIPANT_SCORE_UPDATES = "participantScoreSchedulePendingUpdates";
+
+    private final ScoreService scoreService;
+
+    private final StudentParticipationRepository studentParticipationRepository;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    /**
+     * The ids of the queued participations, the value changes every time a participation is queued again
+     */
+    private final IMap<Long, Long> pendingParticipationIds;
+
+    private final AtomicBoolean updateScheduled = new AtomicBoolean(false);
+
+    @Value("${artemis.scores.update-delay-in-ms:500}")
+    private long updateDelayInMillis;
+
+    public ParticipantScoreScheduleService(ScoreService scoreService, StudentParticipationRepository studentParticipationRepository, HazelcastInstance hazelcastInstance) {
+        this.scoreService = scoreService;
+        this.studentParticipationRepository = studentParticipationRepository;
+        this.pendingParticipationIds = hazelcastInstance.getMap(HAZELCAST_PENDING_PARTICIPANT_SCORE_UPDATES);
+        // the server that owns a queued participation is notified, no matter which server queued it
+        this.pendingParticipationIds.addLocalEntryListener((EntryAddedListener<Long, Long>) event -> scheduleProcessing());
+    }
+
+    /**
+     * Updates the participant scores that were queued before this server started, e.g. because the server that queued them crashed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void applicationReady() {
+        scheduleProcessingOfOwnedUpdates();
+    }
+
+    /**
+     * Updates the queued participant scores that this server took over from another server, e.g. because the other server left the cluster
+     */
+    @Scheduled(fixedDelay = 60 * 1000)  // every minute
+    public void scheduleProcessingOfOwnedUpdates() {
+        if (!pendingParticipationIds.localKeySet().isEmpty()) {
+            scheduleProcessing();
+        }
+    }
+
+    /**
+     * Queues the update of the participant score of the participation of the given result once the current transaction committed.
+     * Results without score or completion date do not affect the participant score and are ignored.
+     *
+     * @param result the created or updated result
+     */
+    public void scheduleParticipantScoreUpdate(Result result) {
+        Participation participation = result.getParticipation();
+        if (result.getScore() == null || result.getCompletionDate() == null || participation == null || participation.getId() == null) {
+            return;
+        }
+        Long participationId = participation.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    schedule(Set.of(participationId));
+                }
+            });
+        }
+        else {
+            schedule(Set.of(participationId));
+        }
+    }
+
+    /**
+     * Recalculates the participant scores of all exercises of the course from their results, e.g. to repair scores that got out of sync.
+     *
+     * @param courseId the id of the course
+     * @return the number of participations whose participant scores will be recalculated
+     */
+    public int scheduleParticipantScoreUpdatesForCourse(Long courseId) {
+        Set<Long> participationIds = studentParticipationRepository.findAllIdsByCourseId(courseId);
+        log.info("Schedule the recalculation of the participant scores of {} participations in course {}", participationIds.size(), courseId);
+        schedule(participationIds);
+        return participationIds.size();
+    }
+
+    private void schedule(Set<Long> participationIds) {
+        Map<Long, Long> queuedParticipationIds = new HashMap<>();
+        participationIds.forEach(participationId -> queuedParticipationIds.put(participationId, ThreadLocalRandom.current().nextLong()));
+        pendingParticipationIds.putAll(queuedParticipationIds);
+    }
+
+    private void scheduleProcessing() {
+        if (updateScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::processPendingUpdates, updateDelayInMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Updates the participant scores of all queued participations that are owned by this server in batches.
+     * Called by the worker thread, but can also be invoked directly to apply all queued updates immediately.
+     */
+    public synchronized void processPendingUpdates() {
+        updateScheduled.set(false);
+        Set<Long> ownedParticipationIds = pendingParticipationIds.localKeySet();
+        if (ownedParticipationIds.isEmpty()) {
+            return;
+        }
+        // the score service uses custom @Query methods that fail without authentication, which is not available in the worker thread
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            SecurityUtils.setAuthorizationObject();
+        }
+        while (!ownedParticipationIds.isEmpty()) {
+            List<Long> participationIds = new ArrayList<>(ownedParticipationIds);
+            for (int from = 0; from < participationIds.size(); from += BATCH_SIZE) {
+                Map<Long, Long> batch = pendingParticipationIds.getAll(new HashSet<>(participationIds.subList(from, Math.min(from + BATCH_SIZE, participationIds.size()))));
+                try {
+                    scoreService.updateOrCreateParticipantScores(batch.keySet());
+                }
+                catch (Exception ex) {
+                    log.error("Could not update the participant scores of the participations {}", batch.keySet(), ex);
+                }
+                // participations that were queued again in the meantime stay queued and are updated again
+                batch.forEach(pendingParticipationIds::remove);
+            }
+            ownedParticipationIds = pendingParticipationIds.localKeySet();
+        }
+    }
+
+    /**
+     * Stops the worker thread when the application shuts down
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+}
@@ -478,8 +478,7 @@ public class ProgrammingExerciseScheduleService implements IExerciseScheduleServ
     public Runnable updateStudentScoresRegularDueDate(final ProgrammingExercise exercise) {
         return () -> {
             SecurityUtils.setAuthorizationObject();
-            final List<Result> updatedResults = programmingExerciseGradingService.updateResultsOnlyRegularDueDateParticipations(exercise);
-            resultRepository.saveAll(updatedResults);
+            programmingExerciseGradingService.reEvaluateResultsOnlyRegularDueDateParticipations(exercise);
         };
     }
 
@@ -0,0 +1,52 @@
+package de.tum.in.www1.artemis.service.scheduled;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.StatisticsRollupService;
+import tech.jhipster.config.JHipsterConstants;
+
+@Service
+@Profile("scheduling")
+public class StatisticsRollupScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsRollupScheduleService.class);
+
+    private final Environment env;
+
+    private final StatisticsRollupService statisticsRollupService;
+
+    public StatisticsRollupScheduleService(Environment env, StatisticsRollupService statisticsRollupService) {
+        this.env = env;
+        this.statisticsRollupService = statisticsRollupService;
+    }
+
+    /**
+     * Rolls up the statistics of the hours that passed since the last execution and of the recompaction window in form of a repeating "cron" job
+     */
+    @Scheduled(cron = "0 10 * * * *") // execute this every hour at xx:10:00
+    public void compactRollups() {
+        Collection<String> activeProfiles = Arrays.asList(env.getActiveProfiles());
+        if (!activeProfiles.contains(JHipsterConstants.SPRING_PROFILE_PRODUCTION)) {
+            // only execute this on production server, i.e. when the prod profile is active
+            // NOTE: if you want to test this locally, please comment it out, but do not commit the changes
+            return;
+        }
+        try {
+            SecurityUtils.setAuthorizationObject();
+            statisticsRollupService.compactRollups(ZonedDateTime.now());
+        }
+        catch (Exception ex) {
+            log.error("Exception occurred during the compaction of the statistics rollups", ex);
+        }
+    }
+}
@@ -67,6 +67,9 @@ public class WeeklyEmailSummaryScheduleService {
             // scheduler.scheduleAtFixedRate(scheduleEmailSummaries(), ZonedDateTime.now().toLocalDateTime().toInstant(zoneOffset), Duration.ofMinutes(3));
 
             log.info("Scheduled email summaries on start up.");
+
+            // the summaries of this week might have been interrupted by a restart
+            emailSummaryService.resumeEmailSummaries();
         }
         catch (Exception exception) {
             log.error("Failed to start WeeklyEmailSummaryScheduleService", exception);
@@ -57,6 +57,11 @@ final class EmptyQuizExerciseCache extends QuizExerciseCache {
         return Map.of();
     }
 
+    @Override
+    Map<String, Integer> getAttempts() {
+        return Map.of();
+    }
+
     @Override
     List<ScheduledTaskHandler> getQuizStart() {
         return List.of();
@@ -67,6 +72,11 @@ final class EmptyQuizExerciseCache extends QuizExerciseCache {
         return Map.of();
     }
 
+    @Override
+    Map<Long, Result> getCountedResults() {
+        return Map.of();
+    }
+
     @Override
     void setExercise(QuizExercise newExercise) {
         log.error("EmptyQuizExerciseCache cannot have an exercise set");
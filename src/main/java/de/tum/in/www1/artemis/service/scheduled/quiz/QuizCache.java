@@ -34,6 +34,8 @@ final class QuizCache {
 
     private static final String HAZELCAST_CACHED_EXERCISE_UPDATE_TOPIC = Constants.HAZELCAST_QUIZ_PREFIX + "cached-exercise-invalidation";
 
+    private static final int COUNTED_RESULTS_MAX_IDLE_SECONDS = 24 * 60 * 60;
+
     private final ITopic<QuizExercise> cachedQuizExerciseUpdates;
 
     private final IMap<Long, QuizExerciseCache> cachedQuizExercises;
@@ -67,6 +69,8 @@ final class QuizCache {
                 .setEvictionConfig(evictionConfig) //
                 .setCacheLocalEntries(true);
         config.getMapConfig(Constants.HAZELCAST_EXERCISE_CACHE).setNearCacheConfig(nearCacheConfig);
+        // The counted results are only an optimization for the statistic updates, entries that were not used for a day can be fetched from the database again
+        config.getMapConfig(Constants.HAZELCAST_QUIZ_PREFIX + "*" + QuizExerciseDistributedCache.HAZELCAST_CACHE_COUNTED_RESULTS).setMaxIdleSeconds(COUNTED_RESULTS_MAX_IDLE_SECONDS);
     }
 
     /**
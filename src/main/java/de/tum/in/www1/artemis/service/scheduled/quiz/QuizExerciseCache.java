@@ -50,6 +50,12 @@ abstract class QuizExerciseCache {
      */
     abstract Map<String, StudentParticipation> getParticipations();
 
+    /**
+     * The number of attempts that are committed to the database by user name, which lets live submissions be checked without database queries.
+     * Users are only contained once their attempts were counted, see {@link QuizScheduleService#getCommittedAttempts(Long, String)}.
+     */
+    abstract Map<String, Integer> getAttempts();
+
     /**
      * The scheduled start tasks of the QuizExercise
      */
@@ -60,6 +66,11 @@ abstract class QuizExerciseCache {
      */
     abstract Map<Long, Result> getResults();
 
+    /**
+     * The latest unrated result that is currently counted in the statistics, by participation id
+     */
+    abstract Map<Long, Result> getCountedResults();
+
     /**
      * Set the cached {@link QuizExercise} object
      */
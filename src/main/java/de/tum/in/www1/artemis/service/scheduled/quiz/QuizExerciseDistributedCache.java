@@ -41,8 +41,12 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
 
     private static final String HAZELCAST_CACHE_SUBMISSIONS = "-submissions";
 
+    private static final String HAZELCAST_CACHE_ATTEMPTS = "-attempts";
+
     private static final String HAZELCAST_CACHE_RESULTS = "-results";
 
+    static final String HAZELCAST_CACHE_COUNTED_RESULTS = "-counted-results";
+
     /**
      * All {@link List} classes that are supported by Hazelcast {@link SerializationServiceV1}
      */
@@ -59,7 +63,7 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
     private transient QuizExercise exercise;
 
     /*
-     * All three IMaps are distributed Hazelcast objects and must not be (de-)serialized, they are all set in the setHazelcastInstance method.
+     * All IMaps are distributed Hazelcast objects and must not be (de-)serialized, they are all set in the setHazelcastInstance method.
      */
 
     private transient IMap<String, Long> batches;
@@ -68,11 +72,18 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
 
     private transient IMap<String, QuizSubmission> submissions;
 
+    private transient IMap<String, Integer> attempts;
+
     /**
      * Must be a Map because Hazelcast uses serialized objects for set operations and not hashCode()/equals()
      */
     private transient IMap<Long, Result> results;
 
+    /**
+     * Lets the statistics be updated with deltas only, see {@link de.tum.in.www1.artemis.service.QuizStatisticService#updateStatistics(Set, QuizExercise, Map)}
+     */
+    private transient IMap<Long, Result> countedResults;
+
     QuizExerciseDistributedCache(Long exerciseId, List<ScheduledTaskHandler> quizStart, QuizExercise exercise) {
         super(Objects.requireNonNull(exerciseId, "exerciseId must not be null"));
         setQuizStart(quizStart);
@@ -108,6 +119,11 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
         return participations;
     }
 
+    @Override
+    Map<String, Integer> getAttempts() {
+        return attempts;
+    }
+
     @Override
     List<ScheduledTaskHandler> getQuizStart() {
         return quizStart;
@@ -118,6 +134,11 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
         return results;
     }
 
+    @Override
+    Map<Long, Result> getCountedResults() {
+        return countedResults;
+    }
+
     @Override
     void setExercise(QuizExercise newExercise) {
         this.exercise = newExercise;
@@ -155,7 +176,9 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
         batches.destroy();
         participations.destroy();
         submissions.destroy();
+        attempts.destroy();
         results.destroy();
+        countedResults.destroy();
         exercise = null;
     }
 
@@ -168,7 +191,9 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
         batches = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_BATCH);
         participations = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_PARTICIPATIONS);
         submissions = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_SUBMISSIONS);
+        attempts = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_ATTEMPTS);
         results = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_RESULTS);
+        countedResults = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_COUNTED_RESULTS);
     }
 
     /**
@@ -14,10 +14,13 @@ import javax.validation.constraints.NotNull;
 import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.core.HazelcastInstance;
@@ -40,6 +43,8 @@ import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.security.SecurityUtils;
 import de.tum.in.www1.artemis.service.QuizMessagingService;
 import de.tum.in.www1.artemis.service.QuizStatisticService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class QuizScheduleService {
@@ -48,6 +53,10 @@ public class QuizScheduleService {
 
     private static final String HAZELCAST_PROCESS_CACHE_HANDLER = QuizProcessCacheTask.HAZELCAST_PROCESS_CACHE_TASK + "-handler";
 
+    private static final String SUBMISSION_BATCH_METER_NAME = "artemis.quiz.submissions.batch";
+
+    private static final String SUBMISSION_BATCH_METER_DESCRIPTION = "Duration of saving a batch of quiz submissions with their participations and results";
+
     private final IScheduledExecutorService threadPoolTaskScheduler;
 
     private final IAtomicReference<ScheduledTaskHandler> scheduledProcessQuizSubmissions;
@@ -58,6 +67,8 @@ public class QuizScheduleService {
 
     private final QuizSubmissionRepository quizSubmissionRepository;
 
+    private final SubmissionRepository submissionRepository;
+
     private final QuizMessagingService quizMessagingService;
 
     private final QuizStatisticService quizStatisticService;
@@ -68,19 +79,33 @@ public class QuizScheduleService {
 
     private final QuizExerciseRepository quizExerciseRepository;
 
+    private final Timer submissionBatchTimer;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The maximum number of quiz submissions that are saved to the database together
+     */
+    @Value("${artemis.quiz.submission-batch-size:500}")
+    private int submissionBatchSize;
+
     public QuizScheduleService(SimpMessageSendingOperations messagingTemplate, StudentParticipationRepository studentParticipationRepository, UserRepository userRepository,
             QuizSubmissionRepository quizSubmissionRepository, HazelcastInstance hazelcastInstance, QuizExerciseRepository quizExerciseRepository,
-            QuizMessagingService quizMessagingService, QuizStatisticService quizStatisticService) {
+            QuizMessagingService quizMessagingService, QuizStatisticService quizStatisticService, MeterRegistry meterRegistry, SubmissionRepository submissionRepository,
+            PlatformTransactionManager transactionManager) {
         this.messagingTemplate = messagingTemplate;
         this.studentParticipationRepository = studentParticipationRepository;
         this.userRepository = userRepository;
         this.quizSubmissionRepository = quizSubmissionRepository;
+        this.submissionRepository = submissionRepository;
         this.quizExerciseRepository = quizExerciseRepository;
         this.quizMessagingService = quizMessagingService;
         this.quizStatisticService = quizStatisticService;
         this.scheduledProcessQuizSubmissions = hazelcastInstance.getCPSubsystem().getAtomicReference(HAZELCAST_PROCESS_CACHE_HANDLER);
         this.threadPoolTaskScheduler = hazelcastInstance.getScheduledExecutorService(Constants.HAZELCAST_QUIZ_SCHEDULER);
         this.quizCache = new QuizCache(hazelcastInstance);
+        this.submissionBatchTimer = Timer.builder(SUBMISSION_BATCH_METER_NAME).description(SUBMISSION_BATCH_METER_DESCRIPTION).register(meterRegistry);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -160,6 +185,21 @@ public class QuizScheduleService {
         return new QuizSubmission().submittedAnswers(new HashSet<>());
     }
 
+    /**
+     * get the number of attempts of a user that are committed to the database by quizExerciseId and username.
+     * The attempts are counted once per user by the process cache task and then kept up to date whenever a submission of the user is committed.
+     *
+     * @param quizExerciseId the quizExerciseId of the quiz the attempts belong to (first Key)
+     * @param username       the username of the user, who made the attempts (second Key)
+     * @return the number of committed attempts -> return null if the attempts of the user have not been counted yet, then they have to be counted in the database
+     */
+    public Integer getCommittedAttempts(Long quizExerciseId, String username) {
+        if (quizExerciseId == null || username == null) {
+            return null;
+        }
+        return quizCache.getReadCacheFor(quizExerciseId).getAttempts().get(username);
+    }
+
     /**
      * get a cached participation by quizExerciseId and username
      *
@@ -213,6 +253,21 @@ public class QuizScheduleService {
         return quizCache.getReadCacheFor(quizExerciseId).getSubmissions().isEmpty();
     }
 
+    /**
+     * Forgets which results are currently counted in the statistics of the given quiz exercise.
+     * <p>
+     * This needs to be done whenever the statistics are recalculated from the database, e.g. after a re-evaluation changed the scores of existing results.
+     * The next statistic update will then look up the previously counted results in the database again.
+     *
+     * @param quizExerciseId the id of the quiz whose counted results should be cleared
+     */
+    public void clearCountedResults(Long quizExerciseId) {
+        var cachedQuiz = quizCache.getCacheFor(quizExerciseId);
+        if (cachedQuiz != null) {
+            cachedQuiz.getCountedResults().clear();
+        }
+    }
+
     /**
      * Start scheduler of quiz schedule service
      *
@@ -425,6 +480,9 @@ public class QuizScheduleService {
                     }
                 }
 
+                // count the committed attempts of the users that take part in the quiz, so that their live submissions can be checked without database queries
+                countCommittedAttempts(quizExercise, cachedQuiz);
+
                 // (Boolean wrapper is safe to auto-unbox here)
                 boolean hasEnded = quizExercise.isQuizEnded();
                 // Note that those might not be true later on due to concurrency and a distributed system,
@@ -493,8 +551,8 @@ public class QuizScheduleService {
                     try {
                         // Get a Set because QuizStatisticService needs one (currently)
                         Set<Result> newResultsForQuiz = Set.copyOf(cachedQuiz.getResults().values());
-                        // Update the statistics
-                        quizStatisticService.updateStatistics(newResultsForQuiz, quizExercise);
+                        // Update the statistics, only the deltas to the already counted results are applied
+                        quizStatisticService.updateStatistics(newResultsForQuiz, quizExercise, cachedQuiz.getCountedResults());
                         log.info("Updated statistics with {} new results in {} for quiz {}", newResultsForQuiz.size(), formatDurationFrom(start), quizExercise.getTitle());
                         // Remove only processed results
                         for (Result result : newResultsForQuiz) {
@@ -512,6 +570,31 @@ public class QuizScheduleService {
         }
     }
 
+    /**
+     * Counts the committed attempts of all users with a quiz batch or a cached submission whose attempts are not counted yet, with a single query.
+     * <p>
+     * NOTE: this must only be invoked by the process cache task, which also commits the submissions (see {@link #finishSavedQuizSubmission}). Otherwise, an attempt
+     * that is committed concurrently might be missing in the count.
+     *
+     * @param quizExercise the quiz whose attempts should be counted
+     * @param cachedQuiz   the cache of the quiz
+     */
+    private void countCommittedAttempts(QuizExercise quizExercise, QuizExerciseCache cachedQuiz) {
+        Map<String, Integer> attempts = cachedQuiz.getAttempts();
+        Set<String> uncountedUsernames = new HashSet<>(cachedQuiz.getBatches().keySet());
+        uncountedUsernames.addAll(cachedQuiz.getSubmissions().keySet());
+        uncountedUsernames.removeAll(attempts.keySet());
+        if (uncountedUsernames.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> countedAttempts = new HashMap<>();
+        uncountedUsernames.forEach(username -> countedAttempts.put(username, 0));
+        submissionRepository.countByExerciseIdAndStudentLogins(quizExercise.getId(), uncountedUsernames)
+                .forEach(count -> countedAttempts.put(count.login(), Math.toIntExact(count.submissionCount())));
+        attempts.putAll(countedAttempts);
+        log.debug("Counted the committed attempts of {} users in quiz {}", countedAttempts.size(), quizExercise.getId());
+    }
+
     public void joinQuizBatch(QuizExercise quizExercise, QuizBatch quizBatch, User user) {
         log.debug("join user {} to batch {} for quiz {}", user, quizBatch, quizExercise.getId());
         quizCache.getTransientWriteCacheFor(quizExercise.getId()).getBatches().put(user.getLogin(), quizBatch.getId());
@@ -562,6 +645,10 @@ public class QuizScheduleService {
     /**
      * check if the user submitted the submission or if the quiz has ended: if true: -> Create Participation and Result and save to Database (DB Write) Remove processed Submissions
      * from SubmissionHashMap and write Participations with Result into ParticipationHashMap and Results into ResultHashMap
+     * <p>
+     * The submissions are saved in batches of {@link #submissionBatchSize}, each batch with its participations, results and submitted answers in one transaction. If a
+     * batch cannot be saved, the whole batch is rolled back and its submissions are saved individually so that one exception (e.g. duplicated key) cannot destroy multiple
+     * student answers.
      *
      * @param quizExercise      the quiz which should be checked
      * @param userSubmissionMap a Map with all submissions for the given quizExercise mapped by the username
@@ -571,109 +658,218 @@ public class QuizScheduleService {
      */
     private int saveQuizSubmissionWithParticipationAndResultToDatabase(@NotNull QuizExercise quizExercise, Map<String, QuizSubmission> userSubmissionMap, Map<String, Long> userBatchMap, Map<Long, QuizBatch> batchCache) {
 
-        int count = 0;
-
+        // collect the submissions that have to be saved in this run
+        Map<String, QuizSubmission> submissionsToSave = new LinkedHashMap<>();
         for (String username : userSubmissionMap.keySet()) {
-            try {
-                // first case: the user submitted the quizSubmission
-                QuizSubmission quizSubmission = userSubmissionMap.get(username);
-                QuizBatch quizBatch = batchCache.get(userBatchMap.getOrDefault(username, 0L));
-                if (quizSubmission.isSubmitted()) {
-                    if (quizSubmission.getType() == null) {
-                        quizSubmission.setType(SubmissionType.MANUAL);
-                    }
-                } // second case: the quiz or batch has ended
-                else if (quizExercise.isQuizEnded() || quizBatch != null && quizBatch.isEnded()) {
-                    quizSubmission.setSubmitted(true);
-                    quizSubmission.setType(SubmissionType.TIMEOUT);
-                    quizSubmission.setSubmissionDate(ZonedDateTime.now());
-                }
-                else {
-                    // the quiz is running and the submission was not yet submitted.
-                    continue;
+            QuizSubmission quizSubmission = userSubmissionMap.get(username);
+            if (quizSubmission == null) {
+                // the submission was removed concurrently
+                continue;
+            }
+            // first case: the user submitted the quizSubmission
+            QuizBatch quizBatch = batchCache.get(userBatchMap.getOrDefault(username, 0L));
+            if (quizSubmission.isSubmitted()) {
+                if (quizSubmission.getType() == null) {
+                    quizSubmission.setType(SubmissionType.MANUAL);
                 }
+            } // second case: the quiz or batch has ended
+            else if (quizExercise.isQuizEnded() || quizBatch != null && quizBatch.isEnded()) {
+                quizSubmission.setSubmitted(true);
+                quizSubmission.setType(SubmissionType.TIMEOUT);
+                quizSubmission.setSubmissionDate(ZonedDateTime.now());
+            }
+            else {
+                // the quiz is running and the submission was not yet submitted.
+                continue;
+            }
 
-                if (quizBatch != null) {
-                    // record which batch the submission belongs to
-                    quizSubmission.setQuizBatch(quizBatch.getId());
-                }
+            if (quizBatch != null) {
+                // record which batch the submission belongs to
+                quizSubmission.setQuizBatch(quizBatch.getId());
+            }
+            submissionsToSave.put(username, quizSubmission);
+        }
 
-                count++;
-                // Create Participation and Result and save to Database (DB Write)
-                // Remove processed Submissions from SubmissionHashMap and write Participations with Result into ParticipationHashMap and Results into ResultHashMap
-
-                StudentParticipation participation = new StudentParticipation();
-                // TODO: when this is set earlier for the individual quiz start of a student, we don't need to set this here anymore
-                participation.setInitializationDate(quizSubmission.getSubmissionDate());
-                Optional<User> user = userRepository.findOneByLogin(username);
-                user.ifPresent(participation::setParticipant);
-                // add the quizExercise to the participation
-                participation.setExercise(quizExercise);
-                participation.setInitializationState(InitializationState.FINISHED);
-
-                // create new result
-                Result result = new Result().participation(participation);
-                result.setRated(true);
-                result.setAssessmentType(AssessmentType.AUTOMATIC);
-                result.setCompletionDate(quizSubmission.getSubmissionDate());
-                result.setSubmission(quizSubmission);
-
-                // calculate scores and update result and submission accordingly
-                quizSubmission.calculateAndUpdateScores(quizExercise);
-                result.evaluateQuizSubmission();
-
-                // add result to participation
-                participation.addResult(result);
-
-                // add submission to participation
-                participation.setSubmissions(Set.of(quizSubmission));
-
-                // NOTE: we save (1) participation and (2) submission (in this particular order) here individually so that one exception (e.g. duplicated key) cannot
-                // destroy multiple student answers
-                participation = studentParticipationRepository.save(participation);
-                quizSubmission.addResult(result);
-                quizSubmission.setParticipation(participation);
-                // this automatically saves the results due to CascadeType.ALL
-                quizSubmission = quizSubmissionRepository.save(quizSubmission);
-
-                log.info("Successfully saved submission in quiz " + quizExercise.getTitle() + " for user " + username);
-
-                // reconnect entities after save
-                participation.setSubmissions(Set.of(quizSubmission));
-                participation.setResults(Set.of(result));
-                result.setSubmission(quizSubmission);
-                result.setParticipation(participation);
-
-                // no point in keeping the participation around for non-synchronized modes where the due date may only be in a week
-                if (quizExercise.getQuizMode() == QuizMode.SYNCHRONIZED) {
-                    // add the participation to the participationHashMap for the send out at the end of the quiz
-                    addParticipation(quizExercise.getId(), participation);
-                }
+        if (submissionsToSave.isEmpty()) {
+            return 0;
+        }
 
-                // remove the submission only after the participation has been added to the participation hashmap to avoid duplicated key exceptions for multiple participations for
-                // the same user
-                userSubmissionMap.remove(username);
-                // clean up the batch association
-                userBatchMap.remove(username);
+        // load all users with one query instead of one query per submission
+        Map<String, User> users = userRepository.findAllByLogins(submissionsToSave.keySet()).stream().collect(Collectors.toMap(User::getLogin, user -> user));
 
-                // add the result of the participation resultHashMap for the statistic-Update
-                addResultForStatisticUpdate(quizExercise.getId(), result);
+        List<String> usernames = new ArrayList<>(submissionsToSave.keySet());
+        for (int batchStart = 0; batchStart < usernames.size(); batchStart += submissionBatchSize) {
+            List<String> batchUsernames = usernames.subList(batchStart, Math.min(batchStart + submissionBatchSize, usernames.size()));
+            long start = System.nanoTime();
+            try {
+                saveQuizSubmissionBatch(quizExercise, batchUsernames, submissionsToSave, users, userSubmissionMap, userBatchMap);
+                log.info("Successfully saved {} submissions in quiz {} in {}", batchUsernames.size(), quizExercise.getTitle(), formatDurationFrom(start));
+            }
+            catch (Exception e) {
+                log.warn("Could not save batch of {} submissions in quiz {}, saving them individually: {}", batchUsernames.size(), quizExercise.getId(), e.getMessage());
+                for (String username : batchUsernames) {
+                    saveQuizSubmission(quizExercise, username, submissionsToSave.get(username), users.get(username), userSubmissionMap, userBatchMap);
+                }
             }
-            catch (ConstraintViolationException constraintViolationException) {
-                log.error("ConstraintViolationException in saveQuizSubmissionWithParticipationAndResultToDatabase() for user {} in quiz {}: {}", username, quizExercise.getId(), constraintViolationException.getMessage(), constraintViolationException);
-                // We got a ConstraintViolationException -> The "User-Quiz" pair is already saved in the database, but for some reason was not removed from the maps
-                // We remove it from the maps now to prevent this error from occurring again
-                // We do NOT add it to the participation map, as this should have been done already earlier (when the entry was added to the database)
+            submissionBatchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return submissionsToSave.size();
+    }
 
-                userSubmissionMap.remove(username);
+    /**
+     * Saves the submissions of the given users together with new participations and results.
+     * <p>
+     * NOTE: we save (1) all participations and (2) all submissions (in this particular order) in one transaction, so that a failed batch does not leave participations
+     * without submissions behind, which would be duplicated by the individual saves. This automatically saves the results and submitted answers due to CascadeType.ALL
+     *
+     * @param quizExercise      the quiz the submissions belong to
+     * @param usernames         the users whose submissions should be saved
+     * @param submissionsToSave the submissions to save mapped by the username
+     * @param users             the users mapped by their username
+     * @param userSubmissionMap the cached submissions, the saved submissions will be removed from it
+     * @param userBatchMap      the cached batch associations, the associations of the saved submissions will be removed from it
+     */
+    private void saveQuizSubmissionBatch(QuizExercise quizExercise, List<String> usernames, Map<String, QuizSubmission> submissionsToSave, Map<String, User> users,
+            Map<String, QuizSubmission> userSubmissionMap, Map<String, Long> userBatchMap) {
+        List<StudentParticipation> participations = new ArrayList<>(usernames.size());
+        List<QuizSubmission> quizSubmissions = new ArrayList<>(usernames.size());
+        List<Result> results = new ArrayList<>(usernames.size());
+        for (String username : usernames) {
+            QuizSubmission quizSubmission = submissionsToSave.get(username);
+            Result result = createParticipationWithResult(quizExercise, quizSubmission, users.get(username));
+            participations.add(result.getParticipation());
+            quizSubmissions.add(quizSubmission);
+            results.add(result);
+        }
 
-                // clean up the batch association
-                userBatchMap.remove(username);
-            }
-            catch (Exception e) {
-                log.error("Exception in saveQuizSubmissionWithParticipationAndResultToDatabase() for user {} in quiz {}: {}", username, quizExercise.getId(), e.getMessage(), e);
+        List<QuizSubmission> savedQuizSubmissions = transactionTemplate.execute(status -> {
+            List<StudentParticipation> savedParticipations = studentParticipationRepository.saveAll(participations);
+            for (int i = 0; i < quizSubmissions.size(); i++) {
+                quizSubmissions.get(i).addResult(results.get(i));
+                quizSubmissions.get(i).setParticipation(savedParticipations.get(i));
             }
+            return quizSubmissionRepository.saveAll(quizSubmissions);
+        });
+
+        for (int i = 0; i < usernames.size(); i++) {
+            QuizSubmission savedQuizSubmission = savedQuizSubmissions.get(i);
+            StudentParticipation savedParticipation = (StudentParticipation) savedQuizSubmission.getParticipation();
+            finishSavedQuizSubmission(quizExercise, usernames.get(i), savedParticipation, savedQuizSubmission, results.get(i), userSubmissionMap, userBatchMap);
         }
-        return count;
+    }
+
+    /**
+     * Saves the submission of a single user together with a new participation and result.
+     *
+     * @param quizExercise      the quiz the submission belongs to
+     * @param username          the user whose submission should be saved
+     * @param quizSubmission    the submission to save
+     * @param user              the user the submission belongs to, might be null
+     * @param userSubmissionMap the cached submissions, the saved submission will be removed from it
+     * @param userBatchMap      the cached batch associations, the association of the saved submission will be removed from it
+     */
+    private void saveQuizSubmission(QuizExercise quizExercise, String username, QuizSubmission quizSubmission, User user, Map<String, QuizSubmission> userSubmissionMap,
+            Map<String, Long> userBatchMap) {
+        try {
+            // the submission might contain a result from a failed batch
+            quizSubmission.setResults(new ArrayList<>());
+            Result result = createParticipationWithResult(quizExercise, quizSubmission, user);
+
+            // NOTE: we save (1) participation and (2) submission (in this particular order) here individually so that one exception (e.g. duplicated key) cannot
+            // destroy multiple student answers
+            StudentParticipation participation = studentParticipationRepository.save(result.getParticipation());
+            quizSubmission.addResult(result);
+            quizSubmission.setParticipation(participation);
+            // this automatically saves the results due to CascadeType.ALL
+            // NOTE: if the submission was part of a rolled back batch, it still has the id of the rolled back insert, so a copy of it and its result is inserted
+            quizSubmission = quizSubmissionRepository.save(quizSubmission);
+            result = quizSubmission.getResults().get(0);
+
+            log.info("Successfully saved submission in quiz " + quizExercise.getTitle() + " for user " + username);
+
+            finishSavedQuizSubmission(quizExercise, username, participation, quizSubmission, result, userSubmissionMap, userBatchMap);
+        }
+        catch (ConstraintViolationException constraintViolationException) {
+            log.error("ConstraintViolationException in saveQuizSubmissionWithParticipationAndResultToDatabase() for user {} in quiz {}: {}", username, quizExercise.getId(), constraintViolationException.getMessage(), constraintViolationException);
+            // We got a ConstraintViolationException -> The "User-Quiz" pair is already saved in the database, but for some reason was not removed from the maps
+            // We remove it from the maps now to prevent this error from occurring again
+            // We do NOT add it to the participation map, as this should have been done already earlier (when the entry was added to the database)
+
+            userSubmissionMap.remove(username);
+
+            // clean up the batch association
+            userBatchMap.remove(username);
+        }
+        catch (Exception e) {
+            log.error("Exception in saveQuizSubmissionWithParticipationAndResultToDatabase() for user {} in quiz {}: {}", username, quizExercise.getId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates a new participation with a new result for the given submission and calculates the scores, nothing is saved
+     *
+     * @param quizExercise   the quiz the submission belongs to
+     * @param quizSubmission the submission for which the participation and result should be created
+     * @param user           the user the participation belongs to, might be null
+     * @return the new result, connected to the new participation and the submission
+     */
+    private Result createParticipationWithResult(QuizExercise quizExercise, QuizSubmission quizSubmission, User user) {
+        StudentParticipation participation = new StudentParticipation();
+        // TODO: when this is set earlier for the individual quiz start of a student, we don't need to set this here anymore
+        participation.setInitializationDate(quizSubmission.getSubmissionDate());
+        if (user != null) {
+            participation.setParticipant(user);
+        }
+        // add the quizExercise to the participation
+        participation.setExercise(quizExercise);
+        participation.setInitializationState(InitializationState.FINISHED);
+
+        // create new result
+        Result result = new Result().participation(participation);
+        result.setRated(true);
+        result.setAssessmentType(AssessmentType.AUTOMATIC);
+        result.setCompletionDate(quizSubmission.getSubmissionDate());
+        result.setSubmission(quizSubmission);
+
+        // calculate scores and update result and submission accordingly
+        quizSubmission.calculateAndUpdateScores(quizExercise);
+        result.evaluateQuizSubmission();
+
+        // add result to participation
+        participation.addResult(result);
+
+        // add submission to participation
+        participation.setSubmissions(Set.of(quizSubmission));
+        return result;
+    }
+
+    /**
+     * Reconnects the saved entities and moves them from the submission cache to the participation and result caches
+     */
+    private void finishSavedQuizSubmission(QuizExercise quizExercise, String username, StudentParticipation participation, QuizSubmission quizSubmission, Result result,
+            Map<String, QuizSubmission> userSubmissionMap, Map<String, Long> userBatchMap) {
+        // reconnect entities after save
+        participation.setSubmissions(Set.of(quizSubmission));
+        participation.setResults(Set.of(result));
+        result.setSubmission(quizSubmission);
+        result.setParticipation(participation);
+
+        // no point in keeping the participation around for non-synchronized modes where the due date may only be in a week
+        if (quizExercise.getQuizMode() == QuizMode.SYNCHRONIZED) {
+            // add the participation to the participationHashMap for the send out at the end of the quiz
+            addParticipation(quizExercise.getId(), participation);
+        }
+
+        // count the committed attempt before the submission is removed, so that live submissions always see either the submitted submission or the new attempt
+        quizCache.getTransientWriteCacheFor(quizExercise.getId()).getAttempts().computeIfPresent(username, (key, attempts) -> attempts + 1);
+
+        // remove the submission only after the participation has been added to the participation hashmap to avoid duplicated key exceptions for multiple participations for
+        // the same user
+        userSubmissionMap.remove(username);
+        // clean up the batch association
+        userBatchMap.remove(username);
+
+        // add the result of the participation resultHashMap for the statistic-Update
+        addResultForStatisticUpdate(quizExercise.getId(), result);
     }
 }
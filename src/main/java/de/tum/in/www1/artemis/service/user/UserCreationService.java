@@ -28,6 +28,7 @@ import de.tum.in.www1.artemis.repository.CourseRepository;
 import de.tum.in.www1.artemis.repository.OrganizationRepository;
 import de.tum.in.www1.artemis.repository.UserRepository;
 import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.UserAuthorizationContextCache;
 import de.tum.in.www1.artemis.service.connectors.CIUserManagementService;
 import de.tum.in.www1.artemis.service.connectors.VcsUserManagementService;
 import de.tum.in.www1.artemis.web.rest.vm.ManagedUserVM;
@@ -69,9 +70,11 @@ public class UserCreationService {
 
     private final CacheManager cacheManager;
 
+    private final UserAuthorizationContextCache userAuthorizationContextCache;
+
     public UserCreationService(UserRepository userRepository, PasswordService passwordService, AuthorityRepository authorityRepository, CourseRepository courseRepository,
             Optional<VcsUserManagementService> optionalVcsUserManagementService, Optional<CIUserManagementService> optionalCIUserManagementService, CacheManager cacheManager,
-            OrganizationRepository organizationRepository) {
+            OrganizationRepository organizationRepository, UserAuthorizationContextCache userAuthorizationContextCache) {
         this.userRepository = userRepository;
         this.passwordService = passwordService;
         this.authorityRepository = authorityRepository;
@@ -80,6 +83,7 @@ public class UserCreationService {
         this.optionalCIUserManagementService = optionalCIUserManagementService;
         this.cacheManager = cacheManager;
         this.organizationRepository = organizationRepository;
+        this.userAuthorizationContextCache = userAuthorizationContextCache;
     }
 
     /**
@@ -306,6 +310,7 @@ public class UserCreationService {
         if (userCache != null) {
             userCache.evict(user.getLogin());
         }
+        userAuthorizationContextCache.evict(user.getLogin());
     }
 
     /**
@@ -0,0 +1,637 @@
+package de.tum.in.www1.artemis.service.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes a zip archive to an output stream while the entries are compressed in parallel.
+ * <p>
+ * The files are read and compressed by the given executor and written in the order in which they were added, so the archive is identical to an archive
+ * that is written sequentially. The files that are read and compressed ahead of the written entry take at most {@code maxBufferedBytes} of memory. Files that
+ * are already compressed (see {@link #STORED_FILE_EXTENSIONS}) are stored instead of deflated, and files larger than {@link #MAX_BUFFERED_FILE_SIZE} are
+ * streamed by the writing thread instead of being buffered. The archive uses the Zip64 extensions if it contains more than 65535 entries or an entry or the
+ * archive is larger than 4 GB.
+ * <p>
+ * Files that cannot be read are skipped, and deflated files that cannot be read completely while they are streamed are written incompletely, so that the other
+ * entries of the archive remain readable. Large stored files are skipped if they changed after their checksum was calculated. If such a file changes while it
+ * is copied, the archive fails, because its header already contains the size and checksum and no data is made up for it. Errors of the output stream fail the
+ * archive as well.
+ * <p>
+ * The writer does not create a temporary copy of the archive, so it can write directly to a file or to the response of a request.
+ */
+public class ParallelZipWriter implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelZipWriter.class);
+
+    /**
+     * Files with these extensions are already compressed, so deflating them would only cost time
+     */
+    public static final Set<String> STORED_FILE_EXTENSIONS = Set.of("zip", "jar", "war", "gz", "tgz", "bz2", "xz", "7z", "rar", "png", "jpg", "jpeg", "gif", "webp",
+            "pdf", "mp3", "mp4", "mov", "webm", "docx", "xlsx", "pptx", "odt", "ods", "odp");
+
+    static final long MAX_BUFFERED_FILE_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * The memory that is counted for every pending entry in addition to its content, e.g. for its name and its task
+     */
+    private static final long ENTRY_OVERHEAD_BYTES = 1024;
+
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+    private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+
+    private static final int VERSION = 20;
+
+    private static final int ZIP64_VERSION = 45;
+
+    private static final int UTF8_FLAG = 0x0800;
+
+    private static final int DATA_DESCRIPTOR_FLAG = 0x0008;
+
+    private static final int STORED = 0;
+
+    private static final int DEFLATED = 8;
+
+    private final CountingOutputStream out;
+
+    private final ExecutorService executor;
+
+    private final long maxBufferedBytes;
+
+    /**
+     * Streamed entries whose file is at least this large are written with the Zip64 extensions
+     */
+    private final long streamedZip64Threshold;
+
+    private long bufferedBytes;
+
+    private final Deque<PendingEntry> pendingEntries = new ArrayDeque<>();
+
+    private final Set<String> entryNames = new HashSet<>();
+
+    private final List<CentralDirectoryEntry> centralDirectory = new ArrayList<>();
+
+    private boolean finished;
+
+    /**
+     * @param outputStream     the stream the archive is written to
+     * @param executor         reads and compresses the files
+     * @param maxBufferedBytes the maximum size of the files that are read and compressed ahead of the entry that is written
+     */
+    public ParallelZipWriter(OutputStream outputStream, ExecutorService executor, long maxBufferedBytes) {
+        // deflating can make incompressible data slightly larger, so the size of the file has to be below the Zip64 limit with some margin
+        this(outputStream, executor, maxBufferedBytes, ZIP64_MAGIC_VALUE - ZIP64_MAGIC_VALUE / 1000);
+    }
+
+    ParallelZipWriter(OutputStream outputStream, ExecutorService executor, long maxBufferedBytes, long streamedZip64Threshold) {
+        this.out = new CountingOutputStream(new BufferedOutputStream(outputStream, 64 * 1024));
+        this.executor = executor;
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.streamedZip64Threshold = streamedZip64Threshold;
+    }
+
+    /**
+     * Adds the file as an entry of the archive. The file is compressed in the background, the entries are written in the order in which they are added.
+     *
+     * @param entryName the name of the entry in the archive
+     * @param file      the file that is added, it is skipped if it cannot be read
+     * @throws ZipException if an entry with the same name was already added
+     * @throws IOException  if a previously added entry could not be written to the output stream
+     */
+    public void addEntry(String entryName, Path file) throws IOException {
+        if (finished) {
+            throw new IOException("The zip archive was already finished");
+        }
+        if (!entryNames.add(entryName)) {
+            throw new ZipException("duplicate entry: " + entryName);
+        }
+        long entryBytes = estimateBufferedBytes(file);
+        // the previous entries are written until the entry fits into the memory limit, but at least one entry is always compressed ahead
+        while (!pendingEntries.isEmpty() && bufferedBytes + entryBytes > maxBufferedBytes) {
+            writeNextEntry();
+        }
+        pendingEntries.add(new PendingEntry(executor.submit(() -> prepareEntry(entryName, file)), entryBytes));
+        bufferedBytes += entryBytes;
+    }
+
+    /**
+     * Writes the remaining entries and the central directory of the archive without closing the output stream
+     *
+     * @throws IOException if an entry or the central directory could not be written
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        try {
+            while (!pendingEntries.isEmpty()) {
+                writeNextEntry();
+            }
+            writeCentralDirectory();
+            out.flush();
+        }
+        finally {
+            cancel();
+        }
+    }
+
+    /**
+     * Stops writing the archive, e.g. because adding the files failed, and cancels the entries that are still read and compressed in the background.
+     * The archive is incomplete afterwards.
+     */
+    public void cancel() {
+        finished = true;
+        pendingEntries.forEach(pendingEntry -> pendingEntry.preparedEntry().cancel(true));
+        pendingEntries.clear();
+        bufferedBytes = 0;
+    }
+
+    /**
+     * Finishes the archive and closes the output stream
+     *
+     * @throws IOException if the archive could not be finished
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    private static long estimateBufferedBytes(Path file) {
+        try {
+            long size = Files.size(file);
+            // larger files are not buffered, see prepareEntry
+            return ENTRY_OVERHEAD_BYTES + (size > MAX_BUFFERED_FILE_SIZE ? 0 : size);
+        }
+        catch (IOException ex) {
+            // the file cannot be read, which is logged when the entry is prepared
+            return ENTRY_OVERHEAD_BYTES;
+        }
+    }
+
+    private static PreparedEntry prepareEntry(String entryName, Path file) throws IOException {
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        boolean stored = isAlreadyCompressed(file);
+        long size = Files.size(file);
+        if (size > MAX_BUFFERED_FILE_SIZE) {
+            // the stored data is copied from the file by the writing thread, but the header requires the checksum before the data
+            long crc = stored ? calculateCrc(file) : 0;
+            return new PreparedEntry(entryName, file, lastModified, stored ? STORED : DEFLATED, crc, size, null, size);
+        }
+
+        byte[] content = Files.readAllBytes(file);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        if (!stored) {
+            byte[] deflatedContent = deflate(content);
+            // some files cannot be compressed any further, even though their extension is not known
+            if (deflatedContent.length < content.length) {
+                return new PreparedEntry(entryName, file, lastModified, DEFLATED, crc.getValue(), content.length, deflatedContent, deflatedContent.length);
+            }
+        }
+        return new PreparedEntry(entryName, file, lastModified, STORED, crc.getValue(), content.length, content, content.length);
+    }
+
+    private static boolean isAlreadyCompressed(Path file) {
+        String fileName = file.getFileName().toString();
+        int extensionStart = fileName.lastIndexOf('.');
+        return extensionStart >= 0 && STORED_FILE_EXTENSIONS.contains(fileName.substring(extensionStart + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static long calculateCrc(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static byte[] deflate(byte[] content) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            ByteArrayOutputStream deflatedContent = new ByteArrayOutputStream(Math.max(64, content.length / 2));
+            byte[] buffer = new byte[16 * 1024];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                deflatedContent.write(buffer, 0, length);
+            }
+            return deflatedContent.toByteArray();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    private void writeNextEntry() throws IOException {
+        PendingEntry pendingEntry = pendingEntries.removeFirst();
+        try {
+            PreparedEntry entry;
+            try {
+                entry = pendingEntry.preparedEntry().get();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while compressing the zip entries");
+            }
+            catch (ExecutionException ex) {
+                if (ex.getCause() instanceof IOException) {
+                    // files that cannot be read are skipped, like in an archive that is written sequentially
+                    log.error("Create zip file error", ex.getCause());
+                    return;
+                }
+                throw new IOException("Could not compress a zip entry", ex.getCause());
+            }
+
+            if (entry.content() == null && entry.method() == DEFLATED) {
+                writeStreamedEntry(entry);
+            }
+            else if (entry.content() == null && hasChanged(entry)) {
+                // the header of a stored entry contains the size and checksum, which do not match the file anymore
+                log.error("The file {} changed after it was added to the zip archive, the entry {} is skipped", entry.file(), entry.name());
+            }
+            else {
+                writeEntry(entry);
+            }
+        }
+        finally {
+            bufferedBytes -= pendingEntry.bufferedBytes();
+        }
+    }
+
+    /**
+     * Writes an entry whose checksum and sizes are known before the data is written
+     */
+    private void writeEntry(PreparedEntry entry) throws IOException {
+        long offset = out.getCount();
+        byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+        boolean zip64 = entry.size() >= ZIP64_MAGIC_VALUE || entry.compressedSize() >= ZIP64_MAGIC_VALUE;
+        int dosTime = toDosTime(entry.lastModified());
+
+        writeInt(LOCAL_FILE_HEADER_SIGNATURE);
+        writeShort(zip64 ? ZIP64_VERSION : VERSION);
+        writeShort(UTF8_FLAG);
+        writeShort(entry.method());
+        writeInt(dosTime);
+        writeInt(entry.crc());
+        writeInt(zip64 ? ZIP64_MAGIC_VALUE : entry.compressedSize());
+        writeInt(zip64 ? ZIP64_MAGIC_VALUE : entry.size());
+        writeShort(name.length);
+        writeShort(zip64 ? 20 : 0);
+        out.write(name);
+        if (zip64) {
+            writeShort(ZIP64_EXTRA_FIELD_ID);
+            writeShort(16);
+            writeLong(entry.size());
+            writeLong(entry.compressedSize());
+        }
+
+        if (entry.content() != null) {
+            out.write(entry.content());
+        }
+        else {
+            writeStoredFile(entry);
+        }
+        centralDirectory.add(new CentralDirectoryEntry(name, UTF8_FLAG, entry.method(), dosTime, entry.crc(), entry.compressedSize(), entry.size(), offset));
+    }
+
+    private static boolean hasChanged(PreparedEntry entry) {
+        try {
+            return Files.size(entry.file()) != entry.size() || Files.getLastModifiedTime(entry.file()).toMillis() != entry.lastModified();
+        }
+        catch (IOException ex) {
+            return true;
+        }
+    }
+
+    /**
+     * Copies a large file that is stored without compression. The header already contains the size and checksum of the file, so the archive fails if the file
+     * cannot be read completely or its content changed in the meantime.
+     */
+    private void writeStoredFile(PreparedEntry entry) throws IOException {
+        long remaining = entry.size();
+        CRC32 crc = new CRC32();
+        try (EntrySource source = new EntrySource(entry.file())) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while (remaining > 0 && (read = source.read(buffer, (int) Math.min(buffer.length, remaining))) != -1) {
+                crc.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+        if (remaining > 0 || crc.getValue() != entry.crc()) {
+            throw new ZipException("The file " + entry.file() + " changed while it was added to the zip archive as entry " + entry.name());
+        }
+    }
+
+    /**
+     * Writes a large entry that is deflated while it is written, so its checksum and sizes are written in a data descriptor after the data
+     */
+    private void writeStreamedEntry(PreparedEntry entry) throws IOException {
+        long offset = out.getCount();
+        byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+        int flags = UTF8_FLAG | DATA_DESCRIPTOR_FLAG;
+        int dosTime = toDosTime(entry.lastModified());
+        // the sizes in the data descriptor are only 8 bytes long if the local header contains a Zip64 extra field (APPNOTE 4.3.9), so this is decided up front
+        boolean zip64 = entry.size() >= streamedZip64Threshold;
+
+        writeInt(LOCAL_FILE_HEADER_SIGNATURE);
+        writeShort(zip64 ? ZIP64_VERSION : VERSION);
+        writeShort(flags);
+        writeShort(DEFLATED);
+        writeInt(dosTime);
+        writeInt(0);
+        writeInt(zip64 ? ZIP64_MAGIC_VALUE : 0);
+        writeInt(zip64 ? ZIP64_MAGIC_VALUE : 0);
+        writeShort(name.length);
+        writeShort(zip64 ? 20 : 0);
+        out.write(name);
+        if (zip64) {
+            // the sizes are not known yet, they are written in the data descriptor
+            writeShort(ZIP64_EXTRA_FIELD_ID);
+            writeShort(16);
+            writeLong(0);
+            writeLong(0);
+        }
+
+        long dataStart = out.getCount();
+        CRC32 crc = new CRC32();
+        long size = 0;
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        // a file that cannot be read completely ends early, the data descriptor contains the checksum and size of the data that was written
+        try (EntrySource source = new EntrySource(entry.file())) {
+            DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(new NonClosingOutputStream(out), deflater, 64 * 1024);
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = source.read(buffer, buffer.length)) != -1) {
+                crc.update(buffer, 0, read);
+                deflaterOutputStream.write(buffer, 0, read);
+                size += read;
+            }
+            deflaterOutputStream.finish();
+        }
+        finally {
+            deflater.end();
+        }
+        long compressedSize = out.getCount() - dataStart;
+
+        if (!zip64 && (size >= ZIP64_MAGIC_VALUE || compressedSize >= ZIP64_MAGIC_VALUE)) {
+            throw new ZipException("The file " + entry.file() + " grew beyond 4 GB while it was added to the zip archive as entry " + entry.name());
+        }
+
+        writeInt(DATA_DESCRIPTOR_SIGNATURE);
+        writeInt(crc.getValue());
+        if (zip64) {
+            writeLong(compressedSize);
+            writeLong(size);
+        }
+        else {
+            writeInt(compressedSize);
+            writeInt(size);
+        }
+        centralDirectory.add(new CentralDirectoryEntry(name, flags, DEFLATED, dosTime, crc.getValue(), compressedSize, size, offset));
+    }
+
+    private void writeCentralDirectory() throws IOException {
+        long centralDirectoryOffset = out.getCount();
+        for (CentralDirectoryEntry entry : centralDirectory) {
+            boolean zip64Size = entry.size() >= ZIP64_MAGIC_VALUE || entry.compressedSize() >= ZIP64_MAGIC_VALUE;
+            boolean zip64Offset = entry.offset() >= ZIP64_MAGIC_VALUE;
+            int extraLength = (zip64Size ? 16 : 0) + (zip64Offset ? 8 : 0);
+            int version = extraLength > 0 ? ZIP64_VERSION : VERSION;
+
+            writeInt(CENTRAL_DIRECTORY_HEADER_SIGNATURE);
+            writeShort(version);
+            writeShort(version);
+            writeShort(entry.flags());
+            writeShort(entry.method());
+            writeInt(entry.dosTime());
+            writeInt(entry.crc());
+            writeInt(zip64Size ? ZIP64_MAGIC_VALUE : entry.compressedSize());
+            writeInt(zip64Size ? ZIP64_MAGIC_VALUE : entry.size());
+            writeShort(entry.name().length);
+            writeShort(extraLength > 0 ? extraLength + 4 : 0);
+            // comment length, disk number, internal and external attributes
+            writeShort(0);
+            writeShort(0);
+            writeShort(0);
+            writeInt(0);
+            writeInt(zip64Offset ? ZIP64_MAGIC_VALUE : entry.offset());
+            out.write(entry.name());
+            if (extraLength > 0) {
+                writeShort(ZIP64_EXTRA_FIELD_ID);
+                writeShort(extraLength);
+                if (zip64Size) {
+                    writeLong(entry.size());
+                    writeLong(entry.compressedSize());
+                }
+                if (zip64Offset) {
+                    writeLong(entry.offset());
+                }
+            }
+        }
+        long centralDirectoryEnd = out.getCount();
+        long centralDirectorySize = centralDirectoryEnd - centralDirectoryOffset;
+        int numberOfEntries = centralDirectory.size();
+
+        boolean zip64 = numberOfEntries >= ZIP64_MAGIC_COUNT || centralDirectoryOffset >= ZIP64_MAGIC_VALUE || centralDirectorySize >= ZIP64_MAGIC_VALUE;
+        if (zip64) {
+            writeInt(ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+            writeLong(44);
+            writeShort(ZIP64_VERSION);
+            writeShort(ZIP64_VERSION);
+            writeInt(0);
+            writeInt(0);
+            writeLong(numberOfEntries);
+            writeLong(numberOfEntries);
+            writeLong(centralDirectorySize);
+            writeLong(centralDirectoryOffset);
+
+            writeInt(ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE);
+            writeInt(0);
+            writeLong(centralDirectoryEnd);
+            writeInt(1);
+        }
+
+        writeInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+        writeShort(0);
+        writeShort(0);
+        writeShort(zip64 ? ZIP64_MAGIC_COUNT : numberOfEntries);
+        writeShort(zip64 ? ZIP64_MAGIC_COUNT : numberOfEntries);
+        writeInt(zip64 ? ZIP64_MAGIC_VALUE : centralDirectorySize);
+        writeInt(zip64 ? ZIP64_MAGIC_VALUE : centralDirectoryOffset);
+        writeShort(0);
+    }
+
+    /**
+     * Converts the time to the MS-DOS format of zip archives, with the date in the upper and the time in the lower 16 bits
+     */
+    private static int toDosTime(long epochMillis) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+        if (time.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (time.getYear() - 1980) << 25 | time.getMonthValue() << 21 | time.getDayOfMonth() << 16 | time.getHour() << 11 | time.getMinute() << 5
+                | time.getSecond() >> 1;
+    }
+
+    private void writeShort(int value) throws IOException {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+    }
+
+    private void writeInt(long value) throws IOException {
+        writeShort((int) (value & 0xFFFF));
+        writeShort((int) ((value >>> 16) & 0xFFFF));
+    }
+
+    private void writeLong(long value) throws IOException {
+        writeInt(value & 0xFFFFFFFFL);
+        writeInt(value >>> 32);
+    }
+
+    /**
+     * A file that is read and possibly compressed, but not yet written to the archive
+     *
+     * @param content the stored or deflated content, null if the file is too large to be buffered and is copied or deflated while it is written
+     */
+    private record PendingEntry(Future<PreparedEntry> preparedEntry, long bufferedBytes) {
+    }
+
+    private record PreparedEntry(String name, Path file, long lastModified, int method, long crc, long size, byte[] content, long compressedSize) {
+    }
+
+    private record CentralDirectoryEntry(byte[] name, int flags, int method, int dosTime, long crc, long compressedSize, long size, long offset) {
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Reads a large file while its entry is written. Read errors are logged and end the file early, the writer decides whether the entry can be finished
+     * incompletely.
+     */
+    private static class EntrySource implements Closeable {
+
+        private final Path file;
+
+        private InputStream inputStream;
+
+        private boolean failed;
+
+        EntrySource(Path file) {
+            this.file = file;
+        }
+
+        int read(byte[] buffer, int length) {
+            if (failed) {
+                return -1;
+            }
+            try {
+                if (inputStream == null) {
+                    inputStream = Files.newInputStream(file);
+                }
+                return inputStream.read(buffer, 0, length);
+            }
+            catch (IOException ex) {
+                log.error("Create zip file error, the entry of the file {} is incomplete", file, ex);
+                failed = true;
+                return -1;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (inputStream != null) {
+                try {
+                    inputStream.close();
+                }
+                catch (IOException ex) {
+                    log.warn("Could not close the file {}", file, ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Allows to finish a deflater output stream without closing the archive
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            // the archive is closed by the writer
+        }
+    }
+}
@@ -28,6 +28,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+
 import de.tum.in.www1.artemis.config.Constants;
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.ComplaintType;
@@ -108,13 +110,15 @@ public class CourseResource {
 
     private final RatingService ratingService;
 
+    private final CourseDashboardCache courseDashboardCache;
+
     public CourseResource(UserRepository userRepository, CourseService courseService, CourseRepository courseRepository, ExerciseService exerciseService,
             AuthorizationCheckService authCheckService, TutorParticipationRepository tutorParticipationRepository, RatingService ratingService,
             ComplaintRepository complaintRepository, ComplaintResponseRepository complaintResponseRepository, SubmissionRepository submissionRepository,
             SubmissionService submissionService, ComplaintService complaintService, TutorLeaderboardService tutorLeaderboardService, ResultRepository resultRepository,
             ProgrammingExerciseRepository programmingExerciseRepository, AuditEventRepository auditEventRepository, ParticipantScoreRepository participantScoreRepository,
             Optional<VcsUserManagementService> optionalVcsUserManagementService, AssessmentDashboardService assessmentDashboardService, ExerciseRepository exerciseRepository,
-            Optional<CIUserManagementService> optionalCiUserManagementService) {
+            Optional<CIUserManagementService> optionalCiUserManagementService, CourseDashboardCache courseDashboardCache) {
         this.courseService = courseService;
         this.courseRepository = courseRepository;
         this.exerciseService = exerciseService;
@@ -136,6 +140,7 @@ public class CourseResource {
         this.resultRepository = resultRepository;
         this.participantScoreRepository = participantScoreRepository;
         this.ratingService = ratingService;
+        this.courseDashboardCache = courseDashboardCache;
     }
 
     /**
@@ -432,19 +437,30 @@ public class CourseResource {
     /**
      * GET /courses/for-dashboard
      *
+     * The serialized courses are cached per user, see {@link CourseDashboardCache}.
+     *
      * @return the list of courses (the user has access to) including all exercises with participation and result for the user
+     * @throws JsonProcessingException if the courses cannot be serialized
      */
     @GetMapping("/courses/for-dashboard")
     @PreAuthorize("hasRole('USER')")
-    public List<Course> getAllCoursesForDashboard() {
+    public ResponseEntity<byte[]> getAllCoursesForDashboard() throws JsonProcessingException {
         long start = System.currentTimeMillis();
         log.debug("REST request to get all Courses the user has access to with exercises, participations and results");
         User user = userRepository.getUserWithGroupsAndAuthorities();
 
+        Optional<byte[]> cachedCourses = courseDashboardCache.get(user);
+        if (cachedCourses.isPresent()) {
+            log.debug("Return the cached dashboard of user {}", user.getLogin());
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cachedCourses.get());
+        }
+
+        // the version has to be read before the courses, so that changes while loading the courses are not cached
+        long version = courseDashboardCache.getCurrentVersion();
         // get all courses with exercises for this user
         List<Course> courses = courseService.findAllActiveWithExercisesAndLecturesAndExamsForUser(user);
         courseService.fetchParticipationsWithSubmissionsAndResultsForCourses(courses, user, start);
-        return courses;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(courseDashboardCache.put(user, courses, version));
     }
 
     /**
@@ -86,10 +86,12 @@ public class ExamResource {
 
     private final StudentExamRepository studentExamRepository;
 
+    private final ExamScoresCache examScoresCache;
+
     public ExamResource(UserRepository userRepository, CourseRepository courseRepository, ExamService examService, ExamAccessService examAccessService,
             InstanceMessageSendService instanceMessageSendService, ExamRepository examRepository, SubmissionService submissionService, AuthorizationCheckService authCheckService,
             ExamDateService examDateService, TutorParticipationRepository tutorParticipationRepository, AssessmentDashboardService assessmentDashboardService,
-            ExamRegistrationService examRegistrationService, StudentExamRepository studentExamRepository) {
+            ExamRegistrationService examRegistrationService, StudentExamRepository studentExamRepository, ExamScoresCache examScoresCache) {
         this.userRepository = userRepository;
         this.courseRepository = courseRepository;
         this.examService = examService;
@@ -103,6 +105,7 @@ public class ExamResource {
         this.tutorParticipationRepository = tutorParticipationRepository;
         this.assessmentDashboardService = assessmentDashboardService;
         this.studentExamRepository = studentExamRepository;
+        this.examScoresCache = examScoresCache;
     }
 
     /**
@@ -170,6 +173,7 @@ public class ExamResource {
         updatedExam.setRegisteredUsers(originalExam.getRegisteredUsers());
 
         Exam result = examRepository.save(updatedExam);
+        examScoresCache.evict(result.getId());
 
         // We can't test dates for equality as the dates retrieved from the database lose precision. Also use instant to take timezones into account
         Comparator<ZonedDateTime> comparator = Comparator.comparing(date -> date.truncatedTo(ChronoUnit.SECONDS).toInstant());
@@ -23,6 +23,7 @@ import de.tum.in.www1.artemis.repository.ExamRepository;
 import de.tum.in.www1.artemis.security.Role;
 import de.tum.in.www1.artemis.service.AuthorizationCheckService;
 import de.tum.in.www1.artemis.service.ParticipantScoreService;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 import de.tum.in.www1.artemis.web.rest.dto.ParticipantScoreAverageDTO;
 import de.tum.in.www1.artemis.web.rest.dto.ParticipantScoreDTO;
 import de.tum.in.www1.artemis.web.rest.dto.ScoreDTO;
@@ -41,12 +42,15 @@ public class ParticipantScoreResource {
 
     private final AuthorizationCheckService authorizationCheckService;
 
+    private final ParticipantScoreScheduleService participantScoreScheduleService;
+
     public ParticipantScoreResource(AuthorizationCheckService authorizationCheckService, CourseRepository courseRepository, ExamRepository examRepository,
-            ParticipantScoreService participantScoreService) {
+            ParticipantScoreService participantScoreService, ParticipantScoreScheduleService participantScoreScheduleService) {
         this.authorizationCheckService = authorizationCheckService;
         this.courseRepository = courseRepository;
         this.examRepository = examRepository;
         this.participantScoreService = participantScoreService;
+        this.participantScoreScheduleService = participantScoreScheduleService;
     }
 
     /**
@@ -101,6 +105,25 @@ public class ParticipantScoreResource {
         return ResponseEntity.ok().body(scoreDTOS);
     }
 
+    /**
+     * POST /courses/:courseId/participant-scores/consistency-check recalculates the participant scores of all exercises of the course from their results
+     * <p>
+     * The participant scores are maintained asynchronously when results change. This endpoint allows to repair participant scores that got out of sync,
+     * e.g. because an update failed. The recalculation runs in the background.
+     *
+     * @param courseId the id of the course for which to recalculate the participant scores
+     * @return the ResponseEntity with status 200 (OK) and with the number of participations whose scores will be recalculated in the body
+     */
+    @PostMapping("/courses/{courseId}/participant-scores/consistency-check")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    public ResponseEntity<Integer> checkParticipantScoresOfCourse(@PathVariable Long courseId) {
+        log.debug("REST request to check the participant scores of course : {}", courseId);
+        Course course = courseRepository.findByIdElseThrow(courseId);
+        authorizationCheckService.checkHasAtLeastRoleInCourseElseThrow(Role.INSTRUCTOR, course, null);
+        int numberOfParticipations = participantScoreScheduleService.scheduleParticipantScoreUpdatesForCourse(courseId);
+        return ResponseEntity.ok().body(numberOfParticipations);
+    }
+
     /**
      * GET /courses/:courseId/participant-scores  gets the participant scores of the course
      *
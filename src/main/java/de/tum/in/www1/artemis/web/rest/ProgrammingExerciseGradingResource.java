@@ -1,7 +1,5 @@
 package de.tum.in.www1.artemis.web.rest;
 
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -10,7 +8,6 @@ import org.springframework.web.bind.annotation.*;
 
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.repository.ProgrammingExerciseRepository;
-import de.tum.in.www1.artemis.repository.ResultRepository;
 import de.tum.in.www1.artemis.repository.UserRepository;
 import de.tum.in.www1.artemis.security.Role;
 import de.tum.in.www1.artemis.service.AuthorizationCheckService;
@@ -39,15 +36,12 @@ public class ProgrammingExerciseGradingResource {
 
     private final UserRepository userRepository;
 
-    private final ResultRepository resultRepository;
-
     public ProgrammingExerciseGradingResource(ProgrammingExerciseGradingService programmingExerciseGradingService, ProgrammingExerciseRepository programmingExerciseRepository,
-            AuthorizationCheckService authCheckService, UserRepository userRepository, ResultRepository resultRepository) {
+            AuthorizationCheckService authCheckService, UserRepository userRepository) {
         this.programmingExerciseGradingService = programmingExerciseGradingService;
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.authCheckService = authCheckService;
         this.userRepository = userRepository;
-        this.resultRepository = resultRepository;
     }
 
     /**
@@ -66,11 +60,10 @@ public class ProgrammingExerciseGradingResource {
 
         authCheckService.checkHasAtLeastRoleForExerciseElseThrow(Role.INSTRUCTOR, programmingExercise, user);
 
-        List<Result> updatedResults = programmingExerciseGradingService.updateAllResults(programmingExercise);
+        int numberOfUpdatedResults = programmingExerciseGradingService.reEvaluateAllResults(programmingExercise);
 
-        programmingExerciseGradingService.logReEvaluate(user, programmingExercise, course, updatedResults);
-        resultRepository.saveAll(updatedResults);
-        return ResponseEntity.ok(updatedResults.size());
+        programmingExerciseGradingService.logReEvaluate(user, programmingExercise, course, numberOfUpdatedResults);
+        return ResponseEntity.ok(numberOfUpdatedResults);
     }
 
     /**
@@ -73,13 +73,15 @@ public class StudentExamResource {
 
     private final ExamService examService;
 
+    private final ExamScoresCache examScoresCache;
+
     @Value("${info.browser-fingerprints-enabled:#{true}}")
     private boolean fingerprintingEnabled;
 
     public StudentExamResource(ExamAccessService examAccessService, StudentExamService studentExamService, StudentExamAccessService studentExamAccessService,
             UserRepository userRepository, AuditEventRepository auditEventRepository, StudentExamRepository studentExamRepository, ExamDateService examDateService,
             ExamSessionService examSessionService, StudentParticipationRepository studentParticipationRepository, QuizExerciseRepository quizExerciseRepository,
-            ExamRepository examRepository, AuthorizationCheckService authorizationCheckService, ExamService examService) {
+            ExamRepository examRepository, AuthorizationCheckService authorizationCheckService, ExamService examService, ExamScoresCache examScoresCache) {
         this.examAccessService = examAccessService;
         this.studentExamService = studentExamService;
         this.studentExamAccessService = studentExamAccessService;
@@ -93,6 +95,7 @@ public class StudentExamResource {
         this.examRepository = examRepository;
         this.authorizationCheckService = authorizationCheckService;
         this.examService = examService;
+        this.examScoresCache = examScoresCache;
     }
 
     /**
@@ -633,7 +636,9 @@ public class StudentExamResource {
                 "studentExamId=" + studentExamId);
         auditEventRepository.add(auditEvent);
 
-        return ResponseEntity.ok(studentExamRepository.save(studentExam));
+        StudentExam savedStudentExam = studentExamRepository.save(studentExam);
+        examScoresCache.evict(examId);
+        return ResponseEntity.ok(savedStudentExam);
     }
 
     /**
@@ -669,6 +674,8 @@ public class StudentExamResource {
                 "studentExamId=" + studentExamId);
         auditEventRepository.add(auditEvent);
 
-        return ResponseEntity.ok(studentExamRepository.save(studentExam));
+        StudentExam savedStudentExam = studentExamRepository.save(studentExam);
+        examScoresCache.evict(examId);
+        return ResponseEntity.ok(savedStudentExam);
     }
 }
@@ -1,11 +1,12 @@
 package de.tum.in.www1.artemis.web.rest.dto;
 
+import java.io.Serializable;
 import java.util.*;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
-public class ExamScoresDTO {
+public class ExamScoresDTO implements Serializable {
 
     public Long examId;
 
@@ -33,7 +34,7 @@ public class ExamScoresDTO {
 
     // Inner DTO
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
-    public static class ExerciseGroup {
+    public static class ExerciseGroup implements Serializable {
 
         public Long id;
 
@@ -56,7 +57,7 @@ public class ExamScoresDTO {
         }
 
         @JsonInclude(JsonInclude.Include.NON_EMPTY)
-        public static class ExerciseInfo {
+        public static class ExerciseInfo implements Serializable {
 
             public Long exerciseId;
 
@@ -84,7 +85,7 @@ public class ExamScoresDTO {
 
     // Inner DTO
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
-    public static class StudentResult {
+    public static class StudentResult implements Serializable {
 
         public Long userId;
 
@@ -128,7 +129,7 @@ public class ExamScoresDTO {
 
     // Inner DTO
     @JsonInclude(JsonInclude.Include.NON_EMPTY)
-    public static class ExerciseResult {
+    public static class ExerciseResult implements Serializable {
 
         public Long exerciseId;
 
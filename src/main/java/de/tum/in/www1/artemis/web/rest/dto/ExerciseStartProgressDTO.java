@@ -0,0 +1,11 @@
+package de.tum.in.www1.artemis.web.rest.dto;
+
+/**
+ * Progress of starting the exercises of an exam, sent to the instructors via websocket.
+ *
+ * @param processedParticipations the number of participations that have already been set up or failed to be set up
+ * @param failedParticipations    the number of participations that could not be set up
+ * @param totalParticipations     the number of participations that are set up
+ */
+public record ExerciseStartProgressDTO(int processedParticipations, int failedParticipations, int totalParticipations) {
+}
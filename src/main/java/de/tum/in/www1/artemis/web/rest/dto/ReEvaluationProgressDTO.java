@@ -0,0 +1,10 @@
+package de.tum.in.www1.artemis.web.rest.dto;
+
+/**
+ * Progress of the re-evaluation of the results of a programming exercise, sent to the instructors via websocket.
+ *
+ * @param processedParticipations the number of participations whose results have already been re-evaluated
+ * @param totalParticipations     the number of participations whose results are re-evaluated
+ */
+public record ReEvaluationProgressDTO(int processedParticipations, int totalParticipations) {
+}
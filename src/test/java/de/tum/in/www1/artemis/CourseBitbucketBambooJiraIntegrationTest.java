@@ -221,6 +221,12 @@ public class CourseBitbucketBambooJiraIntegrationTest extends AbstractSpringInte
         courseTestService.testGetAllCoursesForDashboard();
     }
 
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testGetAllCoursesForDashboardIsRefreshedAfterChanges() throws Exception {
+        courseTestService.testGetAllCoursesForDashboardIsRefreshedAfterChanges();
+    }
+
     @Test
     @WithMockUser(username = "tutor1", roles = "TA")
     public void testGetCoursesWithoutActiveExercises() throws Exception {
@@ -17,9 +17,12 @@ import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.LinkedMultiValueMap;
 
 import de.tum.in.www1.artemis.domain.*;
@@ -35,10 +38,12 @@ import de.tum.in.www1.artemis.domain.participation.Participation;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
 import de.tum.in.www1.artemis.repository.*;
+import de.tum.in.www1.artemis.service.ParticipationService;
 import de.tum.in.www1.artemis.service.TextAssessmentKnowledgeService;
 import de.tum.in.www1.artemis.service.dto.StudentDTO;
 import de.tum.in.www1.artemis.service.exam.ExamDateService;
 import de.tum.in.www1.artemis.service.exam.ExamRegistrationService;
+import de.tum.in.www1.artemis.service.exam.ExamScoresCache;
 import de.tum.in.www1.artemis.service.exam.ExamService;
 import de.tum.in.www1.artemis.service.ldap.LdapUserDto;
 import de.tum.in.www1.artemis.service.user.PasswordService;
@@ -106,6 +111,12 @@ public class ExamIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
     @Autowired
     private ZipFileTestUtilService zipFileTestUtilService;
 
+    @Autowired
+    private ExamScoresCache examScoresCache;
+
+    @Autowired
+    private ParticipationService participationService;
+
     private List<User> users;
 
     private Course course1;
@@ -356,6 +367,12 @@ public class ExamIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
             assertThat(textSubmission.getText()).isNull();
         }
 
+        // starting the exercises again must not create additional participations
+        noGeneratedParticipations = request.postWithResponseBody("/api/courses/" + course1.getId() + "/exams/" + exam2.getId() + "/student-exams/start-exercises",
+                Optional.empty(), Integer.class, HttpStatus.OK);
+        assertThat(noGeneratedParticipations).isZero();
+        assertThat(participationTestRepository.findAllWithSubmissions()).hasSameSizeAs(studentParticipations);
+
         // Cleanup of Bidirectional Relationships
         for (StudentExam studentExam : createdStudentExams) {
             exam2.removeStudentExam(studentExam);
@@ -364,6 +381,50 @@ public class ExamIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
 
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testStartExercisesIndividuallyIfChunkFails() throws Exception {
+        var registeredUsers = Set.of(database.getUserByLogin("student1"), database.getUserByLogin("student2"), database.getUserByLogin("student3"));
+        exam2.setRegisteredUsers(registeredUsers);
+        exam2.setStartDate(now().plusHours(2));
+        exam2.setEndDate(now().plusHours(3));
+        exam2.setVisibleDate(now().plusHours(1));
+
+        ExerciseGroup exerciseGroup = exam2.getExerciseGroups().get(0);
+        TextExercise textExercise = ModelFactory.generateTextExerciseForExam(exerciseGroup);
+        exerciseGroup.addExercise(textExercise);
+        exerciseGroupRepository.save(exerciseGroup);
+        textExercise = exerciseRepo.save(textExercise);
+
+        for (User user : registeredUsers) {
+            StudentExam studentExam = new StudentExam();
+            studentExam.addExercise(textExercise);
+            studentExam.setUser(user);
+            exam2.addStudentExam(studentExam);
+            studentExamRepository.save(studentExam);
+        }
+        exam2 = examRepository.save(exam2);
+
+        // storing the submissions of the chunk fails, so the participations of the chunk must be rolled back and created individually
+        SubmissionRepository failingSubmissionRepository = mock(SubmissionRepository.class, AdditionalAnswers.delegatesTo(submissionRepository));
+        doThrow(new DataIntegrityViolationException("Simulated failure of the chunk")).when(failingSubmissionRepository).saveAll(any());
+        ReflectionTestUtils.setField(participationService, "submissionRepository", failingSubmissionRepository);
+        try {
+            Integer noGeneratedParticipations = request.postWithResponseBody("/api/courses/" + course1.getId() + "/exams/" + exam2.getId() + "/student-exams/start-exercises",
+                    Optional.empty(), Integer.class, HttpStatus.OK);
+            assertThat(noGeneratedParticipations).isEqualTo(registeredUsers.size());
+        }
+        finally {
+            ReflectionTestUtils.setField(participationService, "submissionRepository", submissionRepository);
+        }
+
+        verify(failingSubmissionRepository).saveAll(any());
+        List<StudentParticipation> participations = studentParticipationRepository.findByExerciseId(textExercise.getId());
+        assertThat(participations).hasSize(registeredUsers.size());
+        assertThat(participations.stream().map(participation -> participation.getStudent().get().getId()).distinct()).hasSize(registeredUsers.size());
+        assertThat(participationTestRepository.findAllWithSubmissions()).allSatisfy(participation -> assertThat(participation.getSubmissions()).hasSize(1));
+    }
+
     @Test
     @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
     public void testStartExercisesWithModelingExercise() throws Exception {
@@ -1495,6 +1556,78 @@ public class ExamIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
                 Course.class);
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testExamScoresAreCachedUntilAResultOfTheExamChanges() {
+        TextExercise textExercise = database.addCourseExamExerciseGroupWithOneTextExercise();
+        Long examId = textExercise.getExerciseGroup().getExam().getId();
+        StudentParticipation participation = database.createAndSaveParticipationForExercise(textExercise, "student1");
+
+        examService.calculateExamScores(examId);
+        assertThat(examScoresCache.get(examId)).isPresent();
+
+        database.addResultToParticipation(AssessmentType.MANUAL, ZonedDateTime.now(), participation);
+        assertThat(examScoresCache.get(examId)).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testExamScoresAreEvictedWhenAnExerciseOfTheExamChanges() {
+        TextExercise textExercise = database.addCourseExamExerciseGroupWithOneTextExercise();
+        Long examId = textExercise.getExerciseGroup().getExam().getId();
+        database.createAndSaveParticipationForExercise(textExercise, "student1");
+
+        examService.calculateExamScores(examId);
+        assertThat(examScoresCache.get(examId)).isPresent();
+
+        textExercise.setMaxPoints(textExercise.getMaxPoints() + 5);
+        exerciseRepo.save(textExercise);
+        assertThat(examScoresCache.get(examId)).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testExamScoresAreEvictedWhenStudentsAreRegistered() {
+        TextExercise textExercise = database.addCourseExamExerciseGroupWithOneTextExercise();
+        Long examId = textExercise.getExerciseGroup().getExam().getId();
+
+        examService.calculateExamScores(examId);
+        assertThat(examScoresCache.get(examId)).isPresent();
+
+        examRegistrationService.addAllStudentsOfCourseToExam(textExercise.getCourseViaExerciseGroupOrCourseMember().getId(), examId);
+        assertThat(examScoresCache.get(examId)).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testExamScoresAreEvictedWhenStudentExamsAreGenerated() throws Exception {
+        Exam exam = database.setupExamWithExerciseGroupsExercisesRegisteredStudents(course1);
+
+        examService.calculateExamScores(exam.getId());
+        assertThat(examScoresCache.get(exam.getId())).isPresent();
+
+        request.postListWithResponseBody("/api/courses/" + course1.getId() + "/exams/" + exam.getId() + "/generate-student-exams", Optional.empty(), StudentExam.class,
+                HttpStatus.OK);
+        assertThat(examScoresCache.get(exam.getId())).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testExamScoresCalculatedBeforeAnEvictionAreNotCached() {
+        TextExercise textExercise = database.addCourseExamExerciseGroupWithOneTextExercise();
+        Long examId = textExercise.getExerciseGroup().getExam().getId();
+
+        // the scores are calculated with the version before the exam changes, but only cached afterwards
+        long version = examScoresCache.getVersion(examId);
+        ExamScoresDTO staleScores = examService.calculateExamScores(examId);
+        examScoresCache.evict(examId);
+        examScoresCache.put(examId, staleScores, version);
+        assertThat(examScoresCache.get(examId)).isEmpty();
+
+        examService.calculateExamScores(examId);
+        assertThat(examScoresCache.get(examId)).isPresent();
+    }
+
     @Test
     @WithMockUser(username = "tutor6", roles = "TA")
     public void testGetExamScore_tutorNotInCourse_forbidden() throws Exception {
@@ -16,6 +16,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.service.ParticipationService;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 import de.tum.in.www1.artemis.web.rest.dto.ExerciseScoresDTO;
 
 public class ExerciseScoresChartIntegrationTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
@@ -44,6 +45,9 @@ public class ExerciseScoresChartIntegrationTest extends AbstractSpringIntegratio
     @Autowired
     ResultRepository resultRepository;
 
+    @Autowired
+    ParticipantScoreScheduleService participantScoreScheduleService;
+
     @Autowired
     ExerciseRepository exerciseRepository;
 
@@ -101,6 +105,7 @@ public class ExerciseScoresChartIntegrationTest extends AbstractSpringIntegratio
         // Creating result for team2
         Team team2 = teamRepository.findById(idOfTeam2).get();
         database.createParticipationSubmissionAndResult(idOfTeamTextExercise, team2, 10.0, 10.0, 90, true);
+        participantScoreScheduleService.processPendingUpdates();
     }
 
     @Test
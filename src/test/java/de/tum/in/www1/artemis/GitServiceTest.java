@@ -7,7 +7,11 @@ import static org.mockito.Mockito.*;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -26,15 +30,20 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import de.tum.in.www1.artemis.domain.File;
 import de.tum.in.www1.artemis.domain.FileType;
 import de.tum.in.www1.artemis.domain.Repository;
+import de.tum.in.www1.artemis.service.util.TimeLogUtil;
 import de.tum.in.www1.artemis.util.GitUtilService;
 
 public class GitServiceTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
 
+    private final Logger log = LoggerFactory.getLogger(GitServiceTest.class);
+
     @Autowired
     private GitUtilService gitUtilService;
 
@@ -86,6 +95,33 @@ public class GitServiceTest extends AbstractSpringIntegrationBambooBitbucketJira
         assertThat(gitUtilService.isLocalEqualToRemote()).isTrue();
     }
 
+    @Test
+    public void testCheckoutRepositoryNotOnServerConcurrently() throws Exception {
+        var repoUrl = gitUtilService.getRepoUrlByType(GitUtilService.REPOS.REMOTE);
+        gitUtilService.deleteRepo(GitUtilService.REPOS.LOCAL);
+        gitUtilService.reinitializeLocalRepository();
+
+        int numberOfRequests = 10;
+        var executor = Executors.newFixedThreadPool(numberOfRequests);
+        try {
+            List<Callable<Repository>> requests = Collections.nCopies(numberOfRequests, () -> gitService.getOrCheckoutRepository(repoUrl, false));
+            long start = System.nanoTime();
+            List<Future<Repository>> repositories = executor.invokeAll(requests);
+            log.info("{} concurrent checkouts of the same repository took {}", numberOfRequests, TimeLogUtil.formatDurationFrom(start));
+
+            // all requests share the same cloned repository
+            Repository repository = repositories.get(0).get();
+            assertThat(repository).isNotNull();
+            for (Future<Repository> otherRepository : repositories) {
+                assertThat(otherRepository.get()).isSameAs(repository);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        assertThat(gitUtilService.isLocalEqualToRemote()).isTrue();
+    }
+
     @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
     @ValueSource(strings = { "master", "main", "someOtherName" })
     public void testResetToOriginHead(String defaultBranch) {
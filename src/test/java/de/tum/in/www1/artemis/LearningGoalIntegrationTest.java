@@ -32,6 +32,7 @@ import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.service.ModelAssessmentKnowledgeService;
 import de.tum.in.www1.artemis.service.ParticipationService;
 import de.tum.in.www1.artemis.service.TextAssessmentKnowledgeService;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 import de.tum.in.www1.artemis.util.ModelFactory;
 import de.tum.in.www1.artemis.web.rest.dto.CourseLearningGoalProgress;
 import de.tum.in.www1.artemis.web.rest.dto.IndividualLearningGoalProgress;
@@ -39,6 +40,9 @@ import de.tum.in.www1.artemis.web.rest.dto.SearchResultPageDTO;
 
 public class LearningGoalIntegrationTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
 
+    @Autowired
+    private ParticipantScoreScheduleService participantScoreScheduleService;
+
     @Autowired
     private CourseRepository courseRepository;
 
@@ -333,6 +337,7 @@ public class LearningGoalIntegrationTest extends AbstractSpringIntegrationBamboo
         submission.addResult(result);
         result.setSubmission(submission);
         submissionRepository.save(submission);
+        participantScoreScheduleService.processPendingUpdates();
     }
 
     private void testAllPreAuthorize() throws Exception {
@@ -1352,7 +1352,7 @@ public class ModelingAssessmentIntegrationTest extends AbstractSpringIntegration
         assertThat(assessedSubmissionList).isEmpty();
 
         // Student should not have received a result over WebSocket as manual correction is ongoing
-        verify(messagingTemplate, never()).convertAndSendToUser(notNull(), eq(Constants.NEW_RESULT_TOPIC), isA(Result.class));
+        verify(messagingTemplate, never()).convertAndSendToUser(notNull(), eq(Constants.NEW_RESULT_TOPIC), isA(byte[].class), anyMap());
     }
 
     private void assessmentDueDatePassed() {
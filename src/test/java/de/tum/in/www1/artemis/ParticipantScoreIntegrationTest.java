@@ -13,12 +13,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.test.context.support.WithMockUser;
 
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.exam.Exam;
 import de.tum.in.www1.artemis.domain.lecture.ExerciseUnit;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.service.TextAssessmentKnowledgeService;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 import de.tum.in.www1.artemis.util.ModelFactory;
 import de.tum.in.www1.artemis.web.rest.dto.ParticipantScoreAverageDTO;
 import de.tum.in.www1.artemis.web.rest.dto.ParticipantScoreDTO;
@@ -72,6 +76,15 @@ public class ParticipantScoreIntegrationTest extends AbstractSpringIntegrationBa
     @Autowired
     private TextAssessmentKnowledgeService textAssessmentKnowledgeService;
 
+    @Autowired
+    private ParticipantScoreRepository participantScoreRepository;
+
+    @Autowired
+    private ParticipantScoreScheduleService participantScoreScheduleService;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
     @AfterEach
     public void resetDatabase() {
         database.resetDatabase();
@@ -122,6 +135,7 @@ public class ParticipantScoreIntegrationTest extends AbstractSpringIntegrationBa
         idOfExam = exam.getId();
         createIndividualTextExerciseForExam();
         database.createParticipationSubmissionAndResult(getIdOfIndividualTextExerciseOfExam, student1, 10.0, 10.0, 50, true);
+        participantScoreScheduleService.processPendingUpdates();
     }
 
     private void testAllPreAuthorize() throws Exception {
@@ -133,6 +147,7 @@ public class ParticipantScoreIntegrationTest extends AbstractSpringIntegrationBa
         request.get("/api/exams/" + idOfExam + "/participant-scores/", HttpStatus.FORBIDDEN, Long.class);
         request.getList("/api/courses/" + idOfCourse + "/course-scores", HttpStatus.FORBIDDEN, ScoreDTO.class);
         request.getList("/api/exams/" + idOfExam + "/exam-scores", HttpStatus.FORBIDDEN, ScoreDTO.class);
+        request.postWithResponseBody("/api/courses/" + idOfCourse + "/participant-scores/consistency-check", null, Integer.class, HttpStatus.FORBIDDEN);
     }
 
     @Test
@@ -155,6 +170,7 @@ public class ParticipantScoreIntegrationTest extends AbstractSpringIntegrationBa
         for (StudentParticipation studentParticipation : participations) {
             database.createSubmissionAndResult(studentParticipation, 30, false);
         }
+        participantScoreScheduleService.processPendingUpdates();
         participations = studentParticipationRepository.findByExerciseIdAndStudentId(idOfIndividualTextExercise, idOfStudent1);
         assertThat(participations).isNotEmpty();
         for (StudentParticipation studentParticipation : participations) {
@@ -179,6 +195,41 @@ public class ParticipantScoreIntegrationTest extends AbstractSpringIntegrationBa
         assertThat(courseRepository.existsById(idOfCourse)).isFalse();
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void queuedParticipantScoreUpdates_ofServerThatCrashed_shouldBeProcessedOnStartup() {
+        participantScoreRepository.deleteAll();
+        // the participations were queued by a server that left the cluster before it updated their participant scores
+        IMap<Long, Long> pendingParticipationIds = hazelcastInstance.getMap("participantScoreSchedulePendingUpdates");
+        studentParticipationRepository.findAllIdsByCourseId(idOfCourse).forEach(participationId -> pendingParticipationIds.put(participationId, 0L));
+
+        participantScoreScheduleService.applicationReady();
+        participantScoreScheduleService.processPendingUpdates();
+
+        assertThat(pendingParticipationIds).isEmpty();
+        // the participations of the course exercises and of the exam exercise
+        assertThat(participantScoreRepository.findAll()).hasSize(3);
+    }
+
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void checkParticipantScoresOfCourse_asInstructorOfCourse_shouldRecalculateParticipantScores() throws Exception {
+        participantScoreRepository.deleteAll();
+
+        Integer numberOfParticipations = request.postWithResponseBody("/api/courses/" + idOfCourse + "/participant-scores/consistency-check", null, Integer.class,
+                HttpStatus.OK);
+        participantScoreScheduleService.processPendingUpdates();
+
+        // the participations of the course exercises and of the exam exercise
+        assertThat(numberOfParticipations).isEqualTo(3);
+        List<ParticipantScoreDTO> participantScoresOfCourse = request.getList("/api/courses/" + idOfCourse + "/participant-scores", HttpStatus.OK, ParticipantScoreDTO.class);
+        assertThat(participantScoresOfCourse).hasSize(2);
+        ParticipantScoreDTO student1Result = participantScoresOfCourse.stream().filter(participantScoreDTO -> participantScoreDTO.userId != null).findFirst().get();
+        assertParticipantScoreDTOStructure(student1Result, idOfStudent1, null, idOfIndividualTextExercise, 50D, 50D, 5.0, 5.0);
+        List<ParticipantScoreDTO> participantScoresOfExam = request.getList("/api/exams/" + idOfExam + "/participant-scores", HttpStatus.OK, ParticipantScoreDTO.class);
+        assertThat(participantScoresOfExam).hasSize(1);
+    }
+
     @Test
     @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
     public void getCourseScores_asInstructorOfCourse_shouldReturnCourseScores() throws Exception {
@@ -8,6 +8,7 @@ import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -17,11 +18,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.AdditionalAnswers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import de.tum.in.www1.artemis.config.Constants;
 import de.tum.in.www1.artemis.domain.Course;
@@ -29,10 +33,12 @@ import de.tum.in.www1.artemis.domain.Result;
 import de.tum.in.www1.artemis.domain.enumeration.QuizMode;
 import de.tum.in.www1.artemis.domain.enumeration.ScoringType;
 import de.tum.in.www1.artemis.domain.exam.ExerciseGroup;
+import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.domain.quiz.*;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.service.QuizBatchService;
 import de.tum.in.www1.artemis.service.QuizExerciseService;
+import de.tum.in.www1.artemis.service.QuizStatisticService;
 import de.tum.in.www1.artemis.service.scheduled.quiz.QuizScheduleService;
 import de.tum.in.www1.artemis.web.websocket.QuizSubmissionWebsocketService;
 
@@ -64,6 +70,9 @@ public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
     @Autowired
     private ParticipationRepository participationRepository;
 
+    @Autowired
+    private StudentParticipationRepository studentParticipationRepository;
+
     @Autowired
     private SubmissionRepository submissionRepository;
 
@@ -73,6 +82,9 @@ public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
     @Autowired
     private QuizBatchService quizBatchService;
 
+    @Autowired
+    private QuizStatisticService quizStatisticService;
+
     private final int multiplier = 10;
 
     @BeforeEach
@@ -183,6 +195,61 @@ public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
         assertThat(submissionRepository.countByExerciseIdSubmitted(quizExercise.getId())).isEqualTo(numberOfParticipants);
     }
 
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testQuizSubmitSavesSubmissionsInBatches() throws Exception {
+        int numberOfParticipants = 2 * multiplier;
+        Object defaultBatchSize = ReflectionTestUtils.getField(quizScheduleService, "submissionBatchSize");
+        ReflectionTestUtils.setField(quizScheduleService, "submissionBatchSize", 7);
+        try {
+            QuizExercise quizExercise = submitQuizForStudents(numberOfParticipants);
+            quizScheduleService.processCachedQuizSubmissions();
+            assertOneParticipationWithSubmissionPerStudent(quizExercise, numberOfParticipants);
+        }
+        finally {
+            ReflectionTestUtils.setField(quizScheduleService, "submissionBatchSize", defaultBatchSize);
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testQuizSubmitSavesSubmissionsIndividuallyIfBatchFails() throws Exception {
+        int numberOfParticipants = 2 * multiplier;
+        // the participations of the batch are saved before the submissions fail, they must be rolled back so that the individual saves do not duplicate them
+        QuizSubmissionRepository failingQuizSubmissionRepository = mock(QuizSubmissionRepository.class, AdditionalAnswers.delegatesTo(quizSubmissionRepository));
+        doThrow(new DataIntegrityViolationException("batch failed")).when(failingQuizSubmissionRepository).saveAll(any());
+        ReflectionTestUtils.setField(quizScheduleService, "quizSubmissionRepository", failingQuizSubmissionRepository);
+        try {
+            QuizExercise quizExercise = submitQuizForStudents(numberOfParticipants);
+            quizScheduleService.processCachedQuizSubmissions();
+            verify(failingQuizSubmissionRepository).saveAll(any());
+            verify(failingQuizSubmissionRepository, times(numberOfParticipants)).save(any());
+            assertOneParticipationWithSubmissionPerStudent(quizExercise, numberOfParticipants);
+        }
+        finally {
+            ReflectionTestUtils.setField(quizScheduleService, "quizSubmissionRepository", quizSubmissionRepository);
+        }
+    }
+
+    private QuizExercise submitQuizForStudents(int numberOfParticipants) throws Exception {
+        QuizExercise quizExercise = quizExerciseService.save(setupQuizExerciseParameters());
+        for (int i = 1; i <= numberOfParticipants; i++) {
+            QuizSubmission quizSubmission = database.generateSubmissionForThreeQuestions(quizExercise, i, true, null);
+            final var username = "student" + i;
+            final Principal principal = () -> username;
+            quizSubmissionWebsocketService.saveSubmission(quizExercise.getId(), quizSubmission, principal);
+        }
+        return quizExercise;
+    }
+
+    private void assertOneParticipationWithSubmissionPerStudent(QuizExercise quizExercise, int numberOfParticipants) {
+        List<StudentParticipation> participations = studentParticipationRepository.findByExerciseId(quizExercise.getId());
+        assertThat(participations).hasSize(numberOfParticipants);
+        assertThat(participations.stream().map(participation -> participation.getStudent().orElseThrow().getId()).distinct()).hasSize(numberOfParticipants);
+        assertThat(submissionRepository.countByExerciseIdSubmitted(quizExercise.getId())).isEqualTo(numberOfParticipants);
+        assertThat(resultRepository.findAllByExerciseId(quizExercise.getId())).hasSize(numberOfParticipants);
+    }
+
     @Test
     @WithMockUser(username = "student1", roles = "USER")
     public void testQuizSubmit_partial_points() throws Exception {
@@ -373,6 +440,30 @@ public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
         request.postWithResponseBody("/api/exercises/" + quizExercise.getId() + "/submissions/live", quizSubmission, Result.class, HttpStatus.BAD_REQUEST);
     }
 
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testQuizSubmitLiveModeCountsCommittedAttemptsInCache() throws Exception {
+        Course course = database.createCourse();
+        QuizExercise quizExercise = database.createQuiz(course, ZonedDateTime.now().minusHours(5), null, QuizMode.SYNCHRONIZED);
+        quizExercise.setDuration(360);
+        quizExercise.getQuizBatches().forEach(batch -> batch.setStartTime(ZonedDateTime.now().minusMinutes(5)));
+        quizExercise.setAllowedNumberOfAttempts(1);
+        quizExercise = quizExerciseService.save(quizExercise);
+
+        QuizSubmission quizSubmission = database.generateSubmissionForThreeQuestions(quizExercise, 1, false, ZonedDateTime.now());
+        request.postWithResponseBody("/api/exercises/" + quizExercise.getId() + "/submissions/live", quizSubmission, Result.class, HttpStatus.OK);
+        // the attempts are only counted by the quiz schedule
+        assertThat(quizScheduleService.getCommittedAttempts(quizExercise.getId(), "student1")).isNull();
+
+        quizScheduleService.processCachedQuizSubmissions();
+        assertThat(quizSubmissionRepository.findAll()).hasSize(1);
+        assertThat(quizScheduleService.getCommittedAttempts(quizExercise.getId(), "student1")).isEqualTo(1);
+
+        // the committed attempt is taken from the cache, so no attempt is left
+        quizSubmission = database.generateSubmissionForThreeQuestions(quizExercise, 1, false, ZonedDateTime.now());
+        request.postWithResponseBody("/api/exercises/" + quizExercise.getId() + "/submissions/live", quizSubmission, Result.class, HttpStatus.BAD_REQUEST);
+    }
+
     @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
     @WithMockUser(username = "student1", roles = "USER")
     @EnumSource(QuizMode.class)
@@ -451,6 +542,65 @@ public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
         }
     }
 
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testRepeatedPracticeSubmissionsUpdateStatisticsLikeTheBaseline() throws Exception {
+        List<Course> courses = database.createCoursesWithExercisesAndLectures(false);
+        Course course = courses.get(0);
+        // the statistics of the first quiz are updated with deltas, the ones of the second quiz always look up the previous results in the database
+        QuizExercise deltaQuiz = createQuizOpenForPractice(course);
+        QuizExercise baselineQuiz = createQuizOpenForPractice(course);
+
+        var numberOfParticipants = 6;
+        for (int round = 0; round < 4; round++) {
+            for (int i = 1; i <= numberOfParticipants; i++) {
+                database.changeUser("student" + i);
+                // the answers change in every round, so that the previous results have to be removed from the statistics
+                for (QuizExercise quizExercise : List.of(deltaQuiz, baselineQuiz)) {
+                    QuizSubmission quizSubmission = database.generateSubmissionForThreeQuestions(quizExercise, i + round, true, null);
+                    request.postWithResponseBody("/api/exercises/" + quizExercise.getId() + "/submissions/practice", quizSubmission, Result.class, HttpStatus.OK);
+                }
+            }
+            quizScheduleService.clearCountedResults(baselineQuiz.getId());
+            quizScheduleService.processCachedQuizSubmissions();
+        }
+
+        var deltaStatistics = getStatisticCounters(deltaQuiz.getId());
+        var baselineStatistics = getStatisticCounters(baselineQuiz.getId());
+        assertThat(deltaStatistics).isEqualTo(baselineStatistics);
+        assertThat(deltaStatistics).contains("participants: 0/" + numberOfParticipants);
+
+        // recalculating the statistics from all results in the database does not change them either
+        quizStatisticService.recalculateStatistics(quizExerciseRepository.findByIdWithQuestionsAndStatisticsElseThrow(deltaQuiz.getId()));
+        assertThat(getStatisticCounters(deltaQuiz.getId())).isEqualTo(deltaStatistics);
+    }
+
+    private QuizExercise createQuizOpenForPractice(Course course) {
+        QuizExercise quizExercise = database.createQuiz(course, ZonedDateTime.now().minusSeconds(10), null, QuizMode.SYNCHRONIZED);
+        quizExercise.setDueDate(ZonedDateTime.now().minusSeconds(8));
+        quizExercise.setDuration(2);
+        quizExercise.setIsOpenForPractice(true);
+        return quizExerciseService.save(quizExercise);
+    }
+
+    /**
+     * Returns the rated and unrated counters of the point statistic and of the statistics of all questions of the quiz as comparable strings
+     */
+    private List<String> getStatisticCounters(Long quizExerciseId) {
+        QuizExercise quizExercise = quizExerciseRepository.findOneWithQuestionsAndStatistics(quizExerciseId);
+        var pointStatistic = quizExercise.getQuizPointStatistic();
+        List<String> counters = new ArrayList<>();
+        counters.add("participants: " + pointStatistic.getParticipantsRated() + "/" + pointStatistic.getParticipantsUnrated());
+        pointStatistic.getPointCounters().stream().sorted(Comparator.comparing(PointCounter::getPoints))
+                .forEach(pointCounter -> counters.add(pointCounter.getPoints() + " points: " + pointCounter.getRatedCounter() + "/" + pointCounter.getUnRatedCounter()));
+        for (QuizQuestion question : quizExercise.getQuizQuestions()) {
+            var questionStatistic = question.getQuizQuestionStatistic();
+            counters.add(question.getClass().getSimpleName() + ": " + questionStatistic.getParticipantsRated() + "/" + questionStatistic.getParticipantsUnrated() + " participants, "
+                    + questionStatistic.getRatedCorrectCounter() + "/" + questionStatistic.getUnRatedCorrectCounter() + " correct");
+        }
+        return counters;
+    }
+
     @Test
     @WithMockUser(username = "student1", roles = "USER")
     public void testQuizSubmitPractice_badRequest() throws Exception {
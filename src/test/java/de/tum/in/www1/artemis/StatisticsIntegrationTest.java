@@ -1,9 +1,11 @@
 package de.tum.in.www1.artemis;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -20,15 +22,18 @@ import org.springframework.util.MultiValueMap;
 
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
+import de.tum.in.www1.artemis.domain.enumeration.FeedbackType;
 import de.tum.in.www1.artemis.domain.enumeration.GraphType;
 import de.tum.in.www1.artemis.domain.enumeration.SpanType;
 import de.tum.in.www1.artemis.domain.enumeration.StatisticsView;
 import de.tum.in.www1.artemis.domain.metis.AnswerPost;
 import de.tum.in.www1.artemis.domain.metis.Post;
-import de.tum.in.www1.artemis.repository.TextExerciseRepository;
-import de.tum.in.www1.artemis.repository.UserRepository;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollup;
+import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.repository.metis.AnswerPostRepository;
 import de.tum.in.www1.artemis.repository.metis.PostRepository;
+import de.tum.in.www1.artemis.service.StatisticsRollupService;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 import de.tum.in.www1.artemis.util.ModelFactory;
 import de.tum.in.www1.artemis.web.rest.dto.CourseManagementStatisticsDTO;
 import de.tum.in.www1.artemis.web.rest.dto.ExerciseManagementStatisticsDTO;
@@ -47,6 +52,27 @@ public class StatisticsIntegrationTest extends AbstractSpringIntegrationBambooBi
     @Autowired
     private AnswerPostRepository answerPostRepository;
 
+    @Autowired
+    private ParticipantScoreScheduleService participantScoreScheduleService;
+
+    @Autowired
+    private StatisticsRollupService statisticsRollupService;
+
+    @Autowired
+    private StatisticsRollupRepository statisticsRollupRepository;
+
+    @Autowired
+    private StatisticsRollupProgressRepository statisticsRollupProgressRepository;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private StudentParticipationRepository studentParticipationRepository;
+
     private Course course;
 
     private TextExercise exercise;
@@ -159,6 +185,93 @@ public class StatisticsIntegrationTest extends AbstractSpringIntegrationBambooBi
         }
     }
 
+    @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
+    @EnumSource(value = GraphType.class, names = { "SUBMISSIONS", "CREATED_RESULTS", "CREATED_FEEDBACKS" })
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void testChartDataIsUnchangedByRollups(GraphType graph) throws Exception {
+        List<Integer[]> resultsBeforeCompaction = getChartData(graph);
+
+        statisticsRollupService.compactRollups(ZonedDateTime.now());
+        assertThat(statisticsRollupRepository.count()).isPositive();
+
+        assertThat(getChartData(graph)).containsExactlyElementsOf(resultsBeforeCompaction);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void testRollupsAreRebuiltWhenResultIsAssessedAgain() throws Exception {
+        Result result = resultRepository.findAllByExerciseId(exercise.getId()).get(0);
+        result.setCompletionDate(ZonedDateTime.now().minusDays(3));
+        result = resultRepository.save(result);
+        statisticsRollupService.compactRollups(ZonedDateTime.now());
+        assertThat(getNumberOfRolledUpEntries(GraphType.CREATED_RESULTS)).isEqualTo(1);
+
+        // the assessment is reset and submitted again, so the result must only be counted for its new completion date
+        result.setCompletionDate(null);
+        result = resultRepository.save(result);
+        result.setCompletionDate(ZonedDateTime.now());
+        resultRepository.save(result);
+
+        await().untilAsserted(() -> assertThat(getNumberOfRolledUpEntries(GraphType.CREATED_RESULTS)).isZero());
+        assertChartDataEqualsOriginalEntries(GraphType.CREATED_RESULTS);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void testRollupsAreRebuiltWhenFeedbackOfOldResultIsAdded() throws Exception {
+        Result result = resultRepository.findAllByExerciseId(exercise.getId()).get(0);
+        result.setCompletionDate(ZonedDateTime.now().minusDays(3));
+        resultRepository.save(result);
+        statisticsRollupService.compactRollups(ZonedDateTime.now());
+        long rolledUpFeedbacks = getNumberOfRolledUpEntries(GraphType.CREATED_FEEDBACKS);
+
+        // the result is older than the recompaction window and is not changed itself, only a feedback is added to it
+        Result resultWithFeedbacks = resultRepository.findByIdWithEagerFeedbacks(result.getId()).orElseThrow();
+        resultWithFeedbacks.addFeedback(new Feedback().detailText("Well done!").credits(1.0).type(FeedbackType.MANUAL_UNREFERENCED));
+        resultRepository.save(resultWithFeedbacks);
+
+        await().untilAsserted(() -> assertThat(getNumberOfRolledUpEntries(GraphType.CREATED_FEEDBACKS)).isEqualTo(rolledUpFeedbacks + 1));
+        assertChartDataEqualsOriginalEntries(GraphType.CREATED_FEEDBACKS);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void testRollupsAreRebuiltWhenSubmissionIsDeleted() throws Exception {
+        statisticsRollupService.compactRollups(ZonedDateTime.now());
+        long rolledUpSubmissions = getNumberOfRolledUpEntries(GraphType.SUBMISSIONS);
+        assertThat(rolledUpSubmissions).isPositive();
+
+        var participation = studentParticipationRepository.findWithEagerResultsByExerciseIdAndStudentLogin(exercise.getId(), "student5").orElseThrow();
+        Submission submission = submissionRepository.findAllByParticipationId(participation.getId()).get(0);
+        submissionRepository.deleteById(submission.getId());
+
+        await().untilAsserted(() -> assertThat(getNumberOfRolledUpEntries(GraphType.SUBMISSIONS)).isEqualTo(rolledUpSubmissions - 1));
+        assertChartDataEqualsOriginalEntries(GraphType.SUBMISSIONS);
+    }
+
+    private List<Integer[]> getChartData(GraphType graph) throws Exception {
+        List<Integer[]> chartData = new ArrayList<>();
+        for (SpanType span : SpanType.values()) {
+            chartData.add(request.get("/api/management/statistics/data", HttpStatus.OK, Integer[].class, buildParameters(span, 0, graph)));
+            chartData.add(request.get("/api/management/statistics/data-for-content", HttpStatus.OK, Integer[].class,
+                    buildParameters(span, 0, graph, StatisticsView.EXERCISE, exercise.getId())));
+        }
+        return chartData;
+    }
+
+    private long getNumberOfRolledUpEntries(GraphType graph) {
+        return statisticsRollupRepository.findAll().stream().filter(rollup -> rollup.getGraphType() == graph).mapToLong(StatisticsRollup::getAmount).sum();
+    }
+
+    /**
+     * Compares the chart data that is based on the rollups with the chart data that is calculated from the original entries only
+     */
+    private void assertChartDataEqualsOriginalEntries(GraphType graph) throws Exception {
+        List<Integer[]> chartDataWithRollups = getChartData(graph);
+        statisticsRollupProgressRepository.deleteAll();
+        assertThat(chartDataWithRollups).containsExactlyElementsOf(getChartData(graph));
+    }
+
     @Test
     @WithMockUser(username = "tutor1", roles = "TA")
     public void testGetCourseStatistics() throws Exception {
@@ -178,6 +291,7 @@ public class StatisticsIntegrationTest extends AbstractSpringIntegrationBambooBi
         // Creating result for student1 and student2 for the earlier exercise
         database.createParticipationSubmissionAndResult(earlierTextExerciseId, student1, 10.0, 0.0, 0, true);
         database.createParticipationSubmissionAndResult(earlierTextExerciseId, student2, 10.0, 0.0, 80, true);
+        participantScoreScheduleService.processPendingUpdates();
 
         Long courseId = course.getId();
         LinkedMultiValueMap<String, String> parameters = new LinkedMultiValueMap<>();
@@ -213,6 +327,7 @@ public class StatisticsIntegrationTest extends AbstractSpringIntegrationBambooBi
         // Creating result for student1 and student2 for firstExercise
         database.createParticipationSubmissionAndResult(firstTextExerciseId, student1, 10.0, 0.0, 50, true);
         database.createParticipationSubmissionAndResult(firstTextExerciseId, student2, 10.0, 0.0, 100, true);
+        participantScoreScheduleService.processPendingUpdates();
 
         Post post = new Post();
         post.setExercise(textExercise);
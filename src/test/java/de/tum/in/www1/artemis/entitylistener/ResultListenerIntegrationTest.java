@@ -27,6 +27,7 @@ import de.tum.in.www1.artemis.domain.scores.StudentScore;
 import de.tum.in.www1.artemis.domain.scores.TeamScore;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 
 public class ResultListenerIntegrationTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
 
@@ -59,6 +60,9 @@ public class ResultListenerIntegrationTest extends AbstractSpringIntegrationBamb
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ParticipantScoreScheduleService participantScoreScheduleService;
+
     @AfterEach
     public void resetDatabase() {
         database.resetDatabase();
@@ -391,6 +395,8 @@ public class ResultListenerIntegrationTest extends AbstractSpringIntegrationBamb
         }
 
         Result persistedResult = database.createParticipationSubmissionAndResult(idOfExercise, participant, 10.0, 10.0, 200, isRatedResult);
+        // the participant score is updated asynchronously after the result was saved
+        participantScoreScheduleService.processPendingUpdates();
         savedParticipantScores = participantScoreRepository.findAllEagerly();
         assertThat(savedParticipantScores).isNotEmpty();
         assertThat(savedParticipantScores).hasSize(1);
@@ -405,7 +411,7 @@ public class ResultListenerIntegrationTest extends AbstractSpringIntegrationBamb
                     pointsAchieved, null);
 
         }
-        verify(this.scoreService, times(1)).updateOrCreateParticipantScore(any());
+        verify(this.scoreService, times(1)).updateOrCreateParticipantScores(any());
         return savedParticipantScore;
     }
 
@@ -421,6 +427,7 @@ public class ResultListenerIntegrationTest extends AbstractSpringIntegrationBamb
             participant = userRepository.findOneByLogin("student1").get();
             idOfExercise = idOfIndividualTextExercise;
         }
+        participantScoreScheduleService.processPendingUpdates();
         SecurityUtils.setAuthorizationObject();
         List<ParticipantScore> savedParticipantScore = participantScoreRepository.findAllEagerly();
         assertThat(savedParticipantScore).isNotEmpty();
@@ -437,7 +444,7 @@ public class ResultListenerIntegrationTest extends AbstractSpringIntegrationBamb
 
         assertParticipantScoreStructure(updatedParticipantScore, idOfExercise, participant.getId(), expectedLastResultId, expectedLastScore, expectedLastRatedResultId,
                 expectedLastRatedScore, lastPoints, lastRatedPoints);
-        verify(this.scoreService, times(2)).updateOrCreateParticipantScore(any(Result.class));
+        verify(this.scoreService, times(2)).updateOrCreateParticipantScores(any());
     }
 
 }
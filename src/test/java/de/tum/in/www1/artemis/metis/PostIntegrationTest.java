@@ -22,6 +22,8 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+import com.google.common.collect.Lists;
+
 import de.tum.in.www1.artemis.AbstractSpringIntegrationBambooBitbucketJiraTest;
 import de.tum.in.www1.artemis.domain.Course;
 import de.tum.in.www1.artemis.domain.Exercise;
@@ -34,6 +36,7 @@ import de.tum.in.www1.artemis.domain.metis.CourseWideContext;
 import de.tum.in.www1.artemis.domain.metis.Post;
 import de.tum.in.www1.artemis.domain.metis.PostSortCriterion;
 import de.tum.in.www1.artemis.repository.metis.PostRepository;
+import de.tum.in.www1.artemis.service.metis.similarity.TitleJaccardSimilarityCompareStrategy;
 import de.tum.in.www1.artemis.service.notifications.GroupNotificationService;
 
 public class PostIntegrationTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
@@ -281,6 +284,24 @@ public class PostIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
         assertThat(similarPosts).hasSize(TOP_K_SIMILARITY_RESULTS);
     }
 
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testSimilarityCheckRanksAllCoursePostsByTheComparisonStrategy() throws Exception {
+        // shares characters, but no whole word with the titles of the existing posts
+        Post postToCheck = new Post();
+        postToCheck.setTitle("Ttl Pst");
+
+        List<Post> similarPosts = request.postListWithResponseBody("/api/courses/" + courseId + "/posts/similarity-check", postToCheck, Post.class, HttpStatus.OK);
+
+        // every course post is compared, like before the similarity scores were cached
+        TitleJaccardSimilarityCompareStrategy compareStrategy = new TitleJaccardSimilarityCompareStrategy();
+        List<Post> coursePosts = postRepository.findPostsForCourse(courseId, null, false, false, false, null);
+        coursePosts.sort(Comparator.comparing(coursePost -> compareStrategy.performSimilarityCheck(postToCheck, coursePost)));
+        List<Long> expectedPostIds = Lists.reverse(coursePosts).stream().limit(TOP_K_SIMILARITY_RESULTS).map(Post::getId).toList();
+        assertThat(similarPosts).extracting(Post::getId).containsExactlyElementsOf(expectedPostIds);
+        assertThat(compareStrategy.performSimilarityCheck(postToCheck, similarPosts.get(0))).isPositive();
+    }
+
     // UPDATE
 
     @Test
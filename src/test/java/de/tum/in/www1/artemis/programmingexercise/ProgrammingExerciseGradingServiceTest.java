@@ -710,19 +710,24 @@ public abstract class ProgrammingExerciseGradingServiceTest extends AbstractSpri
         final var testParticipations = createTestParticipations();
         changeTestCaseWeights(testCases);
 
-        var participationWithIndividualDueDate = testParticipations[3];
+        // student1 has 50 % with the old and 25 % with the changed weights
+        var participationWithIndividualDueDate = testParticipations[0];
         participationWithIndividualDueDate.setIndividualDueDate(ZonedDateTime.now().plusHours(4));
         participationWithIndividualDueDate = studentParticipationRepository.save((StudentParticipation) participationWithIndividualDueDate);
-        final Long participationWithIndividualDueDateId = participationWithIndividualDueDate.getId();
 
         programmingExercise = programmingExerciseRepository.findByIdWithTemplateAndSolutionParticipationWithResultsElseThrow(programmingExercise.getId());
 
-        final var updated = programmingExerciseGradingService.updateResultsOnlyRegularDueDateParticipations(programmingExercise);
-        // four student results + template + solution
-        assertThat(updated).hasSize(6);
+        final int numberOfUpdatedResults = programmingExerciseGradingService.reEvaluateResultsOnlyRegularDueDateParticipations(programmingExercise);
+        // four student results (student2 has two) + template + solution
+        assertThat(numberOfUpdatedResults).isEqualTo(6);
 
-        final var updatedParticipationIds = updated.stream().map(result -> result.getParticipation().getId()).collect(Collectors.toSet());
-        assertThat(updatedParticipationIds).hasSize(5).allMatch(participationId -> !Objects.equals(participationId, participationWithIndividualDueDateId));
+        // the saved results of the participations without individual due date are re-evaluated
+        for (int student = 2; student <= 5; ++student) {
+            verifyStudentScoreCalculation(testParticipations, student);
+        }
+        final var notUpdatedParticipation = studentParticipationRepository.findWithEagerResultsAndFeedbackById(participationWithIndividualDueDate.getId()).get();
+        assertThat(notUpdatedParticipation.getResults()).hasSize(1);
+        assertThat(notUpdatedParticipation.getResults().iterator().next().getScore()).isEqualTo(50D);
     }
 
     @Test
@@ -734,7 +739,7 @@ public abstract class ProgrammingExerciseGradingServiceTest extends AbstractSpri
         programmingExercise = programmingExerciseRepository.findByIdWithTemplateAndSolutionParticipationWithResultsElseThrow(programmingExercise.getId());
 
         final var testCases = createTestCases(false);
-        createTestParticipations();
+        final var testParticipations = createTestParticipations();
 
         for (final var testCase : testCases.values()) {
             testCase.setWeight(0D);
@@ -742,15 +747,17 @@ public abstract class ProgrammingExerciseGradingServiceTest extends AbstractSpri
         testCases.get("test1").setBonusMultiplier(1.4D);
         testCaseRepository.saveAll(testCases.values());
 
-        final var updatedResults = programmingExerciseGradingService.updateAllResults(programmingExercise);
-        assertThat(updatedResults).hasSize(7);
+        final int numberOfUpdatedResults = programmingExerciseGradingService.reEvaluateAllResults(programmingExercise);
+        assertThat(numberOfUpdatedResults).isEqualTo(7);
 
         // even though the test case weights are all zero, the solution should receive a score
         // => every test case is weighted with 1.0 in that case
-        final var updatedSolution = updatedResults.stream().filter(result -> result.getParticipation() instanceof SolutionProgrammingExerciseParticipation).findFirst().get();
+        programmingExercise = programmingExerciseRepository.findByIdWithTemplateAndSolutionParticipationWithResultsElseThrow(programmingExercise.getId());
+        final var updatedSolution = programmingExercise.getSolutionParticipation().findLatestLegalResult();
         assertThat(updatedSolution.getScore()).isCloseTo(66.6667, Offset.offset(offsetByTenThousandth));
 
-        final var updatedStudentResults = updatedResults.stream().filter(result -> result.getParticipation() instanceof StudentParticipation).toList();
+        final var updatedStudentResults = Arrays.stream(testParticipations)
+                .flatMap(participation -> studentParticipationRepository.findWithEagerResultsAndFeedbackById(participation.getId()).get().getResults().stream()).toList();
         assertThat(updatedStudentResults).hasSize(5);
 
         for (final var result : updatedStudentResults) {
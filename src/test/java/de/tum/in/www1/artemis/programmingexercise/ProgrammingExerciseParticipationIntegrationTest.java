@@ -357,6 +357,20 @@ public class ProgrammingExerciseParticipationIntegrationTest extends AbstractSpr
         assertThat(returnedSubmissions).isEqualTo(submissions);
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void getLatestSubmissionsForExercise_olderPendingSubmissionIsIgnored() throws Exception {
+        ProgrammingSubmission olderSubmission = (ProgrammingSubmission) new ProgrammingSubmission().submissionDate(ZonedDateTime.now().minusSeconds(120L));
+        olderSubmission = database.addProgrammingSubmission(programmingExercise, olderSubmission, "student1");
+        ProgrammingSubmission latestSubmission = (ProgrammingSubmission) new ProgrammingSubmission().submissionDate(ZonedDateTime.now().minusSeconds(55L));
+        database.addProgrammingSubmissionWithResult(programmingExercise, latestSubmission, "student1");
+        Map<Long, ProgrammingSubmission> submissions = new HashMap<>();
+        submissions.put(olderSubmission.getParticipation().getId(), null);
+        Map<Long, ProgrammingSubmission> returnedSubmissions = request.getMap(exercisesBaseUrl + programmingExercise.getId() + "/latest-pending-submissions", HttpStatus.OK,
+                Long.class, ProgrammingSubmission.class);
+        assertThat(returnedSubmissions).isEqualTo(submissions);
+    }
+
     @Test
     @WithMockUser(username = "student1", roles = "USER")
     public void testGetLatestSubmissionsForExercise_studentForbidden() throws Exception {
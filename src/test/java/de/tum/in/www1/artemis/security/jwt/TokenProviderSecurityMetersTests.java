@@ -47,9 +47,7 @@ class TokenProviderSecurityMetersTests {
         SecurityMetersService securityMetersService = new SecurityMetersService(meterRegistry);
 
         tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
-        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
-
-        ReflectionTestUtils.setField(tokenProvider, "key", key);
+        tokenProvider.init();
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", ONE_MINUTE);
     }
 
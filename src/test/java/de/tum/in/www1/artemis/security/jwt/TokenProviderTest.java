@@ -1,12 +1,15 @@
 package de.tum.in.www1.artemis.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +21,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import de.tum.in.www1.artemis.management.SecurityMetersService;
 import de.tum.in.www1.artemis.security.Role;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -44,7 +48,7 @@ class TokenProviderTest {
         tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
         key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
 
-        ReflectionTestUtils.setField(tokenProvider, "key", key);
+        tokenProvider.init();
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", ONE_MINUTE);
     }
 
@@ -93,6 +97,54 @@ class TokenProviderTest {
         assertThat(isTokenValid).isFalse();
     }
 
+    @Test
+    void testVerifiedTokenIsOnlyParsedOnce() {
+        Map<?, ?> verifiedTokens = (Map<?, ?>) ReflectionTestUtils.getField(tokenProvider, "verifiedTokens");
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        Claims claims = tokenProvider.parseClaims(token);
+
+        assertThat(verifiedTokens).containsOnlyKeys(token);
+        assertThat(tokenProvider.validateTokenForAuthority(token)).isTrue();
+        assertThat(tokenProvider.parseClaims(token)).isEqualTo(claims);
+        assertThat(tokenProvider.getAuthentication(token).getName()).isEqualTo("anonymous");
+    }
+
+    @Test
+    void testChangedClaimsDoNotChangeVerifiedToken() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        Claims claims = tokenProvider.parseClaims(token);
+
+        claims.setSubject("admin");
+        claims.setExpiration(new Date(new Date().getTime() - ONE_MINUTE));
+
+        assertThat(tokenProvider.validateTokenForAuthority(token)).isTrue();
+        assertThat(tokenProvider.parseClaims(token).getSubject()).isEqualTo("anonymous");
+    }
+
+    @Test
+    void testReturnFalseWhenVerifiedJWTisExpired() {
+        // JWT expiration dates are stored in whole seconds, so the token expires one to two seconds after it was created
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 2000);
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        assertThat(tokenProvider.validateTokenForAuthority(token)).isTrue();
+
+        // the token expires while it is cached
+        await().atMost(Duration.ofSeconds(5)).until(() -> !tokenProvider.validateTokenForAuthority(token));
+        assertThat(tokenProvider.validateTokenForAuthority(token)).isFalse();
+    }
+
+    @Test
+    void testNumberOfVerifiedTokensIsBounded() {
+        Map<?, ?> verifiedTokens = (Map<?, ?>) ReflectionTestUtils.getField(tokenProvider, "verifiedTokens");
+        for (int i = 0; i <= TokenProvider.MAX_VERIFIED_TOKENS; i++) {
+            String token = Jwts.builder().setSubject("student" + i).signWith(key, SignatureAlgorithm.HS512).setExpiration(new Date(new Date().getTime() + ONE_MINUTE)).compact();
+            assertThat(tokenProvider.validateTokenForAuthority(token)).isTrue();
+        }
+
+        assertThat(verifiedTokens).hasSizeLessThanOrEqualTo(TokenProvider.MAX_VERIFIED_TOKENS);
+    }
+
     @Test
     void testKeyIsSetFromSecretWhenSecretIsNotEmpty() {
         final String secret = "NwskoUmKHZtzGRKJKVjsJF7BtQMMxNWi";
@@ -0,0 +1,78 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import de.tum.in.www1.artemis.AbstractSpringIntegrationBambooBitbucketJiraTest;
+import de.tum.in.www1.artemis.domain.BuildLogEntry;
+import de.tum.in.www1.artemis.domain.ProgrammingExercise;
+import de.tum.in.www1.artemis.domain.ProgrammingSubmission;
+import de.tum.in.www1.artemis.repository.ProgrammingExerciseRepository;
+import de.tum.in.www1.artemis.repository.ProgrammingSubmissionRepository;
+import de.tum.in.www1.artemis.util.ModelFactory;
+
+public class BuildLogEntryServiceTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
+
+    @Autowired
+    private BuildLogEntryService buildLogEntryService;
+
+    @Autowired
+    private ProgrammingExerciseRepository programmingExerciseRepository;
+
+    @Autowired
+    private ProgrammingSubmissionRepository programmingSubmissionRepository;
+
+    private ProgrammingSubmission programmingSubmission;
+
+    @BeforeEach
+    public void init() {
+        database.addUsers(1, 0, 0, 0);
+        database.addCourseWithOneProgrammingExercise();
+        ProgrammingExercise programmingExercise = programmingExerciseRepository.findAll().get(0);
+        programmingSubmission = database.addProgrammingSubmission(programmingExercise, ModelFactory.generateProgrammingSubmission(true), "student1");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.resetDatabase();
+    }
+
+    @Test
+    public void testSaveBuildLogsInsertsAllEntriesInOrder() {
+        ZonedDateTime time = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<BuildLogEntry> buildLogs = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            buildLogs.add(new BuildLogEntry(time.plusSeconds(i), "log line " + i));
+        }
+        buildLogs.add(new BuildLogEntry(null, "x".repeat(300)));
+
+        List<BuildLogEntry> savedBuildLogs = buildLogEntryService.saveBuildLogs(buildLogs, programmingSubmission);
+        assertThat(savedBuildLogs).hasSize(31).allSatisfy(buildLogEntry -> {
+            assertThat(buildLogEntry.getId()).isNotNull();
+            assertThat(buildLogEntry.getProgrammingSubmission()).isEqualTo(programmingSubmission);
+        });
+        assertThat(savedBuildLogs.stream().map(BuildLogEntry::getId).distinct()).hasSize(31);
+
+        programmingSubmission.setBuildLogEntries(savedBuildLogs);
+        programmingSubmissionRepository.save(programmingSubmission);
+
+        List<BuildLogEntry> storedBuildLogs = buildLogEntryService.getLatestBuildLogs(programmingSubmission);
+        assertThat(storedBuildLogs).hasSize(31);
+        for (int i = 0; i < 30; i++) {
+            assertThat(storedBuildLogs.get(i).getId()).isEqualTo(savedBuildLogs.get(i).getId());
+            assertThat(storedBuildLogs.get(i).getLog()).isEqualTo("log line " + i);
+            assertThat(storedBuildLogs.get(i).getTime().toInstant()).isEqualTo(time.plusSeconds(i).toInstant());
+        }
+        assertThat(storedBuildLogs.get(30).getTime()).isNull();
+        assertThat(storedBuildLogs.get(30).getLog()).hasSize(255);
+    }
+}
@@ -2,12 +2,14 @@ package de.tum.in.www1.artemis.service;
 
 import static de.tum.in.www1.artemis.service.notifications.NotificationSettingsService.NOTIFICATION__WEEKLY_SUMMARY__BASIC_WEEKLY_SUMMARY;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.*;
 
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.mail.internet.MimeMessage;
@@ -21,7 +23,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import de.tum.in.www1.artemis.AbstractSpringIntegrationBambooBitbucketJiraTest;
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.DifficultyLevel;
+import de.tum.in.www1.artemis.domain.notification.EmailSummaryProgress;
 import de.tum.in.www1.artemis.repository.CourseRepository;
+import de.tum.in.www1.artemis.repository.EmailSummaryProgressRepository;
 import de.tum.in.www1.artemis.repository.ExerciseRepository;
 import de.tum.in.www1.artemis.repository.NotificationSettingRepository;
 import de.tum.in.www1.artemis.repository.UserRepository;
@@ -44,6 +48,9 @@ public class EmailSummaryServiceTest extends AbstractSpringIntegrationBambooBitb
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EmailSummaryProgressRepository emailSummaryProgressRepository;
+
     private Exercise exerciseReleasedYesterdayAndNotYetDue;
 
     private final static String USER_WITH_DEACTIVATED_WEEKLY_SUMMARIES_LOGIN = "student1";
@@ -127,17 +134,43 @@ public class EmailSummaryServiceTest extends AbstractSpringIntegrationBambooBitb
      */
     @Test
     public void testIfPrepareWeeklyEmailSummariesCorrectlySelectsExercisesAndCreatesEmail() {
-        ArgumentCaptor<Set<Exercise>> exerciseSetCaptor = ArgumentCaptor.forClass((Class) Set.class);
+        ArgumentCaptor<Map<User, Set<Exercise>>> summariesCaptor = ArgumentCaptor.forClass((Class) Map.class);
 
         weeklyEmailSummaryService.prepareEmailSummaries();
 
-        verify(mailService, timeout(1000).times(1)).sendWeeklySummaryEmail(eq(database.getUserByLogin(USER_WITH_ACTIVATED_WEEKLY_SUMMARIES_LOGIN)), exerciseSetCaptor.capture());
-        Set<Exercise> capturedExerciseSet = exerciseSetCaptor.getValue();
+        verify(mailService, timeout(1000).times(1)).sendWeeklySummaryEmails(summariesCaptor.capture());
+        Map<User, Set<Exercise>> capturedSummaries = summariesCaptor.getValue();
+        assertThat(capturedSummaries).as("Only the user who activated weekly summaries should receive an email").hasSize(1)
+                .containsKey(database.getUserByLogin(USER_WITH_ACTIVATED_WEEKLY_SUMMARIES_LOGIN));
+        Set<Exercise> capturedExerciseSet = capturedSummaries.get(database.getUserByLogin(USER_WITH_ACTIVATED_WEEKLY_SUMMARIES_LOGIN));
         assertThat(capturedExerciseSet).as("Weekly summary should contain exercises that were released yesterday and are not yet due.")
                 .contains(exerciseReleasedYesterdayAndNotYetDue);
         assertThat(capturedExerciseSet.size()).as("Weekly summary should not contain any other of the test exercises.").isEqualTo(1);
 
         // check if email is created/send
         verify(javaMailSender, timeout(1000).times(1)).createMimeMessage();
+        await().untilAsserted(() -> assertThat(emailSummaryProgressRepository.findByScheduleInterval(Duration.ofDays(7).toString()).orElseThrow().isFinished()).isTrue());
+    }
+
+    /**
+     * Tests that an interrupted run only sends the summaries to the users that did not receive them yet
+     */
+    @Test
+    public void testResumeWeeklyEmailSummariesSkipsUsersThatAlreadyReceivedTheirSummary() {
+        EmailSummaryProgress progress = new EmailSummaryProgress(Duration.ofDays(7).toString());
+        progress.setSummaryDate(ZonedDateTime.now().minusHours(1));
+        progress.setLastUserId(database.getUserByLogin(USER_WITH_ACTIVATED_WEEKLY_SUMMARIES_LOGIN).getId());
+        emailSummaryProgressRepository.save(progress);
+
+        weeklyEmailSummaryService.resumeEmailSummaries();
+
+        await().untilAsserted(() -> assertThat(emailSummaryProgressRepository.findByScheduleInterval(Duration.ofDays(7).toString()).orElseThrow().isFinished()).isTrue());
+        verify(mailService, never()).sendWeeklySummaryEmails(any());
+        verify(javaMailSender, never()).createMimeMessage();
+
+        // a finished run is not resumed, but the next run sends the summaries again
+        weeklyEmailSummaryService.resumeEmailSummaries();
+        weeklyEmailSummaryService.prepareEmailSummaries();
+        verify(mailService, timeout(1000).times(1)).sendWeeklySummaryEmails(any());
     }
 }
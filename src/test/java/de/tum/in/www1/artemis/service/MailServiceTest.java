@@ -1,7 +1,12 @@
 package de.tum.in.www1.artemis.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.mail.internet.MimeMessage;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -9,9 +14,20 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.context.MessageSource;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.context.IContext;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 
+import de.tum.in.www1.artemis.domain.TextExercise;
 import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.domain.enumeration.NotificationType;
+import de.tum.in.www1.artemis.domain.notification.GroupNotification;
+import de.tum.in.www1.artemis.domain.notification.NotificationTarget;
+import de.tum.in.www1.artemis.domain.notification.NotificationTitleTypeConstants;
+import de.tum.in.www1.artemis.util.FakeSmtpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
@@ -75,7 +91,7 @@ public class MailServiceTest {
         jHipsterProperties = mock(JHipsterProperties.class);
         when(jHipsterProperties.getMail()).thenReturn(mail);
 
-        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine, timeService);
+        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine, timeService, new SimpleMeterRegistry());
     }
 
     /**
@@ -86,4 +102,58 @@ public class MailServiceTest {
         mailService.sendEmail(student1, subject, content, false, true);
         verify(javaMailSender, times(1)).send(mimeMessage);
     }
+
+    /**
+     * Sends a notification email to multiple users over a fake SMTP server and checks that the email is only rendered once per language and that the
+     * emails of a batch are sent over one connection
+     */
+    @Test
+    public void testSendNotificationEmailForMultipleUsers() throws Exception {
+        try (FakeSmtpServer smtpServer = new FakeSmtpServer()) {
+            JavaMailSenderImpl smtpMailSender = new JavaMailSenderImpl();
+            smtpMailSender.setHost(smtpServer.getHost());
+            smtpMailSender.setPort(smtpServer.getPort());
+
+            SpringTemplateEngine renderingTemplateEngine = mock(SpringTemplateEngine.class);
+            when(renderingTemplateEngine.process(anyString(), any(IContext.class)))
+                    .thenAnswer(invocation -> "Dear " + ((User) invocation.getArgument(1, IContext.class).getVariable("user")).getName());
+
+            MeterRegistry meterRegistry = new SimpleMeterRegistry();
+            MailService bulkMailService = new MailService(jHipsterProperties, smtpMailSender, messageSource, renderingTemplateEngine, timeService, meterRegistry);
+            ReflectionTestUtils.setField(bulkMailService, "artemisServerUrl", new URL("http://localhost:9000"));
+            ReflectionTestUtils.setField(bulkMailService, "bulkBatchSize", 10);
+            ReflectionTestUtils.setField(bulkMailService, "bulkParallelConnections", 2);
+            bulkMailService.init();
+
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                User user = new User();
+                user.setFirstName("Student");
+                user.setLastName(i == 0 ? "O'Brien" : String.valueOf(i));
+                user.setEmail("student" + i + "@example.com");
+                user.setLangKey(i % 2 == 0 ? "en" : "de");
+                users.add(user);
+            }
+            GroupNotification notification = new GroupNotification();
+            notification.setTitle(NotificationTitleTypeConstants.findCorrespondingNotificationTitle(NotificationType.EXERCISE_RELEASED));
+            notification.setTargetTransient(new NotificationTarget(1L, 2L));
+
+            bulkMailService.sendNotificationEmailForMultipleUsers(notification, users, new TextExercise());
+            bulkMailService.shutdown();
+
+            verify(renderingTemplateEngine, times(2)).process(anyString(), any(IContext.class));
+            List<String> messages = smtpServer.getMessages();
+            assertThat(messages).hasSize(25);
+            assertThat(messages).anyMatch(message -> message.contains("student0@example.com") && message.contains("Dear Student O&#39;Brien\n"));
+            for (int i = 1; i < 25; i++) {
+                String email = "student" + i + "@example.com";
+                String greeting = "Dear Student " + i + "\n";
+                assertThat(messages).anyMatch(message -> message.contains(email) && message.contains(greeting));
+            }
+            // 3 batches with at most 10 emails each
+            assertThat(smtpServer.getNumberOfConnections()).isEqualTo(3);
+            assertThat(meterRegistry.get("artemis.mail.bulk").tag("result", "sent").counter().count()).isEqualTo(25);
+            assertThat(meterRegistry.get("artemis.mail.bulk").tag("result", "failed").counter().count()).isZero();
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import de.tum.in.www1.artemis.AbstractSpringIntegrationBambooBitbucketJiraTest;
+import de.tum.in.www1.artemis.domain.Course;
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.repository.UserRepository;
+import de.tum.in.www1.artemis.service.user.UserCreationService;
+import de.tum.in.www1.artemis.service.user.UserService;
+import de.tum.in.www1.artemis.util.ModelFactory;
+
+public class UserAuthorizationContextCacheTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
+
+    @Autowired
+    private AuthorizationCheckService authorizationCheckService;
+
+    @Autowired
+    private UserAuthorizationContextCache userAuthorizationContextCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCreationService userCreationService;
+
+    private Course course;
+
+    @BeforeEach
+    public void init() {
+        database.addUsers(1, 1, 0, 0);
+        course = database.addEmptyCourse();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.resetDatabase();
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testCachedContextContainsGroupsAndAuthorities() {
+        User student = userRepository.getUserWithGroupsAndAuthorities("student1");
+        User cachedStudent = userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities();
+
+        assertThat(cachedStudent.getId()).isEqualTo(student.getId());
+        assertThat(cachedStudent.getLogin()).isEqualTo(student.getLogin());
+        assertThat(cachedStudent.getGroups()).isEqualTo(student.getGroups());
+        assertThat(cachedStudent.getAuthorities()).isEqualTo(student.getAuthorities());
+        assertThat(authorizationCheckService.isAtLeastStudentInCourse(course, null)).isTrue();
+        assertThat(authorizationCheckService.isAtLeastTeachingAssistantInCourse(course, null)).isFalse();
+        assertThat(authorizationCheckService.isAdmin(cachedStudent)).isFalse();
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testCachedContextIsEvictedWhenGroupsChange() {
+        assertThat(authorizationCheckService.isAtLeastTeachingAssistantInCourse(course, null)).isFalse();
+
+        // e.g. the LTI launch and the Jira login change the groups through the user creation service
+        User student = userRepository.getUserWithGroupsAndAuthorities("student1");
+        student.getGroups().add(course.getTeachingAssistantGroupName());
+        userCreationService.saveUser(student);
+        assertThat(authorizationCheckService.isAtLeastTeachingAssistantInCourse(course, null)).isTrue();
+
+        student = userRepository.getUserWithGroupsAndAuthorities("student1");
+        student.getGroups().remove(course.getTeachingAssistantGroupName());
+        student.getGroups().remove(course.getStudentGroupName());
+        userService.saveUser(student);
+        assertThat(authorizationCheckService.isAtLeastTeachingAssistantInCourse(course, null)).isFalse();
+        assertThat(authorizationCheckService.isAtLeastStudentInCourse(course, null)).isFalse();
+    }
+
+    @Test
+    @WithMockUser(username = "tutor1", roles = "TA")
+    public void testCachedContextIsEvictedWhenUserIsRecreated() {
+        assertThat(authorizationCheckService.isAtLeastTeachingAssistantInCourse(course, null)).isTrue();
+
+        database.resetDatabase();
+        course = database.addEmptyCourse();
+
+        // a new user with the same login must not get the groups of the deleted user
+        User tutor = userRepository.save(ModelFactory.generateActivatedUser("tutor1"));
+        assertThat(userAuthorizationContextCache.getCurrentUserWithGroupsAndAuthorities().getId()).isEqualTo(tutor.getId());
+        assertThat(authorizationCheckService.isAtLeastTeachingAssistantInCourse(course, null)).isFalse();
+    }
+}
@@ -0,0 +1,126 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.tum.in.www1.artemis.service.util.ParallelZipWriter;
+
+public class ZipFileServiceTest {
+
+    private ZipFileService zipFileService;
+
+    @TempDir
+    Path tempDir;
+
+    private Path contentRoot;
+
+    private final List<Path> files = new ArrayList<>();
+
+    /**
+     * Creates text files, an image and a file that is too large to be compressed in memory
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        zipFileService = new ZipFileService();
+        contentRoot = Files.createDirectories(tempDir.resolve("repositories"));
+        Random random = new Random(42);
+        for (int i = 0; i < 50; i++) {
+            Path file = contentRoot.resolve("student" + i).resolve("src").resolve("Main" + i + ".java");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, ("public class Main" + i + " { }\n").repeat(100 + i));
+            files.add(file);
+        }
+        byte[] image = new byte[10_000];
+        random.nextBytes(image);
+        files.add(Files.write(contentRoot.resolve("diagram.png"), image));
+        files.add(Files.writeString(contentRoot.resolve("build.log"), "BUILD SUCCESSFUL\n".repeat(500_000)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        zipFileService.shutdown();
+    }
+
+    @Test
+    public void testCreateZipFileKeepsOrderAndContentOfEntries() throws IOException {
+        Path zipFilePath = tempDir.resolve("export.zip");
+        zipFileService.createZipFile(zipFilePath, files, contentRoot);
+
+        try (ZipFile zipFile = new ZipFile(zipFilePath.toFile())) {
+            assertThat(zipFile.stream().map(ZipEntry::getName)).containsExactlyElementsOf(files.stream().map(file -> contentRoot.relativize(file).toString()).toList());
+            for (Path file : files) {
+                ZipEntry entry = zipFile.getEntry(contentRoot.relativize(file).toString());
+                try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                    assertThat(inputStream.readAllBytes()).isEqualTo(Files.readAllBytes(file));
+                }
+            }
+            assertThat(zipFile.getEntry("diagram.png").getMethod()).as("already compressed files are stored").isEqualTo(ZipEntry.STORED);
+            assertThat(zipFile.getEntry("student0/src/Main0.java").getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            assertThat(zipFile.getEntry("build.log").getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            assertThat(zipFile.getEntry("build.log").getCompressedSize()).isLessThan(Files.size(contentRoot.resolve("build.log")));
+        }
+    }
+
+    @Test
+    public void testWriteZipFileWithFolderContentToStream() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        zipFileService.writeZipFileWithFolderContent(outputStream, contentRoot, path -> !path.toString().endsWith(".png"));
+
+        List<String> entryNames = new ArrayList<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                entryNames.add(entry.getName());
+                assertThat(zipInputStream.readAllBytes()).isEqualTo(Files.readAllBytes(contentRoot.resolve(entry.getName())));
+            }
+        }
+        assertThat(entryNames).hasSize(files.size() - 1).doesNotContain("diagram.png").contains("build.log", "student49/src/Main49.java");
+    }
+
+    @Test
+    public void testZipWriterSkipsFilesThatCannotBeReadAndWritesEntriesWithinMemoryLimit() throws IOException {
+        Path zipFilePath = tempDir.resolve("export.zip");
+        List<Path> filesWithMissingFile = new ArrayList<>(files);
+        filesWithMissingFile.add(10, contentRoot.resolve("deleted.txt"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        // each entry exceeds the limit, so the writer has to write every entry before the next one is compressed
+        try (ParallelZipWriter zipWriter = new ParallelZipWriter(Files.newOutputStream(zipFilePath), executor, 1)) {
+            for (Path file : filesWithMissingFile) {
+                zipWriter.addEntry(contentRoot.relativize(file).toString(), file);
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        try (ZipFile zipFile = new ZipFile(zipFilePath.toFile())) {
+            assertThat(zipFile.stream().map(ZipEntry::getName)).containsExactlyElementsOf(files.stream().map(file -> contentRoot.relativize(file).toString()).toList());
+            for (Path file : files) {
+                try (InputStream inputStream = zipFile.getInputStream(zipFile.getEntry(contentRoot.relativize(file).toString()))) {
+                    assertThat(inputStream.readAllBytes()).isEqualTo(Files.readAllBytes(file));
+                }
+            }
+        }
+    }
+}
@@ -2,7 +2,8 @@ package de.tum.in.www1.artemis.service.compass.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,8 @@ import de.tum.in.www1.artemis.domain.modeling.ModelCluster;
 import de.tum.in.www1.artemis.domain.modeling.ModelElement;
 import de.tum.in.www1.artemis.domain.modeling.ModelingExercise;
 import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
+import de.tum.in.www1.artemis.service.compass.umlmodel.UMLElement;
+import de.tum.in.www1.artemis.service.compass.utils.CompassConfiguration;
 import de.tum.in.www1.artemis.util.FileUtils;
 import de.tum.in.www1.artemis.util.ModelFactory;
 
@@ -52,4 +55,64 @@ public class ModelClusterFactoryTest {
             assertThat(element.getCluster()).as("created elements keeps the cluster").isEqualTo(modelCluster);
         }
     }
+
+    @Test
+    public void testBuildingClustersWithTypeIndexMatchesComparisonWithAllUniqueElements() throws Exception {
+        List<String> models = List.of("model.54727.json", "model.54727.cpy.json", "model.54727-copy.json", "model.54727.partial.json", "model.54742.json", "model.54745.json",
+                "model.different-context.json", "model.inheritance.json", "model.inheritance.cpy.json", "model.one-element.json", "example-class-diagram.json",
+                "example-activity-diagram.json", "example-activity-diagram-cpy.json", "example-component-diagram.json", "example-component-diagram-cpy.json",
+                "example-communication-diagram.json", "example-communication-diagram-cpy.json", "use-case-model.json", "object-model.json", "model.54727.cpy.json");
+        List<ModelingSubmission> submissions = new ArrayList<>();
+        for (String model : models) {
+            ModelingSubmission submission = ModelFactory.generateModelingSubmission(FileUtils.loadFileFromResources("test-data/model-submission/" + model), true);
+            submission.setId((long) submissions.size() + 1);
+            submissions.add(submission);
+        }
+
+        List<ModelCluster> modelClusters = modelClusterFactory.buildClusters(submissions, new ModelingExercise());
+
+        Set<Set<String>> clusteredElements = modelClusters.stream()
+                .map(cluster -> cluster.getModelElements().stream().map(element -> element.getSubmission().getId() + "/" + element.getModelElementId()).collect(Collectors.toSet()))
+                .collect(Collectors.toSet());
+        assertThat(clusteredElements).isNotEmpty();
+        assertThat(clusteredElements).isEqualTo(buildClustersByComparingAllUniqueElements(submissions));
+    }
+
+    /**
+     * Builds the clusters like before the unique elements were indexed by type: every element is compared with all unique elements, the first most similar one
+     * (i.e. the oldest cluster) wins.
+     *
+     * @return the submission id and element id of the elements of every cluster with more than one element
+     */
+    private Set<Set<String>> buildClustersByComparingAllUniqueElements(List<ModelingSubmission> submissions) {
+        List<UMLElement> uniqueElements = new ArrayList<>();
+        Map<Integer, Set<String>> clusters = new HashMap<>();
+        for (ModelingSubmission submission : submissions) {
+            List<UMLElement> modelElements = modelClusterFactory.getModelElements(submission);
+            if (modelElements == null) {
+                continue;
+            }
+            for (UMLElement element : modelElements) {
+                double bestSimilarity = -1;
+                int similarityId = -1;
+                for (UMLElement knownElement : uniqueElements) {
+                    double similarity = knownElement.similarity(element);
+                    if (similarity > CompassConfiguration.EQUALITY_THRESHOLD && similarity > bestSimilarity) {
+                        bestSimilarity = similarity;
+                        similarityId = knownElement.getSimilarityID();
+                    }
+                }
+                if (similarityId == -1) {
+                    similarityId = uniqueElements.size();
+                    element.setSimilarityID(similarityId);
+                    uniqueElements.add(element);
+                }
+                else {
+                    element.setSimilarityID(similarityId);
+                }
+                clusters.computeIfAbsent(similarityId, id -> new HashSet<>()).add(submission.getId() + "/" + element.getJSONElementID());
+            }
+        }
+        return clusters.values().stream().filter(cluster -> cluster.size() > 1).collect(Collectors.toSet());
+    }
 }
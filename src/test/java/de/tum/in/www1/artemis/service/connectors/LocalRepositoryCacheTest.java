@@ -0,0 +1,157 @@
+package de.tum.in.www1.artemis.service.connectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.tum.in.www1.artemis.domain.Repository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LocalRepositoryCacheTest {
+
+    private MeterRegistry meterRegistry;
+
+    private LocalRepositoryCache repositoryCache;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        repositoryCache = new LocalRepositoryCache(2, Duration.ofMinutes(30), meterRegistry);
+    }
+
+    @Test
+    public void testGetCountsHitsAndMisses() {
+        Repository repository = mock(Repository.class);
+        repositoryCache.putIfAbsent(Path.of("repo1"), repository);
+
+        assertThat(repositoryCache.get(Path.of("repo1"))).isSameAs(repository);
+        assertThat(repositoryCache.get(Path.of("repo2"))).isNull();
+
+        assertThat(meterRegistry.get("artemis.git.repository-cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("artemis.git.repository-cache").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPutEvictsLeastRecentlyUsedRepositoryWithoutClosingIt() {
+        Repository repository1 = mock(Repository.class);
+        Repository repository2 = mock(Repository.class);
+        Repository repository3 = mock(Repository.class);
+        repositoryCache.putIfAbsent(Path.of("repo1"), repository1);
+        repositoryCache.putIfAbsent(Path.of("repo2"), repository2);
+        // repo1 becomes the most recently used repository
+        repositoryCache.get(Path.of("repo1"));
+
+        repositoryCache.putIfAbsent(Path.of("repo3"), repository3);
+
+        assertThat(repositoryCache.size()).isEqualTo(2);
+        assertThat(repositoryCache.retiredSize()).isEqualTo(1);
+        assertThat(repositoryCache.contains(Path.of("repo1"))).isTrue();
+        assertThat(repositoryCache.contains(Path.of("repo2"))).isFalse();
+        assertThat(repositoryCache.contains(Path.of("repo3"))).isTrue();
+        // another thread might still use the evicted repository
+        verify(repository2, never()).close();
+        verify(repository1, never()).close();
+        assertThat(meterRegistry.get("artemis.git.repository-cache.evictions").tag("cause", "size").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetReusesRetiredRepository() {
+        Repository repository1 = mock(Repository.class);
+        repositoryCache.putIfAbsent(Path.of("repo1"), repository1);
+        repositoryCache.putIfAbsent(Path.of("repo2"), mock(Repository.class));
+        repositoryCache.putIfAbsent(Path.of("repo3"), mock(Repository.class));
+        assertThat(repositoryCache.contains(Path.of("repo1"))).isFalse();
+
+        assertThat(repositoryCache.get(Path.of("repo1"))).isSameAs(repository1);
+
+        assertThat(repositoryCache.contains(Path.of("repo1"))).isTrue();
+        verify(repository1, never()).close();
+    }
+
+    @Test
+    public void testPutIfAbsentKeepsCachedRepositoryAndClosesTheOtherOne() {
+        Repository repository1 = mock(Repository.class);
+        Repository repository2 = mock(Repository.class);
+
+        assertThat(repositoryCache.putIfAbsent(Path.of("repo1"), repository1)).isSameAs(repository1);
+        assertThat(repositoryCache.putIfAbsent(Path.of("repo1"), repository2)).isSameAs(repository1);
+
+        assertThat(repositoryCache.get(Path.of("repo1"))).isSameAs(repository1);
+        verify(repository2).close();
+        verify(repository1, never()).close();
+    }
+
+    @Test
+    public void testConcurrentPutIfAbsentCachesOneRepositoryAndClosesAllOthers() throws Exception {
+        int threads = 8;
+        List<Repository> repositories = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            repositories.add(mock(Repository.class));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Repository>> results = new ArrayList<>();
+            for (Repository repository : repositories) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return repositoryCache.putIfAbsent(Path.of("repo1"), repository);
+                }));
+            }
+            start.countDown();
+            Repository cachedRepository = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<Repository> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isSameAs(cachedRepository);
+            }
+            for (Repository repository : repositories) {
+                verify(repository, times(repository == cachedRepository ? 0 : 1)).close();
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEvictIdleRepositoriesClosesRepositoriesOnlyAfterTheyWereRetired() {
+        repositoryCache = new LocalRepositoryCache(2, Duration.ZERO, meterRegistry);
+        Repository repository = mock(Repository.class);
+        repositoryCache.putIfAbsent(Path.of("repo1"), repository);
+
+        assertThat(repositoryCache.evictIdleRepositories()).isEqualTo(1);
+
+        assertThat(repositoryCache.size()).isZero();
+        assertThat(repositoryCache.retiredSize()).isEqualTo(1);
+        verify(repository, never()).close();
+
+        // the retired repository was not requested again, so the next run closes it
+        repositoryCache.evictIdleRepositories();
+
+        assertThat(repositoryCache.retiredSize()).isZero();
+        verify(repository).close();
+    }
+
+    @Test
+    public void testRemoveDoesNotCloseRepository() {
+        Repository repository = mock(Repository.class);
+        repositoryCache.putIfAbsent(Path.of("repo1"), repository);
+
+        assertThat(repositoryCache.remove(Path.of("repo1"))).isSameAs(repository);
+
+        assertThat(repositoryCache.contains(Path.of("repo1"))).isFalse();
+        verify(repository, never()).close();
+    }
+}
@@ -0,0 +1,104 @@
+package de.tum.in.www1.artemis.service.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.hazelcast.cluster.Cluster;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DistributedInstanceMessageSendServiceTest {
+
+    private final UUID senderId = UUID.randomUUID();
+
+    private MeterRegistry meterRegistry;
+
+    private ITopic<InstanceMessageBatch> batchTopic;
+
+    private MessageListener<InstanceMessageBatch.Acknowledgement> acknowledgementListener;
+
+    private DistributedInstanceMessageSendService distributedInstanceMessageSendService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        batchTopic = mock(ITopic.class);
+        ITopic<InstanceMessageBatch.Acknowledgement> acknowledgementTopic = mock(ITopic.class);
+        Member member = mock(Member.class);
+        when(member.getUuid()).thenReturn(senderId);
+        Cluster cluster = mock(Cluster.class);
+        when(cluster.getLocalMember()).thenReturn(member);
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.getCluster()).thenReturn(cluster);
+        when(hazelcastInstance.<InstanceMessageBatch>getReliableTopic(InstanceMessageBatch.TOPIC)).thenReturn(batchTopic);
+        when(hazelcastInstance.<InstanceMessageBatch.Acknowledgement>getTopic(InstanceMessageBatch.ACKNOWLEDGEMENT_TOPIC)).thenReturn(acknowledgementTopic);
+
+        distributedInstanceMessageSendService = new DistributedInstanceMessageSendService(hazelcastInstance, meterRegistry);
+
+        ArgumentCaptor<MessageListener<InstanceMessageBatch.Acknowledgement>> listenerCaptor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(acknowledgementTopic).addMessageListener(listenerCaptor.capture());
+        acknowledgementListener = listenerCaptor.getValue();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        distributedInstanceMessageSendService.shutdown();
+    }
+
+    @Test
+    public void testMessagesWithinTheWindowAreSentInOneBatch() {
+        distributedInstanceMessageSendService.sendProgrammingExerciseSchedule(1L);
+        distributedInstanceMessageSendService.sendProgrammingExerciseSchedule(2L);
+        distributedInstanceMessageSendService.sendLockAllRepositories(2L);
+        distributedInstanceMessageSendService.sendProgrammingExerciseSchedule(1L);
+
+        InstanceMessageBatch batch = getPublishedBatch();
+        // the repeated schedule of exercise 1 is only sent once, after the messages that were sent in the meantime
+        assertThat(batch.messages()).containsExactly(new InstanceMessage(MessageTopic.PROGRAMMING_EXERCISE_SCHEDULE, 2L),
+                new InstanceMessage(MessageTopic.PROGRAMMING_EXERCISE_LOCK_REPOSITORIES, 2L), new InstanceMessage(MessageTopic.PROGRAMMING_EXERCISE_SCHEDULE, 1L));
+        assertThat(batch.senderId()).isEqualTo(senderId);
+        assertThat(batch.sequenceNumber()).isEqualTo(1L);
+        assertThat(distributedInstanceMessageSendService.getNumberOfUnacknowledgedBatches()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAcknowledgedBatchIsRecorded() {
+        distributedInstanceMessageSendService.sendTextExerciseSchedule(1L);
+        InstanceMessageBatch batch = getPublishedBatch();
+
+        // acknowledgements for batches of other nodes are ignored
+        Message<InstanceMessageBatch.Acknowledgement> otherAcknowledgement = mock(Message.class);
+        when(otherAcknowledgement.getMessageObject()).thenReturn(new InstanceMessageBatch.Acknowledgement(UUID.randomUUID(), batch.sequenceNumber()));
+        acknowledgementListener.onMessage(otherAcknowledgement);
+        assertThat(distributedInstanceMessageSendService.getNumberOfUnacknowledgedBatches()).isEqualTo(1);
+
+        Message<InstanceMessageBatch.Acknowledgement> acknowledgement = mock(Message.class);
+        when(acknowledgement.getMessageObject()).thenReturn(new InstanceMessageBatch.Acknowledgement(senderId, batch.sequenceNumber()));
+        acknowledgementListener.onMessage(acknowledgement);
+
+        assertThat(distributedInstanceMessageSendService.getNumberOfUnacknowledgedBatches()).isZero();
+        assertThat(meterRegistry.get("artemis.instance-messages.latency").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("artemis.instance-messages").tag("result", "acknowledged").counter().count()).isEqualTo(1);
+    }
+
+    private InstanceMessageBatch getPublishedBatch() {
+        ArgumentCaptor<InstanceMessageBatch> batchCaptor = ArgumentCaptor.forClass(InstanceMessageBatch.class);
+        verify(batchTopic, timeout(2000)).publish(batchCaptor.capture());
+        return batchCaptor.getValue();
+    }
+}
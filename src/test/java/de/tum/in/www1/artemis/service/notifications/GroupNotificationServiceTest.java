@@ -149,6 +149,7 @@ public class GroupNotificationServiceTest extends AbstractSpringIntegrationBambo
         database.changeUser("instructor1");
 
         doNothing().when(javaMailSender).send(any(MimeMessage.class));
+        doNothing().when(javaMailSender).send((MimeMessage[]) any());
     }
 
     @AfterEach
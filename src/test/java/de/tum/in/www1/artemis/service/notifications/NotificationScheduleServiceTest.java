@@ -55,6 +55,7 @@ public class NotificationScheduleServiceTest extends AbstractSpringIntegrationBa
         exerciseRepository.save(exercise);
         assertThat(notificationRepository.count()).isZero();
         doNothing().when(javaMailSender).send(any(MimeMessage.class));
+        doNothing().when(javaMailSender).send((MimeMessage[]) any());
     }
 
     @AfterEach
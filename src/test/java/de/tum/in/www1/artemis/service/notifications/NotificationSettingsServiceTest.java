@@ -20,7 +20,9 @@ import de.tum.in.www1.artemis.domain.notification.GroupNotification;
 import de.tum.in.www1.artemis.domain.notification.Notification;
 import de.tum.in.www1.artemis.domain.notification.NotificationTitleTypeConstants;
 import de.tum.in.www1.artemis.repository.NotificationSettingRepository;
+import de.tum.in.www1.artemis.repository.UserRepository;
 import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.util.ModelFactory;
 
 public class NotificationSettingsServiceTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
 
@@ -30,6 +32,9 @@ public class NotificationSettingsServiceTest extends AbstractSpringIntegrationBa
     @Autowired
     private NotificationSettingRepository notificationSettingRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
     private Notification notification;
 
     private User student1;
@@ -125,6 +130,23 @@ public class NotificationSettingsServiceTest extends AbstractSpringIntegrationBa
                 .as("Emails with type EXAM_ARCHIVE_STARTED should not be allowed for the given user").isFalse();
     }
 
+    /**
+     * Tests the method filterUsersByNotificationSettings
+     * Users without notification settings are filtered based on the default notification settings
+     */
+    @Test
+    public void testFilterUsersByNotificationSettings() {
+        User student2 = userRepository.save(ModelFactory.generateActivatedUser("student2"));
+
+        notification.setTitle(NotificationTitleTypeConstants.findCorrespondingNotificationTitle(ATTACHMENT_CHANGE));
+        assertThat(notificationSettingsService.filterUsersByNotificationSettings(notification, List.of(student1, student2), EMAIL))
+                .as("Only the user who activated emails with type ATTACHMENT_CHANGE should receive an email").containsExactly(student1);
+
+        notification.setTitle(NotificationTitleTypeConstants.findCorrespondingNotificationTitle(NEW_ANNOUNCEMENT_POST));
+        assertThat(notificationSettingsService.filterUsersByNotificationSettings(notification, List.of(student1, student2), EMAIL))
+                .as("Emails with type NEW_ANNOUNCEMENT_POST should be allowed for both users").containsExactly(student1, student2);
+    }
+
     /**
      * Tests the method checkLoadedNotificationSettingsForCorrectness with an empty input
      */
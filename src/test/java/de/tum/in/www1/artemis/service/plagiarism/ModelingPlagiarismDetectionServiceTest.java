@@ -0,0 +1,107 @@
+package de.tum.in.www1.artemis.service.plagiarism;
+
+import static com.google.gson.JsonParser.parseString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.*;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
+import de.tum.in.www1.artemis.domain.plagiarism.PlagiarismComparison;
+import de.tum.in.www1.artemis.domain.plagiarism.modeling.ModelingSubmissionElement;
+import de.tum.in.www1.artemis.service.compass.umlmodel.AbstractUMLDiagramTest;
+import de.tum.in.www1.artemis.service.compass.umlmodel.UMLDiagram;
+import de.tum.in.www1.artemis.service.compass.umlmodel.parsers.UMLModelParser;
+import de.tum.in.www1.artemis.util.FileUtils;
+
+class ModelingPlagiarismDetectionServiceTest extends AbstractUMLDiagramTest {
+
+    private static final List<String> MODELS = List.of("model.54727.json", "model.54727.cpy.json", "model.54727-copy.json", "model.54727.partial.json", "model.54742.json",
+            "model.54745.json", "model.different-context.json", "model.inheritance.json", "model.inheritance.cpy.json", "model.one-element.json", "example-class-diagram.json",
+            "example-class-diagram-package-relationship.json", "empty-class-diagram.json", "example-activity-diagram.json", "example-activity-diagram-cpy.json",
+            "example-component-diagram.json", "example-component-diagram-cpy.json", "example-communication-diagram.json", "example-communication-diagram-cpy.json",
+            "use-case-model.json", "object-model.json");
+
+    /**
+     * The pruned and parallel comparison has to report the same pairs with the same similarity as comparing every pair of diagrams. As the similarity of two
+     * diagrams with the same number of elements can depend on the order of the diagrams, a pair whose similarity only reaches the minimum similarity in one order
+     * may or may not be reported, but its similarity has to match one of both orders.
+     */
+    @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
+    @ValueSource(doubles = { 0.0, 0.2, 0.5, 0.7, 0.8, 0.9, 0.95, 1.0 })
+    void testPrunedComparisonsMatchAllPairwiseComparisons(double minimumSimilarity) throws Exception {
+        List<ModelingSubmission> submissions = new ArrayList<>();
+        for (String model : MODELS) {
+            ModelingSubmission submission = modelingSubmission(FileUtils.loadFileFromResources("test-data/model-submission/" + model));
+            submission.setId((long) submissions.size() + 1);
+            submissions.add(submission);
+        }
+
+        var result = modelingPlagiarismDetectionService.checkPlagiarism(submissions, minimumSimilarity, 1, 0, 1L);
+
+        Map<Set<Long>, Double> reportedSimilarities = new HashMap<>();
+        for (PlagiarismComparison<ModelingSubmissionElement> comparison : result.getComparisons()) {
+            var pair = Set.of(comparison.getSubmissionA().getSubmissionId(), comparison.getSubmissionB().getSubmissionId());
+            assertThat(reportedSimilarities.put(pair, comparison.getSimilarity())).as("pair %s is only reported once", pair).isNull();
+        }
+
+        List<UMLDiagram> diagrams = buildDiagrams(submissions);
+        int requiredPairs = 0;
+        for (int i = 0; i < diagrams.size(); i++) {
+            for (int j = i + 1; j < diagrams.size(); j++) {
+                UMLDiagram diagram1 = diagrams.get(i);
+                UMLDiagram diagram2 = diagrams.get(j);
+                double similarity = diagram1.similarity(diagram2);
+                double reverseSimilarity = diagram2.similarity(diagram1);
+                var pair = Set.of(diagram1.getModelSubmissionId(), diagram2.getModelSubmissionId());
+                Double reportedSimilarity = reportedSimilarities.remove(pair);
+
+                if (Math.min(similarity, reverseSimilarity) >= minimumSimilarity) {
+                    requiredPairs++;
+                    assertThat(reportedSimilarity).as("similar pair %s is reported", pair).isNotNull();
+                }
+                else if (Math.max(similarity, reverseSimilarity) < minimumSimilarity) {
+                    assertThat(reportedSimilarity).as("dissimilar pair %s is not reported", pair).isNull();
+                }
+                if (reportedSimilarity != null) {
+                    Offset<Double> offset = Offset.offset(1e-6);
+                    assertThat(reportedSimilarity).as("similarity of pair %s", pair).satisfiesAnyOf(value -> assertThat(value).isCloseTo(similarity * 100, offset),
+                            value -> assertThat(value).isCloseTo(reverseSimilarity * 100, offset));
+                }
+            }
+        }
+        assertThat(reportedSimilarities).as("only pairs of compared diagrams are reported").isEmpty();
+        if (minimumSimilarity == 0.0) {
+            assertThat(requiredPairs).isEqualTo(diagrams.size() * (diagrams.size() - 1) / 2);
+        }
+    }
+
+    /**
+     * Builds the diagrams of the submissions that are compared, like the service does
+     */
+    private List<UMLDiagram> buildDiagrams(List<ModelingSubmission> submissions) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<UMLDiagram> diagrams = new ArrayList<>();
+        for (ModelingSubmission submission : submissions) {
+            if (submission.isEmpty(objectMapper)) {
+                continue;
+            }
+            try {
+                UMLDiagram diagram = UMLModelParser.buildModelFromJSON(parseString(submission.getModel()).getAsJsonObject(), submission.getId());
+                if (!diagram.getAllModelElements().isEmpty()) {
+                    diagrams.add(diagram);
+                }
+            }
+            catch (IOException e) {
+                // the service skips submissions that cannot be parsed as well
+            }
+        }
+        return diagrams;
+    }
+}
@@ -0,0 +1,88 @@
+package de.tum.in.www1.artemis.service.programming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BuildTriggerDispatchServiceTest {
+
+    private MeterRegistry meterRegistry;
+
+    private BuildTriggerDispatchService buildTriggerDispatchService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        buildTriggerDispatchService = new BuildTriggerDispatchService(meterRegistry);
+        ReflectionTestUtils.setField(buildTriggerDispatchService, "externalSystemRequestBatchSize", 10);
+        ReflectionTestUtils.setField(buildTriggerDispatchService, "externalSystemRequestBatchWaitingTime", 10);
+        ReflectionTestUtils.setField(buildTriggerDispatchService, "maxConcurrentRequests", 1);
+        buildTriggerDispatchService.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        buildTriggerDispatchService.shutdown();
+    }
+
+    @Test
+    public void testQueuedTriggersOfTheSameParticipationAreOnlySentOnce() throws Exception {
+        CountDownLatch blockingTriggerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlockingTrigger = new CountDownLatch(1);
+        CompletableFuture<Void> blockingTrigger = buildTriggerDispatchService.queueTrigger(1L, () -> {
+            blockingTriggerStarted.countDown();
+            try {
+                return releaseBlockingTrigger.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e) {
+                return false;
+            }
+        });
+        assertThat(blockingTriggerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // the only concurrent request is blocked, so both triggers of the second participation are queued
+        AtomicInteger firstTriggerCount = new AtomicInteger();
+        AtomicInteger secondTriggerCount = new AtomicInteger();
+        CompletableFuture<Void> firstTrigger = buildTriggerDispatchService.queueTrigger(2L, () -> firstTriggerCount.incrementAndGet() > 0);
+        CompletableFuture<Void> secondTrigger = buildTriggerDispatchService.queueTrigger(2L, () -> secondTriggerCount.incrementAndGet() > 0);
+        assertThat(secondTrigger).isSameAs(firstTrigger);
+        assertThat(buildTriggerDispatchService.getQueueSize()).isEqualTo(1);
+
+        releaseBlockingTrigger.countDown();
+        CompletableFuture.allOf(blockingTrigger, secondTrigger).get(5, TimeUnit.SECONDS);
+
+        assertThat(firstTriggerCount).hasValue(0);
+        assertThat(secondTriggerCount).hasValue(1);
+        assertThat(meterRegistry.get("artemis.programming.build-triggers").tag("result", "success").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailedTriggersDecreaseTheRate() throws Exception {
+        double initialRate = buildTriggerDispatchService.getRate();
+
+        buildTriggerDispatchService.queueTrigger(1L, () -> false).get(5, TimeUnit.SECONDS);
+
+        assertThat(buildTriggerDispatchService.getRate()).isLessThan(initialRate);
+        assertThat(meterRegistry.get("artemis.programming.build-triggers").tag("result", "failure").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testTriggersThatCannotBeSentCompleteExceptionally() {
+        ExecutorService triggerExecutor = (ExecutorService) ReflectionTestUtils.getField(buildTriggerDispatchService, "triggerExecutor");
+        triggerExecutor.shutdown();
+
+        CompletableFuture<Void> trigger = buildTriggerDispatchService.queueTrigger(1L, () -> true);
+
+        assertThatThrownBy(() -> trigger.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+}
@@ -165,7 +165,7 @@ class ProgrammingExerciseScheduleServiceTest extends AbstractSpringIntegrationBa
         verifyLockStudentRepositoryOperation(false, 0);
         verify(programmingSubmissionService, never()).triggerInstructorBuildForExercise(programmingExercise.getId());
         // Update all scores should not have been triggered.
-        verify(programmingExerciseGradingService, never()).updateAllResults(programmingExercise);
+        verify(programmingExerciseGradingService, never()).reEvaluateAllResults(programmingExercise);
     }
 
     @Test
@@ -205,7 +205,7 @@ class ProgrammingExerciseScheduleServiceTest extends AbstractSpringIntegrationBa
 
         verifyLockStudentRepositoryOperation(false, 0);
         verify(programmingSubmissionService, never()).triggerInstructorBuildForExercise(programmingExercise.getId());
-        verify(programmingExerciseGradingService, never()).updateAllResults(programmingExercise);
+        verify(programmingExerciseGradingService, never()).reEvaluateAllResults(programmingExercise);
     }
 
     @Test
@@ -267,9 +267,9 @@ class ProgrammingExerciseScheduleServiceTest extends AbstractSpringIntegrationBa
         verifyLockStudentRepositoryOperation(true, dueDateDelayMS);
         verify(programmingSubmissionService, never()).triggerInstructorBuildForExercise(programmingExercise.getId());
         // has AFTER_DUE_DATE tests and no additional build after due date => update the scores to show those test cases in it
-        verify(programmingExerciseGradingService, timeout(5000).times(1)).updateResultsOnlyRegularDueDateParticipations(programmingExercise);
+        verify(programmingExerciseGradingService, timeout(5000).times(1)).reEvaluateResultsOnlyRegularDueDateParticipations(programmingExercise);
         // make sure to trigger the update only for participants who do not have got an individual due date
-        verify(programmingExerciseGradingService, never()).updateAllResults(programmingExercise);
+        verify(programmingExerciseGradingService, never()).reEvaluateAllResults(programmingExercise);
     }
 
     @Test
@@ -291,7 +291,7 @@ class ProgrammingExerciseScheduleServiceTest extends AbstractSpringIntegrationBa
         verifyLockStudentRepositoryOperation(true, dueDateDelayMS / 2);
         verify(programmingSubmissionService, timeout(dueDateDelayMS).times(1)).triggerInstructorBuildForExercise(programmingExercise.getId());
         // has AFTER_DUE_DATE tests, but also buildAfterDueDate => do not update results, but use the results created on additional build run
-        verify(programmingExerciseGradingService, never()).updateAllResults(programmingExercise);
+        verify(programmingExerciseGradingService, never()).reEvaluateAllResults(programmingExercise);
     }
 
     @ParameterizedTest(name = "{displayName} [{index}] {argumentsWithNames}")
@@ -324,7 +324,7 @@ class ProgrammingExerciseScheduleServiceTest extends AbstractSpringIntegrationBa
             verify(programmingSubmissionService, never()).triggerInstructorBuildForExercise(programmingExercise.getId());
         }
         // no tests marked as AFTER_DUE_DATE => do not update scores on due date
-        verify(programmingExerciseGradingService, never()).updateAllResults(programmingExercise);
+        verify(programmingExerciseGradingService, never()).reEvaluateAllResults(programmingExercise);
     }
 
     @Test
@@ -0,0 +1,126 @@
+package de.tum.in.www1.artemis.service.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParallelZipWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ExecutorService executor;
+
+    private Path largeImage;
+
+    private Path largeLog;
+
+    private Path smallFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        executor = Executors.newFixedThreadPool(2);
+        byte[] image = new byte[(int) ParallelZipWriter.MAX_BUFFERED_FILE_SIZE + 100_000];
+        new Random(42).nextBytes(image);
+        largeImage = Files.write(tempDir.resolve("large.png"), image);
+        largeLog = Files.writeString(tempDir.resolve("build.log"), "BUILD SUCCESSFUL\n".repeat(500_000));
+        smallFile = Files.writeString(tempDir.resolve("Main.java"), "public class Main { }\n");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLargeStoredFileIsCopiedWithItsChecksum() throws IOException {
+        Path zipFilePath = tempDir.resolve("export.zip");
+        try (ParallelZipWriter zipWriter = new ParallelZipWriter(Files.newOutputStream(zipFilePath), executor, 1)) {
+            zipWriter.addEntry("large.png", largeImage);
+            zipWriter.addEntry("Main.java", smallFile);
+        }
+
+        try (ZipFile zipFile = new ZipFile(zipFilePath.toFile())) {
+            ZipEntry entry = zipFile.getEntry("large.png");
+            assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+            assertThat(entry.getSize()).isEqualTo(Files.size(largeImage));
+            try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                assertThat(inputStream.readAllBytes()).isEqualTo(Files.readAllBytes(largeImage));
+            }
+            assertThat(zipFile.getEntry("Main.java")).isNotNull();
+        }
+    }
+
+    @Test
+    public void testLargeStoredFileThatChangedAfterItWasAddedIsSkipped() throws Exception {
+        Path zipFilePath = tempDir.resolve("export.zip");
+        try (ParallelZipWriter zipWriter = new ParallelZipWriter(Files.newOutputStream(zipFilePath), executor, Long.MAX_VALUE)) {
+            zipWriter.addEntry("large.png", largeImage);
+            zipWriter.addEntry("Main.java", smallFile);
+            // the checksum of the file is calculated, afterwards the file shrinks before its entry is written
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            Files.write(largeImage, new byte[1000]);
+        }
+
+        try (ZipFile zipFile = new ZipFile(zipFilePath.toFile())) {
+            assertThat(zipFile.stream().map(ZipEntry::getName)).containsExactly("Main.java");
+            try (InputStream inputStream = zipFile.getInputStream(zipFile.getEntry("Main.java"))) {
+                assertThat(inputStream.readAllBytes()).isEqualTo(Files.readAllBytes(smallFile));
+            }
+        }
+    }
+
+    @Test
+    public void testStreamedEntryUsesZip64ExtraFieldInLocalHeader() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        // every streamed entry is treated as if its file was larger than 4 GB
+        try (ParallelZipWriter zipWriter = new ParallelZipWriter(outputStream, executor, 1, 0)) {
+            zipWriter.addEntry("build.log", largeLog);
+            zipWriter.addEntry("Main.java", smallFile);
+        }
+        byte[] archive = outputStream.toByteArray();
+
+        ByteBuffer localHeader = ByteBuffer.wrap(archive).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(localHeader.getInt(0)).isEqualTo(0x04034b50);
+        assertThat(localHeader.getShort(4)).as("version needed to extract").isEqualTo((short) 45);
+        assertThat(localHeader.getShort(6) & 0x0008).as("data descriptor flag").isNotZero();
+        assertThat(localHeader.getInt(18)).isEqualTo(0xFFFFFFFF);
+        assertThat(localHeader.getInt(22)).isEqualTo(0xFFFFFFFF);
+        int nameLength = localHeader.getShort(26);
+        assertThat(localHeader.getShort(28)).as("extra field length").isEqualTo((short) 20);
+        assertThat(localHeader.getShort(30 + nameLength)).as("Zip64 extra field id").isEqualTo((short) 1);
+
+        // the data descriptor contains 8 byte sizes and is directly followed by the next entry
+        // (ZipInputStream of Java 17 expects 8 byte sizes only for entries that are actually larger than 4 GB, so the archive is read with ZipFile)
+        Path zipFilePath = Files.write(tempDir.resolve("export.zip"), archive);
+        try (ZipFile zipFile = new ZipFile(zipFilePath.toFile())) {
+            ZipEntry entry = zipFile.getEntry("build.log");
+            int dataDescriptorOffset = 30 + nameLength + 20 + (int) entry.getCompressedSize();
+            assertThat(localHeader.getInt(dataDescriptorOffset)).isEqualTo(0x08074b50);
+            assertThat(localHeader.getLong(dataDescriptorOffset + 8)).isEqualTo(entry.getCompressedSize());
+            assertThat(localHeader.getLong(dataDescriptorOffset + 16)).isEqualTo(Files.size(largeLog));
+            assertThat(localHeader.getInt(dataDescriptorOffset + 24)).isEqualTo(0x04034b50);
+            try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                assertThat(inputStream.readAllBytes()).isEqualTo(Files.readAllBytes(largeLog));
+            }
+        }
+    }
+}
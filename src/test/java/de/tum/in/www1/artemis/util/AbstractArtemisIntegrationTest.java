@@ -110,6 +110,7 @@ public abstract class AbstractArtemisIntegrationTest implements MockDelegate {
     @BeforeEach
     public void mockMailService() {
         doNothing().when(javaMailSender).send(any(MimeMessage.class));
+        doNothing().when(javaMailSender).send((MimeMessage[]) any());
     }
 
     public void resetSpyBeans() {
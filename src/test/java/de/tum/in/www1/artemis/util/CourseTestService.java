@@ -42,6 +42,7 @@ import de.tum.in.www1.artemis.service.ParticipationService;
 import de.tum.in.www1.artemis.service.ZipFileService;
 import de.tum.in.www1.artemis.service.dto.StudentDTO;
 import de.tum.in.www1.artemis.service.notifications.GroupNotificationService;
+import de.tum.in.www1.artemis.service.scheduled.ParticipantScoreScheduleService;
 import de.tum.in.www1.artemis.web.rest.dto.CourseManagementDetailViewDTO;
 import de.tum.in.www1.artemis.web.rest.dto.CourseManagementOverviewStatisticsDTO;
 import de.tum.in.www1.artemis.web.rest.dto.StatsForDashboardDTO;
@@ -57,6 +58,9 @@ public class CourseTestService {
     @Autowired
     private DatabaseUtilService database;
 
+    @Autowired
+    private ParticipantScoreScheduleService participantScoreScheduleService;
+
     @Autowired
     private CourseRepository courseRepo;
 
@@ -635,6 +639,24 @@ public class CourseTestService {
         }
     }
 
+    // Test
+    public void testGetAllCoursesForDashboardIsRefreshedAfterChanges() throws Exception {
+        database.createCoursesWithExercisesAndLecturesAndLectureUnits(true, false);
+
+        List<Course> courses = request.getList("/api/courses/for-dashboard", HttpStatus.OK, Course.class);
+        assertThat(courses).hasSize(1);
+        assertThat(courses.get(0).getExercises()).hasSize(5);
+
+        // the cached dashboard is returned as long as nothing changed
+        assertThat(request.getList("/api/courses/for-dashboard", HttpStatus.OK, Course.class).get(0).getExercises()).hasSize(5);
+
+        Course course = courseRepo.findByIdElseThrow(courses.get(0).getId());
+        textExerciseRepository.save(ModelFactory.generateTextExercise(ZonedDateTime.now().minusDays(1), ZonedDateTime.now().plusDays(1), null, course));
+
+        courses = request.getList("/api/courses/for-dashboard", HttpStatus.OK, Course.class);
+        assertThat(courses.get(0).getExercises()).as("The new exercise invalidated the cached dashboard").hasSize(6);
+    }
+
     // Test
     public void testGetCoursesWithoutActiveExercises() throws Exception {
         Course course = ModelFactory.generateCourse(1L, null, null, new HashSet<>(), "tumuser", "tutor", "editor", "instructor");
@@ -1662,6 +1684,7 @@ public class CourseTestService {
         instructorsCourse.addExercises(exerciseInAssessment);
 
         courseRepo.save(instructorsCourse);
+        participantScoreScheduleService.processPendingUpdates();
 
         // We only added one course, so expect one dto
         var courseDtos = request.getList("/api/courses/stats-for-management-overview", HttpStatus.OK, CourseManagementOverviewStatisticsDTO.class);
@@ -1894,6 +1917,8 @@ public class CourseTestService {
         request.putWithResponseBody("/api/participations/" + result2.getSubmission().getParticipation().getId() + "/submissions/" + result2.getSubmission().getId()
                 + "/text-assessment-after-complaint", feedbackUpdate, Result.class, HttpStatus.OK);
 
+        participantScoreScheduleService.processPendingUpdates();
+
         // API call
         var courseDTO = request.get("/api/courses/" + course1.getId() + "/management-detail", HttpStatus.OK, CourseManagementDetailViewDTO.class);
 
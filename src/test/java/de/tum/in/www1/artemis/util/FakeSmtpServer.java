@@ -0,0 +1,115 @@
+package de.tum.in.www1.artemis.util;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A minimal SMTP server on the loopback address for tests. It accepts all emails and stores their data instead of delivering them.
+ */
+public class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(this::acceptConnections);
+    }
+
+    public String getHost() {
+        return serverSocket.getInetAddress().getHostAddress();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return the data (headers and content) of all received emails
+     */
+    public List<String> getMessages() {
+        synchronized (messages) {
+            return new ArrayList<>(messages);
+        }
+    }
+
+    public int getNumberOfConnections() {
+        return connections.get();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                executor.execute(() -> handleConnection(socket));
+            }
+            catch (IOException ex) {
+                // the server was closed
+                return;
+            }
+        }
+    }
+
+    private void handleConnection(Socket socket) {
+        try (socket;
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            reply(writer, "220 localhost fake SMTP server");
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String command = line.length() < 4 ? line.toUpperCase() : line.substring(0, 4).toUpperCase();
+                switch (command) {
+                    case "DATA" -> {
+                        reply(writer, "354 End data with <CR><LF>.<CR><LF>");
+                        messages.add(readData(reader));
+                        reply(writer, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(writer, "221 Bye");
+                        return;
+                    }
+                    default -> reply(writer, "250 OK");
+                }
+            }
+        }
+        catch (IOException ex) {
+            // the client closed the connection
+        }
+    }
+
+    private static String readData(BufferedReader reader) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null && !line.equals(".")) {
+            // lines starting with a dot are escaped with an additional dot
+            data.append(line.startsWith("..") ? line.substring(1) : line).append('\n');
+        }
+        return data.toString();
+    }
+
+    private static void reply(Writer writer, String reply) throws IOException {
+        writer.write(reply + "\r\n");
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+}